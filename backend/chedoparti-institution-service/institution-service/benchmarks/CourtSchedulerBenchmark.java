@@ -0,0 +1,55 @@
+import com.chedoparti.institution_service.service.tournament.CourtScheduler;
+import com.chedoparti.institution_service.service.tournament.PlannedMatch;
+import com.chedoparti.institution_service.service.tournament.TournamentDraw;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * Full scheduling of a 256-player tournament: single elimination (255 matches on 8 courts) and
+ * one round-robin group (32,640 matches on 16 courts). The target is well under a second each,
+ * so that generating a schedule fits in a request. Kept out of the unit tests because wall-clock
+ * limits depend on the machine running them.
+ *
+ * Run after `mvn compile`:
+ *   java -cp target/classes benchmarks/CourtSchedulerBenchmark.java
+ */
+public class CourtSchedulerBenchmark {
+
+    private static final int RUNS = 5;
+    private static final int REST_SLOTS = 1;
+
+    public static void main(String[] args) {
+        List<Long> players = LongStream.rangeClosed(1, 256).boxed().toList();
+        run("single elimination", () -> TournamentDraw.singleElimination(players), 2_000, 8);
+        run("round robin", () -> TournamentDraw.roundRobin(players, players.size()), 20_000, 16);
+    }
+
+    private static void run(String name, Supplier<List<PlannedMatch>> draws, int totalSlots, int courts) {
+        // Calentamiento: la primera corrida incluye carga de clases y JIT
+        for (int warmup = 0; warmup < 2; warmup++) {
+            schedule(draws.get(), totalSlots, courts);
+        }
+        long best = Long.MAX_VALUE;
+        int matches = 0;
+        for (int run = 0; run < RUNS; run++) {
+            List<PlannedMatch> draw = draws.get();
+            long start = System.nanoTime();
+            schedule(draw, totalSlots, courts);
+            best = Math.min(best, System.nanoTime() - start);
+            if (!draw.stream().allMatch(PlannedMatch::isPlaced)) {
+                throw new IllegalStateException(name + ": some matches were not placed");
+            }
+            matches = draw.size();
+        }
+        System.out.printf("%-18s %,6d matches on %2d courts: best of %d %8.1f ms%n",
+                name, matches, courts, RUNS, best / 1_000_000.0);
+    }
+
+    private static void schedule(List<PlannedMatch> draw, int totalSlots, int courts) {
+        CourtScheduler scheduler = new CourtScheduler(totalSlots, courts, REST_SLOTS);
+        scheduler.load(draw);
+        scheduler.scheduleAll();
+    }
+}
@@ -0,0 +1,90 @@
+import com.chedoparti.institution_service.service.geo.InstitutionSpatialIndex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Nearby search: in-memory grid index vs the full haversine scan done by
+ * InstitutionRepository.findNearbyInstitutions (evaluated here in-process, i.e. without the
+ * database round trip, so the scan numbers are a lower bound). See nearby-search.sql for the
+ * same query measured in Postgres.
+ *
+ * Run after `mvn compile`:
+ *   java -cp target/classes benchmarks/NearbySearchBenchmark.java
+ */
+public class NearbySearchBenchmark {
+
+    private static final int QUERIES = 2_000;
+    private static final int SCAN_QUERIES = 100;
+    private static final double RADIUS_KM = 10;
+    private static final int LIMIT = 20;
+
+    public static void main(String[] args) {
+        for (int size : new int[]{10_000, 50_000, 100_000}) {
+            run(size);
+        }
+    }
+
+    private static void run(int size) {
+        Random random = new Random(42);
+        // Instituciones repartidas sobre Argentina continental
+        double[] lat = new double[size];
+        double[] lng = new double[size];
+        InstitutionSpatialIndex index = new InstitutionSpatialIndex(0.05);
+        for (int i = 0; i < size; i++) {
+            lat[i] = -55 + random.nextDouble() * 33;
+            lng[i] = -73 + random.nextDouble() * 20;
+            index.put(i, lat[i], lng[i]);
+        }
+        double[][] queries = new double[QUERIES][];
+        for (int q = 0; q < QUERIES; q++) {
+            int anchor = random.nextInt(size);
+            queries[q] = new double[]{lat[anchor] + random.nextGaussian() * 0.05, lng[anchor] + random.nextGaussian() * 0.05};
+        }
+
+        long checksum = 0;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            for (double[] query : queries) {
+                checksum += index.nearest(query[0], query[1], RADIUS_KM, LIMIT).size();
+            }
+        }
+        for (int q = 0; q < SCAN_QUERIES / 5; q++) {
+            checksum += scan(lat, lng, queries[q][0], queries[q][1]).size();
+        }
+
+        long start = System.nanoTime();
+        for (double[] query : queries) {
+            checksum += index.nearest(query[0], query[1], RADIUS_KM, LIMIT).size();
+        }
+        double indexMicros = (System.nanoTime() - start) / 1_000.0 / QUERIES;
+
+        // El recorrido completo es órdenes de magnitud más lento: alcanza con menos consultas
+        start = System.nanoTime();
+        for (int q = 0; q < SCAN_QUERIES; q++) {
+            checksum += scan(lat, lng, queries[q][0], queries[q][1]).size();
+        }
+        double scanMicros = (System.nanoTime() - start) / 1_000.0 / SCAN_QUERIES;
+
+        System.out.printf("%,7d institutions: grid index %8.1f us/query, full scan %9.1f us/query (%.0fx) [%d]%n",
+                size, indexMicros, scanMicros, scanMicros / indexMicros, checksum % 10);
+    }
+
+    // Lo mismo que hace la consulta JPQL: acos sobre cada fila, luego ordenar y cortar
+    private static List<double[]> scan(double[] lat, double[] lng, double qLat, double qLng) {
+        List<double[]> matches = new ArrayList<>();
+        double rLat = Math.toRadians(qLat);
+        for (int i = 0; i < lat.length; i++) {
+            double pLat = Math.toRadians(lat[i]);
+            double cos = Math.cos(rLat) * Math.cos(pLat) * Math.cos(Math.toRadians(lng[i]) - Math.toRadians(qLng))
+                    + Math.sin(rLat) * Math.sin(pLat);
+            double distance = 6371 * Math.acos(Math.min(1, cos));
+            if (distance <= RADIUS_KM) {
+                matches.add(new double[]{i, distance});
+            }
+        }
+        matches.sort(Comparator.comparingDouble(m -> m[1]));
+        return matches.size() > LIMIT ? matches.subList(0, LIMIT) : matches;
+    }
+}
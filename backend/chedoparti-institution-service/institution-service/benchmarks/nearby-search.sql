@@ -0,0 +1,35 @@
+-- Cost of the current nearby query (InstitutionRepository.findNearbyInstitutions) in Postgres.
+-- Compare with NearbySearchBenchmark.java for the in-memory grid index.
+--   psql -d bench -v rows=100000 -f benchmarks/nearby-search.sql
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+    \set rows 100000
+\endif
+
+DROP TABLE IF EXISTS bench_institutions;
+CREATE UNLOGGED TABLE bench_institutions (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255),
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL
+);
+
+INSERT INTO bench_institutions (name, latitude, longitude)
+SELECT 'Club ' || g, -55 + random() * 33, -73 + random() * 20
+FROM generate_series(1, :rows) g;
+ANALYZE bench_institutions;
+
+\timing on
+-- Same SQL Hibernate renders for the JPQL query (10 km around Buenos Aires); run a few times to warm up
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_institutions i
+WHERE (6371 * acos(cos(radians(-34.6)) * cos(radians(i.latitude))
+       * cos(radians(i.longitude) - radians(-58.4)) + sin(radians(-34.6)) * sin(radians(i.latitude)))) <= 10;
+
+SELECT * FROM bench_institutions i
+WHERE (6371 * acos(cos(radians(-34.6)) * cos(radians(i.latitude))
+       * cos(radians(i.longitude) - radians(-58.4)) + sin(radians(-34.6)) * sin(radians(i.latitude)))) <= 10;
+\timing off
+
+DROP TABLE bench_institutions;
@@ -1,46 +1,58 @@
 package com.chedoparti.institution_service.controller;
 
+import com.chedoparti.institution_service.dto.AttendanceDTO;
+import com.chedoparti.institution_service.dto.AttendanceStatsDTO;
+import com.chedoparti.institution_service.dto.BulkAttendanceDTO;
+import com.chedoparti.institution_service.service.AttendanceService;
+import com.chedoparti.institution_service.service.attendance.AttendanceIngestor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/attendance")
 public class AttendanceController {
 
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private AttendanceIngestor attendanceIngestor;
+
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> list(
-            @RequestParam(required = false) Long groupId,
-            @RequestParam(required = false) String weekStart) {
-        // TODO: Implement attendance list
-        return ResponseEntity.ok(List.of());
+    public ResponseEntity<List<AttendanceDTO>> list(
+            @RequestParam Long groupId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStart) {
+        return ResponseEntity.ok(attendanceService.list(groupId, weekStart));
     }
 
+    /**
+     * Check-in; 202 once journaled, the mark reaches listings and stats within the flush interval.
+     * 503 if check-ins are backing up.
+     */
     @PostMapping
-    public ResponseEntity<Map<String, Object>> mark(@RequestBody Map<String, Object> data) {
-        // TODO: Implement attendance marking
-        return ResponseEntity.ok(data);
+    public ResponseEntity<AttendanceDTO> mark(@RequestBody AttendanceDTO dto) {
+        return ResponseEntity.accepted().body(attendanceIngestor.checkIn(dto.getScheduleId(), List.of(dto)).get(0));
     }
 
     @PostMapping("/bulk")
-    public ResponseEntity<List<Map<String, Object>>> markBulk(@RequestBody Map<String, Object> data) {
-        // TODO: Implement bulk attendance marking
-        return ResponseEntity.ok(List.of());
+    public ResponseEntity<List<AttendanceDTO>> markBulk(@RequestBody BulkAttendanceDTO bulk) {
+        List<AttendanceDTO> items = bulk.getAttendanceList() != null ? bulk.getAttendanceList() : List.of();
+        return ResponseEntity.accepted().body(attendanceIngestor.checkIn(bulk.getScheduleId(), items));
     }
 
+    /**
+     * Sums of the weekly rollups; the range is widened to whole weeks (Monday to Sunday).
+     */
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getStats(
+    public ResponseEntity<AttendanceStatsDTO> getStats(
             @RequestParam Long coachId,
-            @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate) {
-        // TODO: Implement attendance stats
-        return ResponseEntity.ok(Map.of(
-            "attendanceRate", 0.0,
-            "totalClasses", 0,
-            "totalStudents", 0,
-            "averageAttendance", 0.0
-        ));
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(attendanceService.stats(coachId, startDate, endDate));
     }
 }
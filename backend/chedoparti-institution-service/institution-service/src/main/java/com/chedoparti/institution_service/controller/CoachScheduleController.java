@@ -1,8 +1,19 @@
 package com.chedoparti.institution_service.controller;
 
+import com.chedoparti.institution_service.dto.CoachAvailabilityDTO;
+import com.chedoparti.institution_service.dto.CoachAvailabilityRequestDTO;
+import com.chedoparti.institution_service.dto.CoachScheduleDTO;
+import com.chedoparti.institution_service.dto.RecurringScheduleRequestDTO;
+import com.chedoparti.institution_service.dto.RecurringScheduleResultDTO;
+import com.chedoparti.institution_service.service.CoachScheduleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -10,61 +21,71 @@ import java.util.Map;
 @RequestMapping("/api/coach-schedules")
 public class CoachScheduleController {
 
+    @Autowired
+    private CoachScheduleService scheduleService;
+
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> list(
+    public ResponseEntity<List<CoachScheduleDTO>> list(
             @RequestParam Long coachId,
-            @RequestParam(required = false) String weekStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStart,
             @RequestParam(required = false) String sport,
             @RequestParam(required = false) Long groupId) {
-        // TODO: Implement schedule list
-        return ResponseEntity.ok(List.of());
+        return ResponseEntity.ok(scheduleService.list(coachId, weekStart, sport, groupId));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> get(@PathVariable Long id) {
-        // TODO: Implement get schedule
-        return ResponseEntity.notFound().build();
+    public ResponseEntity<CoachScheduleDTO> get(@PathVariable Long id) {
+        return ResponseEntity.ok(scheduleService.findById(id));
     }
 
+    /**
+     * Creates a class; 409 if it overlaps another class of the coach or anything on the court.
+     */
     @PostMapping
-    public ResponseEntity<Map<String, Object>> create(@RequestBody Map<String, Object> data) {
-        // TODO: Implement create schedule
-        return ResponseEntity.ok(data);
+    public ResponseEntity<CoachScheduleDTO> create(@RequestBody CoachScheduleDTO dto) {
+        return ResponseEntity.ok(scheduleService.create(dto));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> update(@PathVariable Long id, @RequestBody Map<String, Object> data) {
-        // TODO: Implement update schedule
-        return ResponseEntity.ok(data);
+    public ResponseEntity<CoachScheduleDTO> update(@PathVariable Long id, @RequestBody CoachScheduleDTO dto) {
+        return ResponseEntity.ok(scheduleService.update(id, dto));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, Boolean>> delete(@PathVariable Long id) {
-        // TODO: Implement delete schedule
+        scheduleService.delete(id);
         return ResponseEntity.ok(Map.of("success", true));
     }
 
+    /**
+     * Checks a slot without writing anything; cheap enough to call while a class is dragged.
+     */
     @PostMapping("/check-availability")
-    public ResponseEntity<Map<String, Boolean>> checkAvailability(@RequestBody Map<String, Object> params) {
-        // TODO: Implement availability check
-        return ResponseEntity.ok(Map.of("available", true));
+    public ResponseEntity<CoachAvailabilityDTO> checkAvailability(@RequestBody CoachAvailabilityRequestDTO request) {
+        return ResponseEntity.ok(scheduleService.checkAvailability(request));
     }
 
     @GetMapping("/by-group/{groupId}")
-    public ResponseEntity<List<Map<String, Object>>> getByGroup(@PathVariable Long groupId) {
-        // TODO: Implement get by group
-        return ResponseEntity.ok(List.of());
+    public ResponseEntity<List<CoachScheduleDTO>> getByGroup(@PathVariable Long groupId) {
+        return ResponseEntity.ok(scheduleService.findByGroup(groupId));
     }
 
+    /**
+     * Creates a weekly series (or only validates it with {@code dryRun}); returns a report per occurrence.
+     */
     @PostMapping("/recurring")
-    public ResponseEntity<List<Map<String, Object>>> createRecurring(@RequestBody Map<String, Object> data) {
-        // TODO: Implement recurring schedule creation
-        return ResponseEntity.ok(List.of());
+    public ResponseEntity<RecurringScheduleResultDTO> createRecurring(@RequestBody RecurringScheduleRequestDTO request) {
+        return ResponseEntity.ok(scheduleService.createRecurring(request));
     }
 
+    /**
+     * Not available: reservations live in reservation-service under its own (UUID) court ids and
+     * carry no reference to a class, so there is nothing to link them by. Answers 501 instead of
+     * an empty list that would read as "no reservations".
+     */
     @GetMapping("/{scheduleId}/reservations")
     public ResponseEntity<List<Map<String, Object>>> getLinkedReservations(@PathVariable Long scheduleId) {
-        // TODO: Implement get linked reservations
-        return ResponseEntity.ok(List.of());
+        throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                "Reservations are not linked to coach schedules");
     }
 }
@@ -2,6 +2,7 @@ package com.chedoparti.institution_service.controller;
 
 import com.chedoparti.institution_service.dto.GroupDTO;
 import com.chedoparti.institution_service.service.GroupService;
+import com.chedoparti.institution_service.service.paging.Keyset;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,12 +17,23 @@ public class GroupController {
     @Autowired
     private GroupService groupService;
 
+    /**
+     * Filters combine; the next page's cursor, if any, comes in the {@code X-Next-Cursor} header.
+     */
     @GetMapping
     public ResponseEntity<List<GroupDTO>> list(
             @RequestParam Long coachId,
             @RequestParam(required = false) Boolean includeArchived,
-            @RequestParam(required = false) String sport) {
-        return ResponseEntity.ok(groupService.findByCoach(coachId, includeArchived, sport));
+            @RequestParam(required = false) String sport,
+            @RequestParam(required = false) Long institutionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Keyset.Page<GroupDTO> page = groupService.findByCoach(coachId, includeArchived, sport, institutionId, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(Keyset.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
     }
 
     @GetMapping("/{id}")
@@ -61,6 +73,23 @@ public class GroupController {
         return ResponseEntity.ok(groupService.addStudent(groupId, body.get("studentId")));
     }
 
+    /**
+     * Adds {@code studentIds} at the end of the group, in order; students already in it are skipped.
+     */
+    @PostMapping("/{groupId}/students/bulk")
+    public ResponseEntity<GroupDTO> addStudents(
+            @PathVariable Long groupId,
+            @RequestBody Map<String, List<Long>> body) {
+        return ResponseEntity.ok(groupService.addStudents(groupId, body.get("studentIds")));
+    }
+
+    @DeleteMapping("/{groupId}/students/bulk")
+    public ResponseEntity<GroupDTO> removeStudents(
+            @PathVariable Long groupId,
+            @RequestBody Map<String, List<Long>> body) {
+        return ResponseEntity.ok(groupService.removeStudents(groupId, body.get("studentIds")));
+    }
+
     @DeleteMapping("/{groupId}/students/{studentId}")
     public ResponseEntity<GroupDTO> removeStudent(
             @PathVariable Long groupId,
@@ -68,6 +97,9 @@ public class GroupController {
         return ResponseEntity.ok(groupService.removeStudent(groupId, studentId));
     }
 
+    /**
+     * {@code studentIds} must list every student of the group; only the moved ones are rewritten.
+     */
     @PutMapping("/{groupId}/students/reorder")
     public ResponseEntity<GroupDTO> reorderStudents(
             @PathVariable Long groupId,
@@ -77,7 +109,6 @@ public class GroupController {
 
     @GetMapping("/{groupId}/students")
     public ResponseEntity<List<Long>> getStudents(@PathVariable Long groupId) {
-        GroupDTO group = groupService.findById(groupId);
-        return ResponseEntity.ok(List.copyOf(group.getStudentIds()));
+        return ResponseEntity.ok(groupService.getStudents(groupId));
     }
 }
@@ -1,10 +1,25 @@
 package com.chedoparti.institution_service.controller;
 
+import com.chedoparti.institution_service.dto.ImportReportDTO;
+import com.chedoparti.institution_service.dto.InstitutionDashboardDTO;
 import com.chedoparti.institution_service.dto.InstitutionDTO;
+import com.chedoparti.institution_service.dto.InstitutionPatchDTO;
+import com.chedoparti.institution_service.dto.InstitutionSuggestionDTO;
+import com.chedoparti.institution_service.dto.InstitutionSummaryDTO;
+import com.chedoparti.institution_service.dto.NearbyInstitutionDTO;
 import com.chedoparti.institution_service.service.InstitutionService;
+import com.chedoparti.institution_service.service.cache.InstitutionCatalogCache;
+import com.chedoparti.institution_service.service.dashboard.InstitutionDashboard;
+import com.chedoparti.institution_service.service.onboarding.InstitutionImporter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -12,9 +27,14 @@ import java.util.List;
 public class InstitutionController {
 
     private final InstitutionService institutionService;
+    private final InstitutionImporter institutionImporter;
+    private final InstitutionDashboard institutionDashboard;
 
-    public InstitutionController(InstitutionService institutionService) {
+    public InstitutionController(InstitutionService institutionService, InstitutionImporter institutionImporter,
+                                 InstitutionDashboard institutionDashboard) {
         this.institutionService = institutionService;
+        this.institutionImporter = institutionImporter;
+        this.institutionDashboard = institutionDashboard;
     }
 
     /**
@@ -28,6 +48,19 @@ public class InstitutionController {
         return ResponseEntity.ok(institutionService.createInstitution(institutionDto));
     }
 
+    /**
+     * Bulk onboarding: one institution per line (NDJSON) with its courts, opening hours and promotions
+     * nested. A line with an id only adds its child lists to that existing institution. The body is
+     * streamed and written in batches; invalid lines are skipped and listed in the report.
+     *
+     * @param body The NDJSON body.
+     * @return ResponseEntity containing the rows created and the rejected lines.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ImportReportDTO> importInstitutions(InputStream body) throws IOException {
+        return ResponseEntity.ok(institutionImporter.importNdjson(body));
+    }
+
     /**
      * Updates an institution with the given institutionId.
      *
@@ -40,25 +73,144 @@ public class InstitutionController {
         return ResponseEntity.ok(institutionService.updateInstitution(institutionId, institutionDTO));
     }
 
+    /**
+     * Partially updates an institution: only the fields present in the body are changed, and child
+     * lists (opening hours, special closures, courts) are diffed by id instead of being rewritten.
+     *
+     * @param institutionId The id of the institution to be updated.
+     * @param patch The fields to change.
+     * @return ResponseEntity containing the updated institution.
+     */
+    @PatchMapping("/{institutionId}")
+    public ResponseEntity<InstitutionDTO> patchInstitution(@PathVariable Long institutionId,
+                                                           @RequestBody InstitutionPatchDTO patch) {
+        return ResponseEntity.ok(institutionService.patchInstitution(institutionId, patch));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteInstitution(@PathVariable Long institutionId) {
         institutionService.deleteInstitution(institutionId);
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Retrieve the list view of all institutions (no opening hours, closures, courts or promotions).
+     *
+     * @return ResponseEntity containing a list of InstitutionSummaryDTO ordered by name.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<List<InstitutionSummaryDTO>> getInstitutionSummaries() {
+        return ResponseEntity.ok(institutionService.getInstitutionSummaries());
+    }
+
+    /**
+     * Find the institutions closest to the given coordinates, nearest first.
+     *
+     * @param lat Latitude of the search center.
+     * @param lng Longitude of the search center.
+     * @param radiusKm Maximum distance in kilometers.
+     * @param limit Maximum number of institutions to return (capped at 100).
+     * @return ResponseEntity containing the nearby institutions with their distance.
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyInstitutionDTO>> findNearbyInstitutions(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "10") double radiusKm,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(institutionService.findNearbyInstitutions(lat, lng, radiusKm, limit));
+    }
+
+    /**
+     * Full-text search over name, city, facilities and description. Accents and case are ignored
+     * and the last word may be incomplete.
+     *
+     * @param q The search text.
+     * @param limit Maximum number of institutions to return (capped at 50).
+     * @return ResponseEntity containing the matching institutions, best match first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<InstitutionSummaryDTO>> searchInstitutions(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(institutionService.searchInstitutions(q, limit));
+    }
+
+    /**
+     * Suggestions while typing, answered from memory without touching the database.
+     *
+     * @param q The text typed so far.
+     * @param limit Maximum number of suggestions (capped at 50).
+     * @return ResponseEntity containing id, name and city of the best matches.
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<InstitutionSuggestionDTO>> autocompleteInstitutions(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(institutionService.autocompleteInstitutions(q, limit));
+    }
+
+    /**
+     * Check whether an institution is open at a given instant (now by default), taking its
+     * opening hours and special closures into account.
+     *
+     * @param institutionId The id of the institution.
+     * @param at The instant to check, in ISO-8601 format.
+     * @return ResponseEntity containing true if the institution is open.
+     */
+    @GetMapping("/{institutionId}/open")
+    public ResponseEntity<Boolean> isOpen(@PathVariable Long institutionId,
+                                          @RequestParam(required = false) Instant at) {
+        return ResponseEntity.ok(institutionService.isOpen(institutionId, at != null ? at : Instant.now()));
+    }
+
+    /**
+     * Admin dashboard: court count, active promotions, upcoming tournaments and active groups,
+     * computed concurrently. Sections that are not ready in time come back null and are listed in
+     * {@code unavailable}.
+     *
+     * @param institutionId The id of the institution.
+     * @return ResponseEntity containing the dashboard.
+     */
+    @GetMapping("/{institutionId}/dashboard")
+    public ResponseEntity<InstitutionDashboardDTO> getDashboard(@PathVariable Long institutionId) {
+        return ResponseEntity.ok(institutionDashboard.get(institutionId));
+    }
+
+    /**
+     * Retrieve the ids of all institutions open at a given instant (now by default).
+     *
+     * @param at The instant to check, in ISO-8601 format.
+     * @return ResponseEntity containing the ids of the open institutions.
+     */
+    @GetMapping("/open")
+    public ResponseEntity<List<Long>> getOpenInstitutions(@RequestParam(required = false) Instant at) {
+        return ResponseEntity.ok(institutionService.getOpenInstitutionIds(at != null ? at : Instant.now()));
+    }
+
     @GetMapping("/{institutionId}")
     public ResponseEntity<InstitutionDTO> getInstitutionById(@PathVariable Long institutionId) {
         return ResponseEntity.ok(institutionService.getInstitutionById(institutionId));
     }
 
     /**
-     * Retrieve all institutions.
+     * Retrieve all institutions. The catalog is served from a cache and tagged with an ETag, so a
+     * client sending it back in {@code If-None-Match} gets a 304 while nothing has changed.
      *
-     * @return ResponseEntity containing a list of InstitutionDTO.
+     * @param request The current request, used to evaluate {@code If-None-Match}.
+     * @return ResponseEntity containing the serialized list of InstitutionDTO, or 304 if unchanged.
      */
     @GetMapping
-    public ResponseEntity<List<InstitutionDTO>> getAllInstitutions() {
-        return ResponseEntity.ok(institutionService.getAllInstitutions());
+    public ResponseEntity<byte[]> getAllInstitutions(WebRequest request) {
+        InstitutionCatalogCache.Snapshot catalog = institutionService.getInstitutionCatalog();
+        if (request.checkNotModified(catalog.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(catalog.body());
     }
 }
 
@@ -1,12 +1,20 @@
 package com.chedoparti.institution_service.controller;
 
+import com.chedoparti.institution_service.dto.PriceGridDTO;
 import com.chedoparti.institution_service.dto.PromotionDTO;
+import com.chedoparti.institution_service.dto.PromotionQuoteDTO;
+import com.chedoparti.institution_service.dto.PromotionQuoteRequestDTO;
+import com.chedoparti.institution_service.dto.PromotionUsageDTO;
 import com.chedoparti.institution_service.service.PromotionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/institutions/{institutionId}/promotions")
@@ -26,7 +34,38 @@ public class PromotionController {
     }
 
     @PostMapping("/{promotionId}/apply/{reservationId}")
-    public ResponseEntity<Double> applyPromotion(@PathVariable Long promotionId, @PathVariable Long reservationId) {
-        return ResponseEntity.ok(promotionService.applyPromotionToReservation(reservationId, promotionId));
+    public ResponseEntity<Double> applyPromotion(@PathVariable Long institutionId, @PathVariable Long promotionId,
+                                                 @PathVariable UUID reservationId,
+                                                 @RequestBody PromotionQuoteRequestDTO booking) {
+        return ResponseEntity.ok(promotionService.applyPromotionToReservation(institutionId, promotionId, reservationId, booking));
+    }
+
+    /**
+     * Uses and granted discount per promotion, from the in-memory usage counters.
+     */
+    @GetMapping("/usage")
+    public ResponseEntity<List<PromotionUsageDTO>> getPromotionUsage(@PathVariable Long institutionId) {
+        return ResponseEntity.ok(promotionService.getPromotionUsage(institutionId));
+    }
+
+    /**
+     * Best applicable promotion for a booking; promotionId is null when none applies.
+     */
+    @PostMapping("/best")
+    public ResponseEntity<PromotionQuoteDTO> getBestPromotion(@PathVariable Long institutionId,
+                                                              @RequestBody PromotionQuoteRequestDTO booking) {
+        return ResponseEntity.ok(promotionService.getBestPromotion(institutionId, booking));
+    }
+
+    /**
+     * Discounted price of every court of the institution for each slot of the given day range.
+     */
+    @GetMapping("/price-grid")
+    public ResponseEntity<PriceGridDTO> getPriceGrid(@PathVariable Long institutionId,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                     @RequestParam(defaultValue = "08:00") @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime from,
+                                                     @RequestParam(defaultValue = "00:00") @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime to,
+                                                     @RequestParam(defaultValue = "60") int slotMinutes) {
+        return ResponseEntity.ok(promotionService.getPriceGrid(institutionId, date, from, to, slotMinutes));
     }
 }
@@ -1,13 +1,29 @@
 package com.chedoparti.institution_service.controller;
 
+import com.chedoparti.institution_service.dto.CourtClosureDTO;
+import com.chedoparti.institution_service.dto.MatchResultDTO;
 import com.chedoparti.institution_service.dto.TournamentDTO;
+import com.chedoparti.institution_service.dto.TournamentMatchDTO;
+import com.chedoparti.institution_service.dto.TournamentRegistrationDTO;
+import com.chedoparti.institution_service.dto.TournamentScheduleDTO;
+import com.chedoparti.institution_service.dto.TournamentScheduleRequestDTO;
+import com.chedoparti.institution_service.dto.TournamentStandingsDTO;
 import com.chedoparti.institution_service.entity.Tournament;
+import com.chedoparti.institution_service.enums.ERegistrationStatus;
 import com.chedoparti.institution_service.repository.TournamentRepository;
+import com.chedoparti.institution_service.repository.TournamentSpecifications;
 import com.chedoparti.institution_service.repository.InstitutionRepository;
+import com.chedoparti.institution_service.service.TournamentRegistrationService;
+import com.chedoparti.institution_service.service.TournamentScheduleService;
+import com.chedoparti.institution_service.service.paging.Keyset;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,24 +37,41 @@ public class TournamentController {
     @Autowired
     private InstitutionRepository institutionRepository;
 
+    @Autowired
+    private TournamentScheduleService scheduleService;
+
+    @Autowired
+    private TournamentRegistrationService registrationService;
+
+    /**
+     * Filters combine; newest first. The next page's cursor, if any, comes in the
+     * {@code X-Next-Cursor} header.
+     */
     @GetMapping
     public ResponseEntity<List<TournamentDTO>> list(
             @RequestParam(required = false) Long institutionId,
             @RequestParam(required = false) String sport,
-            @RequestParam(required = false) String status) {
-        
-        List<Tournament> tournaments;
-        if (institutionId != null) {
-            tournaments = tournamentRepository.findByInstitutionId(institutionId);
-        } else if (sport != null) {
-            tournaments = tournamentRepository.findBySport(sport);
-        } else if (status != null) {
-            tournaments = tournamentRepository.findByStatus(status);
-        } else {
-            tournaments = tournamentRepository.findAll();
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = Keyset.limit(limit);
+        Specification<Tournament> filter = Specification.where(TournamentSpecifications.institution(institutionId))
+                .and(TournamentSpecifications.sport(sport))
+                .and(TournamentSpecifications.status(status))
+                .and(TournamentSpecifications.dateFrom(from))
+                .and(TournamentSpecifications.dateTo(to))
+                .and(TournamentSpecifications.before(Keyset.decode(cursor)));
+        List<Tournament> rows = tournamentRepository.findBy(filter,
+                query -> query.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(pageSize + 1).all());
+        Keyset.Page<Tournament> page = Keyset.page(rows, pageSize, Tournament::getId);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(Keyset.NEXT_CURSOR_HEADER, page.nextCursor());
         }
-        
-        return ResponseEntity.ok(tournaments.stream().map(this::toDTO).collect(Collectors.toList()));
+        return response.body(page.items().stream().map(this::toDTO).collect(Collectors.toList()));
     }
 
     @GetMapping("/{id}")
@@ -60,7 +93,8 @@ public class TournamentController {
         tournament.setDate(dto.getDate());
         tournament.setInscription(dto.getInscription());
         tournament.setStatus(dto.getStatus());
-        tournament.setParticipants(dto.getParticipants());
+        tournament.setParticipants(0);
+        tournament.setMaxParticipants(dto.getMaxParticipants());
         
         if (dto.getInstitutionId() != null) {
             institutionRepository.findById(dto.getInstitutionId())
@@ -72,29 +106,81 @@ public class TournamentController {
 
     @PutMapping("/{id}")
     public ResponseEntity<TournamentDTO> update(@PathVariable Long id, @RequestBody TournamentDTO dto) {
-        return tournamentRepository.findById(id)
-            .map(tournament -> {
-                if (dto.getName() != null) tournament.setName(dto.getName());
-                if (dto.getSport() != null) tournament.setSport(dto.getSport());
-                if (dto.getCategory() != null) tournament.setCategory(dto.getCategory());
-                if (dto.getGender() != null) tournament.setGender(dto.getGender());
-                if (dto.getAgeRange() != null) tournament.setAgeRange(dto.getAgeRange());
-                if (dto.getDate() != null) tournament.setDate(dto.getDate());
-                if (dto.getInscription() != null) tournament.setInscription(dto.getInscription());
-                if (dto.getStatus() != null) tournament.setStatus(dto.getStatus());
-                if (dto.getParticipants() != null) tournament.setParticipants(dto.getParticipants());
-                return toDTO(tournamentRepository.save(tournament));
-            })
-            .map(ResponseEntity::ok)
-            .orElse(ResponseEntity.notFound().build());
+        // participants lo mantienen las inscripciones: la edición se aplica bajo el lock del torneo
+        return ResponseEntity.ok(toDTO(registrationService.update(id, dto)));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         tournamentRepository.deleteById(id);
+        registrationService.capacityChanged(id);
+        scheduleService.forget(id);
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Registers a user; idempotent per user. Without free seats the user is waitlisted.
+     */
+    @PostMapping("/{id}/registrations")
+    public ResponseEntity<TournamentRegistrationDTO> register(@PathVariable Long id,
+                                                              @RequestBody TournamentRegistrationDTO request) {
+        return ResponseEntity.ok(registrationService.register(id, request.getUserId()));
+    }
+
+    @DeleteMapping("/{id}/registrations/{userId}")
+    public ResponseEntity<TournamentRegistrationDTO> cancelRegistration(@PathVariable Long id, @PathVariable Long userId) {
+        return ResponseEntity.ok(registrationService.cancel(id, userId));
+    }
+
+    @GetMapping("/{id}/registrations")
+    public ResponseEntity<List<TournamentRegistrationDTO>> listRegistrations(
+            @PathVariable Long id,
+            @RequestParam(required = false) ERegistrationStatus status) {
+        return ResponseEntity.ok(registrationService.list(id, status));
+    }
+
+    /**
+     * Generates the draw (bracket or round robin) and places every match on the institution's
+     * courts, replacing any previous schedule.
+     */
+    @PostMapping("/{id}/schedule")
+    public ResponseEntity<TournamentScheduleDTO> generateSchedule(@PathVariable Long id,
+                                                                  @RequestBody TournamentScheduleRequestDTO request) {
+        return ResponseEntity.ok(scheduleService.generate(id, request));
+    }
+
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<TournamentScheduleDTO> getSchedule(@PathVariable Long id) {
+        return ResponseEntity.ok(scheduleService.getSchedule(id));
+    }
+
+    /**
+     * Records a result; returns the matches that changed (the winner's next match and anything
+     * that had to move because the match ran late).
+     */
+    @PostMapping("/{id}/matches/{matchId}/result")
+    public ResponseEntity<List<TournamentMatchDTO>> recordResult(@PathVariable Long id, @PathVariable Long matchId,
+                                                                 @RequestBody MatchResultDTO result) {
+        return ResponseEntity.ok(scheduleService.recordResult(id, matchId, result));
+    }
+
+    /**
+     * Live standings of each round-robin group, ordered with the tie-breakers.
+     */
+    @GetMapping("/{id}/standings")
+    public ResponseEntity<TournamentStandingsDTO> getStandings(@PathVariable Long id) {
+        return ResponseEntity.ok(scheduleService.getStandings(id));
+    }
+
+    /**
+     * Closes a court for a period; returns the matches that were moved.
+     */
+    @PostMapping("/{id}/court-closures")
+    public ResponseEntity<List<TournamentMatchDTO>> closeCourt(@PathVariable Long id,
+                                                               @RequestBody CourtClosureDTO closure) {
+        return ResponseEntity.ok(scheduleService.closeCourt(id, closure));
+    }
+
     private TournamentDTO toDTO(Tournament tournament) {
         TournamentDTO dto = new TournamentDTO();
         dto.setId(tournament.getId());
@@ -107,6 +193,7 @@ public class TournamentController {
         dto.setInscription(tournament.getInscription());
         dto.setStatus(tournament.getStatus());
         dto.setParticipants(tournament.getParticipants());
+        dto.setMaxParticipants(tournament.getMaxParticipants());
         if (tournament.getInstitution() != null) {
             dto.setInstitutionId(tournament.getInstitution().getId());
         }
@@ -0,0 +1,19 @@
+package com.chedoparti.institution_service.dto;
+
+import com.chedoparti.institution_service.enums.EAttendanceStatus;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+public class AttendanceDTO {
+    private Long id;
+    private Long scheduleId;
+    private Long studentId;
+    private Long coachId;
+    private Long groupId;
+    private LocalDate classDate;
+    private EAttendanceStatus status;
+    private LocalDateTime markedAt;
+}
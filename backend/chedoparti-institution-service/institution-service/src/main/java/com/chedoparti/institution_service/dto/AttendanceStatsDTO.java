@@ -0,0 +1,19 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AttendanceStatsDTO {
+    private LocalDate from; // Lunes de la primera semana incluida
+    private LocalDate to; // Domingo de la última
+    private double attendanceRate; // Presentes (y tarde) sobre asistencias tomadas
+    private long totalClasses; // Clases en las que se tomó asistencia
+    private long totalStudents;
+    private double averageAttendance; // Presentes por clase
+}
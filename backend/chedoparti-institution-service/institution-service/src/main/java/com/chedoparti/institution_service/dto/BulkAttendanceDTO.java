@@ -0,0 +1,11 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkAttendanceDTO {
+    private Long scheduleId;
+    private List<AttendanceDTO> attendanceList; // studentId y status de cada alumno
+}
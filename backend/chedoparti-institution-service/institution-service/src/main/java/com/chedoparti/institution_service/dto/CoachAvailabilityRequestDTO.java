@@ -0,0 +1,14 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class CoachAvailabilityRequestDTO {
+    private Long coachId;
+    private Long courtId;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private Long scheduleId; // Clase que se está moviendo: no choca consigo misma
+}
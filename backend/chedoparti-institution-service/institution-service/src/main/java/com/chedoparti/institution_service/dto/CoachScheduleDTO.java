@@ -0,0 +1,20 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class CoachScheduleDTO {
+    private Long id;
+    private Long coachId;
+    private Long groupId;
+    private Long courtId;
+    private String sport;
+    private String title;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private String notes;
+    private UUID seriesId;
+}
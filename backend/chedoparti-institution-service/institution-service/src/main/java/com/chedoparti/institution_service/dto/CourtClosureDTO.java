@@ -0,0 +1,13 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class CourtClosureDTO {
+    private Long courtId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String reason;
+}
@@ -0,0 +1,21 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Court item of an {@link InstitutionPatchDTO}. Fields are boxed so that an omitted one arrives as
+ * null and leaves the court's value unchanged.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourtPatchDTO {
+
+    private Long id;
+    private String fieldType;
+    private Double pricePerHour;
+    private Boolean availability;
+
+}
@@ -1,7 +1,7 @@
 package com.chedoparti.institution_service.dto;
 
 import lombok.Data;
-import java.util.Set;
+import java.util.List;
 
 @Data
 public class GroupDTO {
@@ -9,7 +9,7 @@ public class GroupDTO {
     private String name;
     private String sport;
     private Long coachId;
-    private Set<Long> studentIds;
+    private List<Long> studentIds;
     private boolean isArchived;
     private Long institutionId;
 }
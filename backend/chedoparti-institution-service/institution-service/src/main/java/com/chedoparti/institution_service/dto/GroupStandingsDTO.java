@@ -0,0 +1,15 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupStandingsDTO {
+    private Integer groupNumber;
+    private List<StandingDTO> standings; // Ordenadas por posición
+}
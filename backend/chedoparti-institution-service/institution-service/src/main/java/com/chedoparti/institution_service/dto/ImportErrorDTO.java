@@ -0,0 +1,17 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A record of a bulk import that was not written, identified by its line in the uploaded file.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportErrorDTO {
+    private long line;
+    private String name;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: rows written per table and the records that were rejected.
+ * Only the first errors are listed; {@code failedRecords} always has the full count.
+ */
+@Data
+public class ImportReportDTO {
+    private long records;
+    private long institutionsCreated;
+    private long courtsCreated;
+    private long openingHoursCreated;
+    private long promotionsCreated;
+    private long failedRecords;
+    private boolean errorsTruncated;
+    private List<ImportErrorDTO> errors = new ArrayList<>();
+}
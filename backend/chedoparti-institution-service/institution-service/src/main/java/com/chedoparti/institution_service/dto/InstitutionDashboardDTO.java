@@ -0,0 +1,20 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Admin dashboard of one institution. Sections that could not be computed in time are null and
+ * listed by name in {@code unavailable}; the rest of the dashboard is still returned.
+ */
+@Data
+public class InstitutionDashboardDTO {
+    private Long institutionId;
+    private Long courts;
+    private Long activePromotions;
+    private Long upcomingTournaments;
+    private Long activeGroups;
+    private List<String> unavailable = new ArrayList<>();
+}
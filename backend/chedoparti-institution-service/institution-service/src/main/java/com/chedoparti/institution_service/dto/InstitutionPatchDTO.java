@@ -0,0 +1,42 @@
+package com.chedoparti.institution_service.dto;
+
+import com.chedoparti.institution_service.entity.Address;
+import com.chedoparti.institution_service.entity.Location;
+import com.chedoparti.institution_service.entity.OpeningHour;
+import com.chedoparti.institution_service.entity.SpecialClosure;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Partial update of an institution. A null field means "leave unchanged". A non-null child list
+ * is the desired final state: items with an id update that child, items without an id are added
+ * and existing children missing from the list are removed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InstitutionPatchDTO {
+    private String name;
+    private String description;
+    private String contactEmail;
+    private String contactPhone;
+    private String website;
+
+    private Address address;
+
+    private Location location;
+
+    private List<OpeningHour> openingHours;
+
+    private List<SpecialClosure> specialClosures;
+
+    private List<CourtPatchDTO> courts;
+
+    private String images;
+    private String socialMediaLinks;
+    private Double rating;
+    private String facilities;
+}
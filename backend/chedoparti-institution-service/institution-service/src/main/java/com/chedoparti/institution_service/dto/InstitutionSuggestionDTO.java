@@ -0,0 +1,17 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Autocomplete entry: just enough to show the institution in a dropdown while typing.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InstitutionSuggestionDTO {
+    private Long id;
+    private String name;
+    private String city;
+}
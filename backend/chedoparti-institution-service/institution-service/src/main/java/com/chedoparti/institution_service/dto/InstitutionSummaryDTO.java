@@ -0,0 +1,24 @@
+package com.chedoparti.institution_service.dto;
+
+import com.chedoparti.institution_service.entity.Address;
+import com.chedoparti.institution_service.entity.Location;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * List view of an institution: only its own columns, read with a single projection query and
+ * without touching any child collection. {@link InstitutionDTO} remains the detail view.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InstitutionSummaryDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private Address address;
+    private Location location;
+    private String images;
+    private Double rating;
+}
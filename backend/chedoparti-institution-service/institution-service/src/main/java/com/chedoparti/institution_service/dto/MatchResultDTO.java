@@ -0,0 +1,13 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class MatchResultDTO {
+    private Long winnerId;
+    private LocalDateTime finishedAt; // Hora real de fin; si pasó del turno se reprograma lo que sigue
+    private List<SetScoreDTO> sets; // Opcional: games de cada set, en orden (alimenta la tabla de posiciones)
+}
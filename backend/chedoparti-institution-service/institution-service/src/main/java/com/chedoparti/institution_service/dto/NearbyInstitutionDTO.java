@@ -0,0 +1,19 @@
+package com.chedoparti.institution_service.dto;
+
+import com.chedoparti.institution_service.entity.Address;
+import com.chedoparti.institution_service.entity.Location;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NearbyInstitutionDTO {
+    private Long id;
+    private String name;
+    private Address address;
+    private Location location;
+    private Double rating;
+    private double distanceKm;
+}
@@ -0,0 +1,18 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceGridDTO {
+    private Long institutionId;
+    private LocalDate date;
+    private int slotMinutes;
+    private List<PriceGridSlotDTO> slots; // Ordenados por cancha y horario
+}
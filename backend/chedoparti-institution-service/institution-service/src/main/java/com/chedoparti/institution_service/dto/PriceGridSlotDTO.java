@@ -0,0 +1,21 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceGridSlotDTO {
+    private Long courtId;
+    private String fieldType;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private double price;
+    private Long promotionId; // null si ninguna promoción aplica
+    private Double discountPercentage;
+    private double finalPrice;
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Data
 @AllArgsConstructor
@@ -19,5 +20,10 @@ public class PromotionDTO {
     private LocalDate startDate; // Fecha de inicio de la promoción
     private LocalDate endDate; // Fecha de fin de la promoción
     private EPromotionType promotionType; // Tipo de promoción (por volumen, por horario, etc.)
+    private String daysOfWeek; // Días en que aplica, ej. "MONDAY,WEDNESDAY" o "MONDAY-FRIDAY" (null = todos)
+    private LocalTime startTime; // Inicio de la franja horaria (null = todo el día)
+    private LocalTime endTime; // Fin de la franja horaria
+    private Integer minDurationMinutes; // Duración mínima de la reserva (promociones por volumen)
+    private Integer maxUses; // Cupo, ej. "primeras 100 reservas" (null = sin límite)
     private Institution institution;
 }
@@ -0,0 +1,19 @@
+package com.chedoparti.institution_service.dto;
+
+import com.chedoparti.institution_service.enums.EPromotionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PromotionQuoteDTO {
+    private Long promotionId; // null si ninguna promoción aplica
+    private String promotionName;
+    private EPromotionType promotionType;
+    private Double discountPercentage;
+    private double price;
+    private double discountAmount;
+    private double finalPrice;
+}
@@ -0,0 +1,18 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PromotionQuoteRequestDTO {
+    private LocalDate date; // Fecha del turno
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Double price; // Precio del turno sin descuento
+}
@@ -0,0 +1,17 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PromotionUsageDTO {
+    private Long promotionId;
+    private String name;
+    private Integer maxUses; // null = sin límite
+    private long uses;
+    private Long remainingUses; // null = sin límite
+    private double totalDiscount; // Suma de los descuentos aplicados
+}
@@ -0,0 +1,25 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+public class RecurringScheduleRequestDTO {
+    private Long coachId;
+    private Long groupId;
+    private Long courtId;
+    private String sport;
+    private String title;
+    private String notes;
+    private Set<DayOfWeek> daysOfWeek;
+    private LocalTime startTime;
+    private LocalTime endTime; // Mismo día, después de startTime
+    private LocalDate fromDate;
+    private LocalDate untilDate; // Inclusive
+    private boolean skipConflicts; // true: crea las libres; false: si alguna choca no crea ninguna
+    private boolean dryRun; // Solo valida
+}
@@ -0,0 +1,18 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecurringScheduleResultDTO {
+    private UUID seriesId; // null si no se creó ninguna clase
+    private int created;
+    private int conflicts;
+    private List<ScheduleOccurrenceDTO> occurrences;
+}
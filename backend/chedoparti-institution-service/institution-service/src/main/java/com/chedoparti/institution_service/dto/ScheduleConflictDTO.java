@@ -0,0 +1,20 @@
+package com.chedoparti.institution_service.dto;
+
+import com.chedoparti.institution_service.enums.EOccupancyKind;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleConflictDTO {
+    private EOccupancyKind kind;
+    private Long id; // De la clase, el bloqueo o el partido
+    private Long coachId;
+    private Long courtId;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+}
@@ -0,0 +1,20 @@
+package com.chedoparti.institution_service.dto;
+
+import com.chedoparti.institution_service.enums.EOccurrenceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleOccurrenceDTO {
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private EOccurrenceStatus status;
+    private Long scheduleId; // Solo si se creó
+    private List<ScheduleConflictDTO> conflicts;
+}
@@ -0,0 +1,13 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SetScoreDTO {
+    private Integer gamesA; // Games del jugador A en el set
+    private Integer gamesB;
+}
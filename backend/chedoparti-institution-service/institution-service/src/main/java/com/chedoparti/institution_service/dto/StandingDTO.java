@@ -0,0 +1,21 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StandingDTO {
+    private Integer position;
+    private Long playerId;
+    private Integer played;
+    private Integer won;
+    private Integer lost;
+    private Integer points;
+    private Integer setsWon;
+    private Integer setsLost;
+    private Integer gamesWon;
+    private Integer gamesLost;
+}
@@ -15,5 +15,6 @@ public class TournamentDTO {
     private String inscription;
     private String status;
     private Integer participants;
+    private Integer maxParticipants;
     private Long institutionId;
 }
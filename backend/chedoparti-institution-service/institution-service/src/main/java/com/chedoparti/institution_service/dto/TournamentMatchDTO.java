@@ -0,0 +1,23 @@
+package com.chedoparti.institution_service.dto;
+
+import com.chedoparti.institution_service.enums.EMatchStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class TournamentMatchDTO {
+    private Long id;
+    private Integer matchNumber;
+    private Integer round;
+    private Integer groupNumber;
+    private Long playerAId;
+    private Long playerBId;
+    private Integer nextMatch;
+    private Long courtId;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private Long winnerId;
+    private String score; // p. ej. "6-4 3-6 7-5", desde el lado A
+    private EMatchStatus status;
+}
@@ -0,0 +1,19 @@
+package com.chedoparti.institution_service.dto;
+
+import com.chedoparti.institution_service.enums.ERegistrationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentRegistrationDTO {
+    private Long tournamentId;
+    private Long userId;
+    private ERegistrationStatus status;
+    private Long waitlistPosition; // 1 = el próximo en entrar; null si no está en espera
+    private LocalDateTime registeredAt;
+}
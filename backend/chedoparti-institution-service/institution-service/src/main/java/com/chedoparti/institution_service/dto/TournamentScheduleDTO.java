@@ -0,0 +1,19 @@
+package com.chedoparti.institution_service.dto;
+
+import com.chedoparti.institution_service.enums.ETournamentFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentScheduleDTO {
+    private Long tournamentId;
+    private ETournamentFormat format;
+    private Integer matchDurationMinutes;
+    private Integer restMinutes;
+    private List<TournamentMatchDTO> matches;
+}
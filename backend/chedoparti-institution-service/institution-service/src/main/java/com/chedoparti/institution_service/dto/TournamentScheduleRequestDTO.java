@@ -0,0 +1,19 @@
+package com.chedoparti.institution_service.dto;
+
+import com.chedoparti.institution_service.enums.ETournamentFormat;
+import lombok.Data;
+
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+public class TournamentScheduleRequestDTO {
+    private ETournamentFormat format;
+    private List<Long> playerIds; // En orden de siembra (null = los inscriptos)
+    private Integer groupSize; // Round robin: jugadores por zona (null = una sola zona)
+    private Integer matchDurationMinutes = 90;
+    private Integer restMinutes = 30;
+    private LocalTime dailyStartTime = LocalTime.of(8, 0);
+    private LocalTime dailyEndTime = LocalTime.of(23, 0);
+    private Integer days = 3; // Días disponibles a partir de la fecha del torneo
+}
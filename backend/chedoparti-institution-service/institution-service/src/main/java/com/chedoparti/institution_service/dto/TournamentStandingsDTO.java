@@ -0,0 +1,15 @@
+package com.chedoparti.institution_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TournamentStandingsDTO {
+    private Long tournamentId;
+    private List<GroupStandingsDTO> groups; // Vacío en torneos por llaves
+}
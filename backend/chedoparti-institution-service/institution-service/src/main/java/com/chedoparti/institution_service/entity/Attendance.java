@@ -0,0 +1,38 @@
+package com.chedoparti.institution_service.entity;
+
+import com.chedoparti.institution_service.enums.EAttendanceStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Attendance of a student to a coach class. Coach, group and date are copied from the class so
+ * that listings and rollups never join the schedule.
+ */
+@Entity
+@Data
+@Table(name = "attendance",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"schedule_id", "student_id"}))
+public class Attendance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "schedule_id")
+    private Long scheduleId;
+
+    @Column(name = "student_id")
+    private Long studentId;
+
+    private Long coachId;
+    private Long groupId;
+    private LocalDate classDate;
+
+    @Enumerated(EnumType.STRING)
+    private EAttendanceStatus status;
+
+    private LocalDateTime markedAt;
+}
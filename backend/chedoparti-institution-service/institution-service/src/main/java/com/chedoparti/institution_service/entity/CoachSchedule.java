@@ -0,0 +1,31 @@
+package com.chedoparti.institution_service.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A class given by a coach, optionally for a group and on a court of the institution.
+ */
+@Entity
+@Data
+@Table(name = "coach_schedules")
+public class CoachSchedule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long coachId;
+    private Long groupId;
+    private Long courtId; // null si la clase no ocupa una cancha propia
+    private String sport;
+    private String title;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private String notes;
+    private UUID seriesId; // Clases creadas juntas como serie semanal
+    private boolean attendanceTaken; // Ya se contó en los totales semanales de clases
+}
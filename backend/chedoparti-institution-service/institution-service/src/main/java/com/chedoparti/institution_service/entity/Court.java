@@ -2,9 +2,13 @@ package com.chedoparti.institution_service.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Data
+@DynamicUpdate
 @Table(name = "courts")
 public class Court {
 
@@ -16,6 +20,8 @@ public class Court {
     private double pricePerHour;
     private boolean availability;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne
     @JoinColumn(name = "institution_id")
     private Institution institution;
@@ -0,0 +1,31 @@
+package com.chedoparti.institution_service.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * A period in which a single court cannot be used (maintenance, weather, private event).
+ */
+@Entity
+@Data
+@Table(name = "court_blocks")
+public class CourtBlock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "court_id")
+    private Court court;
+
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private String reason;
+}
@@ -2,8 +2,6 @@ package com.chedoparti.institution_service.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
-import java.util.HashSet;
-import java.util.Set;
 
 @Entity
 @Data
@@ -17,12 +15,9 @@ public class Group {
     private String name;
     private String sport;
     private Long coachId;
-    
-    @ElementCollection
-    @CollectionTable(name = "group_students", joinColumns = @JoinColumn(name = "group_id"))
-    @Column(name = "student_id")
-    private Set<Long> studentIds = new HashSet<>();
-    
+
+    // Los alumnos (group_students, con su posición) se leen y escriben desde GroupMembers
+
     private boolean isArchived = false;
 
     @ManyToOne
@@ -2,11 +2,20 @@ package com.chedoparti.institution_service.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import java.util.List;
 
+/**
+ * The four child collections are loaded with SUBSELECT: touching one of them on any institution of
+ * a list loads that collection for the whole list in a single query, so mapping N institutions
+ * costs 1 + 4 statements instead of 1 + 4N.
+ */
 @Entity
 @Data
+@DynamicUpdate
 @Table(name = "institutions")
 public class Institution {
 
@@ -27,15 +36,19 @@ public class Institution {
     private Location location;
 
     @OneToMany(mappedBy = "institution", cascade = CascadeType.ALL)
+    @Fetch(FetchMode.SUBSELECT)
     private List<OpeningHour> openingHours;
 
     @OneToMany(mappedBy = "institution", cascade = CascadeType.ALL)
+    @Fetch(FetchMode.SUBSELECT)
     private List<SpecialClosure> specialClosures;
 
     @OneToMany(mappedBy = "institution", cascade = CascadeType.ALL)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Court> courts;
 
     @OneToMany(mappedBy = "institution", cascade = CascadeType.ALL)
+    @Fetch(FetchMode.SUBSELECT)
     private List<Promotion> promotions;
 
     private String images;  // URL de las imágenes (podría ser lista de URLs)
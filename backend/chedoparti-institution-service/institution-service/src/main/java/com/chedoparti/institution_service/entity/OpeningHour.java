@@ -1,10 +1,15 @@
 package com.chedoparti.institution_service.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Data
+@DynamicUpdate
 @Table(name = "opening_hour")
 public class OpeningHour {
 
@@ -16,6 +21,9 @@ public class OpeningHour {
     private String openTime;
     private String closeTime;
 
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne
     @JoinColumn(name = "institution_id")
     private Institution institution;
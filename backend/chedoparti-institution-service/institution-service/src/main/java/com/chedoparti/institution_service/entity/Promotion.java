@@ -3,8 +3,11 @@ package com.chedoparti.institution_service.entity;
 import com.chedoparti.institution_service.enums.EPromotionType;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Entity
 @Data
@@ -21,7 +24,14 @@ public class Promotion {
     private LocalDate startDate; // Fecha de inicio de la promoción
     private LocalDate endDate; // Fecha de fin de la promoción
     private EPromotionType promotionType; // Tipo de promoción (por volumen, por horario, etc.)
-
+    private String daysOfWeek; // Días en que aplica, ej. "MONDAY,WEDNESDAY" o "MONDAY-FRIDAY" (null = todos)
+    private LocalTime startTime; // Inicio de la franja horaria (null = todo el día)
+    private LocalTime endTime; // Fin de la franja horaria
+    private Integer minDurationMinutes; // Duración mínima de la reserva (promociones por volumen)
+    private Integer maxUses; // Cupo, ej. "primeras 100 reservas" (null = sin límite)
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne
     @JoinColumn(name = "institution_id")
     private Institution institution;
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Data
@@ -14,14 +15,13 @@ public class PromotionApplication {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "promotion_id")
     private Promotion promotion;
 
-    @ManyToOne
-    @JoinColumn(name = "reservation_id")
-
-    private Long reservationId;
+    // La reserva vive en reservation-service: solo se guarda su id
+    @Column(name = "reservation_id")
+    private UUID reservationId;
     private Double discountApplied; // Monto de descuento aplicado
     private LocalDateTime appliedAt; // Cuándo se aplicó la promoción
 
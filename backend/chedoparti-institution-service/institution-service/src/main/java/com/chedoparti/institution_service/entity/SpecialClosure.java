@@ -1,12 +1,17 @@
 package com.chedoparti.institution_service.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
 @Entity
 @Data
+@DynamicUpdate
 @Table(name = "special_closure")
 public class SpecialClosure {
 
@@ -17,6 +22,9 @@ public class SpecialClosure {
     private LocalDate date;
     private String reason;
 
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne
     @JoinColumn(name = "institution_id")
     private Institution institution;
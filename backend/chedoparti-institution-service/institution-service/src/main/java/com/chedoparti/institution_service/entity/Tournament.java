@@ -1,8 +1,10 @@
 package com.chedoparti.institution_service.entity;
 
+import com.chedoparti.institution_service.enums.ETournamentFormat;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Entity
 @Data
@@ -21,7 +23,17 @@ public class Tournament {
     private LocalDate date;
     private String inscription;
     private String status;
-    private Integer participants;
+    private Integer participants; // Inscriptos confirmados; lo mantiene el servicio de inscripción
+    private Integer maxParticipants; // Cupo (null = sin límite)
+
+    // Configuración del fixture, guardada al programarlo para poder repararlo después
+    @Enumerated(EnumType.STRING)
+    private ETournamentFormat format;
+    private Integer matchDurationMinutes; // Cada partido ocupa un turno de esta duración
+    private Integer restMinutes; // Descanso mínimo de un jugador entre partidos
+    private LocalTime dailyStartTime; // Franja diaria en la que se programan partidos
+    private LocalTime dailyEndTime;
+    private Integer scheduleDays; // Días disponibles a partir de date
 
     @ManyToOne
     @JoinColumn(name = "institution_id")
@@ -0,0 +1,50 @@
+package com.chedoparti.institution_service.entity;
+
+import com.chedoparti.institution_service.enums.EMatchStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(name = "tournament_matches",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"tournament_id", "match_number"}))
+public class TournamentMatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tournament_id")
+    private Tournament tournament;
+
+    private Integer matchNumber; // Número dentro del torneo, en orden de ronda
+    private Integer round;
+    private Integer groupNumber; // Zona del round robin (null en llaves)
+    private Long playerAId; // null hasta que se conozca el ganador del partido previo
+    private Long playerBId;
+    private Integer feederA; // Partido cuyo ganador juega como A
+    private Integer feederB;
+    private Integer nextMatch; // Partido al que pasa el ganador
+    private Integer nextSide; // 0 = A, 1 = B
+    private Long courtId;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private Long winnerId;
+
+    // Resultado cargado, desde el lado A (null si se informó solo el ganador)
+    private Integer setsA;
+    private Integer setsB;
+    private Integer gamesA;
+    private Integer gamesB;
+    private String score;
+
+    @Enumerated(EnumType.STRING)
+    private EMatchStatus status;
+}
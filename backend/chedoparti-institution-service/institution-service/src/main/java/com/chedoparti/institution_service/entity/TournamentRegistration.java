@@ -0,0 +1,34 @@
+package com.chedoparti.institution_service.entity;
+
+import com.chedoparti.institution_service.enums.ERegistrationStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(name = "tournament_registrations",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"tournament_id", "user_id"}))
+public class TournamentRegistration {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tournament_id")
+    private Tournament tournament;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    private ERegistrationStatus status;
+
+    private LocalDateTime registeredAt; // Define el orden de la lista de espera
+}
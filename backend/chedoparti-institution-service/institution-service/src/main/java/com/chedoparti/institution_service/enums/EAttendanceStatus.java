@@ -0,0 +1,11 @@
+package com.chedoparti.institution_service.enums;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// En minúscula en el JSON, como los usa el frontend
+public enum EAttendanceStatus {
+    @JsonProperty("present") PRESENT,
+    @JsonProperty("late") LATE, // Cuenta como presente
+    @JsonProperty("absent") ABSENT,
+    @JsonProperty("excused") EXCUSED
+}
@@ -0,0 +1,8 @@
+package com.chedoparti.institution_service.enums;
+
+public enum EMatchStatus {
+    PENDING, // Sin cancha ni horario asignados
+    SCHEDULED,
+    COMPLETED,
+    BYE // Pase libre en la primera ronda: no se juega
+}
@@ -0,0 +1,7 @@
+package com.chedoparti.institution_service.enums;
+
+public enum EOccupancyKind {
+    CLASS, // Clase de un profesor
+    COURT_BLOCK,
+    TOURNAMENT_MATCH
+}
@@ -0,0 +1,7 @@
+package com.chedoparti.institution_service.enums;
+
+public enum EOccurrenceStatus {
+    CREATED,
+    CONFLICT,
+    NOT_CREATED // Libre, pero no se creó (simulación u otra ocurrencia en conflicto)
+}
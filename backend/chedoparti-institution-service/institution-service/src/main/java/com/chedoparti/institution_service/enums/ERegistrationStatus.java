@@ -0,0 +1,7 @@
+package com.chedoparti.institution_service.enums;
+
+public enum ERegistrationStatus {
+    REGISTERED,
+    WAITLISTED, // Sin cupo: pasa a REGISTERED cuando alguien se da de baja
+    CANCELLED
+}
@@ -0,0 +1,6 @@
+package com.chedoparti.institution_service.enums;
+
+public enum ETournamentFormat {
+    SINGLE_ELIMINATION,
+    ROUND_ROBIN
+}
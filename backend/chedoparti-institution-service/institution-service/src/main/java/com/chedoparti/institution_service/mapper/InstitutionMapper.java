@@ -1,8 +1,13 @@
 package com.chedoparti.institution_service.mapper;
 
+import com.chedoparti.institution_service.dto.CourtDTO;
 import com.chedoparti.institution_service.dto.InstitutionDTO;
+import com.chedoparti.institution_service.dto.PromotionDTO;
+import com.chedoparti.institution_service.entity.Court;
 import com.chedoparti.institution_service.entity.Institution;
+import com.chedoparti.institution_service.entity.Promotion;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.factory.Mappers;
 
@@ -21,4 +26,17 @@ public interface InstitutionMapper {
     List<InstitutionDTO> institutionsToInstitutionDTOs(List<Institution> institutions);
 
     List<Institution> institutionDTOsToInstitutions(List<InstitutionDTO> institutionDTOs);
+
+    // Los hijos anidados no repiten la institución: evita el ciclo institución -> cancha -> institución
+    @Mapping(target = "institution", ignore = true)
+    CourtDTO courtToCourtDTO(Court court);
+
+    @Mapping(target = "institution", ignore = true)
+    Court courtDTOToCourt(CourtDTO courtDTO);
+
+    @Mapping(target = "institution", ignore = true)
+    PromotionDTO promotionToPromotionDTO(Promotion promotion);
+
+    @Mapping(target = "institution", ignore = true)
+    Promotion promotionDTOToPromotion(PromotionDTO promotionDTO);
 }
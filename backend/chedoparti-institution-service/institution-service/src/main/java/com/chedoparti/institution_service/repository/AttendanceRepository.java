@@ -0,0 +1,16 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.entity.Attendance;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+
+    List<Attendance> findByScheduleIdIn(Collection<Long> scheduleIds);
+
+    List<Attendance> findByGroupIdAndClassDateBetweenOrderByClassDateAscStudentIdAsc(Long groupId, LocalDate from,
+                                                                                    LocalDate to);
+}
@@ -0,0 +1,9 @@
+package com.chedoparti.institution_service.repository;
+
+import java.time.LocalDate;
+
+public interface ClosureDateView {
+    Long getInstitutionId();
+
+    LocalDate getDate();
+}
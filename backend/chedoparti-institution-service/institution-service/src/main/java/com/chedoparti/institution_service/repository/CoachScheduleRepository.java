@@ -0,0 +1,33 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.entity.CoachSchedule;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface CoachScheduleRepository extends JpaRepository<CoachSchedule, Long> {
+
+    @Query("SELECT s FROM CoachSchedule s WHERE s.coachId = :coachId AND s.endsAt > :from AND s.startsAt < :to " +
+            "AND (:sport IS NULL OR s.sport = :sport) AND (:groupId IS NULL OR s.groupId = :groupId) " +
+            "ORDER BY s.startsAt")
+    List<CoachSchedule> findForCoach(Long coachId, LocalDateTime from, LocalDateTime to, String sport, Long groupId);
+
+    List<CoachSchedule> findByGroupIdOrderByStartsAt(Long groupId);
+
+    List<CoachSchedule> findByEndsAtAfter(LocalDateTime from);
+
+    List<CoachSchedule> findBySeriesIdOrderByStartsAt(UUID seriesId);
+
+    /**
+     * Locks the classes (in id order, so concurrent callers cannot deadlock) while their attendance is written.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CoachSchedule s WHERE s.id IN :ids ORDER BY s.id")
+    List<CoachSchedule> lockAllById(Collection<Long> ids);
+}
@@ -0,0 +1,17 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.entity.CourtBlock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface CourtBlockRepository extends JpaRepository<CourtBlock, Long> {
+
+    @Query("SELECT b FROM CourtBlock b WHERE b.court.id IN :courtIds AND b.endsAt > :from AND b.startsAt < :to")
+    List<CourtBlock> findOverlapping(Collection<Long> courtIds, LocalDateTime from, LocalDateTime to);
+
+    List<CourtBlock> findByEndsAtAfter(LocalDateTime from);
+}
@@ -9,4 +9,5 @@ import java.util.Optional;
 public interface CourtRepository extends JpaRepository<Court, Long> {
     List<Court> findByInstitutionId(Long institutionId);
     Optional<Court> findByIdAndInstitutionId(Long courtId, Long institutionId);
+    long countByInstitutionId(Long institutionId);
 }
\ No newline at end of file
@@ -1,14 +1,23 @@
 package com.chedoparti.institution_service.repository;
 
 import com.chedoparti.institution_service.entity.Group;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface GroupRepository extends JpaRepository<Group, Long> {
-    List<Group> findByCoachId(Long coachId);
-    List<Group> findByCoachIdAndIsArchived(Long coachId, boolean isArchived);
-    List<Group> findByCoachIdAndSport(Long coachId, String sport);
+public interface GroupRepository extends JpaRepository<Group, Long>, JpaSpecificationExecutor<Group> {
+    /**
+     * Locks the group while its students are changed, so concurrent changes see each other's positions.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM Group g WHERE g.id = :id")
+    Optional<Group> lockById(Long id);
+
+    long countByInstitutionIdAndIsArchivedFalse(Long institutionId);
 }
@@ -0,0 +1,39 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.entity.Group;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filters of the group listing; each returns null when its parameter is absent, so they can be
+ * combined freely with {@link Specification#where} / {@code and}.
+ */
+public final class GroupSpecifications {
+
+    private GroupSpecifications() {
+    }
+
+    public static Specification<Group> coach(Long coachId) {
+        return coachId == null ? null : (root, query, cb) -> cb.equal(root.get("coachId"), coachId);
+    }
+
+    public static Specification<Group> institution(Long institutionId) {
+        return institutionId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("institution").get("id"), institutionId);
+    }
+
+    public static Specification<Group> sport(String sport) {
+        return sport == null || sport.isBlank() ? null : (root, query, cb) -> cb.equal(root.get("sport"), sport);
+    }
+
+    /**
+     * Archived groups are listed unless {@code includeArchived} is explicitly false.
+     */
+    public static Specification<Group> archived(Boolean includeArchived) {
+        return includeArchived == null || includeArchived ? null
+                : (root, query, cb) -> cb.isFalse(root.get("isArchived"));
+    }
+
+    public static Specification<Group> after(Long id) {
+        return id == null ? null : (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+}
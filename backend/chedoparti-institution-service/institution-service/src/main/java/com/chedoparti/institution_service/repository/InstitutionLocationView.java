@@ -0,0 +1,12 @@
+package com.chedoparti.institution_service.repository;
+
+/**
+ * Just the coordinates of an institution, used to (re)build the in-memory spatial index.
+ */
+public interface InstitutionLocationView {
+    Long getId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+}
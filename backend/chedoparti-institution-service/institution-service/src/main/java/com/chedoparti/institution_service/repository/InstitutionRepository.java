@@ -1,10 +1,12 @@
 package com.chedoparti.institution_service.repository;
 
+import com.chedoparti.institution_service.dto.InstitutionSummaryDTO;
 import com.chedoparti.institution_service.entity.Institution;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,5 +18,23 @@ public interface InstitutionRepository extends JpaRepository<Institution, Long>
             "cos(radians(i.location.longitude) - " +
             "radians(:lng)) + sin(radians(:lat)) * sin(radians(i.location.latitude)))) <= :radius")
     List<Institution> findNearbyInstitutions(double lat, double lng, double radius);
+
+    @Query("SELECT i.id AS id, i.location.latitude AS latitude, i.location.longitude AS longitude FROM Institution i")
+    List<InstitutionLocationView> findAllLocations();
+
+    @Query("SELECT new com.chedoparti.institution_service.dto.InstitutionSummaryDTO(i.id, i.name, i.description, " +
+            "i.address, i.location, i.images, i.rating) FROM Institution i ORDER BY i.name")
+    List<InstitutionSummaryDTO> findAllSummaries();
+
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.address.city AS city, " +
+            "i.address.state AS state, i.facilities AS facilities FROM Institution i")
+    List<InstitutionSearchView> findAllSearchViews();
+
+    @Query("SELECT new com.chedoparti.institution_service.dto.InstitutionSummaryDTO(i.id, i.name, i.description, " +
+            "i.address, i.location, i.images, i.rating) FROM Institution i WHERE i.id IN :ids")
+    List<InstitutionSummaryDTO> findSummariesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT i.id FROM Institution i")
+    List<Long> findAllIds();
 }
 
@@ -0,0 +1,18 @@
+package com.chedoparti.institution_service.repository;
+
+/**
+ * The searchable text of an institution, used to (re)build the in-memory search index.
+ */
+public interface InstitutionSearchView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getCity();
+
+    String getState();
+
+    String getFacilities();
+}
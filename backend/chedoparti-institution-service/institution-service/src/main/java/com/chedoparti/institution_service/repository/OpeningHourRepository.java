@@ -0,0 +1,18 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.entity.OpeningHour;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface OpeningHourRepository extends JpaRepository<OpeningHour, Long> {
+
+    @Query("SELECT o.institution.id AS institutionId, o.dayOfWeek AS dayOfWeek, o.openTime AS openTime, " +
+            "o.closeTime AS closeTime FROM OpeningHour o WHERE o.institution IS NOT NULL")
+    List<OpeningHourView> findAllViews();
+
+    @Query("SELECT o.institution.id AS institutionId, o.dayOfWeek AS dayOfWeek, o.openTime AS openTime, " +
+            "o.closeTime AS closeTime FROM OpeningHour o WHERE o.institution.id = :institutionId")
+    List<OpeningHourView> findViewsByInstitutionId(Long institutionId);
+}
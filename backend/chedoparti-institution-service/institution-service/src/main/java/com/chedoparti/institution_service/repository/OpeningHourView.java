@@ -0,0 +1,14 @@
+package com.chedoparti.institution_service.repository;
+
+/**
+ * Raw opening-hour row as stored (strings), compiled by the opening hours engine.
+ */
+public interface OpeningHourView {
+    Long getInstitutionId();
+
+    String getDayOfWeek();
+
+    String getOpenTime();
+
+    String getCloseTime();
+}
@@ -0,0 +1,20 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.entity.PromotionApplication;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PromotionApplicationRepository extends JpaRepository<PromotionApplication, Long> {
+
+    @Query("SELECT a.promotion.id AS promotionId, COUNT(a) AS uses, COALESCE(SUM(a.discountApplied), 0.0) AS totalDiscount " +
+            "FROM PromotionApplication a WHERE a.promotion IS NOT NULL GROUP BY a.promotion.id")
+    List<PromotionUsageView> findUsageTotals();
+
+    @Query("SELECT a.discountApplied FROM PromotionApplication a " +
+            "WHERE a.promotion.id = :promotionId AND a.reservationId = :reservationId")
+    Optional<Double> findDiscountApplied(Long promotionId, UUID reservationId);
+}
@@ -2,8 +2,32 @@ package com.chedoparti.institution_service.repository;
 
 import com.chedoparti.institution_service.entity.Promotion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface PromotionRepository extends JpaRepository <Promotion, Long> {
+
+    List<Promotion> findByInstitutionId(Long institutionId);
+
+    @Query("SELECT p.id AS id, p.institution.id AS institutionId, p.name AS name, p.promotionType AS promotionType, " +
+            "p.discountPercentage AS discountPercentage, p.startDate AS startDate, p.endDate AS endDate, " +
+            "p.daysOfWeek AS daysOfWeek, p.startTime AS startTime, p.endTime AS endTime, " +
+            "p.minDurationMinutes AS minDurationMinutes, p.maxUses AS maxUses FROM Promotion p " +
+            "WHERE p.institution IS NOT NULL AND (p.endDate IS NULL OR p.endDate >= :fromDate)")
+    List<PromotionRuleView> findRulesEndingFrom(LocalDate fromDate);
+
+    @Query("SELECT p.id AS id, p.institution.id AS institutionId, p.name AS name, p.promotionType AS promotionType, " +
+            "p.discountPercentage AS discountPercentage, p.startDate AS startDate, p.endDate AS endDate, " +
+            "p.daysOfWeek AS daysOfWeek, p.startTime AS startTime, p.endTime AS endTime, " +
+            "p.minDurationMinutes AS minDurationMinutes, p.maxUses AS maxUses FROM Promotion p " +
+            "WHERE p.institution.id = :institutionId AND (p.endDate IS NULL OR p.endDate >= :fromDate)")
+    List<PromotionRuleView> findRulesByInstitutionIdEndingFrom(Long institutionId, LocalDate fromDate);
+
+    @Query("SELECT COUNT(p) FROM Promotion p WHERE p.institution.id = :institutionId " +
+            "AND (p.startDate IS NULL OR p.startDate <= :date) AND (p.endDate IS NULL OR p.endDate >= :date)")
+    long countActiveByInstitutionId(Long institutionId, LocalDate date);
 }
@@ -0,0 +1,35 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.enums.EPromotionType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Columns of a promotion needed to compile its rules, without loading the institution.
+ */
+public interface PromotionRuleView {
+    Long getId();
+
+    Long getInstitutionId();
+
+    String getName();
+
+    EPromotionType getPromotionType();
+
+    Double getDiscountPercentage();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    String getDaysOfWeek();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+
+    Integer getMinDurationMinutes();
+
+    Integer getMaxUses();
+}
@@ -0,0 +1,12 @@
+package com.chedoparti.institution_service.repository;
+
+/**
+ * Applications recorded for one promotion, used to seed the in-memory usage counters.
+ */
+public interface PromotionUsageView {
+    Long getPromotionId();
+
+    Long getUses();
+
+    Double getTotalDiscount();
+}
@@ -0,0 +1,19 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.entity.SpecialClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SpecialClosureRepository extends JpaRepository<SpecialClosure, Long> {
+
+    @Query("SELECT c.institution.id AS institutionId, c.date AS date FROM SpecialClosure c " +
+            "WHERE c.institution IS NOT NULL AND c.date >= :fromDate")
+    List<ClosureDateView> findAllViewsFrom(LocalDate fromDate);
+
+    @Query("SELECT c.institution.id AS institutionId, c.date AS date FROM SpecialClosure c " +
+            "WHERE c.institution.id = :institutionId AND c.date >= :fromDate")
+    List<ClosureDateView> findViewsByInstitutionIdFrom(Long institutionId, LocalDate fromDate);
+}
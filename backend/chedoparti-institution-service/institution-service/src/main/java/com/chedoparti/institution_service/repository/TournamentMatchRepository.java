@@ -0,0 +1,20 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.entity.TournamentMatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TournamentMatchRepository extends JpaRepository<TournamentMatch, Long> {
+
+    List<TournamentMatch> findByTournamentIdOrderByMatchNumber(Long tournamentId);
+
+    List<TournamentMatch> findByEndsAtAfterAndCourtIdIsNotNull(LocalDateTime from);
+
+    @Modifying
+    @Query("DELETE FROM TournamentMatch m WHERE m.tournament.id = :tournamentId")
+    int deleteByTournamentId(Long tournamentId);
+}
@@ -0,0 +1,33 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.entity.TournamentRegistration;
+import com.chedoparti.institution_service.enums.ERegistrationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TournamentRegistrationRepository extends JpaRepository<TournamentRegistration, Long> {
+
+    Optional<TournamentRegistration> findByTournamentIdAndUserId(Long tournamentId, Long userId);
+
+    List<TournamentRegistration> findByTournamentIdAndStatusOrderByRegisteredAtAscIdAsc(Long tournamentId,
+                                                                                       ERegistrationStatus status);
+
+    @Query("SELECT COUNT(r) FROM TournamentRegistration r WHERE r.tournament.id = :tournamentId " +
+            "AND r.status = com.chedoparti.institution_service.enums.ERegistrationStatus.WAITLISTED " +
+            "AND (r.registeredAt < :registeredAt OR (r.registeredAt = :registeredAt AND r.id < :id))")
+    long countWaitlistedBefore(Long tournamentId, LocalDateTime registeredAt, Long id);
+
+    /**
+     * Moves a waitlisted registration into the freed seat; 0 if someone else promoted it first.
+     */
+    @Modifying
+    @Query("UPDATE TournamentRegistration r " +
+            "SET r.status = com.chedoparti.institution_service.enums.ERegistrationStatus.REGISTERED " +
+            "WHERE r.id = :id AND r.status = com.chedoparti.institution_service.enums.ERegistrationStatus.WAITLISTED")
+    int promote(Long id);
+}
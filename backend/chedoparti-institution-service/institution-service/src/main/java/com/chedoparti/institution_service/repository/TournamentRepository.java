@@ -1,14 +1,41 @@
 package com.chedoparti.institution_service.repository;
 
 import com.chedoparti.institution_service.entity.Tournament;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.util.Optional;
 
 @Repository
-public interface TournamentRepository extends JpaRepository<Tournament, Long> {
-    List<Tournament> findByInstitutionId(Long institutionId);
-    List<Tournament> findBySport(String sport);
-    List<Tournament> findByStatus(String status);
+public interface TournamentRepository extends JpaRepository<Tournament, Long>, JpaSpecificationExecutor<Tournament> {
+    /**
+     * Takes a seat only if one is left; 0 means the tournament is full (or does not exist).
+     */
+    @Modifying
+    @Query("UPDATE Tournament t SET t.participants = COALESCE(t.participants, 0) + 1 WHERE t.id = :id " +
+            "AND (t.maxParticipants IS NULL OR COALESCE(t.participants, 0) < t.maxParticipants)")
+    int incrementParticipants(Long id);
+
+    @Modifying
+    @Query("UPDATE Tournament t SET t.participants = t.participants - 1 WHERE t.id = :id AND t.participants > 0")
+    int decrementParticipants(Long id);
+
+    @Query("SELECT t.participants AS participants, t.maxParticipants AS maxParticipants FROM Tournament t WHERE t.id = :id")
+    Optional<TournamentSeatsView> findSeatsById(Long id);
+
+    /**
+     * Locks the tournament while its schedule is rebuilt or repaired, so results and court closures
+     * are planned one at a time against the matches the previous change saved.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Tournament t WHERE t.id = :id")
+    Optional<Tournament> lockById(Long id);
+
+    long countByInstitutionIdAndDateGreaterThanEqual(Long institutionId, LocalDate date);
 }
@@ -0,0 +1,10 @@
+package com.chedoparti.institution_service.repository;
+
+/**
+ * Confirmed participants and capacity of a tournament, used to seed the in-memory seat counter.
+ */
+public interface TournamentSeatsView {
+    Integer getParticipants();
+
+    Integer getMaxParticipants();
+}
@@ -0,0 +1,44 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.entity.Tournament;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of the tournament listing; each returns null when its parameter is absent, so they can
+ * be combined freely with {@link Specification#where} / {@code and}.
+ */
+public final class TournamentSpecifications {
+
+    private TournamentSpecifications() {
+    }
+
+    public static Specification<Tournament> institution(Long institutionId) {
+        return institutionId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("institution").get("id"), institutionId);
+    }
+
+    public static Specification<Tournament> sport(String sport) {
+        return sport == null || sport.isBlank() ? null : (root, query, cb) -> cb.equal(root.get("sport"), sport);
+    }
+
+    public static Specification<Tournament> status(String status) {
+        return status == null || status.isBlank() ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Tournament> dateFrom(LocalDate from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), from);
+    }
+
+    public static Specification<Tournament> dateTo(LocalDate to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("date"), to);
+    }
+
+    /**
+     * Tournaments are listed newest first, so the next page holds smaller ids.
+     */
+    public static Specification<Tournament> before(Long id) {
+        return id == null ? null : (root, query, cb) -> cb.lessThan(root.get("id"), id);
+    }
+}
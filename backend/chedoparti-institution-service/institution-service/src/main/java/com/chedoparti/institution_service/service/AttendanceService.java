@@ -0,0 +1,166 @@
+package com.chedoparti.institution_service.service;
+
+import com.chedoparti.institution_service.dto.AttendanceDTO;
+import com.chedoparti.institution_service.dto.AttendanceStatsDTO;
+import com.chedoparti.institution_service.entity.Attendance;
+import com.chedoparti.institution_service.entity.CoachSchedule;
+import com.chedoparti.institution_service.repository.AttendanceRepository;
+import com.chedoparti.institution_service.repository.CoachScheduleRepository;
+import com.chedoparti.institution_service.service.attendance.AttendanceDeltas;
+import com.chedoparti.institution_service.service.attendance.AttendanceMark;
+import com.chedoparti.institution_service.service.attendance.AttendanceRollups;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Attendance to coach classes. Marks are written together with the weekly rollups in
+ * {@link AttendanceRollups}, which is where the statistics are read from. Check-ins arrive through
+ * {@link com.chedoparti.institution_service.service.attendance.AttendanceIngestor}, which calls
+ * {@link #apply(List)} in batches.
+ */
+@Service
+@Slf4j
+public class AttendanceService {
+
+    private static final String UPSERT_SQL = "INSERT INTO attendance " +
+            "(schedule_id, student_id, coach_id, group_id, class_date, status, marked_at) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (schedule_id, student_id) DO UPDATE SET status = EXCLUDED.status, marked_at = EXCLUDED.marked_at";
+    private static final int DEFAULT_STATS_WEEKS = 12;
+
+    private record Key(long scheduleId, long studentId) {
+    }
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private CoachScheduleRepository scheduleRepository;
+
+    @Autowired
+    private AttendanceRollups rollups;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Attendance of the group's classes in the week starting at {@code weekStart} (this week if null).
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceDTO> list(Long groupId, LocalDate weekStart) {
+        LocalDate from = weekStart != null ? weekStart : AttendanceDeltas.weekOf(LocalDate.now());
+        return attendanceRepository.findByGroupIdAndClassDateBetweenOrderByClassDateAscStudentIdAsc(groupId, from,
+                        from.plusDays(6)).stream()
+                .map(AttendanceService::toDTO)
+                .toList();
+    }
+
+    /**
+     * Sums the weekly rollups of the weeks touching {@code [startDate, endDate]}; by default the
+     * last {@value #DEFAULT_STATS_WEEKS} weeks.
+     */
+    @Transactional(readOnly = true)
+    public AttendanceStatsDTO stats(Long coachId, LocalDate startDate, LocalDate endDate) {
+        LocalDate toWeek = AttendanceDeltas.weekOf(endDate != null ? endDate : LocalDate.now());
+        LocalDate fromWeek = startDate != null ? AttendanceDeltas.weekOf(startDate)
+                : toWeek.minusWeeks(DEFAULT_STATS_WEEKS - 1);
+        if (toWeek.isBefore(fromWeek)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        return rollups.stats(coachId, fromWeek, toWeek);
+    }
+
+    /**
+     * Writes a batch of marks and their rollup changes. The classes are locked while their marks
+     * are read and written, so concurrent batches cannot count the same change twice. Marks of
+     * unknown classes and marks older than the stored one are ignored.
+     *
+     * @return the number of marks that changed something.
+     */
+    @Transactional
+    public int apply(List<AttendanceMark> marks) {
+        Map<Key, AttendanceMark> latest = new LinkedHashMap<>();
+        for (AttendanceMark mark : marks) {
+            latest.merge(new Key(mark.scheduleId(), mark.studentId()), mark,
+                    (current, next) -> next.markedAt().isBefore(current.markedAt()) ? current : next);
+        }
+        Set<Long> scheduleIds = latest.keySet().stream().map(Key::scheduleId).collect(Collectors.toSet());
+        Map<Long, CoachSchedule> schedules = new HashMap<>();
+        scheduleRepository.lockAllById(scheduleIds).forEach(schedule -> schedules.put(schedule.getId(), schedule));
+        Map<Key, Attendance> existing = new HashMap<>();
+        for (Attendance attendance : attendanceRepository.findByScheduleIdIn(scheduleIds)) {
+            existing.put(new Key(attendance.getScheduleId(), attendance.getStudentId()), attendance);
+        }
+
+        AttendanceDeltas deltas = new AttendanceDeltas();
+        List<AttendanceMark> writes = new ArrayList<>(latest.size());
+        int unknown = 0;
+        for (Map.Entry<Key, AttendanceMark> entry : latest.entrySet()) {
+            AttendanceMark mark = entry.getValue();
+            CoachSchedule schedule = schedules.get(mark.scheduleId());
+            if (schedule == null) {
+                unknown++;
+                continue;
+            }
+            Attendance previous = existing.get(entry.getKey());
+            if (previous != null && (previous.getStatus() == mark.status()
+                    || previous.getMarkedAt().isAfter(mark.markedAt()))) {
+                continue;
+            }
+            LocalDate classDate = schedule.getStartsAt().toLocalDate();
+            deltas.change(schedule.getCoachId(), schedule.getGroupId(), mark.studentId(), classDate,
+                    previous != null ? previous.getStatus() : null, mark.status());
+            if (!schedule.isAttendanceTaken()) {
+                schedule.setAttendanceTaken(true);
+                deltas.classTaken(schedule.getCoachId(), schedule.getGroupId(), classDate);
+            }
+            writes.add(mark);
+        }
+        if (unknown > 0) {
+            log.warn("Ignored {} attendance marks of unknown classes", unknown);
+        }
+        if (writes.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, writes, writes.size(), (statement, mark) -> {
+            CoachSchedule schedule = schedules.get(mark.scheduleId());
+            statement.setLong(1, mark.scheduleId());
+            statement.setLong(2, mark.studentId());
+            statement.setLong(3, schedule.getCoachId());
+            statement.setObject(4, schedule.getGroupId(), Types.BIGINT);
+            statement.setDate(5, Date.valueOf(schedule.getStartsAt().toLocalDate()));
+            statement.setString(6, mark.status().name());
+            statement.setTimestamp(7, Timestamp.valueOf(mark.markedAt()));
+        });
+        rollups.add(deltas);
+        return writes.size();
+    }
+
+    private static AttendanceDTO toDTO(Attendance attendance) {
+        AttendanceDTO dto = new AttendanceDTO();
+        dto.setId(attendance.getId());
+        dto.setScheduleId(attendance.getScheduleId());
+        dto.setStudentId(attendance.getStudentId());
+        dto.setCoachId(attendance.getCoachId());
+        dto.setGroupId(attendance.getGroupId());
+        dto.setClassDate(attendance.getClassDate());
+        dto.setStatus(attendance.getStatus());
+        dto.setMarkedAt(attendance.getMarkedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,323 @@
+package com.chedoparti.institution_service.service;
+
+import com.chedoparti.institution_service.dto.CoachAvailabilityDTO;
+import com.chedoparti.institution_service.dto.CoachAvailabilityRequestDTO;
+import com.chedoparti.institution_service.dto.CoachScheduleDTO;
+import com.chedoparti.institution_service.dto.RecurringScheduleRequestDTO;
+import com.chedoparti.institution_service.dto.RecurringScheduleResultDTO;
+import com.chedoparti.institution_service.dto.ScheduleConflictDTO;
+import com.chedoparti.institution_service.dto.ScheduleOccurrenceDTO;
+import com.chedoparti.institution_service.entity.CoachSchedule;
+import com.chedoparti.institution_service.enums.EOccurrenceStatus;
+import com.chedoparti.institution_service.exception.ResourceNotFoundException;
+import com.chedoparti.institution_service.repository.CoachScheduleRepository;
+import com.chedoparti.institution_service.repository.CourtRepository;
+import com.chedoparti.institution_service.service.coach.ClassSeries;
+import com.chedoparti.institution_service.service.coach.CoachScheduleIndex;
+import com.chedoparti.institution_service.service.coach.Occupancy;
+import com.chedoparti.institution_service.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Coach classes. Every write is checked against the coach's other classes and against everything
+ * that occupies the court (other classes, court blocks, tournament matches) using
+ * {@link CoachScheduleIndex}, so neither checks nor writes scan the schedule tables.
+ */
+@Service
+@Slf4j
+public class CoachScheduleService {
+
+    private static final String INSERT_SQL = "INSERT INTO coach_schedules " +
+            "(coach_id, group_id, court_id, sport, title, starts_at, ends_at, notes, series_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private CoachScheduleRepository scheduleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${institution.coach-schedules.series.max-occurrences:1000}")
+    private int maxOccurrences;
+
+    @Value("${institution.coach-schedules.series.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private CoachScheduleIndex scheduleIndex;
+
+    /**
+     * Classes of the coach in the week starting at {@code weekStart} (this week if null).
+     */
+    @Transactional(readOnly = true)
+    public List<CoachScheduleDTO> list(Long coachId, LocalDate weekStart, String sport, Long groupId) {
+        LocalDate from = weekStart != null ? weekStart
+                : LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return scheduleRepository.findForCoach(coachId, from.atStartOfDay(), from.plusDays(7).atStartOfDay(),
+                        sport, groupId).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public CoachScheduleDTO findById(Long id) {
+        return toDTO(findSchedule(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CoachScheduleDTO> findByGroup(Long groupId) {
+        return scheduleRepository.findByGroupIdOrderByStartsAt(groupId).stream().map(this::toDTO).toList();
+    }
+
+    @Transactional
+    public CoachScheduleDTO create(CoachScheduleDTO dto) {
+        if (dto.getCoachId() == null) {
+            throw new IllegalArgumentException("coachId is required");
+        }
+        validate(dto.getCourtId(), dto.getStartsAt(), dto.getEndsAt());
+        rejectConflicts(dto.getCoachId(), dto.getCourtId(), dto.getStartsAt(), dto.getEndsAt(), null);
+
+        CoachSchedule schedule = new CoachSchedule();
+        schedule.setCoachId(dto.getCoachId());
+        copy(dto, schedule);
+        return toDTO(place(schedule));
+    }
+
+    /**
+     * Updates the fields that are not null; moving the class re-checks it.
+     */
+    @Transactional
+    public CoachScheduleDTO update(Long id, CoachScheduleDTO dto) {
+        CoachSchedule schedule = findSchedule(id);
+        Long courtId = dto.getCourtId() != null ? dto.getCourtId() : schedule.getCourtId();
+        LocalDateTime startsAt = dto.getStartsAt() != null ? dto.getStartsAt() : schedule.getStartsAt();
+        LocalDateTime endsAt = dto.getEndsAt() != null ? dto.getEndsAt() : schedule.getEndsAt();
+        boolean moved = !Objects.equals(courtId, schedule.getCourtId()) || !startsAt.equals(schedule.getStartsAt())
+                || !endsAt.equals(schedule.getEndsAt());
+
+        copy(dto, schedule);
+        if (!moved) {
+            return toDTO(scheduleRepository.save(schedule));
+        }
+        validate(courtId, startsAt, endsAt);
+        rejectConflicts(schedule.getCoachId(), courtId, startsAt, endsAt, id);
+        return toDTO(place(schedule));
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        CoachSchedule schedule = findSchedule(id);
+        scheduleRepository.delete(schedule);
+        TransactionHooks.afterCommit(() -> scheduleIndex.removeClass(id));
+    }
+
+    /**
+     * Creates a weekly series of classes. Every occurrence is checked against the index in one
+     * in-memory pass and the classes are inserted in JDBC batches, instead of one check and one
+     * INSERT per class. The report says, per occurrence, whether it was created or what it hits.
+     */
+    @Transactional
+    public RecurringScheduleResultDTO createRecurring(RecurringScheduleRequestDTO request) {
+        List<ClassSeries.Occurrence> occurrences = expand(request);
+        List<ScheduleOccurrenceDTO> report = new ArrayList<>(occurrences.size());
+        List<ClassSeries.Occurrence> free = new ArrayList<>(occurrences.size());
+        for (ClassSeries.Occurrence occurrence : occurrences) {
+            List<ScheduleConflictDTO> conflicts = scheduleIndex.conflicts(request.getCoachId(), request.getCourtId(),
+                            occurrence.startsAt(), occurrence.endsAt(), null).stream()
+                    .map(CoachScheduleService::toConflictDTO)
+                    .toList();
+            if (conflicts.isEmpty()) {
+                free.add(occurrence);
+            }
+            report.add(new ScheduleOccurrenceDTO(occurrence.startsAt(), occurrence.endsAt(),
+                    conflicts.isEmpty() ? EOccurrenceStatus.NOT_CREATED : EOccurrenceStatus.CONFLICT, null, conflicts));
+        }
+        int conflicts = occurrences.size() - free.size();
+        if (request.isDryRun() || free.isEmpty() || (conflicts > 0 && !request.isSkipConflicts())) {
+            return new RecurringScheduleResultDTO(null, 0, conflicts, report);
+        }
+
+        UUID seriesId = UUID.randomUUID();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, free, batchSize, (statement, occurrence) -> {
+                statement.setLong(1, request.getCoachId());
+                statement.setObject(2, request.getGroupId(), Types.BIGINT);
+                statement.setObject(3, request.getCourtId(), Types.BIGINT);
+                statement.setString(4, request.getSport());
+                statement.setString(5, request.getTitle());
+                statement.setTimestamp(6, Timestamp.valueOf(occurrence.startsAt()));
+                statement.setTimestamp(7, Timestamp.valueOf(occurrence.endsAt()));
+                statement.setString(8, request.getNotes());
+                statement.setObject(9, seriesId);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia tomó alguno de los horarios entre el chequeo y la escritura
+            throw new IllegalStateException("The series overlaps classes created meanwhile; check it again");
+        }
+
+        // Los ids se leen con una sola consulta; la serie se ubica en el índice toda junta o nada
+        List<CoachSchedule> created = scheduleRepository.findBySeriesIdOrderByStartsAt(seriesId);
+        List<Occupancy> raced = scheduleIndex.tryPlaceClasses(created);
+        if (!raced.isEmpty()) {
+            throw new IllegalStateException("The series overlaps something created meanwhile: " + describe(raced.get(0)));
+        }
+        List<Long> ids = created.stream().map(CoachSchedule::getId).toList();
+        TransactionHooks.afterRollback(() -> ids.forEach(scheduleIndex::removeClass));
+
+        Map<LocalDateTime, Long> idByStart = new HashMap<>();
+        created.forEach(schedule -> idByStart.put(schedule.getStartsAt(), schedule.getId()));
+        for (ScheduleOccurrenceDTO occurrence : report) {
+            Long id = idByStart.get(occurrence.getStartsAt());
+            if (id != null) {
+                occurrence.setStatus(EOccurrenceStatus.CREATED);
+                occurrence.setScheduleId(id);
+            }
+        }
+        log.info("Created series {} of coach {}: {} classes, {} conflicts", seriesId, request.getCoachId(),
+                created.size(), conflicts);
+        return new RecurringScheduleResultDTO(seriesId, created.size(), conflicts, report);
+    }
+
+    /**
+     * Answers from memory only; {@code scheduleId} is the class being moved, which is ignored.
+     */
+    public CoachAvailabilityDTO checkAvailability(CoachAvailabilityRequestDTO request) {
+        if (request.getStartsAt() == null || request.getEndsAt() == null
+                || !request.getEndsAt().isAfter(request.getStartsAt())) {
+            throw new IllegalArgumentException("startsAt and endsAt (after startsAt) are required");
+        }
+        List<ScheduleConflictDTO> conflicts = scheduleIndex.conflicts(request.getCoachId(), request.getCourtId(),
+                        request.getStartsAt(), request.getEndsAt(), request.getScheduleId()).stream()
+                .map(CoachScheduleService::toConflictDTO)
+                .toList();
+        return new CoachAvailabilityDTO(conflicts.isEmpty(), conflicts);
+    }
+
+    /**
+     * Writes the class and takes its slot in the index; a rollback gives the slot back.
+     */
+    private CoachSchedule place(CoachSchedule schedule) {
+        Occupancy previous = schedule.getId() != null ? scheduleIndex.classPlacement(schedule.getId()) : null;
+        try {
+            scheduleRepository.saveAndFlush(schedule);
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia tomó el horario entre el chequeo y la escritura
+            throw new IllegalStateException("The class overlaps another class of the coach or on the court");
+        }
+        List<Occupancy> conflicts = scheduleIndex.tryPlaceClass(schedule.getId(), schedule.getCoachId(),
+                schedule.getCourtId(), schedule.getStartsAt(), schedule.getEndsAt());
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException(describe(conflicts.get(0)));
+        }
+        Long id = schedule.getId();
+        TransactionHooks.afterRollback(() -> scheduleIndex.restoreClass(id, previous));
+        return schedule;
+    }
+
+    private List<ClassSeries.Occurrence> expand(RecurringScheduleRequestDTO request) {
+        if (request.getCoachId() == null || request.getDaysOfWeek() == null || request.getDaysOfWeek().isEmpty()
+                || request.getFromDate() == null || request.getUntilDate() == null
+                || request.getUntilDate().isBefore(request.getFromDate())) {
+            throw new IllegalArgumentException("coachId, daysOfWeek, fromDate and untilDate (not before fromDate) are required");
+        }
+        if (request.getStartTime() == null || request.getEndTime() == null
+                || !request.getEndTime().isAfter(request.getStartTime())) {
+            throw new IllegalArgumentException("startTime and endTime (after startTime, same day) are required");
+        }
+        validate(request.getCourtId(), request.getFromDate().atTime(request.getStartTime()),
+                request.getFromDate().atTime(request.getEndTime()));
+        List<ClassSeries.Occurrence> occurrences = ClassSeries.occurrences(request.getFromDate(),
+                request.getUntilDate(), request.getDaysOfWeek(), request.getStartTime(), request.getEndTime());
+        if (occurrences.size() > maxOccurrences) {
+            throw new IllegalArgumentException("A series can have at most " + maxOccurrences + " classes");
+        }
+        return occurrences;
+    }
+
+    private void rejectConflicts(Long coachId, Long courtId, LocalDateTime startsAt, LocalDateTime endsAt,
+                                 Long ignoreId) {
+        List<Occupancy> conflicts = scheduleIndex.conflicts(coachId, courtId, startsAt, endsAt, ignoreId);
+        if (!conflicts.isEmpty()) {
+            throw new IllegalStateException(describe(conflicts.get(0)));
+        }
+    }
+
+    private void validate(Long courtId, LocalDateTime startsAt, LocalDateTime endsAt) {
+        if (startsAt == null || endsAt == null || !endsAt.isAfter(startsAt)) {
+            throw new IllegalArgumentException("startsAt and endsAt (after startsAt) are required");
+        }
+        if (startsAt.isBefore(scheduleIndex.horizon())) {
+            throw new IllegalArgumentException("Classes cannot be scheduled before " + scheduleIndex.horizon());
+        }
+        if (courtId != null && !courtRepository.existsById(courtId)) {
+            throw new ResourceNotFoundException("Court " + courtId + " not found");
+        }
+    }
+
+    private static void copy(CoachScheduleDTO dto, CoachSchedule schedule) {
+        if (dto.getGroupId() != null) schedule.setGroupId(dto.getGroupId());
+        if (dto.getCourtId() != null) schedule.setCourtId(dto.getCourtId());
+        if (dto.getSport() != null) schedule.setSport(dto.getSport());
+        if (dto.getTitle() != null) schedule.setTitle(dto.getTitle());
+        if (dto.getStartsAt() != null) schedule.setStartsAt(dto.getStartsAt());
+        if (dto.getEndsAt() != null) schedule.setEndsAt(dto.getEndsAt());
+        if (dto.getNotes() != null) schedule.setNotes(dto.getNotes());
+    }
+
+    private static String describe(Occupancy conflict) {
+        String what = switch (conflict.kind()) {
+            case CLASS -> "class " + conflict.id();
+            case COURT_BLOCK -> "court block " + conflict.id();
+            case TOURNAMENT_MATCH -> "tournament match " + conflict.id();
+        };
+        return "The class overlaps " + what + " (" + CoachScheduleIndex.time(conflict.start()) + " - "
+                + CoachScheduleIndex.time(conflict.end()) + ")";
+    }
+
+    private CoachSchedule findSchedule(Long id) {
+        return scheduleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Coach schedule " + id + " not found"));
+    }
+
+    private static ScheduleConflictDTO toConflictDTO(Occupancy conflict) {
+        return new ScheduleConflictDTO(conflict.kind(), conflict.id(), conflict.coachId(), conflict.courtId(),
+                CoachScheduleIndex.time(conflict.start()), CoachScheduleIndex.time(conflict.end()));
+    }
+
+    private CoachScheduleDTO toDTO(CoachSchedule schedule) {
+        CoachScheduleDTO dto = new CoachScheduleDTO();
+        dto.setId(schedule.getId());
+        dto.setCoachId(schedule.getCoachId());
+        dto.setGroupId(schedule.getGroupId());
+        dto.setCourtId(schedule.getCourtId());
+        dto.setSport(schedule.getSport());
+        dto.setTitle(schedule.getTitle());
+        dto.setStartsAt(schedule.getStartsAt());
+        dto.setEndsAt(schedule.getEndsAt());
+        dto.setNotes(schedule.getNotes());
+        dto.setSeriesId(schedule.getSeriesId());
+        return dto;
+    }
+}
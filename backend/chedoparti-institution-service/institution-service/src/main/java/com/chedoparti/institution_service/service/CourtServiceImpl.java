@@ -6,6 +6,7 @@ import com.chedoparti.institution_service.exception.ResourceNotFoundException;
 import com.chedoparti.institution_service.mapper.CourtMapper;
 import com.chedoparti.institution_service.repository.CourtRepository;
 import com.chedoparti.institution_service.repository.InstitutionRepository;
+import com.chedoparti.institution_service.service.cache.InstitutionCatalogCache;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,11 +16,14 @@ public class CourtServiceImpl implements CourtService {
 
     private final CourtRepository courtRepository;
     private final InstitutionRepository institutionRepository;
+    private final InstitutionCatalogCache catalogCache;
     private final CourtMapper courtMapper = CourtMapper.INSTANCE;
 
-    public CourtServiceImpl(CourtRepository courtRepository, InstitutionRepository institutionRepository) {
+    public CourtServiceImpl(CourtRepository courtRepository, InstitutionRepository institutionRepository,
+                            InstitutionCatalogCache catalogCache) {
         this.courtRepository = courtRepository;
         this.institutionRepository = institutionRepository;
+        this.catalogCache = catalogCache;
     }
 
     // Obtener todas las canchas de una institución en formato CourtDTO
@@ -41,6 +45,7 @@ public class CourtServiceImpl implements CourtService {
         court.setInstitution(institutionRepository.findById(institutionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Institution id: " + institutionId + " not found for this ID")));
         Court savedCourt = courtRepository.save(court);
+        catalogCache.invalidate();
         return courtMapper.toCourtDTO(savedCourt);  // Devuelve el DTO de la cancha creada
     }
 
@@ -52,6 +57,7 @@ public class CourtServiceImpl implements CourtService {
         courtMapper.updateCourtFromCourtDto(courtDTO, court);
 
         Court updatedCourt = courtRepository.save(court);
+        catalogCache.invalidate();
         return courtMapper.toCourtDTO(updatedCourt);  // Devuelve el DTO actualizado
     }
 
@@ -60,5 +66,6 @@ public class CourtServiceImpl implements CourtService {
         Court court = courtRepository.findByIdAndInstitutionId(courtId, institutionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Court not found for this ID"));
         courtRepository.delete(court);
+        catalogCache.invalidate();
     }
 }
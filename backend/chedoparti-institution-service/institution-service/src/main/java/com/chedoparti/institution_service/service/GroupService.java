@@ -2,13 +2,22 @@ package com.chedoparti.institution_service.service;
 
 import com.chedoparti.institution_service.dto.GroupDTO;
 import com.chedoparti.institution_service.entity.Group;
+import com.chedoparti.institution_service.exception.ResourceNotFoundException;
 import com.chedoparti.institution_service.repository.GroupRepository;
+import com.chedoparti.institution_service.repository.GroupSpecifications;
 import com.chedoparti.institution_service.repository.InstitutionRepository;
+import com.chedoparti.institution_service.service.group.GroupMembers;
+import com.chedoparti.institution_service.service.paging.Keyset;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,110 +29,175 @@ public class GroupService {
     @Autowired
     private InstitutionRepository institutionRepository;
 
-    public List<GroupDTO> findByCoach(Long coachId, Boolean includeArchived, String sport) {
-        List<Group> groups;
-        
-        if (sport != null) {
-            groups = groupRepository.findByCoachIdAndSport(coachId, sport);
-        } else if (includeArchived != null && !includeArchived) {
-            groups = groupRepository.findByCoachIdAndIsArchived(coachId, false);
-        } else {
-            groups = groupRepository.findByCoachId(coachId);
+    @Autowired
+    private GroupMembers groupMembers;
+
+    /**
+     * Groups of the coach matching every given filter, oldest first, one keyset page at a time.
+     */
+    @Transactional(readOnly = true)
+    public Keyset.Page<GroupDTO> findByCoach(Long coachId, Boolean includeArchived, String sport, Long institutionId,
+                                             String cursor, Integer limit) {
+        if (coachId == null) {
+            throw new IllegalArgumentException("coachId is required");
         }
-        
-        return groups.stream().map(this::toDTO).collect(Collectors.toList());
+        int pageSize = Keyset.limit(limit);
+        Specification<Group> filter = Specification.where(GroupSpecifications.coach(coachId))
+                .and(GroupSpecifications.sport(sport))
+                .and(GroupSpecifications.archived(includeArchived))
+                .and(GroupSpecifications.institution(institutionId))
+                .and(GroupSpecifications.after(Keyset.decode(cursor)));
+        List<Group> rows = groupRepository.findBy(filter,
+                query -> query.sortBy(Sort.by("id")).limit(pageSize + 1).all());
+        Keyset.Page<Group> page = Keyset.page(rows, pageSize, Group::getId);
+        return new Keyset.Page<>(toDTOs(page.items()), page.nextCursor());
     }
 
+    @Transactional(readOnly = true)
     public GroupDTO findById(Long id) {
-        return groupRepository.findById(id)
-            .map(this::toDTO)
-            .orElseThrow(() -> new RuntimeException("Group not found"));
+        return toDTO(load(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> getStudents(Long groupId) {
+        load(groupId);
+        return groupMembers.students(groupId);
     }
 
+    @Transactional
     public GroupDTO create(GroupDTO dto) {
         Group group = new Group();
         group.setName(dto.getName());
         group.setSport(dto.getSport());
         group.setCoachId(dto.getCoachId());
-        group.setStudentIds(dto.getStudentIds() != null ? dto.getStudentIds() : new HashSet<>());
         group.setArchived(false);
         
         if (dto.getInstitutionId() != null) {
             institutionRepository.findById(dto.getInstitutionId())
                 .ifPresent(group::setInstitution);
         }
-        
-        return toDTO(groupRepository.save(group));
+
+        Group saved = groupRepository.save(group);
+        if (dto.getStudentIds() != null) {
+            groupMembers.add(saved.getId(), dto.getStudentIds());
+        }
+        return toDTO(saved);
     }
 
+    @Transactional
     public GroupDTO update(Long id, GroupDTO dto) {
-        Group group = groupRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Group not found"));
+        Group group = dto.getStudentIds() != null ? lock(id) : load(id);
         
         if (dto.getName() != null) group.setName(dto.getName());
         if (dto.getSport() != null) group.setSport(dto.getSport());
-        if (dto.getStudentIds() != null) group.setStudentIds(dto.getStudentIds());
+        if (dto.getStudentIds() != null) groupMembers.replace(id, dto.getStudentIds());
         
         return toDTO(groupRepository.save(group));
     }
 
+    @Transactional
     public GroupDTO archive(Long id) {
-        Group group = groupRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Group not found"));
+        Group group = load(id);
         group.setArchived(true);
         return toDTO(groupRepository.save(group));
     }
 
+    @Transactional
     public GroupDTO restore(Long id) {
-        Group group = groupRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Group not found"));
+        Group group = load(id);
         group.setArchived(false);
         return toDTO(groupRepository.save(group));
     }
 
+    @Transactional
     public GroupDTO duplicate(Long id) {
-        Group original = groupRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Group not found"));
+        Group original = load(id);
         
         Group duplicate = new Group();
         duplicate.setName(original.getName() + " (Copia)");
         duplicate.setSport(original.getSport());
         duplicate.setCoachId(original.getCoachId());
-        duplicate.setStudentIds(new HashSet<>());
         duplicate.setArchived(false);
         duplicate.setInstitution(original.getInstitution());
         
         return toDTO(groupRepository.save(duplicate));
     }
 
+    @Transactional
     public GroupDTO addStudent(Long groupId, Long studentId) {
-        Group group = groupRepository.findById(groupId)
-            .orElseThrow(() -> new RuntimeException("Group not found"));
-        group.getStudentIds().add(studentId);
-        return toDTO(groupRepository.save(group));
+        if (studentId == null) {
+            throw new IllegalArgumentException("studentId is required");
+        }
+        return addStudents(groupId, List.of(studentId));
+    }
+
+    /**
+     * Adds the students at the end of the group, in order; students already in it keep their place.
+     */
+    @Transactional
+    public GroupDTO addStudents(Long groupId, List<Long> studentIds) {
+        Group group = lock(groupId);
+        groupMembers.add(groupId, requireIds(studentIds));
+        return toDTO(group);
     }
 
+    @Transactional
     public GroupDTO removeStudent(Long groupId, Long studentId) {
-        Group group = groupRepository.findById(groupId)
-            .orElseThrow(() -> new RuntimeException("Group not found"));
-        group.getStudentIds().remove(studentId);
-        return toDTO(groupRepository.save(group));
+        return removeStudents(groupId, List.of(studentId));
     }
 
+    @Transactional
+    public GroupDTO removeStudents(Long groupId, List<Long> studentIds) {
+        Group group = lock(groupId);
+        groupMembers.remove(groupId, requireIds(studentIds));
+        return toDTO(group);
+    }
+
+    /**
+     * @param studentIds every student of the group, in the new order.
+     */
+    @Transactional
     public GroupDTO reorderStudents(Long groupId, List<Long> studentIds) {
-        Group group = groupRepository.findById(groupId)
-            .orElseThrow(() -> new RuntimeException("Group not found"));
-        group.setStudentIds(new HashSet<>(studentIds));
-        return toDTO(groupRepository.save(group));
+        Group group = lock(groupId);
+        groupMembers.reorder(groupId, requireIds(studentIds));
+        return toDTO(group);
+    }
+
+    private Group load(Long id) {
+        return groupRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Group " + id + " not found"));
+    }
+
+    private Group lock(Long id) {
+        return groupRepository.lockById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Group " + id + " not found"));
+    }
+
+    private static List<Long> requireIds(List<Long> studentIds) {
+        if (studentIds == null || studentIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("studentIds must be a list of student ids");
+        }
+        return studentIds;
+    }
+
+    private List<GroupDTO> toDTOs(Collection<Group> groups) {
+        Map<Long, List<Long>> students = groupMembers.students(groups.stream().map(Group::getId).toList());
+        return groups.stream()
+                .map(group -> toDTO(group, students.getOrDefault(group.getId(), List.of())))
+                .collect(Collectors.toList());
     }
 
     private GroupDTO toDTO(Group group) {
+        return toDTO(group, groupMembers.students(group.getId()));
+    }
+
+    private GroupDTO toDTO(Group group, List<Long> studentIds) {
         GroupDTO dto = new GroupDTO();
         dto.setId(group.getId());
         dto.setName(group.getName());
         dto.setSport(group.getSport());
         dto.setCoachId(group.getCoachId());
-        dto.setStudentIds(group.getStudentIds());
+        dto.setStudentIds(studentIds);
         dto.setArchived(group.isArchived());
         if (group.getInstitution() != null) {
             dto.setInstitutionId(group.getInstitution().getId());
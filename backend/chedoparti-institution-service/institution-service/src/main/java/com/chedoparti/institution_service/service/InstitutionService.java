@@ -1,7 +1,13 @@
 package com.chedoparti.institution_service.service;
 
 import com.chedoparti.institution_service.dto.InstitutionDTO;
+import com.chedoparti.institution_service.dto.InstitutionPatchDTO;
+import com.chedoparti.institution_service.dto.InstitutionSuggestionDTO;
+import com.chedoparti.institution_service.dto.InstitutionSummaryDTO;
+import com.chedoparti.institution_service.dto.NearbyInstitutionDTO;
+import com.chedoparti.institution_service.service.cache.InstitutionCatalogCache;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface InstitutionService {
@@ -10,9 +16,25 @@ public interface InstitutionService {
 
     List<InstitutionDTO> getAllInstitutions();
 
+    InstitutionCatalogCache.Snapshot getInstitutionCatalog();
+
+    List<InstitutionSummaryDTO> getInstitutionSummaries();
+
     InstitutionDTO getInstitutionById(Long institutionId);
 
     InstitutionDTO updateInstitution(Long institutionId, InstitutionDTO institutionDTO);
 
+    InstitutionDTO patchInstitution(Long institutionId, InstitutionPatchDTO patch);
+
     void deleteInstitution(Long institutionId);
+
+    boolean isOpen(Long institutionId, Instant at);
+
+    List<Long> getOpenInstitutionIds(Instant at);
+
+    List<NearbyInstitutionDTO> findNearbyInstitutions(double latitude, double longitude, double radiusKm, int limit);
+
+    List<InstitutionSummaryDTO> searchInstitutions(String query, int limit);
+
+    List<InstitutionSuggestionDTO> autocompleteInstitutions(String prefix, int limit);
 }
@@ -1,18 +1,45 @@
 package com.chedoparti.institution_service.service;
 
 import com.chedoparti.institution_service.dto.InstitutionDTO;
+import com.chedoparti.institution_service.dto.InstitutionPatchDTO;
+import com.chedoparti.institution_service.dto.InstitutionSuggestionDTO;
+import com.chedoparti.institution_service.dto.InstitutionSummaryDTO;
+import com.chedoparti.institution_service.dto.NearbyInstitutionDTO;
+import com.chedoparti.institution_service.entity.Address;
 import com.chedoparti.institution_service.entity.Institution;
 import com.chedoparti.institution_service.exception.ResourceNotFoundException;
 import com.chedoparti.institution_service.mapper.InstitutionMapper;
 import com.chedoparti.institution_service.repository.InstitutionRepository;
+import com.chedoparti.institution_service.repository.InstitutionLocationView;
+import com.chedoparti.institution_service.service.cache.InstitutionCatalogCache;
+import com.chedoparti.institution_service.service.geo.InstitutionSpatialIndex;
+import com.chedoparti.institution_service.service.promotion.PromotionEngine;
+import com.chedoparti.institution_service.service.schedule.OpeningHoursEngine;
+import com.chedoparti.institution_service.service.search.InstitutionSearchIndex;
+import com.chedoparti.institution_service.service.update.InstitutionPatcher;
+import com.chedoparti.institution_service.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 public class InstitutionServiceImpl implements InstitutionService {
 
+    private static final int MAX_NEARBY_RESULTS = 100;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     @Autowired
     private InstitutionRepository institutionRepository;
 
@@ -20,12 +47,34 @@ public class InstitutionServiceImpl implements InstitutionService {
     InstitutionMapper institutionMapper;
 
     @Autowired
-    private PromotionStrategy promotionStrategy;  // Patrón Strategy para promociones
+    private InstitutionSpatialIndex spatialIndex;
+
+    @Autowired
+    private OpeningHoursEngine openingHoursEngine;
+
+    @Autowired
+    private InstitutionCatalogCache catalogCache;
+
+    @Autowired
+    private InstitutionPatcher institutionPatcher;
+
+    @Autowired
+    private PromotionEngine promotionEngine;
+
+    @Autowired
+    private InstitutionSearchIndex searchIndex;
 
     @Override
     public InstitutionDTO createInstitution(InstitutionDTO institutionDTO) {
 
-        Institution institution = institutionRepository.save(institutionMapper.institutionDTOToInstitution(institutionDTO));
+        Institution institution = institutionMapper.institutionDTOToInstitution(institutionDTO);
+        linkChildren(institution);
+        institution = institutionRepository.save(institution);
+        indexLocation(institution);
+        indexText(institution);
+        openingHoursEngine.refresh(institution.getId());
+        promotionEngine.refresh(institution.getId());
+        catalogCache.invalidate();
         return institutionMapper.institutionToInstitutionDTO(institution);
     }
 
@@ -37,13 +86,49 @@ public class InstitutionServiceImpl implements InstitutionService {
         // 2. Usar el mapper para actualizar la entidad
         institutionMapper.updateInstitutionFromDto(institutionDTO, institution);
 
-        return institutionMapper.institutionToInstitutionDTO(
-                institutionRepository.save(institutionMapper.institutionDTOToInstitution(institutionDTO)));
+        Institution updated = institutionMapper.institutionDTOToInstitution(institutionDTO);
+        linkChildren(updated);
+        Institution saved = institutionRepository.save(updated);
+        indexLocation(saved);
+        indexText(saved);
+        openingHoursEngine.refresh(saved.getId());
+        promotionEngine.refresh(saved.getId());
+        catalogCache.invalidate();
+        return institutionMapper.institutionToInstitutionDTO(saved);
+    }
+
+    @Override
+    @Transactional
+    public InstitutionDTO patchInstitution(Long id, InstitutionPatchDTO patch) {
+        Institution institution = institutionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Institution with id: " + id + " not found."));
+
+        InstitutionPatcher.Changes changes = institutionPatcher.apply(patch, institution);
+        if (changes.any()) {
+            // Flush para que los hijos nuevos tengan id en la respuesta
+            institutionRepository.flush();
+            TransactionHooks.afterCommit(() -> {
+                if (changes.location()) {
+                    indexLocation(institution);
+                }
+                if (changes.schedule()) {
+                    openingHoursEngine.refresh(id);
+                }
+                indexText(institution);
+                catalogCache.invalidate();
+            });
+        }
+        return institutionMapper.institutionToInstitutionDTO(institution);
     }
 
     @Override
     public void deleteInstitution(Long id) {
         institutionRepository.deleteById(id);
+        spatialIndex.remove(id);
+        searchIndex.remove(id);
+        openingHoursEngine.remove(id);
+        promotionEngine.remove(id);
+        catalogCache.invalidate();
     }
 
     @Override
@@ -58,4 +143,126 @@ public class InstitutionServiceImpl implements InstitutionService {
         List<Institution> institutions = institutionRepository.findAll();
         return institutionMapper.institutionsToInstitutionDTOs(institutions);
     }
+
+    @Override
+    public InstitutionCatalogCache.Snapshot getInstitutionCatalog() {
+        return catalogCache.get(this::getAllInstitutions);
+    }
+
+    @Override
+    public List<InstitutionSummaryDTO> getInstitutionSummaries() {
+        return institutionRepository.findAllSummaries();
+    }
+
+    @Override
+    public boolean isOpen(Long institutionId, Instant at) {
+        return openingHoursEngine.isOpen(institutionId, at);
+    }
+
+    @Override
+    public List<Long> getOpenInstitutionIds(Instant at) {
+        return openingHoursEngine.openInstitutionsAt(at);
+    }
+
+    @Override
+    public List<NearbyInstitutionDTO> findNearbyInstitutions(double latitude, double longitude, double radiusKm,
+                                                             int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Invalid coordinates: " + latitude + ", " + longitude);
+        }
+        if (radiusKm <= 0 || limit <= 0) {
+            throw new IllegalArgumentException("radiusKm and limit must be positive");
+        }
+        List<InstitutionSpatialIndex.Hit> hits = spatialIndex.nearest(latitude, longitude, radiusKm,
+                Math.min(limit, MAX_NEARBY_RESULTS));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        // Solo se cargan de la base las K instituciones ganadoras, en el orden del índice
+        Map<Long, Institution> institutions = institutionRepository.findAllById(
+                        hits.stream().map(InstitutionSpatialIndex.Hit::institutionId).toList())
+                .stream().collect(Collectors.toMap(Institution::getId, Function.identity()));
+        List<NearbyInstitutionDTO> result = new ArrayList<>(hits.size());
+        for (InstitutionSpatialIndex.Hit hit : hits) {
+            Institution institution = institutions.get(hit.institutionId());
+            if (institution != null) {
+                result.add(new NearbyInstitutionDTO(institution.getId(), institution.getName(),
+                        institution.getAddress(), institution.getLocation(), institution.getRating(),
+                        hit.distanceKm()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<InstitutionSummaryDTO> searchInstitutions(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        List<InstitutionSearchIndex.Hit> hits = searchIndex.search(query, Math.min(limit, MAX_SEARCH_RESULTS));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        // Una sola consulta por las instituciones encontradas, devueltas en el orden del índice
+        Map<Long, InstitutionSummaryDTO> summaries = institutionRepository.findSummariesByIdIn(
+                        hits.stream().map(InstitutionSearchIndex.Hit::institutionId).toList())
+                .stream().collect(Collectors.toMap(InstitutionSummaryDTO::getId, Function.identity()));
+        return hits.stream()
+                .map(hit -> summaries.get(hit.institutionId()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<InstitutionSuggestionDTO> autocompleteInstitutions(String prefix, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return searchIndex.search(prefix, Math.min(limit, MAX_SEARCH_RESULTS)).stream()
+                .map(hit -> new InstitutionSuggestionDTO(hit.institutionId(), hit.name(), hit.city()))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildSpatialIndex() {
+        spatialIndex.clear();
+        for (InstitutionLocationView view : institutionRepository.findAllLocations()) {
+            if (view.getLatitude() != null && view.getLongitude() != null) {
+                spatialIndex.put(view.getId(), view.getLatitude(), view.getLongitude());
+            }
+        }
+        log.info("Spatial index built with {} institutions", spatialIndex.size());
+    }
+
+    // Los hijos llegan del DTO sin la referencia a la institución y se guardarían con institution_id nulo
+    private static void linkChildren(Institution institution) {
+        if (institution.getOpeningHours() != null) {
+            institution.getOpeningHours().forEach(hour -> hour.setInstitution(institution));
+        }
+        if (institution.getSpecialClosures() != null) {
+            institution.getSpecialClosures().forEach(closure -> closure.setInstitution(institution));
+        }
+        if (institution.getCourts() != null) {
+            institution.getCourts().forEach(court -> court.setInstitution(institution));
+        }
+        if (institution.getPromotions() != null) {
+            institution.getPromotions().forEach(promotion -> promotion.setInstitution(institution));
+        }
+    }
+
+    private void indexLocation(Institution institution) {
+        if (institution.getLocation() == null) {
+            spatialIndex.remove(institution.getId());
+        } else {
+            spatialIndex.put(institution.getId(), institution.getLocation().getLatitude(),
+                    institution.getLocation().getLongitude());
+        }
+    }
+
+    private void indexText(Institution institution) {
+        Address address = institution.getAddress();
+        searchIndex.put(institution.getId(), institution.getName(), institution.getDescription(),
+                address != null ? address.getCity() : null, address != null ? address.getState() : null,
+                institution.getFacilities());
+    }
 }
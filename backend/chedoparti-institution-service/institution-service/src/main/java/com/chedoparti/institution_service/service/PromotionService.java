@@ -1,13 +1,27 @@
 package com.chedoparti.institution_service.service;
 
+import com.chedoparti.institution_service.dto.PriceGridDTO;
 import com.chedoparti.institution_service.dto.PromotionDTO;
+import com.chedoparti.institution_service.dto.PromotionQuoteDTO;
+import com.chedoparti.institution_service.dto.PromotionQuoteRequestDTO;
+import com.chedoparti.institution_service.dto.PromotionUsageDTO;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.UUID;
 
 public interface PromotionService {
     PromotionDTO createPromotion(Long institutionId, PromotionDTO promotionDTO);
 
     List<PromotionDTO> getPromotionsByInstitution(Long institutionId);
 
-    Double applyPromotionToReservation(Long reservationId, Long promotionId);
+    Double applyPromotionToReservation(Long institutionId, Long promotionId, UUID reservationId,
+                                       PromotionQuoteRequestDTO booking);
+
+    PromotionQuoteDTO getBestPromotion(Long institutionId, PromotionQuoteRequestDTO booking);
+
+    List<PromotionUsageDTO> getPromotionUsage(Long institutionId);
+
+    PriceGridDTO getPriceGrid(Long institutionId, LocalDate date, LocalTime from, LocalTime to, int slotMinutes);
 }
@@ -1,21 +1,43 @@
 package com.chedoparti.institution_service.service;
 
+import com.chedoparti.institution_service.dto.PriceGridDTO;
+import com.chedoparti.institution_service.dto.PriceGridSlotDTO;
 import com.chedoparti.institution_service.dto.PromotionDTO;
+import com.chedoparti.institution_service.dto.PromotionQuoteDTO;
+import com.chedoparti.institution_service.dto.PromotionQuoteRequestDTO;
+import com.chedoparti.institution_service.dto.PromotionUsageDTO;
+import com.chedoparti.institution_service.entity.Court;
 import com.chedoparti.institution_service.entity.Promotion;
 import com.chedoparti.institution_service.exception.ResourceNotFoundException;
 import com.chedoparti.institution_service.mapper.PromotionMapper;
+import com.chedoparti.institution_service.repository.CourtRepository;
 import com.chedoparti.institution_service.repository.InstitutionRepository;
+import com.chedoparti.institution_service.repository.PromotionApplicationRepository;
 import com.chedoparti.institution_service.repository.PromotionRepository;
-import com.chedoparti.institution_service.service.factory.PromotionFactory;
+import com.chedoparti.institution_service.service.cache.InstitutionCatalogCache;
+import com.chedoparti.institution_service.service.promotion.CompiledPromotion;
+import com.chedoparti.institution_service.service.promotion.PromotionContext;
+import com.chedoparti.institution_service.service.promotion.PromotionEngine;
+import com.chedoparti.institution_service.service.promotion.PromotionLedgerWriter;
+import com.chedoparti.institution_service.service.promotion.PromotionUsageCounters;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
 
 @Service
+@Slf4j
 public class PromotionServiceImpl implements PromotionService {
 
+    private static final int MAX_GRID_SLOTS = 5_000;
+
     @Autowired
     private PromotionRepository promotionRepository;
 
@@ -23,13 +45,29 @@ public class PromotionServiceImpl implements PromotionService {
     private InstitutionRepository institutionRepository;
 
     @Autowired
-    private PromotionFactory promotionFactory;
+    private CourtRepository courtRepository;
 
     @Autowired
     PromotionMapper promotionMapper;
 
+    @Autowired
+    private InstitutionCatalogCache catalogCache;
+
+    @Autowired
+    private PromotionEngine promotionEngine;
+
+    @Autowired
+    private PromotionUsageCounters usageCounters;
+
+    @Autowired
+    private PromotionLedgerWriter ledgerWriter;
+
+    @Autowired
+    private PromotionApplicationRepository applicationRepository;
+
     @Override
     public PromotionDTO createPromotion(Long institutionId, PromotionDTO promotionDto) {
+        validate(promotionDto);
         // Crear una nueva promoción para la institución
         Promotion promotion = new Promotion();
         promotion.setName(promotionDto.getName());
@@ -38,41 +76,167 @@ public class PromotionServiceImpl implements PromotionService {
         promotion.setStartDate(promotionDto.getStartDate());
         promotion.setEndDate(promotionDto.getEndDate());
         promotion.setPromotionType(promotionDto.getPromotionType());
+        promotion.setDaysOfWeek(promotionDto.getDaysOfWeek());
+        promotion.setStartTime(promotionDto.getStartTime());
+        promotion.setEndTime(promotionDto.getEndTime());
+        promotion.setMinDurationMinutes(promotionDto.getMinDurationMinutes());
+        promotion.setMaxUses(promotionDto.getMaxUses());
         promotion.setInstitution(institutionRepository.findById(institutionId).orElseThrow(() -> new ResourceNotFoundException("Institution not found")));
         promotionRepository.save(promotion);
+        promotionEngine.refresh(institutionId);
+        catalogCache.invalidate();
         return promotionMapper.promotionToPromotionDTO(promotion);
     }
 
-    /*public double applyPromotionToReservation(Long reservationId, Long promotionId) {
-        // Aplicar la promoción a una reserva
-        Reservation reservation = reservationService.getReservationById(reservationId);
-        Promotion promotion = promotionRepository.findById(promotionId).orElseThrow(() -> new ResourceNotFoundException("Promotion not found"));
-
-        PromotionStrategy strategy = promotionFactory.getPromotionStrategy(promotion.getPromotionType());
-        double discount = strategy.applyPromotion();
+    @Override
+    public Double applyPromotionToReservation(Long institutionId, Long promotionId, UUID reservationId,
+                                              PromotionQuoteRequestDTO booking) {
+        PromotionContext context = toContext(booking);
+        CompiledPromotion promotion = promotionEngine.find(institutionId, promotionId, context);
+        if (promotion == null) {
+            if (!promotionRepository.existsById(promotionId)) {
+                throw new ResourceNotFoundException("Promotion not found");
+            }
+            throw new IllegalArgumentException("Promotion " + promotionId + " does not apply to this booking");
+        }
+        PromotionLedgerWriter.PendingApplication application = new PromotionLedgerWriter.PendingApplication(
+                promotion.id(), reservationId, promotion.discountFor(context), LocalDateTime.now());
+        // Reintento de la misma aplicación: se devuelve el descuento ya otorgado sin gastar otro cupo
+        PromotionLedgerWriter.PendingApplication inFlight = ledgerWriter.claim(application);
+        if (inFlight != null) {
+            return inFlight.discount();
+        }
+        Double recorded = applicationRepository.findDiscountApplied(promotion.id(), reservationId).orElse(null);
+        if (recorded != null) {
+            ledgerWriter.abandon(application);
+            return recorded;
+        }
+        // El cupo se descuenta en memoria; el registro en el ledger se escribe en lote
+        if (!usageCounters.tryAcquire(promotion.id(), promotion.maxUses())) {
+            ledgerWriter.abandon(application);
+            throw new IllegalStateException("Promotion " + promotionId + " has no uses left");
+        }
+        double discount = application.discount();
+        usageCounters.recordDiscount(promotion.id(), discount);
+        try {
+            ledgerWriter.enqueue(application);
+        } catch (RuntimeException e) {
+            usageCounters.release(promotion.id(), discount);
+            ledgerWriter.abandon(application);
+            throw e;
+        }
+        log.info("Applied promotion {} to reservation {}: {} off {}", promotionId, reservationId, discount, context.price());
+        return discount;
+    }
 
-        // Registrar la aplicación de la promoción
-        PromotionApplication promotionApplication = new PromotionApplication();
-        promotionApplication.setPromotion(promotion);
-        promotionApplication.setReservation(reservation);
-        promotionApplication.setDiscountApplied(discount);
-        promotionApplication.setAppliedAt(LocalDateTime.now());
-        promotionApplicationRepository.save(promotionApplication);
+    @Override
+    public PromotionQuoteDTO getBestPromotion(Long institutionId, PromotionQuoteRequestDTO booking) {
+        PromotionContext context = toContext(booking);
+        CompiledPromotion promotion = promotionEngine.best(institutionId, context);
+        if (promotion == null) {
+            return new PromotionQuoteDTO(null, null, null, null, context.price(), 0, context.price());
+        }
+        double discount = promotion.discountFor(context);
+        return new PromotionQuoteDTO(promotion.id(), promotion.name(), promotion.type(),
+                promotion.discountPercentage(), context.price(), discount, context.price() - discount);
+    }
 
-        return discount;
-    }*/
+    @Override
+    public List<PromotionUsageDTO> getPromotionUsage(Long institutionId) {
+        // Los contadores en memoria son exactos: no hace falta contar el ledger
+        return promotionRepository.findByInstitutionId(institutionId).stream()
+                .map(promotion -> {
+                    long uses = usageCounters.uses(promotion.getId());
+                    Integer maxUses = promotion.getMaxUses();
+                    Long remaining = maxUses != null && maxUses > 0 ? Math.max(0, maxUses - uses) : null;
+                    return new PromotionUsageDTO(promotion.getId(), promotion.getName(), maxUses, uses, remaining,
+                            usageCounters.totalDiscount(promotion.getId()));
+                })
+                .toList();
+    }
 
     @Override
-    public Double applyPromotionToReservation(Long reservationId, Long promotionId) {
-        return 0.0;
+    public PriceGridDTO getPriceGrid(Long institutionId, LocalDate date, LocalTime from, LocalTime to, int slotMinutes) {
+        if (slotMinutes < 15 || slotMinutes > 240) {
+            throw new IllegalArgumentException("slotMinutes must be between 15 and 240");
+        }
+        int fromMinute = from.getHour() * 60 + from.getMinute();
+        int toMinute = to.equals(LocalTime.MIDNIGHT) ? 24 * 60 : to.getHour() * 60 + to.getMinute();
+        if (toMinute <= fromMinute) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        List<Court> courts = new ArrayList<>(courtRepository.findByInstitutionId(institutionId));
+        courts.sort(Comparator.comparing(Court::getId));
+        int slotsPerCourt = (toMinute - fromMinute) / slotMinutes;
+        if ((long) slotsPerCourt * courts.size() > MAX_GRID_SLOTS) {
+            throw new IllegalArgumentException("Price grid too large, narrow the time range or increase slotMinutes");
+        }
+
+        // La mejor promoción de cada franja no depende de la cancha: se resuelve una vez por franja
+        CompiledPromotion[] bestBySlot = new CompiledPromotion[slotsPerCourt];
+        for (int slot = 0; slot < slotsPerCourt; slot++) {
+            bestBySlot[slot] = promotionEngine.best(institutionId,
+                    new PromotionContext(date, fromMinute + slot * slotMinutes, slotMinutes, 0));
+        }
+
+        List<PriceGridSlotDTO> slots = new ArrayList<>(slotsPerCourt * courts.size());
+        for (Court court : courts) {
+            double price = court.getPricePerHour() * slotMinutes / 60.0;
+            for (int slot = 0; slot < slotsPerCourt; slot++) {
+                int start = fromMinute + slot * slotMinutes;
+                LocalTime startTime = LocalTime.MIDNIGHT.plusMinutes(start);
+                LocalTime endTime = startTime.plusMinutes(slotMinutes);
+                CompiledPromotion promotion = bestBySlot[slot];
+                if (promotion == null) {
+                    slots.add(new PriceGridSlotDTO(court.getId(), court.getFieldType(), startTime, endTime,
+                            price, null, null, price));
+                } else {
+                    double discount = promotion.discountFor(new PromotionContext(date, start, slotMinutes, price));
+                    slots.add(new PriceGridSlotDTO(court.getId(), court.getFieldType(), startTime, endTime,
+                            price, promotion.id(), promotion.discountPercentage(), price - discount));
+                }
+            }
+        }
+        return new PriceGridDTO(institutionId, date, slotMinutes, slots);
     }
 
     @Override
     public List<PromotionDTO> getPromotionsByInstitution(Long institutionId) {
-        List<Promotion> promotions = promotionRepository.findAllById(Collections.singleton(institutionId));
+        List<Promotion> promotions = promotionRepository.findByInstitutionId(institutionId);
         return promotionMapper.promotionsToPromotionDTOs(promotions);
     }
 
+    private static void validate(PromotionDTO promotion) {
+        if (promotion.getPromotionType() == null) {
+            throw new IllegalArgumentException("promotionType is required");
+        }
+        Double discount = promotion.getDiscountPercentage();
+        if (discount == null || discount <= 0 || discount > 100) {
+            throw new IllegalArgumentException("discountPercentage must be greater than 0 and at most 100");
+        }
+        if ((promotion.getStartTime() == null) != (promotion.getEndTime() == null)) {
+            throw new IllegalArgumentException("startTime and endTime must be set together");
+        }
+        if (promotion.getStartDate() != null && promotion.getEndDate() != null
+                && promotion.getEndDate().isBefore(promotion.getStartDate())) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        if (PromotionEngine.parseDays(promotion.getDaysOfWeek()).isEmpty()) {
+            throw new IllegalArgumentException("Invalid daysOfWeek: " + promotion.getDaysOfWeek());
+        }
+        if (promotion.getMinDurationMinutes() != null && promotion.getMinDurationMinutes() < 0) {
+            throw new IllegalArgumentException("minDurationMinutes must not be negative");
+        }
+        if (promotion.getMaxUses() != null && promotion.getMaxUses() < 0) {
+            throw new IllegalArgumentException("maxUses must not be negative");
+        }
+    }
 
+    private static PromotionContext toContext(PromotionQuoteRequestDTO booking) {
+        if (booking == null || booking.getDate() == null || booking.getStartTime() == null
+                || booking.getEndTime() == null || booking.getPrice() == null) {
+            throw new IllegalArgumentException("date, startTime, endTime and price are required");
+        }
+        return PromotionContext.of(booking.getDate(), booking.getStartTime(), booking.getEndTime(), booking.getPrice());
+    }
 }
-
@@ -1,6 +1,14 @@
 package com.chedoparti.institution_service.service;
 
+import com.chedoparti.institution_service.service.promotion.CompiledPromotion;
+import com.chedoparti.institution_service.service.promotion.PromotionContext;
+
 public interface PromotionStrategy {
     String getType();
-    double applyPromotion(Long reservationId);
+
+    // Reglas propias del tipo; fechas, días y franja horaria ya las resuelve el índice
+    boolean isApplicable(CompiledPromotion promotion, PromotionContext context);
+
+    // Monto a descontar del precio del turno
+    double applyPromotion(CompiledPromotion promotion, PromotionContext context);
 }
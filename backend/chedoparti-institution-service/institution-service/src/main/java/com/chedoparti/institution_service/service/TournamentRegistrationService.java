@@ -0,0 +1,256 @@
+package com.chedoparti.institution_service.service;
+
+import com.chedoparti.institution_service.dto.TournamentDTO;
+import com.chedoparti.institution_service.dto.TournamentRegistrationDTO;
+import com.chedoparti.institution_service.entity.Tournament;
+import com.chedoparti.institution_service.entity.TournamentRegistration;
+import com.chedoparti.institution_service.enums.ERegistrationStatus;
+import com.chedoparti.institution_service.exception.ResourceNotFoundException;
+import com.chedoparti.institution_service.repository.TournamentRegistrationRepository;
+import com.chedoparti.institution_service.repository.TournamentRepository;
+import com.chedoparti.institution_service.repository.TournamentSeatsView;
+import com.chedoparti.institution_service.service.tournament.TournamentSeatCounter;
+import com.chedoparti.institution_service.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Tournament registration with a capacity that holds under heavy concurrency. A seat is first
+ * taken from {@link TournamentSeatCounter} and then confirmed with a conditional UPDATE on the
+ * tournament row; without a seat the user goes to the waitlist. Registering twice returns the
+ * existing registration (a unique key on tournament and user backs this up under races).
+ *
+ * <p>Whatever moves seats between players (waitlisting, cancelling, changing the capacity, editing
+ * the tournament) runs under the tournament's row lock, so a freed seat is never left empty while
+ * someone waits for it.</p>
+ */
+@Service
+@Slf4j
+public class TournamentRegistrationService {
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentRegistrationRepository registrationRepository;
+
+    @Autowired
+    private TournamentSeatCounter seatCounter;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TournamentRegistrationService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public TournamentRegistrationDTO register(Long tournamentId, Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("userId is required");
+        }
+        TournamentRegistration existing = registrationRepository.findByTournamentIdAndUserId(tournamentId, userId)
+                .orElse(null);
+        if (existing != null && existing.getStatus() != ERegistrationStatus.CANCELLED) {
+            return toDTO(existing);
+        }
+
+        boolean seat = seatCounter.tryAcquire(tournamentId, userId, () -> freeSeats(tournamentId));
+        try {
+            return transactionTemplate.execute(status -> {
+                boolean confirmed = seat && tournamentRepository.incrementParticipants(tournamentId) == 1;
+                if (seat && !confirmed) {
+                    // Otra instancia llenó el cupo: la memoria estaba desactualizada
+                    seatCounter.markFull(tournamentId);
+                }
+                if (!confirmed) {
+                    // La espera se decide bajo el lock de cancel: una baja simultánea o ya liberó su
+                    // lugar (y se toma acá) o espera a este commit y promueve esta inscripción
+                    lockTournament(tournamentId);
+                    confirmed = tournamentRepository.incrementParticipants(tournamentId) == 1;
+                }
+                TournamentRegistration registration = existing != null ? existing : new TournamentRegistration();
+                registration.setTournament(tournamentRepository.getReferenceById(tournamentId));
+                registration.setUserId(userId);
+                registration.setRegisteredAt(LocalDateTime.now());
+                registration.setStatus(confirmed ? ERegistrationStatus.REGISTERED : ERegistrationStatus.WAITLISTED);
+                registrationRepository.saveAndFlush(registration);
+                return toDTO(registration);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // El mismo usuario se inscribió en paralelo: vale la inscripción que confirmó primero
+            if (seat) {
+                seatCounter.release(tournamentId, userId);
+            }
+            return registrationRepository.findByTournamentIdAndUserId(tournamentId, userId)
+                    .map(this::toDTO)
+                    .orElseThrow(() -> e);
+        } catch (RuntimeException e) {
+            if (seat) {
+                seatCounter.release(tournamentId, userId);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cancels a registration. A freed seat goes to the first user on the waitlist, if any.
+     */
+    @Transactional
+    public TournamentRegistrationDTO cancel(Long tournamentId, Long userId) {
+        lockTournament(tournamentId);
+        TournamentRegistration registration = registrationRepository.findByTournamentIdAndUserId(tournamentId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User " + userId + " is not registered in tournament " + tournamentId));
+        ERegistrationStatus previous = registration.getStatus();
+        if (previous == ERegistrationStatus.CANCELLED) {
+            return toDTO(registration);
+        }
+        registration.setStatus(ERegistrationStatus.CANCELLED);
+        registrationRepository.save(registration);
+        if (previous == ERegistrationStatus.REGISTERED && !promoteFromWaitlist(tournamentId)) {
+            tournamentRepository.decrementParticipants(tournamentId);
+            TransactionHooks.afterCommit(() -> seatCounter.release(tournamentId, userId));
+        }
+        return toDTO(registration);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TournamentRegistrationDTO> list(Long tournamentId, ERegistrationStatus status) {
+        List<TournamentRegistration> registrations = registrationRepository
+                .findByTournamentIdAndStatusOrderByRegisteredAtAscIdAsc(tournamentId,
+                        status != null ? status : ERegistrationStatus.REGISTERED);
+        long[] position = {0};
+        return registrations.stream()
+                .map(registration -> new TournamentRegistrationDTO(tournamentId, registration.getUserId(),
+                        registration.getStatus(),
+                        registration.getStatus() == ERegistrationStatus.WAITLISTED ? ++position[0] : null,
+                        registration.getRegisteredAt()))
+                .toList();
+    }
+
+    /**
+     * Ids of the confirmed players in registration order (used as seeding when none is given).
+     */
+    @Transactional(readOnly = true)
+    public List<Long> registeredUserIds(Long tournamentId) {
+        return registrationRepository.findByTournamentIdAndStatusOrderByRegisteredAtAscIdAsc(tournamentId,
+                ERegistrationStatus.REGISTERED).stream().map(TournamentRegistration::getUserId).toList();
+    }
+
+    /**
+     * Changes the capacity ({@code null} = unlimited) under the tournament's row lock. Seats opened
+     * by a raise go to the waitlist in order within the same transaction; a capacity below the
+     * confirmed players is rejected.
+     *
+     * @return the updated tournament.
+     */
+    @Transactional
+    public Tournament changeCapacity(Long tournamentId, Integer maxParticipants) {
+        Tournament tournament = lockTournament(tournamentId);
+        applyCapacity(tournament, maxParticipants);
+        return tournamentRepository.save(tournament);
+    }
+
+    /**
+     * Applies the non-null fields of {@code changes} to the tournament under its row lock, capacity
+     * included (as in {@link #changeCapacity}). {@code participants} is never taken from the request:
+     * the value saved is the one read under the lock, so registrations are not overwritten.
+     *
+     * @return the updated tournament.
+     */
+    @Transactional
+    public Tournament update(Long tournamentId, TournamentDTO changes) {
+        Tournament tournament = lockTournament(tournamentId);
+        if (changes.getMaxParticipants() != null) {
+            applyCapacity(tournament, changes.getMaxParticipants());
+        }
+        if (changes.getName() != null) tournament.setName(changes.getName());
+        if (changes.getSport() != null) tournament.setSport(changes.getSport());
+        if (changes.getCategory() != null) tournament.setCategory(changes.getCategory());
+        if (changes.getGender() != null) tournament.setGender(changes.getGender());
+        if (changes.getAgeRange() != null) tournament.setAgeRange(changes.getAgeRange());
+        if (changes.getDate() != null) tournament.setDate(changes.getDate());
+        if (changes.getInscription() != null) tournament.setInscription(changes.getInscription());
+        if (changes.getStatus() != null) tournament.setStatus(changes.getStatus());
+        return tournamentRepository.save(tournament);
+    }
+
+    /**
+     * Call after a tournament was deleted.
+     */
+    public void capacityChanged(Long tournamentId) {
+        seatCounter.reset(tournamentId);
+    }
+
+    private Tournament lockTournament(Long tournamentId) {
+        return tournamentRepository.lockById(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament " + tournamentId + " not found"));
+    }
+
+    // Requiere el lock del torneo
+    private void applyCapacity(Tournament tournament, Integer maxParticipants) {
+        if (maxParticipants != null && maxParticipants < 0) {
+            throw new IllegalArgumentException("maxParticipants cannot be negative");
+        }
+        Long tournamentId = tournament.getId();
+        int confirmed = tournament.getParticipants() != null ? tournament.getParticipants() : 0;
+        if (maxParticipants != null && maxParticipants < confirmed) {
+            throw new IllegalStateException("Tournament " + tournamentId + " already has " + confirmed
+                    + " confirmed players; the capacity cannot go below that");
+        }
+        tournament.setMaxParticipants(maxParticipants);
+        int freeSeats = maxParticipants != null ? maxParticipants - confirmed : Integer.MAX_VALUE;
+        tournament.setParticipants(confirmed + promoteFromWaitlist(tournamentId, freeSeats));
+        TransactionHooks.afterCommit(() -> seatCounter.reset(tournamentId));
+    }
+
+    private boolean promoteFromWaitlist(Long tournamentId) {
+        return promoteFromWaitlist(tournamentId, 1) == 1;
+    }
+
+    /**
+     * Promotes up to {@code seats} waitlisted users in registration order.
+     *
+     * @return how many were promoted.
+     */
+    private int promoteFromWaitlist(Long tournamentId, int seats) {
+        int promoted = 0;
+        for (TournamentRegistration waiting : registrationRepository
+                .findByTournamentIdAndStatusOrderByRegisteredAtAscIdAsc(tournamentId, ERegistrationStatus.WAITLISTED)) {
+            if (promoted >= seats) {
+                break;
+            }
+            // Dos bajas simultáneas no pueden promover al mismo usuario
+            if (registrationRepository.promote(waiting.getId()) == 1) {
+                log.info("User {} moved from the waitlist into tournament {}", waiting.getUserId(), tournamentId);
+                promoted++;
+            }
+        }
+        return promoted;
+    }
+
+    private int freeSeats(Long tournamentId) {
+        TournamentSeatsView seats = tournamentRepository.findSeatsById(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament " + tournamentId + " not found"));
+        if (seats.getMaxParticipants() == null) {
+            return Integer.MAX_VALUE;
+        }
+        return seats.getMaxParticipants() - (seats.getParticipants() != null ? seats.getParticipants() : 0);
+    }
+
+    private TournamentRegistrationDTO toDTO(TournamentRegistration registration) {
+        Long position = null;
+        if (registration.getStatus() == ERegistrationStatus.WAITLISTED) {
+            position = registrationRepository.countWaitlistedBefore(registration.getTournament().getId(),
+                    registration.getRegisteredAt(), registration.getId()) + 1;
+        }
+        return new TournamentRegistrationDTO(registration.getTournament().getId(), registration.getUserId(),
+                registration.getStatus(), position, registration.getRegisteredAt());
+    }
+}
@@ -0,0 +1,463 @@
+package com.chedoparti.institution_service.service;
+
+import com.chedoparti.institution_service.dto.CourtClosureDTO;
+import com.chedoparti.institution_service.dto.MatchResultDTO;
+import com.chedoparti.institution_service.dto.SetScoreDTO;
+import com.chedoparti.institution_service.dto.TournamentMatchDTO;
+import com.chedoparti.institution_service.dto.TournamentScheduleDTO;
+import com.chedoparti.institution_service.dto.TournamentScheduleRequestDTO;
+import com.chedoparti.institution_service.dto.TournamentStandingsDTO;
+import com.chedoparti.institution_service.entity.Court;
+import com.chedoparti.institution_service.entity.CourtBlock;
+import com.chedoparti.institution_service.entity.Tournament;
+import com.chedoparti.institution_service.entity.TournamentMatch;
+import com.chedoparti.institution_service.enums.EMatchStatus;
+import com.chedoparti.institution_service.enums.ETournamentFormat;
+import com.chedoparti.institution_service.exception.ResourceNotFoundException;
+import com.chedoparti.institution_service.repository.CourtBlockRepository;
+import com.chedoparti.institution_service.repository.CourtRepository;
+import com.chedoparti.institution_service.repository.TournamentMatchRepository;
+import com.chedoparti.institution_service.repository.TournamentRepository;
+import com.chedoparti.institution_service.service.coach.CoachScheduleIndex;
+import com.chedoparti.institution_service.service.schedule.OpeningHoursEngine;
+import com.chedoparti.institution_service.service.tournament.CourtScheduler;
+import com.chedoparti.institution_service.service.tournament.MatchOutcome;
+import com.chedoparti.institution_service.service.tournament.PlannedMatch;
+import com.chedoparti.institution_service.service.tournament.SlotGrid;
+import com.chedoparti.institution_service.service.tournament.TournamentDraw;
+import com.chedoparti.institution_service.service.tournament.TournamentStandings;
+import com.chedoparti.institution_service.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a tournament's matches, places them on the institution's courts with
+ * {@link CourtScheduler} and keeps the plan valid as results and court closures come in.
+ * Round-robin results also feed the live {@link TournamentStandings}.
+ */
+@Service
+@Slf4j
+public class TournamentScheduleService {
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentMatchRepository matchRepository;
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private CourtBlockRepository courtBlockRepository;
+
+    @Autowired
+    private OpeningHoursEngine openingHoursEngine;
+
+    @Autowired
+    private TournamentRegistrationService registrationService;
+
+    @Autowired
+    private TournamentStandings standings;
+
+    @Autowired
+    private CoachScheduleIndex scheduleIndex;
+
+    @Transactional
+    public TournamentScheduleDTO generate(Long tournamentId, TournamentScheduleRequestDTO request) {
+        Tournament tournament = lockTournament(tournamentId);
+        if (request.getPlayerIds() == null) {
+            // Sin lista explícita se usan los inscriptos, sembrados por orden de inscripción
+            request.setPlayerIds(registrationService.registeredUserIds(tournamentId));
+        }
+        validate(tournament, request);
+        tournament.setFormat(request.getFormat());
+        tournament.setMatchDurationMinutes(request.getMatchDurationMinutes());
+        tournament.setRestMinutes(request.getRestMinutes());
+        tournament.setDailyStartTime(request.getDailyStartTime());
+        tournament.setDailyEndTime(request.getDailyEndTime());
+        tournament.setScheduleDays(request.getDays());
+
+        List<PlannedMatch> draw = request.getFormat() == ETournamentFormat.SINGLE_ELIMINATION
+                ? TournamentDraw.singleElimination(request.getPlayerIds())
+                : TournamentDraw.roundRobin(request.getPlayerIds(),
+                request.getGroupSize() != null ? request.getGroupSize() : request.getPlayerIds().size());
+
+        long start = System.nanoTime();
+        Plan plan = plan(tournament, List.of());
+        plan.scheduler().load(draw);
+        plan.scheduler().scheduleAll();
+        log.info("Scheduled {} matches of tournament {} in {} ms", draw.size(), tournamentId,
+                (System.nanoTime() - start) / 1_000_000);
+
+        matchRepository.deleteByTournamentId(tournamentId);
+        List<TournamentMatch> matches = new ArrayList<>(draw.size());
+        for (PlannedMatch planned : draw) {
+            TournamentMatch match = new TournamentMatch();
+            match.setTournament(tournament);
+            match.setMatchNumber(planned.getNumber());
+            match.setRound(planned.getRound());
+            match.setGroupNumber(planned.getGroup());
+            match.setFeederA(planned.getFeederA() != 0 ? planned.getFeederA() : null);
+            match.setFeederB(planned.getFeederB() != 0 ? planned.getFeederB() : null);
+            match.setNextMatch(planned.getNextMatch() != 0 ? planned.getNextMatch() : null);
+            match.setNextSide(planned.getNextMatch() != 0 ? planned.getNextSide() : null);
+            copy(planned, match, plan);
+            matches.add(match);
+        }
+        matchRepository.saveAll(matches);
+        tournamentRepository.save(tournament);
+        TournamentScheduleDTO schedule = toScheduleDTO(tournament, matches);
+        TransactionHooks.afterCommit(() -> {
+            standings.invalidate(tournamentId);
+            scheduleIndex.removeTournament(tournamentId);
+            indexMatches(tournamentId, schedule.getMatches());
+        });
+        return schedule;
+    }
+
+    @Transactional(readOnly = true)
+    public TournamentScheduleDTO getSchedule(Long tournamentId) {
+        Tournament tournament = findTournament(tournamentId);
+        return toScheduleDTO(tournament, matchRepository.findByTournamentIdOrderByMatchNumber(tournamentId));
+    }
+
+    /**
+     * Standings of every round-robin group, served from memory; the matches are read only the
+     * first time (or on refresh). No transaction here, so a hit does not take a connection.
+     */
+    public TournamentStandingsDTO getStandings(Long tournamentId) {
+        return standings.get(tournamentId, () -> {
+            List<TournamentMatch> matches = matchRepository.findByTournamentIdOrderByMatchNumber(tournamentId);
+            if (matches.isEmpty() && !tournamentRepository.existsById(tournamentId)) {
+                throw new ResourceNotFoundException("Tournament " + tournamentId + " not found");
+            }
+            return matches.stream()
+                    .filter(match -> match.getGroupNumber() != null && match.getPlayerAId() != null
+                            && match.getPlayerBId() != null)
+                    .map(TournamentScheduleService::toOutcome)
+                    .toList();
+        });
+    }
+
+    /**
+     * Call after the tournament was deleted.
+     */
+    public void forget(Long tournamentId) {
+        standings.invalidate(tournamentId);
+        scheduleIndex.removeTournament(tournamentId);
+    }
+
+    /**
+     * Records the winner of a match and repairs the plan around it.
+     *
+     * @return the matches that changed (this one, the next bracket match and any that moved).
+     */
+    @Transactional
+    public List<TournamentMatchDTO> recordResult(Long tournamentId, Long matchId, MatchResultDTO result) {
+        if (result.getWinnerId() == null) {
+            throw new IllegalArgumentException("winnerId is required");
+        }
+        Tournament tournament = lockTournament(tournamentId);
+        List<TournamentMatch> matches = findMatches(tournamentId);
+        TournamentMatch match = matches.stream().filter(m -> m.getId().equals(matchId)).findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Match " + matchId + " not found in tournament " + tournamentId));
+
+        Plan plan = plan(tournament, matches);
+        Set<PlannedMatch> changed = new LinkedHashSet<>(plan.scheduler().repairBlocked());
+        PlannedMatch planned = plan.byNumber().get(match.getMatchNumber());
+        int lastSlot = result.getFinishedAt() != null
+                ? plan.grid().firstStartingAtOrAfter(result.getFinishedAt()) - 1
+                : planned.getSlot();
+        changed.addAll(plan.scheduler().recordResult(match.getMatchNumber(), result.getWinnerId(), lastSlot));
+        applyScore(match, result);
+        List<TournamentMatchDTO> updated = save(plan, matches, changed);
+        MatchOutcome outcome = match.getGroupNumber() != null ? toOutcome(match) : null;
+        TransactionHooks.afterCommit(() -> {
+            if (outcome != null) {
+                standings.record(tournamentId, outcome);
+            }
+            indexMatches(tournamentId, updated);
+        });
+        return updated;
+    }
+
+    /**
+     * Stores the set scores, if given, after checking that they agree with the winner.
+     */
+    private static void applyScore(TournamentMatch match, MatchResultDTO result) {
+        if (result.getSets() == null || result.getSets().isEmpty()) {
+            return;
+        }
+        int setsA = 0;
+        int setsB = 0;
+        int gamesA = 0;
+        int gamesB = 0;
+        StringBuilder score = new StringBuilder();
+        for (SetScoreDTO set : result.getSets()) {
+            if (set.getGamesA() == null || set.getGamesB() == null || set.getGamesA() < 0 || set.getGamesB() < 0
+                    || set.getGamesA().equals(set.getGamesB())) {
+                throw new IllegalArgumentException("Every set needs non-negative games and a winner");
+            }
+            if (set.getGamesA() > set.getGamesB()) {
+                setsA++;
+            } else {
+                setsB++;
+            }
+            gamesA += set.getGamesA();
+            gamesB += set.getGamesB();
+            if (score.length() > 0) {
+                score.append(' ');
+            }
+            score.append(set.getGamesA()).append('-').append(set.getGamesB());
+        }
+        boolean aWon = result.getWinnerId().equals(match.getPlayerAId());
+        if (aWon ? setsA <= setsB : setsB <= setsA) {
+            throw new IllegalArgumentException("The sets do not match the winner " + result.getWinnerId());
+        }
+        match.setSetsA(setsA);
+        match.setSetsB(setsB);
+        match.setGamesA(gamesA);
+        match.setGamesB(gamesB);
+        match.setScore(score.toString());
+    }
+
+    private static MatchOutcome toOutcome(TournamentMatch match) {
+        boolean played = match.getStatus() == EMatchStatus.COMPLETED && match.getWinnerId() != null;
+        return new MatchOutcome(match.getMatchNumber(), match.getGroupNumber(), match.getPlayerAId(),
+                match.getPlayerBId(), played ? match.getWinnerId() : null,
+                zeroIfNull(match.getSetsA()), zeroIfNull(match.getSetsB()),
+                zeroIfNull(match.getGamesA()), zeroIfNull(match.getGamesB()));
+    }
+
+    private static int zeroIfNull(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * Blocks a court for a period and moves the tournament's matches it held.
+     *
+     * @return the matches that moved.
+     */
+    @Transactional
+    public List<TournamentMatchDTO> closeCourt(Long tournamentId, CourtClosureDTO closure) {
+        if (closure.getCourtId() == null || closure.getFrom() == null || closure.getTo() == null
+                || !closure.getTo().isAfter(closure.getFrom())) {
+            throw new IllegalArgumentException("courtId, from and to (after from) are required");
+        }
+        Tournament tournament = lockTournament(tournamentId);
+        Court court = courtRepository.findById(closure.getCourtId())
+                .orElseThrow(() -> new ResourceNotFoundException("Court " + closure.getCourtId() + " not found"));
+        if (court.getInstitution() == null || !court.getInstitution().getId().equals(tournament.getInstitution().getId())) {
+            throw new IllegalArgumentException("Court " + court.getId() + " does not belong to the tournament's institution");
+        }
+        CourtBlock block = new CourtBlock();
+        block.setCourt(court);
+        block.setStartsAt(closure.getFrom());
+        block.setEndsAt(closure.getTo());
+        block.setReason(closure.getReason());
+        courtBlockRepository.save(block);
+
+        List<TournamentMatch> matches = findMatches(tournamentId);
+        Plan plan = plan(tournament, matches);
+        int courtIndex = plan.courtIndex().get(court.getId());
+        Set<PlannedMatch> changed = plan.scheduler().closeCourt(courtIndex,
+                plan.grid().firstEndingAfter(closure.getFrom()), plan.grid().firstStartingAtOrAfter(closure.getTo()));
+        changed.addAll(plan.scheduler().repairBlocked());
+        List<TournamentMatchDTO> moved = save(plan, matches, changed);
+        TransactionHooks.afterCommit(() -> {
+            scheduleIndex.putCourtBlock(block);
+            indexMatches(tournamentId, moved);
+        });
+        return moved;
+    }
+
+    // Los partidos ocupan canchas: las clases de los profesores no pueden caer encima
+    private void indexMatches(Long tournamentId, List<TournamentMatchDTO> matches) {
+        for (TournamentMatchDTO match : matches) {
+            scheduleIndex.putTournamentMatch(tournamentId, match.getId(),
+                    match.getStatus() != EMatchStatus.BYE ? match.getCourtId() : null,
+                    match.getStartsAt(), match.getEndsAt());
+        }
+    }
+
+    private record Plan(SlotGrid grid, List<Court> courts, Map<Long, Integer> courtIndex, CourtScheduler scheduler,
+                        Map<Integer, PlannedMatch> byNumber) {
+    }
+
+    /**
+     * Builds the scheduler for the tournament's grid with every block known today (closed hours,
+     * unavailable courts, court blocks) and loads the persisted matches into it.
+     */
+    private Plan plan(Tournament tournament, List<TournamentMatch> matches) {
+        SlotGrid grid = SlotGrid.of(tournament.getDate(), tournament.getScheduleDays(), tournament.getDailyStartTime(),
+                tournament.getDailyEndTime(), tournament.getMatchDurationMinutes());
+        Long institutionId = tournament.getInstitution().getId();
+        List<Court> courts = new ArrayList<>(courtRepository.findByInstitutionId(institutionId));
+        courts.sort(Comparator.comparing(Court::getId));
+        Map<Long, Integer> courtIndex = new HashMap<>();
+        for (int i = 0; i < courts.size(); i++) {
+            courtIndex.put(courts.get(i).getId(), i);
+        }
+        int slotMinutes = grid.slotMinutes();
+        int restSlots = (tournament.getRestMinutes() + slotMinutes - 1) / slotMinutes;
+        CourtScheduler scheduler = new CourtScheduler(grid.totalSlots(), courts.size(), restSlots);
+
+        // Horarios en que la institución está cerrada: se bloquean todas las canchas
+        for (int slot = 0; slot < grid.totalSlots(); slot++) {
+            if (!openingHoursEngine.isOpen(institutionId, grid.startOf(slot))
+                    || !openingHoursEngine.isOpen(institutionId, grid.endOf(slot).minusMinutes(1))) {
+                for (int court = 0; court < courts.size(); court++) {
+                    scheduler.block(court, slot, slot + 1);
+                }
+            }
+        }
+        for (int court = 0; court < courts.size(); court++) {
+            if (!courts.get(court).isAvailability()) {
+                scheduler.block(court, 0, grid.totalSlots());
+            }
+        }
+        if (!courts.isEmpty()) {
+            for (CourtBlock block : courtBlockRepository.findOverlapping(courtIndex.keySet(),
+                    grid.startOf(0), grid.endOf(grid.totalSlots() - 1))) {
+                scheduler.block(courtIndex.get(block.getCourt().getId()),
+                        grid.firstEndingAfter(block.getStartsAt()), grid.firstStartingAtOrAfter(block.getEndsAt()));
+            }
+        }
+
+        Map<Integer, PlannedMatch> byNumber = new HashMap<>();
+        List<PlannedMatch> planned = new ArrayList<>(matches.size());
+        for (TournamentMatch match : matches) {
+            PlannedMatch plannedMatch = toPlanned(match, grid, courtIndex);
+            byNumber.put(plannedMatch.getNumber(), plannedMatch);
+            planned.add(plannedMatch);
+        }
+        scheduler.load(planned);
+        return new Plan(grid, courts, courtIndex, scheduler, byNumber);
+    }
+
+    private static PlannedMatch toPlanned(TournamentMatch match, SlotGrid grid, Map<Long, Integer> courtIndex) {
+        PlannedMatch planned = new PlannedMatch(match.getMatchNumber(), match.getRound(), match.getGroupNumber());
+        planned.setPlayerA(match.getPlayerAId());
+        planned.setPlayerB(match.getPlayerBId());
+        planned.setFeederA(match.getFeederA() != null ? match.getFeederA() : 0);
+        planned.setFeederB(match.getFeederB() != null ? match.getFeederB() : 0);
+        planned.setNextMatch(match.getNextMatch() != null ? match.getNextMatch() : 0);
+        planned.setNextSide(match.getNextSide() != null ? match.getNextSide() : 0);
+        planned.setBye(match.getStatus() == EMatchStatus.BYE);
+        planned.setCompleted(match.getStatus() == EMatchStatus.COMPLETED || match.getStatus() == EMatchStatus.BYE);
+        planned.setWinner(match.getWinnerId());
+        if (match.getStartsAt() != null) {
+            int slot = grid.slotOf(match.getStartsAt());
+            planned.setSlot(slot);
+            planned.setLastSlot(Math.max(slot, grid.firstStartingAtOrAfter(match.getEndsAt()) - 1));
+            // Si la cancha ya no existe queda en -1 y la reparación lo reubica
+            planned.setCourt(courtIndex.getOrDefault(match.getCourtId(), -1));
+        }
+        return planned;
+    }
+
+    private List<TournamentMatchDTO> save(Plan plan, List<TournamentMatch> matches, Set<PlannedMatch> changed) {
+        Map<Integer, TournamentMatch> byNumber = new HashMap<>();
+        matches.forEach(match -> byNumber.put(match.getMatchNumber(), match));
+        List<TournamentMatch> updated = new ArrayList<>(changed.size());
+        for (PlannedMatch planned : changed) {
+            TournamentMatch match = byNumber.get(planned.getNumber());
+            copy(planned, match, plan);
+            updated.add(match);
+        }
+        matchRepository.saveAll(updated);
+        updated.sort(Comparator.comparing(TournamentMatch::getMatchNumber));
+        return updated.stream().map(TournamentScheduleService::toDTO).toList();
+    }
+
+    private static void copy(PlannedMatch planned, TournamentMatch match, Plan plan) {
+        match.setPlayerAId(planned.getPlayerA());
+        match.setPlayerBId(planned.getPlayerB());
+        match.setWinnerId(planned.getWinner());
+        if (planned.isPlaced()) {
+            match.setCourtId(plan.courts().get(planned.getCourt()).getId());
+            match.setStartsAt(plan.grid().startOf(planned.getSlot()));
+            match.setEndsAt(plan.grid().endOf(planned.getLastSlot()));
+        }
+        if (planned.isBye()) {
+            match.setStatus(EMatchStatus.BYE);
+        } else if (planned.isCompleted()) {
+            match.setStatus(EMatchStatus.COMPLETED);
+        } else {
+            match.setStatus(planned.isPlaced() ? EMatchStatus.SCHEDULED : EMatchStatus.PENDING);
+        }
+    }
+
+    private Tournament findTournament(Long tournamentId) {
+        return tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament " + tournamentId + " not found"));
+    }
+
+    // Cada cambio del plan parte de los partidos que guardó el anterior: se serializan por torneo
+    private Tournament lockTournament(Long tournamentId) {
+        return tournamentRepository.lockById(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament " + tournamentId + " not found"));
+    }
+
+    private List<TournamentMatch> findMatches(Long tournamentId) {
+        List<TournamentMatch> matches = matchRepository.findByTournamentIdOrderByMatchNumber(tournamentId);
+        if (matches.isEmpty()) {
+            throw new IllegalArgumentException("Tournament " + tournamentId + " has no schedule yet");
+        }
+        return matches;
+    }
+
+    private static void validate(Tournament tournament, TournamentScheduleRequestDTO request) {
+        if (tournament.getInstitution() == null || tournament.getDate() == null) {
+            throw new IllegalArgumentException("The tournament needs an institution and a date to be scheduled");
+        }
+        if (request.getFormat() == null || request.getPlayerIds() == null || request.getPlayerIds().size() < 2) {
+            throw new IllegalArgumentException("format and at least 2 playerIds are required");
+        }
+        if (new HashSet<>(request.getPlayerIds()).size() != request.getPlayerIds().size()
+                || request.getPlayerIds().contains(null)) {
+            throw new IllegalArgumentException("playerIds must be distinct");
+        }
+        if (request.getMatchDurationMinutes() == null || request.getMatchDurationMinutes() < 10
+                || request.getRestMinutes() == null || request.getRestMinutes() < 0
+                || request.getDays() == null || request.getDays() < 1 || request.getDays() > 60
+                || request.getDailyStartTime() == null || request.getDailyEndTime() == null) {
+            throw new IllegalArgumentException("Invalid schedule window: check duration, rest, days and daily times");
+        }
+    }
+
+    private static TournamentScheduleDTO toScheduleDTO(Tournament tournament, List<TournamentMatch> matches) {
+        return new TournamentScheduleDTO(tournament.getId(), tournament.getFormat(), tournament.getMatchDurationMinutes(),
+                tournament.getRestMinutes(), matches.stream().map(TournamentScheduleService::toDTO).toList());
+    }
+
+    private static TournamentMatchDTO toDTO(TournamentMatch match) {
+        TournamentMatchDTO dto = new TournamentMatchDTO();
+        dto.setId(match.getId());
+        dto.setMatchNumber(match.getMatchNumber());
+        dto.setRound(match.getRound());
+        dto.setGroupNumber(match.getGroupNumber());
+        dto.setPlayerAId(match.getPlayerAId());
+        dto.setPlayerBId(match.getPlayerBId());
+        dto.setNextMatch(match.getNextMatch());
+        dto.setCourtId(match.getCourtId());
+        dto.setStartsAt(match.getStartsAt());
+        dto.setEndsAt(match.getEndsAt());
+        dto.setWinnerId(match.getWinnerId());
+        dto.setScore(match.getScore());
+        dto.setStatus(match.getStatus());
+        return dto;
+    }
+}
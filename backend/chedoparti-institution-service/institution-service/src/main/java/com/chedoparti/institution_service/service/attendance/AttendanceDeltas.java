@@ -0,0 +1,90 @@
+package com.chedoparti.institution_service.service.attendance;
+
+import com.chedoparti.institution_service.enums.EAttendanceStatus;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Changes to the weekly attendance rollups produced by a batch of marks: per (coach, group,
+ * student, week) one counter per status, and per (coach, group, week) the classes whose attendance
+ * was taken. Changing a mark moves one unit from the old status to the new one. Keys are kept
+ * sorted so concurrent writers upsert rollup rows in the same order.
+ */
+public final class AttendanceDeltas {
+
+    public static final long NO_GROUP = 0; // Las clases sin grupo se acumulan en el grupo 0
+
+    public record StudentWeek(long coachId, long groupId, long studentId, LocalDate weekStart) {
+    }
+
+    public record ClassWeek(long coachId, long groupId, LocalDate weekStart) {
+    }
+
+    private static final Comparator<StudentWeek> STUDENT_ORDER = Comparator.comparingLong(StudentWeek::coachId)
+            .thenComparingLong(StudentWeek::groupId).thenComparingLong(StudentWeek::studentId)
+            .thenComparing(StudentWeek::weekStart);
+    private static final Comparator<ClassWeek> CLASS_ORDER = Comparator.comparingLong(ClassWeek::coachId)
+            .thenComparingLong(ClassWeek::groupId).thenComparing(ClassWeek::weekStart);
+
+    private final Map<StudentWeek, int[]> students = new TreeMap<>(STUDENT_ORDER);
+    private final Map<ClassWeek, Integer> classes = new TreeMap<>(CLASS_ORDER);
+
+    public static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * @param previous the student's status for this class before the mark (null if it is the first)
+     */
+    public void change(long coachId, Long groupId, long studentId, LocalDate classDate,
+                       EAttendanceStatus previous, EAttendanceStatus current) {
+        if (previous == current) {
+            return;
+        }
+        int[] counters = students.computeIfAbsent(
+                new StudentWeek(coachId, group(groupId), studentId, weekOf(classDate)),
+                key -> new int[EAttendanceStatus.values().length]);
+        if (previous != null) {
+            counters[previous.ordinal()]--;
+        }
+        counters[current.ordinal()]++;
+    }
+
+    public void classTaken(long coachId, Long groupId, LocalDate classDate) {
+        classes.merge(new ClassWeek(coachId, group(groupId), weekOf(classDate)), 1, Integer::sum);
+    }
+
+    /**
+     * Student rollups with a non-zero change; counters are indexed by {@link EAttendanceStatus#ordinal()}.
+     */
+    public List<Map.Entry<StudentWeek, int[]>> students() {
+        return students.entrySet().stream().filter(entry -> !isZero(entry.getValue())).toList();
+    }
+
+    public List<Map.Entry<ClassWeek, Integer>> classes() {
+        return List.copyOf(classes.entrySet());
+    }
+
+    public boolean isEmpty() {
+        return students().isEmpty() && classes.isEmpty();
+    }
+
+    private static long group(Long groupId) {
+        return groupId != null ? groupId : NO_GROUP;
+    }
+
+    private static boolean isZero(int[] counters) {
+        for (int counter : counters) {
+            if (counter != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,229 @@
+package com.chedoparti.institution_service.service.attendance;
+
+import com.chedoparti.institution_service.dto.AttendanceDTO;
+import com.chedoparti.institution_service.enums.EAttendanceStatus;
+import com.chedoparti.institution_service.exception.IngestionOverloadedException;
+import com.chedoparti.institution_service.exception.ResourceNotFoundException;
+import com.chedoparti.institution_service.repository.CoachScheduleRepository;
+import com.chedoparti.institution_service.service.AttendanceService;
+import com.chedoparti.institution_service.service.coach.CoachScheduleIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind ingestion of attendance check-ins. A check-in is appended to the local
+ * {@link AttendanceJournal} and to an in-memory buffer, and acknowledged; a single flusher thread
+ * writes the buffer through {@link AttendanceService#apply} every few hundred milliseconds, in
+ * batches. Repeat check-ins of a student to the same class only keep the latest one, so they do
+ * not take buffer space or reach the database.
+ *
+ * <p>The buffer is bounded by the number of (class, student) pairs waiting, including those whose
+ * write failed: when it is full, check-ins are rejected with 503 instead of piling up. Failed
+ * batches are retried on the next ticks and their journal segments are kept until they are written,
+ * so a crash at any point loses nothing that was acknowledged.</p>
+ */
+@Component
+@Slf4j
+public class AttendanceIngestor {
+
+    private record Key(long scheduleId, long studentId) {
+        static Key of(AttendanceMark mark) {
+            return new Key(mark.scheduleId(), mark.studentId());
+        }
+    }
+
+    private final AttendanceService attendanceService;
+    private final CoachScheduleIndex scheduleIndex;
+    private final CoachScheduleRepository scheduleRepository;
+    private final Path journalDirectory;
+    private final boolean fsync;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final Object lock = new Object();
+    private Map<Key, AttendanceMark> pending = new LinkedHashMap<>();
+    // Solo los usa el hilo de escritura
+    private final Map<Key, AttendanceMark> unwritten = new LinkedHashMap<>();
+    private final List<Path> sealed = new ArrayList<>();
+    private volatile int unwrittenCount;
+    private AttendanceJournal journal;
+    private ScheduledExecutorService flusher;
+
+    public AttendanceIngestor(AttendanceService attendanceService,
+                              CoachScheduleIndex scheduleIndex,
+                              CoachScheduleRepository scheduleRepository,
+                              @Value("${institution.attendance.ingest.journal-dir:data/attendance-journal}") String journalDirectory,
+                              @Value("${institution.attendance.ingest.fsync:true}") boolean fsync,
+                              @Value("${institution.attendance.ingest.capacity:20000}") int capacity,
+                              @Value("${institution.attendance.ingest.batch-size:500}") int batchSize,
+                              @Value("${institution.attendance.ingest.flush-interval-ms:250}") long flushIntervalMs) {
+        this.attendanceService = attendanceService;
+        this.scheduleIndex = scheduleIndex;
+        this.scheduleRepository = scheduleRepository;
+        this.journalDirectory = Path.of(journalDirectory);
+        this.fsync = fsync;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        journal = new AttendanceJournal(journalDirectory, fsync);
+        int recovered = 0;
+        for (Path segment : journal.segments()) {
+            for (AttendanceMark mark : AttendanceJournal.read(segment)) {
+                unwritten.merge(Key.of(mark), mark, AttendanceIngestor::latest);
+                recovered++;
+            }
+            sealed.add(segment);
+        }
+        unwrittenCount = unwritten.size();
+        if (recovered > 0) {
+            log.info("Replaying {} attendance marks from {} journal segments", recovered, sealed.size());
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "attendance-ingest");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+        journal.close();
+        if (!unwritten.isEmpty()) {
+            log.warn("Shutting down with {} attendance marks not written; they stay in {} for the next start",
+                    unwritten.size(), journalDirectory);
+        }
+    }
+
+    /**
+     * Check-ins of one class, marked now; a check-in without status counts as present. Returns once
+     * they are in the journal, before they reach the database.
+     */
+    public List<AttendanceDTO> checkIn(Long scheduleId, List<AttendanceDTO> items) {
+        if (scheduleId == null) {
+            throw new IllegalArgumentException("scheduleId is required");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<AttendanceMark> marks = new ArrayList<>(items.size());
+        for (AttendanceDTO item : items) {
+            if (item.getStudentId() == null) {
+                throw new IllegalArgumentException("studentId is required");
+            }
+            EAttendanceStatus status = item.getStatus() != null ? item.getStatus() : EAttendanceStatus.PRESENT;
+            marks.add(new AttendanceMark(scheduleId, item.getStudentId(), status, now));
+        }
+        enqueue(scheduleId, marks);
+        return marks.stream().map(mark -> {
+            AttendanceDTO dto = new AttendanceDTO();
+            dto.setScheduleId(mark.scheduleId());
+            dto.setStudentId(mark.studentId());
+            dto.setStatus(mark.status());
+            dto.setMarkedAt(mark.markedAt());
+            return dto;
+        }).toList();
+    }
+
+    /**
+     * Accepts the marks of one class once they are in the journal. All of them or none are accepted.
+     *
+     * @throws ResourceNotFoundException    if the class does not exist.
+     * @throws IngestionOverloadedException if the buffer is full.
+     */
+    public void enqueue(long scheduleId, List<AttendanceMark> marks) {
+        if (marks.isEmpty()) {
+            return;
+        }
+        // Las clases vigentes están en el índice; solo las pasadas van a la base
+        if (scheduleIndex.classPlacement(scheduleId) == null && !scheduleRepository.existsById(scheduleId)) {
+            throw new ResourceNotFoundException("Coach schedule " + scheduleId + " not found");
+        }
+        FileChannel segment;
+        synchronized (lock) {
+            long added = marks.stream().map(Key::of).distinct().filter(key -> !pending.containsKey(key)).count();
+            if (pending.size() + unwrittenCount + added > capacity) {
+                throw new IngestionOverloadedException("Attendance check-ins are backing up, retry in a moment");
+            }
+            segment = journal.append(marks);
+            marks.forEach(mark -> pending.merge(Key.of(mark), mark, AttendanceIngestor::latest));
+        }
+        journal.force(segment);
+    }
+
+    /**
+     * Marks accepted but not yet in the database.
+     */
+    public int backlog() {
+        synchronized (lock) {
+            return pending.size() + unwrittenCount;
+        }
+    }
+
+    /**
+     * Writes everything accepted so far. Only called from the flusher thread (or after it stopped).
+     */
+    synchronized void flush() {
+        Map<Key, AttendanceMark> batch;
+        try {
+            synchronized (lock) {
+                Path segment = journal.seal();
+                if (segment != null) {
+                    sealed.add(segment);
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                batch.forEach((key, mark) -> unwritten.merge(key, mark, AttendanceIngestor::latest));
+                unwrittenCount = unwritten.size();
+            }
+        } catch (IOException e) {
+            log.warn("Could not seal the attendance journal, retrying on next flush: {}", e.getMessage());
+            return;
+        }
+        if (unwritten.isEmpty()) {
+            return;
+        }
+        List<AttendanceMark> marks = new ArrayList<>(unwritten.values());
+        for (int from = 0; from < marks.size(); from += batchSize) {
+            List<AttendanceMark> chunk = marks.subList(from, Math.min(from + batchSize, marks.size()));
+            try {
+                attendanceService.apply(chunk);
+            } catch (RuntimeException e) {
+                log.warn("Could not write {} attendance marks, retrying on next flush: {}",
+                        marks.size() - from, e.getMessage());
+                break;
+            }
+            chunk.forEach(mark -> unwritten.remove(Key.of(mark)));
+        }
+        unwrittenCount = unwritten.size();
+        if (unwritten.isEmpty()) {
+            journal.delete(sealed);
+            sealed.clear();
+        }
+    }
+
+    private static AttendanceMark latest(AttendanceMark current, AttendanceMark next) {
+        return next.markedAt().isBefore(current.markedAt()) ? current : next;
+    }
+}
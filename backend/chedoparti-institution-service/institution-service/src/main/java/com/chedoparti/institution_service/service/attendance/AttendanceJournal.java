@@ -0,0 +1,179 @@
+package com.chedoparti.institution_service.service.attendance;
+
+import com.chedoparti.institution_service.enums.EAttendanceStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Local append-only journal of accepted attendance marks, one line per mark, split in numbered
+ * segments. A segment is sealed when its marks are taken for writing and deleted once they are in
+ * the database; whatever segments are left on startup are replayed. Replaying a mark that was
+ * already written is harmless, since unchanged marks are skipped.
+ */
+@Slf4j
+public final class AttendanceJournal implements Closeable {
+
+    private static final String PREFIX = "attendance-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final boolean fsync;
+    private long sequence;
+    private FileChannel current;
+    private Path currentPath;
+
+    public AttendanceJournal(Path directory, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        this.sequence = segments().stream().mapToLong(AttendanceJournal::sequenceOf).max().orElse(0);
+    }
+
+    /**
+     * Segments on disk, oldest first (including the open one, if any).
+     */
+    public List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> sequenceOf(path) > 0)
+                    .sorted(Comparator.comparingLong(AttendanceJournal::sequenceOf))
+                    .toList();
+        }
+    }
+
+    /**
+     * Appends the marks to the open segment (opening a new one if needed) and returns it; call
+     * {@link #force(FileChannel)} on it, outside of any lock, before acknowledging the marks.
+     */
+    public synchronized FileChannel append(List<AttendanceMark> marks) {
+        StringBuilder lines = new StringBuilder(marks.size() * 48);
+        marks.forEach(mark -> lines.append(encode(mark)).append('\n'));
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            if (current == null) {
+                currentPath = directory.resolve(PREFIX + (++sequence) + SUFFIX);
+                current = FileChannel.open(currentPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+            while (buffer.hasRemaining()) {
+                current.write(buffer);
+            }
+            return current;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the attendance journal", e);
+        }
+    }
+
+    /**
+     * Flushes an appended segment to disk when fsync is enabled. Several callers appending at once
+     * share one disk flush.
+     */
+    public void force(FileChannel segment) {
+        if (!fsync) {
+            return;
+        }
+        try {
+            segment.force(false);
+        } catch (ClosedChannelException e) {
+            // Ya sellado: seal() lo bajó a disco antes de cerrarlo
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not sync the attendance journal", e);
+        }
+    }
+
+    /**
+     * Closes the open segment so that later marks go to a new one.
+     *
+     * @return the sealed segment, or null if nothing was appended since the last seal.
+     */
+    public synchronized Path seal() throws IOException {
+        if (current == null) {
+            return null;
+        }
+        Path sealed = currentPath;
+        try (FileChannel channel = current) {
+            if (fsync) {
+                channel.force(false);
+            }
+        } finally {
+            current = null;
+            currentPath = null;
+        }
+        return sealed;
+    }
+
+    public void delete(Collection<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.warn("Could not delete attendance journal segment {}: {}", segment, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Marks of a segment; a line cut short by a crash is skipped.
+     */
+    public static List<AttendanceMark> read(Path segment) throws IOException {
+        List<AttendanceMark> marks = new ArrayList<>();
+        for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+            AttendanceMark mark = decode(line);
+            if (mark != null) {
+                marks.add(mark);
+            } else if (!line.isBlank()) {
+                log.warn("Skipping unreadable line of attendance journal {}: {}", segment, line);
+            }
+        }
+        return marks;
+    }
+
+    @Override
+    public void close() throws IOException {
+        seal();
+    }
+
+    static String encode(AttendanceMark mark) {
+        return mark.scheduleId() + "," + mark.studentId() + "," + mark.status().name() + "," + mark.markedAt();
+    }
+
+    static AttendanceMark decode(String line) {
+        String[] fields = line.split(",");
+        if (fields.length != 4) {
+            return null;
+        }
+        try {
+            return new AttendanceMark(Long.parseLong(fields[0]), Long.parseLong(fields[1]),
+                    EAttendanceStatus.valueOf(fields[2]), LocalDateTime.parse(fields[3]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
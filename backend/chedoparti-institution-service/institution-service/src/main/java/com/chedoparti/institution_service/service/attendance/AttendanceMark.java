@@ -0,0 +1,11 @@
+package com.chedoparti.institution_service.service.attendance;
+
+import com.chedoparti.institution_service.enums.EAttendanceStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One attendance mark as sent by the coach (or a check-in); the latest per class and student wins.
+ */
+public record AttendanceMark(long scheduleId, long studentId, EAttendanceStatus status, LocalDateTime markedAt) {
+}
@@ -0,0 +1,92 @@
+package com.chedoparti.institution_service.service.attendance;
+
+import com.chedoparti.institution_service.dto.AttendanceStatsDTO;
+import com.chedoparti.institution_service.enums.EAttendanceStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weekly attendance rollups, kept in step with every mark. Statistics for any range are sums over
+ * the weekly rows of the coach (an index range scan on coach and week) and never read the marks,
+ * so they cost the same after years of classes. Must be called inside the transaction that writes
+ * the marks.
+ */
+@Component
+public class AttendanceRollups {
+
+    private static final String UPSERT_STUDENT_SQL = "INSERT INTO attendance_weekly_rollups " +
+            "(coach_id, group_id, student_id, week_start, present, late, absent, excused) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (coach_id, group_id, student_id, week_start) DO UPDATE SET " +
+            "present = attendance_weekly_rollups.present + EXCLUDED.present, " +
+            "late = attendance_weekly_rollups.late + EXCLUDED.late, " +
+            "absent = attendance_weekly_rollups.absent + EXCLUDED.absent, " +
+            "excused = attendance_weekly_rollups.excused + EXCLUDED.excused";
+    private static final String UPSERT_CLASS_SQL = "INSERT INTO attendance_weekly_classes " +
+            "(coach_id, group_id, week_start, classes) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (coach_id, group_id, week_start) DO UPDATE SET " +
+            "classes = attendance_weekly_classes.classes + EXCLUDED.classes";
+    private static final String STUDENT_TOTALS_SQL = "SELECT COALESCE(SUM(present), 0) AS present, " +
+            "COALESCE(SUM(late), 0) AS late, COALESCE(SUM(absent), 0) AS absent, " +
+            "COALESCE(SUM(excused), 0) AS excused, COUNT(DISTINCT student_id) AS students " +
+            "FROM attendance_weekly_rollups WHERE coach_id = ? AND week_start BETWEEN ? AND ?";
+    private static final String CLASS_TOTALS_SQL = "SELECT COALESCE(SUM(classes), 0) " +
+            "FROM attendance_weekly_classes WHERE coach_id = ? AND week_start BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceRollups(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void add(AttendanceDeltas deltas) {
+        List<Map.Entry<AttendanceDeltas.StudentWeek, int[]>> students = deltas.students();
+        if (!students.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_STUDENT_SQL, students, students.size(), (statement, entry) -> {
+                AttendanceDeltas.StudentWeek key = entry.getKey();
+                int[] counters = entry.getValue();
+                statement.setLong(1, key.coachId());
+                statement.setLong(2, key.groupId());
+                statement.setLong(3, key.studentId());
+                statement.setDate(4, Date.valueOf(key.weekStart()));
+                statement.setInt(5, counters[EAttendanceStatus.PRESENT.ordinal()]);
+                statement.setInt(6, counters[EAttendanceStatus.LATE.ordinal()]);
+                statement.setInt(7, counters[EAttendanceStatus.ABSENT.ordinal()]);
+                statement.setInt(8, counters[EAttendanceStatus.EXCUSED.ordinal()]);
+            });
+        }
+        List<Map.Entry<AttendanceDeltas.ClassWeek, Integer>> classes = deltas.classes();
+        if (!classes.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_CLASS_SQL, classes, classes.size(), (statement, entry) -> {
+                statement.setLong(1, entry.getKey().coachId());
+                statement.setLong(2, entry.getKey().groupId());
+                statement.setDate(3, Date.valueOf(entry.getKey().weekStart()));
+                statement.setInt(4, entry.getValue());
+            });
+        }
+    }
+
+    /**
+     * Statistics of the coach over the weeks from {@code fromWeek} to {@code toWeek} (both Mondays).
+     */
+    public AttendanceStatsDTO stats(long coachId, LocalDate fromWeek, LocalDate toWeek) {
+        Date from = Date.valueOf(fromWeek);
+        Date to = Date.valueOf(toWeek);
+        Long classes = jdbcTemplate.queryForObject(CLASS_TOTALS_SQL, Long.class, coachId, from, to);
+        return jdbcTemplate.queryForObject(STUDENT_TOTALS_SQL, (rs, row) -> {
+            long attended = rs.getLong("present") + rs.getLong("late");
+            long marked = attended + rs.getLong("absent") + rs.getLong("excused");
+            long totalClasses = classes != null ? classes : 0;
+            return new AttendanceStatsDTO(fromWeek, toWeek.plusDays(6),
+                    marked > 0 ? (double) attended / marked : 0.0,
+                    totalClasses,
+                    rs.getLong("students"),
+                    totalClasses > 0 ? (double) attended / totalClasses : 0.0);
+        }, coachId, from, to);
+    }
+}
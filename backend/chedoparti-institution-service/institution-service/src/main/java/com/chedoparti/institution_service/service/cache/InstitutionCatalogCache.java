@@ -0,0 +1,64 @@
+package com.chedoparti.institution_service.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the serialized institution catalog. Every write to institutions, courts or
+ * promotions bumps {@link #invalidate() the version}; the next read rebuilds the snapshot. The ETag
+ * is a hash of the body, so it stays stable across restarts and replicas serving the same data.
+ */
+@Component
+@Slf4j
+public class InstitutionCatalogCache {
+
+    public record Snapshot(long version, byte[] body, String etag) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public InstitutionCatalogCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public Snapshot get(Supplier<?> loader) {
+        Snapshot current = snapshot;
+        long currentVersion = version.get();
+        if (current != null && current.version() == currentVersion) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            currentVersion = version.get();
+            if (current != null && current.version() == currentVersion) {
+                return current;
+            }
+            // Se guarda con la versión leída antes de cargar: una escritura concurrente fuerza otra recarga
+            byte[] body = serialize(loader.get());
+            Snapshot rebuilt = new Snapshot(currentVersion, body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+            snapshot = rebuilt;
+            log.debug("Institution catalog rebuilt at version {} ({} bytes)", currentVersion, body.length);
+            return rebuilt;
+        }
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    private byte[] serialize(Object catalog) {
+        try {
+            return objectMapper.writeValueAsBytes(catalog);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the institution catalog", e);
+        }
+    }
+}
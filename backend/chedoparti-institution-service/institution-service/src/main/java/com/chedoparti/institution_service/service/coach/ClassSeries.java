@@ -0,0 +1,36 @@
+package com.chedoparti.institution_service.service.coach;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Expands a weekly class series ("Mon/Wed/Fri 18:00-19:30 from March to November") into its
+ * occurrences.
+ */
+public final class ClassSeries {
+
+    public record Occurrence(LocalDateTime startsAt, LocalDateTime endsAt) {
+    }
+
+    private ClassSeries() {
+    }
+
+    /**
+     * @return the occurrences in order, one per matching day in {@code [from, until]}.
+     */
+    public static List<Occurrence> occurrences(LocalDate from, LocalDate until, Set<DayOfWeek> days,
+                                               LocalTime startTime, LocalTime endTime) {
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(until); date = date.plusDays(1)) {
+            if (days.contains(date.getDayOfWeek())) {
+                occurrences.add(new Occurrence(date.atTime(startTime), date.atTime(endTime)));
+            }
+        }
+        return occurrences;
+    }
+}
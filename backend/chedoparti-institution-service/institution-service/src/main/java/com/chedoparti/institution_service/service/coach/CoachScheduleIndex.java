@@ -0,0 +1,259 @@
+package com.chedoparti.institution_service.service.coach;
+
+import com.chedoparti.institution_service.entity.CoachSchedule;
+import com.chedoparti.institution_service.entity.CourtBlock;
+import com.chedoparti.institution_service.entity.TournamentMatch;
+import com.chedoparti.institution_service.enums.EMatchStatus;
+import com.chedoparti.institution_service.enums.EOccupancyKind;
+import com.chedoparti.institution_service.repository.CoachScheduleRepository;
+import com.chedoparti.institution_service.repository.CourtBlockRepository;
+import com.chedoparti.institution_service.repository.TournamentMatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory occupancy of coaches and courts: coach classes, court blocks and scheduled
+ * tournament matches from yesterday on, indexed per coach and per court in {@link IntervalIndex}.
+ * Availability checks never touch the database, so a calendar can check while a class is dragged.
+ *
+ * <p>Built on startup and kept current by the services that write classes, blocks and matches.
+ * Placing a class checks and inserts atomically, so two classes racing on this instance cannot
+ * both take the same slot; across instances the exclusion constraints of {@code coach_schedules}
+ * back this up.</p>
+ */
+@Component
+@Slf4j
+public class CoachScheduleIndex {
+
+    private final CoachScheduleRepository scheduleRepository;
+    private final CourtBlockRepository courtBlockRepository;
+    private final TournamentMatchRepository matchRepository;
+    private final ZoneId zoneId;
+
+    private final IntervalIndex coaches = new IntervalIndex();
+    private final IntervalIndex courts = new IntervalIndex();
+    private final Map<Long, Occupancy> classes = new ConcurrentHashMap<>();
+    private final Map<Long, Occupancy> blocks = new ConcurrentHashMap<>();
+    private final Map<Long, Occupancy> matches = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> matchesByTournament = new ConcurrentHashMap<>();
+    private volatile LocalDateTime horizon;
+
+    public CoachScheduleIndex(CoachScheduleRepository scheduleRepository,
+                              CourtBlockRepository courtBlockRepository,
+                              TournamentMatchRepository matchRepository,
+                              @Value("${institution.schedule.zone-id:America/Argentina/Buenos_Aires}") String zoneId) {
+        this.scheduleRepository = scheduleRepository;
+        this.courtBlockRepository = courtBlockRepository;
+        this.matchRepository = matchRepository;
+        this.zoneId = ZoneId.of(zoneId);
+        this.horizon = LocalDate.now(this.zoneId).minusDays(1).atStartOfDay();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuildAll() {
+        LocalDateTime from = LocalDate.now(zoneId).minusDays(1).atStartOfDay();
+        coaches.clear();
+        courts.clear();
+        classes.clear();
+        blocks.clear();
+        matches.clear();
+        matchesByTournament.clear();
+        List<CoachSchedule> schedules = scheduleRepository.findByEndsAtAfter(from);
+        schedules.forEach(schedule -> putClass(schedule.getId(), schedule.getCoachId(), schedule.getCourtId(),
+                schedule.getStartsAt(), schedule.getEndsAt()));
+        List<CourtBlock> courtBlocks = courtBlockRepository.findByEndsAtAfter(from);
+        courtBlocks.forEach(this::putCourtBlock);
+        List<TournamentMatch> tournamentMatches = matchRepository.findByEndsAtAfterAndCourtIdIsNotNull(from);
+        for (TournamentMatch match : tournamentMatches) {
+            if (match.getStatus() != EMatchStatus.BYE) {
+                putTournamentMatch(match.getTournament().getId(), match.getId(), match.getCourtId(),
+                        match.getStartsAt(), match.getEndsAt());
+            }
+        }
+        horizon = from;
+        log.info("Indexed {} classes, {} court blocks and {} tournament matches from {}",
+                schedules.size(), courtBlocks.size(), tournamentMatches.size(), from);
+    }
+
+    /**
+     * Classes, blocks and matches are indexed from this time on; nothing can be checked before it.
+     */
+    public LocalDateTime horizon() {
+        return horizon;
+    }
+
+    /**
+     * Everything that keeps the coach or the court busy in {@code [startsAt, endsAt)}, ordered by
+     * start. {@code ignoreClassId} is the class being moved, if any.
+     */
+    public List<Occupancy> conflicts(Long coachId, Long courtId, LocalDateTime startsAt, LocalDateTime endsAt,
+                                     Long ignoreClassId) {
+        long start = minutes(startsAt);
+        long end = minutes(endsAt);
+        Set<Occupancy> found = new LinkedHashSet<>();
+        if (coachId != null) {
+            coaches.collect(coachId, start, end, occupancy -> !isClass(occupancy, ignoreClassId), found);
+        }
+        if (courtId != null) {
+            courts.collect(courtId, start, end, occupancy -> !isClass(occupancy, ignoreClassId), found);
+        }
+        List<Occupancy> conflicts = new ArrayList<>(found);
+        conflicts.sort(Comparator.comparingLong(Occupancy::start));
+        return conflicts;
+    }
+
+    /**
+     * Places (or moves) a class unless something overlaps it; check and insert are atomic.
+     *
+     * @return the conflicts; empty when the class was placed.
+     */
+    public synchronized List<Occupancy> tryPlaceClass(long id, Long coachId, Long courtId, LocalDateTime startsAt,
+                                                      LocalDateTime endsAt) {
+        List<Occupancy> conflicts = conflicts(coachId, courtId, startsAt, endsAt, id);
+        if (conflicts.isEmpty()) {
+            putClass(id, coachId, courtId, startsAt, endsAt);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Places a whole series, or none of it if any class overlaps something (including each other).
+     *
+     * @return the conflicts; empty when every class was placed.
+     */
+    public synchronized List<Occupancy> tryPlaceClasses(List<CoachSchedule> schedules) {
+        List<Long> placed = new ArrayList<>(schedules.size());
+        for (CoachSchedule schedule : schedules) {
+            List<Occupancy> conflicts = conflicts(schedule.getCoachId(), schedule.getCourtId(),
+                    schedule.getStartsAt(), schedule.getEndsAt(), schedule.getId());
+            if (!conflicts.isEmpty()) {
+                placed.forEach(this::removeClass);
+                return conflicts;
+            }
+            putClass(schedule.getId(), schedule.getCoachId(), schedule.getCourtId(), schedule.getStartsAt(),
+                    schedule.getEndsAt());
+            placed.add(schedule.getId());
+        }
+        return List.of();
+    }
+
+    public Occupancy classPlacement(long id) {
+        return classes.get(id);
+    }
+
+    /**
+     * Puts a class back where it was (null: not placed), e.g. after its transaction rolled back.
+     */
+    public synchronized void restoreClass(long id, Occupancy previous) {
+        removeClass(id);
+        if (previous != null) {
+            add(previous);
+            classes.put(id, previous);
+        }
+    }
+
+    public synchronized void removeClass(long id) {
+        Occupancy previous = classes.remove(id);
+        if (previous != null) {
+            remove(previous);
+        }
+    }
+
+    public synchronized void putCourtBlock(CourtBlock block) {
+        Occupancy previous = blocks.remove(block.getId());
+        if (previous != null) {
+            remove(previous);
+        }
+        Occupancy occupancy = new Occupancy(EOccupancyKind.COURT_BLOCK, block.getId(), null,
+                block.getCourt().getId(), minutes(block.getStartsAt()), minutes(block.getEndsAt()));
+        add(occupancy);
+        blocks.put(block.getId(), occupancy);
+    }
+
+    /**
+     * Adds or moves a match; a match without court or time is removed.
+     */
+    public synchronized void putTournamentMatch(Long tournamentId, Long matchId, Long courtId,
+                                                LocalDateTime startsAt, LocalDateTime endsAt) {
+        Occupancy previous = matches.remove(matchId);
+        if (previous != null) {
+            remove(previous);
+        }
+        if (courtId == null || startsAt == null || endsAt == null) {
+            return;
+        }
+        Occupancy occupancy = new Occupancy(EOccupancyKind.TOURNAMENT_MATCH, matchId, null, courtId,
+                minutes(startsAt), minutes(endsAt));
+        add(occupancy);
+        matches.put(matchId, occupancy);
+        matchesByTournament.computeIfAbsent(tournamentId, id -> ConcurrentHashMap.newKeySet()).add(matchId);
+    }
+
+    public synchronized void removeTournament(Long tournamentId) {
+        Set<Long> ids = matchesByTournament.remove(tournamentId);
+        if (ids == null) {
+            return;
+        }
+        for (Long matchId : new HashSet<>(ids)) {
+            Occupancy previous = matches.remove(matchId);
+            if (previous != null) {
+                remove(previous);
+            }
+        }
+    }
+
+    public static LocalDateTime time(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    private void putClass(long id, Long coachId, Long courtId, LocalDateTime startsAt, LocalDateTime endsAt) {
+        removeClass(id);
+        Occupancy occupancy = new Occupancy(EOccupancyKind.CLASS, id, coachId, courtId,
+                minutes(startsAt), minutes(endsAt));
+        add(occupancy);
+        classes.put(id, occupancy);
+    }
+
+    private void add(Occupancy occupancy) {
+        if (occupancy.coachId() != null) {
+            coaches.add(occupancy.coachId(), occupancy);
+        }
+        if (occupancy.courtId() != null) {
+            courts.add(occupancy.courtId(), occupancy);
+        }
+    }
+
+    private void remove(Occupancy occupancy) {
+        if (occupancy.coachId() != null) {
+            coaches.remove(occupancy.coachId(), occupancy);
+        }
+        if (occupancy.courtId() != null) {
+            courts.remove(occupancy.courtId(), occupancy);
+        }
+    }
+
+    private static boolean isClass(Occupancy occupancy, Long classId) {
+        return classId != null && occupancy.kind() == EOccupancyKind.CLASS && occupancy.id() == classId;
+    }
+
+    // Minutos de reloj local: las clases se cargan en la hora de la institución
+    private static long minutes(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
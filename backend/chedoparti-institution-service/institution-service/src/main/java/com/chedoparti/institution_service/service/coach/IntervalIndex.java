@@ -0,0 +1,145 @@
+package com.chedoparti.institution_service.service.coach;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Occupancies per resource (a coach or a court) bucketed by day. Each day keeps its occupancies
+ * sorted by start with a running maximum of their ends, so "is anything overlapping [start, end)"
+ * is two binary searches, and listing the overlaps adds only the candidates between them.
+ *
+ * <p>Days are immutable arrays replaced on write: reads never lock. Writers must be serialized by
+ * the caller.</p>
+ */
+public final class IntervalIndex {
+
+    private static final long MINUTES_PER_DAY = 1_440;
+
+    private final Map<Long, Map<Long, Day>> resources = new ConcurrentHashMap<>();
+
+    public void add(long resource, Occupancy occupancy) {
+        Map<Long, Day> days = resources.computeIfAbsent(resource, id -> new ConcurrentHashMap<>());
+        for (long day = firstDay(occupancy); day <= lastDay(occupancy); day++) {
+            days.compute(day, (key, current) -> (current != null ? current : Day.EMPTY).with(occupancy));
+        }
+    }
+
+    public void remove(long resource, Occupancy occupancy) {
+        Map<Long, Day> days = resources.get(resource);
+        if (days == null) {
+            return;
+        }
+        for (long day = firstDay(occupancy); day <= lastDay(occupancy); day++) {
+            days.computeIfPresent(day, (key, current) -> current.without(occupancy));
+        }
+    }
+
+    /**
+     * Adds to {@code out} every accepted occupancy of the resource overlapping {@code [start, end)}.
+     * Pass a set to drop occupancies spanning several days from being reported more than once.
+     */
+    public void collect(long resource, long start, long end, Predicate<Occupancy> accept, Collection<Occupancy> out) {
+        Map<Long, Day> days = resources.get(resource);
+        if (days == null || end <= start) {
+            return;
+        }
+        for (long day = Math.floorDiv(start, MINUTES_PER_DAY); day <= Math.floorDiv(end - 1, MINUTES_PER_DAY); day++) {
+            Day bucket = days.get(day);
+            if (bucket != null) {
+                bucket.collect(start, end, accept, out);
+            }
+        }
+    }
+
+    public void clear() {
+        resources.clear();
+    }
+
+    private static long firstDay(Occupancy occupancy) {
+        return Math.floorDiv(occupancy.start(), MINUTES_PER_DAY);
+    }
+
+    private static long lastDay(Occupancy occupancy) {
+        return Math.floorDiv(Math.max(occupancy.end() - 1, occupancy.start()), MINUTES_PER_DAY);
+    }
+
+    private static final class Day {
+
+        static final Day EMPTY = new Day(new Occupancy[0]);
+
+        private final Occupancy[] items; // Ordenadas por inicio
+        private final long[] maxEnd; // maxEnd[i] = mayor fin entre items[0..i]
+
+        private Day(Occupancy[] items) {
+            this.items = items;
+            this.maxEnd = new long[items.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < items.length; i++) {
+                max = Math.max(max, items[i].end());
+                maxEnd[i] = max;
+            }
+        }
+
+        Day with(Occupancy occupancy) {
+            int position = lastStartingBefore(occupancy.start() + 1) + 1;
+            Occupancy[] next = new Occupancy[items.length + 1];
+            System.arraycopy(items, 0, next, 0, position);
+            next[position] = occupancy;
+            System.arraycopy(items, position, next, position + 1, items.length - position);
+            return new Day(next);
+        }
+
+        Day without(Occupancy occupancy) {
+            Occupancy[] next = Arrays.stream(items).filter(item -> !item.equals(occupancy)).toArray(Occupancy[]::new);
+            return next.length == 0 ? null : new Day(next);
+        }
+
+        void collect(long start, long end, Predicate<Occupancy> accept, Collection<Occupancy> out) {
+            int last = lastStartingBefore(end);
+            if (last < 0 || maxEnd[last] <= start) {
+                return;
+            }
+            // maxEnd no decrece: antes de first nada termina después de start
+            for (int i = firstEndingAfter(start); i <= last; i++) {
+                if (items[i].end() > start && accept.test(items[i])) {
+                    out.add(items[i]);
+                }
+            }
+        }
+
+        private int lastStartingBefore(long time) {
+            int low = 0;
+            int high = items.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (items[mid].start() < time) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        private int firstEndingAfter(long time) {
+            int low = 0;
+            int high = maxEnd.length - 1;
+            int found = maxEnd.length;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (maxEnd[mid] > time) {
+                    found = mid;
+                    high = mid - 1;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return found;
+        }
+    }
+}
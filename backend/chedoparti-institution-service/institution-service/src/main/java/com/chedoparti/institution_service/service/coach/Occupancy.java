@@ -0,0 +1,10 @@
+package com.chedoparti.institution_service.service.coach;
+
+import com.chedoparti.institution_service.enums.EOccupancyKind;
+
+/**
+ * Something that keeps a coach or a court busy over {@code [start, end)}, in minutes since the
+ * epoch of the institution's wall clock. {@code coachId} is null for court blocks and matches.
+ */
+public record Occupancy(EOccupancyKind kind, long id, Long coachId, Long courtId, long start, long end) {
+}
@@ -0,0 +1,116 @@
+package com.chedoparti.institution_service.service.dashboard;
+
+import com.chedoparti.institution_service.dto.InstitutionDashboardDTO;
+import com.chedoparti.institution_service.exception.ResourceNotFoundException;
+import com.chedoparti.institution_service.repository.CourtRepository;
+import com.chedoparti.institution_service.repository.GroupRepository;
+import com.chedoparti.institution_service.repository.InstitutionRepository;
+import com.chedoparti.institution_service.repository.PromotionRepository;
+import com.chedoparti.institution_service.repository.TournamentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the admin dashboard of an institution. The four counts are independent, so they run
+ * concurrently on a bounded pool and the dashboard takes as long as the slowest of them, capped by
+ * {@code timeout-ms}. Whatever is not ready by then is reported as unavailable instead of failing
+ * the request.
+ *
+ * <p>The pool is small on purpose: each dashboard holds up to four database connections at once.
+ * When its queue is full the request thread runs the section itself, so a burst degrades to
+ * sequential work instead of being rejected.</p>
+ */
+@Component
+public class InstitutionDashboard {
+
+    static final String COURTS = "courts";
+    static final String ACTIVE_PROMOTIONS = "activePromotions";
+    static final String UPCOMING_TOURNAMENTS = "upcomingTournaments";
+    static final String ACTIVE_GROUPS = "activeGroups";
+
+    private final InstitutionRepository institutionRepository;
+    private final CourtRepository courtRepository;
+    private final PromotionRepository promotionRepository;
+    private final TournamentRepository tournamentRepository;
+    private final GroupRepository groupRepository;
+    private final ZoneId zoneId;
+    private final int threads;
+    private final int queueCapacity;
+    private final long timeoutMs;
+    private ThreadPoolExecutor executor;
+    private SectionFanOut fanOut;
+
+    public InstitutionDashboard(InstitutionRepository institutionRepository,
+                                CourtRepository courtRepository,
+                                PromotionRepository promotionRepository,
+                                TournamentRepository tournamentRepository,
+                                GroupRepository groupRepository,
+                                @Value("${institution.schedule.zone-id:America/Argentina/Buenos_Aires}") String zoneId,
+                                @Value("${institution.dashboard.threads:8}") int threads,
+                                @Value("${institution.dashboard.queue-capacity:64}") int queueCapacity,
+                                @Value("${institution.dashboard.timeout-ms:2000}") long timeoutMs) {
+        this.institutionRepository = institutionRepository;
+        this.courtRepository = courtRepository;
+        this.promotionRepository = promotionRepository;
+        this.tournamentRepository = tournamentRepository;
+        this.groupRepository = groupRepository;
+        this.zoneId = ZoneId.of(zoneId);
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "institution-dashboard-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        fanOut = new SectionFanOut(executor, timeoutMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public InstitutionDashboardDTO get(Long institutionId) {
+        if (!institutionRepository.existsById(institutionId)) {
+            throw new ResourceNotFoundException("Institution not found with id " + institutionId);
+        }
+        LocalDate today = LocalDate.now(zoneId);
+
+        Map<String, Supplier<?>> sections = new LinkedHashMap<>();
+        sections.put(COURTS, () -> courtRepository.countByInstitutionId(institutionId));
+        sections.put(ACTIVE_PROMOTIONS, () -> promotionRepository.countActiveByInstitutionId(institutionId, today));
+        sections.put(UPCOMING_TOURNAMENTS,
+                () -> tournamentRepository.countByInstitutionIdAndDateGreaterThanEqual(institutionId, today));
+        sections.put(ACTIVE_GROUPS, () -> groupRepository.countByInstitutionIdAndIsArchivedFalse(institutionId));
+        SectionFanOut.Result result = fanOut.run(sections);
+
+        InstitutionDashboardDTO dashboard = new InstitutionDashboardDTO();
+        dashboard.setInstitutionId(institutionId);
+        dashboard.setCourts(result.get(COURTS, Long.class));
+        dashboard.setActivePromotions(result.get(ACTIVE_PROMOTIONS, Long.class));
+        dashboard.setUpcomingTournaments(result.get(UPCOMING_TOURNAMENTS, Long.class));
+        dashboard.setActiveGroups(result.get(ACTIVE_GROUPS, Long.class));
+        dashboard.setUnavailable(result.unavailable());
+        return dashboard;
+    }
+}
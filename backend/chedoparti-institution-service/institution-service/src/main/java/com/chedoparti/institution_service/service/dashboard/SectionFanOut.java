@@ -0,0 +1,66 @@
+package com.chedoparti.institution_service.service.dashboard;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent sections concurrently and waits for all of them up to one shared deadline, so
+ * the caller pays the slowest section instead of the sum. A section that fails or misses the
+ * deadline is left out and reported by name; it costs its own value, never the whole result.
+ */
+@Slf4j
+class SectionFanOut {
+
+    record Result(Map<String, Object> values, List<String> unavailable) {
+
+        <T> T get(String section, Class<T> type) {
+            return type.cast(values.get(section));
+        }
+    }
+
+    private final Executor executor;
+    private final long timeoutNanos;
+
+    SectionFanOut(Executor executor, long timeoutMs) {
+        this.executor = executor;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    Result run(Map<String, Supplier<?>> sections) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        Map<String, CompletableFuture<?>> futures = new LinkedHashMap<>();
+        sections.forEach((name, section) -> futures.put(name, CompletableFuture.supplyAsync(section, executor)));
+
+        Map<String, Object> values = new HashMap<>();
+        List<String> unavailable = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<?>> entry : futures.entrySet()) {
+            String name = entry.getKey();
+            try {
+                values.put(name, entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                // La tarea sigue en el pool hasta que termine; sus propios timeouts la acotan
+                entry.getValue().cancel(false);
+                unavailable.add(name);
+                log.warn("Section {} did not finish within {} ms", name, TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+            } catch (ExecutionException e) {
+                unavailable.add(name);
+                log.warn("Section {} failed: {}", name, e.getCause().toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unavailable.add(name);
+            }
+        }
+        return new Result(values, unavailable);
+    }
+}
@@ -0,0 +1,172 @@
+package com.chedoparti.institution_service.service.geo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Uniform lat/lng grid over institution locations, the in-memory replacement for the haversine
+ * JPQL scan. A query only visits the cells overlapping the search bounding box, rejects points
+ * outside the box with two comparisons and computes the exact great-circle distance for the rest,
+ * keeping the closest {@code limit} in a bounded heap.
+ *
+ * <p>Reads are lock-free; writes are rare (institution create/update/delete) and serialized.</p>
+ */
+@Component
+public class InstitutionSpatialIndex {
+
+    public record Hit(long institutionId, double distanceKm) {
+    }
+
+    private record Point(long id, double latitude, double longitude) {
+    }
+
+    static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final double cellDegrees;
+    private final int latCells;
+    private final int lngCells;
+    private final Map<Long, Set<Point>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Point> points = new ConcurrentHashMap<>();
+
+    public InstitutionSpatialIndex(@Value("${institution.geo.cell-degrees:0.05}") double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.latCells = (int) Math.ceil(180 / cellDegrees) + 1;
+        this.lngCells = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    public synchronized void put(long institutionId, double latitude, double longitude) {
+        Point point = new Point(institutionId, latitude, longitude);
+        Point previous = points.put(institutionId, point);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+        cells.computeIfAbsent(cellKey(latCell(latitude), lngCell(longitude)), key -> ConcurrentHashMap.newKeySet())
+                .add(point);
+    }
+
+    public synchronized void remove(long institutionId) {
+        Point previous = points.remove(institutionId);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    public synchronized void clear() {
+        points.clear();
+        cells.clear();
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Closest institutions within {@code radiusKm} of the given coordinates, nearest first.
+     */
+    public List<Hit> nearest(double latitude, double longitude, double radiusKm, int limit) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90, latitude - dLat);
+        double maxLat = Math.min(90, latitude + dLat);
+        // El ancho en longitud se calcula con la latitud más alejada del ecuador de la caja
+        double widestCos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double dLng = widestCos <= 0 ? 180 : radiusKm / (KM_PER_DEGREE * widestCos);
+        boolean allLongitudes = dLng >= 180;
+
+        // Max-heap por distancia: la raíz es el peor de los K mejores
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble(Hit::distanceKm).reversed());
+
+        int firstLatCell = latCell(minLat);
+        int lastLatCell = latCell(maxLat);
+        int lngCellSpan = allLongitudes ? lngCells : Math.min(lngCells, (int) Math.ceil(2 * dLng / cellDegrees) + 1);
+        long cellsToVisit = (long) (lastLatCell - firstLatCell + 1) * lngCellSpan;
+
+        if (cellsToVisit >= points.size()) {
+            // Radio enorme frente a la cantidad de puntos: recorrer los puntos es más barato que las celdas
+            collect(points.values(), latitude, longitude, radiusKm, minLat, maxLat, dLng, allLongitudes, limit, best);
+        } else {
+            int firstLngCell = allLongitudes ? 0 : lngCell(longitude - dLng);
+            for (int latIdx = firstLatCell; latIdx <= lastLatCell; latIdx++) {
+                for (int offset = 0; offset < lngCellSpan; offset++) {
+                    Set<Point> cell = cells.get(cellKey(latIdx, Math.floorMod(firstLngCell + offset, lngCells)));
+                    if (cell != null) {
+                        collect(cell, latitude, longitude, radiusKm, minLat, maxLat, dLng, allLongitudes, limit, best);
+                    }
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    private static void collect(Collection<Point> candidates, double latitude, double longitude, double radiusKm,
+                                double minLat, double maxLat, double dLng, boolean allLongitudes, int limit,
+                                PriorityQueue<Hit> best) {
+        for (Point point : candidates) {
+            if (point.latitude() < minLat || point.latitude() > maxLat) {
+                continue;
+            }
+            if (!allLongitudes && longitudeDelta(point.longitude(), longitude) > dLng) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+            if (distance > radiusKm) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(new Hit(point.id(), distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Hit(point.id(), distance));
+            }
+        }
+    }
+
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    private static double longitudeDelta(double a, double b) {
+        double delta = Math.abs(a - b) % 360;
+        return delta > 180 ? 360 - delta : delta;
+    }
+
+    private void removeFromCell(Point point) {
+        long key = cellKey(latCell(point.latitude()), lngCell(point.longitude()));
+        Set<Point> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(point);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private int latCell(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private int lngCell(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), lngCells);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+}
@@ -0,0 +1,144 @@
+package com.chedoparti.institution_service.service.group;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Students of each group, in order, in {@code group_students}. Every change is written as
+ * single-row inserts, deletes and position updates instead of rewriting the whole collection, so
+ * its cost depends on the rows changed and not on the size of the group. Writers must hold the
+ * group's row lock (see {@code GroupRepository.lockById}).
+ */
+@Component
+public class GroupMembers {
+
+    private static final String INSERT_SQL = "INSERT INTO group_students (group_id, student_id, position) " +
+            "VALUES (?, ?, ?) ON CONFLICT (group_id, student_id) DO NOTHING";
+    private static final String DELETE_SQL = "DELETE FROM group_students WHERE group_id = ? AND student_id = ?";
+    private static final String MOVE_SQL = "UPDATE group_students SET position = ? WHERE group_id = ? AND student_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public GroupMembers(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public List<Long> students(long groupId) {
+        return jdbcTemplate.queryForList("SELECT student_id FROM group_students WHERE group_id = ? " +
+                "ORDER BY position, student_id", Long.class, groupId);
+    }
+
+    /**
+     * Students of several groups in one query (groups without students are missing from the map).
+     */
+    public Map<Long, List<Long>> students(Collection<Long> groupIds) {
+        Map<Long, List<Long>> students = new HashMap<>();
+        if (groupIds.isEmpty()) {
+            return students;
+        }
+        namedJdbcTemplate.query("SELECT group_id, student_id FROM group_students WHERE group_id IN (:groupIds) " +
+                        "ORDER BY group_id, position, student_id", new MapSqlParameterSource("groupIds", groupIds),
+                rs -> {
+                    students.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+                });
+        return students;
+    }
+
+    /**
+     * Appends the students that are not in the group yet, in the given order. Reads only the
+     * group's last position and the rows of the given students.
+     *
+     * @return the number of students added.
+     */
+    public int add(long groupId, Collection<Long> studentIds) {
+        LinkedHashSet<Long> added = new LinkedHashSet<>(studentIds);
+        if (added.isEmpty()) {
+            return 0;
+        }
+        added.removeAll(namedJdbcTemplate.queryForList("SELECT student_id FROM group_students " +
+                        "WHERE group_id = :groupId AND student_id IN (:studentIds)",
+                new MapSqlParameterSource("groupId", groupId).addValue("studentIds", added), Long.class));
+        if (added.isEmpty()) {
+            return 0;
+        }
+        Long last = jdbcTemplate.queryForObject("SELECT MAX(position) FROM group_students WHERE group_id = ?",
+                Long.class, groupId);
+        List<Map.Entry<Long, Long>> rows = List.copyOf(GroupRoster.append(last, List.copyOf(added)).entrySet());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (statement, row) -> {
+            statement.setLong(1, groupId);
+            statement.setLong(2, row.getKey());
+            statement.setLong(3, row.getValue());
+        });
+        return rows.size();
+    }
+
+    /**
+     * @return the number of students removed.
+     */
+    public int remove(long groupId, Collection<Long> studentIds) {
+        List<Long> removed = List.copyOf(new LinkedHashSet<>(studentIds));
+        int[][] counts = jdbcTemplate.batchUpdate(DELETE_SQL, removed, removed.size(), (statement, studentId) -> {
+            statement.setLong(1, groupId);
+            statement.setLong(2, studentId);
+        });
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO (-2) si el driver no informa las filas del lote
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Puts the group's students in the given order, updating only the rows whose position changes.
+     *
+     * @return the number of rows updated.
+     */
+    public int reorder(long groupId, List<Long> order) {
+        List<Map.Entry<Long, Long>> moves = List.copyOf(GroupRoster.reorder(positions(groupId), order).entrySet());
+        if (!moves.isEmpty()) {
+            jdbcTemplate.batchUpdate(MOVE_SQL, moves, moves.size(), (statement, move) -> {
+                statement.setLong(1, move.getValue());
+                statement.setLong(2, groupId);
+                statement.setLong(3, move.getKey());
+            });
+        }
+        return moves.size();
+    }
+
+    /**
+     * Makes the group's students exactly {@code studentIds}, in that order.
+     */
+    public void replace(long groupId, List<Long> studentIds) {
+        LinkedHashSet<Long> wanted = new LinkedHashSet<>(studentIds);
+        List<Long> gone = positions(groupId).keySet().stream().filter(id -> !wanted.contains(id)).toList();
+        if (!gone.isEmpty()) {
+            remove(groupId, gone);
+        }
+        add(groupId, wanted);
+        reorder(groupId, List.copyOf(wanted));
+    }
+
+    private Map<Long, Long> positions(long groupId) {
+        Map<Long, Long> positions = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT student_id, position FROM group_students WHERE group_id = ?",
+                rs -> {
+                    positions.put(rs.getLong(1), rs.getLong(2));
+                }, groupId);
+        return positions;
+    }
+}
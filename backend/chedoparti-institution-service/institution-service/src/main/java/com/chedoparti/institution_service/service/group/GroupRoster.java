@@ -0,0 +1,148 @@
+package com.chedoparti.institution_service.service.group;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plans position changes of a group's students. Positions are spaced {@value #STEP} apart, so a
+ * student can be moved between two others by rewriting only its own row. A reorder keeps the
+ * longest run of students that are already in the requested relative order where they are and
+ * only repositions the rest; the whole group is renumbered only when a gap has run out of room.
+ */
+public final class GroupRoster {
+
+    public static final long STEP = 1024;
+
+    private GroupRoster() {
+    }
+
+    /**
+     * Positions for students appended after {@code lastPosition} (null: empty group), in order.
+     */
+    public static Map<Long, Long> append(Long lastPosition, List<Long> studentIds) {
+        long position = lastPosition != null ? lastPosition : 0;
+        Map<Long, Long> positions = new LinkedHashMap<>();
+        for (Long studentId : studentIds) {
+            position += STEP;
+            positions.put(studentId, position);
+        }
+        return positions;
+    }
+
+    /**
+     * @param current   position of every student of the group.
+     * @param order     the same students in the requested order.
+     * @return the new position of each student whose position changes.
+     * @throws IllegalArgumentException if {@code order} is not a permutation of the group's students.
+     */
+    public static Map<Long, Long> reorder(Map<Long, Long> current, List<Long> order) {
+        Set<Long> seen = new HashSet<>();
+        for (Long studentId : order) {
+            if (!current.containsKey(studentId) || !seen.add(studentId)) {
+                throw new IllegalArgumentException("Student " + studentId + " is not in the group or is repeated");
+            }
+        }
+        if (seen.size() != current.size()) {
+            throw new IllegalArgumentException("The new order must list all " + current.size() + " students of the group");
+        }
+        int n = order.size();
+        long[] positions = new long[n];
+        for (int i = 0; i < n; i++) {
+            positions[i] = current.get(order.get(i));
+        }
+        boolean[] kept = longestIncreasingRun(positions);
+
+        long[] planned = positions.clone();
+        int i = 0;
+        while (i < n) {
+            if (kept[i]) {
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < n && !kept[end]) {
+                end++;
+            }
+            // Hueco [i, end): entre la posición anterior que se mantiene y la siguiente
+            int count = end - i;
+            Long low = i > 0 ? planned[i - 1] : null;
+            Long high = end < n ? planned[end] : null;
+            long from;
+            long step;
+            if (low == null && high == null) {
+                from = STEP;
+                step = STEP;
+            } else if (low == null) {
+                from = high - count * STEP;
+                step = STEP;
+            } else if (high == null) {
+                from = low + STEP;
+                step = STEP;
+            } else {
+                step = (high - low) / (count + 1);
+                if (step == 0) {
+                    return renumber(current, order);
+                }
+                from = low + step;
+            }
+            for (int k = 0; k < count; k++) {
+                planned[i + k] = from + k * step;
+            }
+            i = end;
+        }
+
+        Map<Long, Long> changes = new LinkedHashMap<>();
+        for (int k = 0; k < n; k++) {
+            if (planned[k] != positions[k]) {
+                changes.put(order.get(k), planned[k]);
+            }
+        }
+        return changes;
+    }
+
+    private static Map<Long, Long> renumber(Map<Long, Long> current, List<Long> order) {
+        Map<Long, Long> changes = new LinkedHashMap<>();
+        for (int k = 0; k < order.size(); k++) {
+            long position = (k + 1) * STEP;
+            if (current.get(order.get(k)) != position) {
+                changes.put(order.get(k), position);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Marks one longest strictly increasing subsequence of {@code values} (patience sorting, O(n log n)).
+     */
+    static boolean[] longestIncreasingRun(long[] values) {
+        int n = values.length;
+        int[] tails = new int[n];
+        int[] previous = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[tails[mid]] < values[i]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] kept = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            kept[i] = true;
+        }
+        return kept;
+    }
+}
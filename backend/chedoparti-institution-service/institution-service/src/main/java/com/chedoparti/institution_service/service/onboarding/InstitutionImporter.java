@@ -0,0 +1,365 @@
+package com.chedoparti.institution_service.service.onboarding;
+
+import com.chedoparti.institution_service.dto.CourtDTO;
+import com.chedoparti.institution_service.dto.ImportErrorDTO;
+import com.chedoparti.institution_service.dto.ImportReportDTO;
+import com.chedoparti.institution_service.dto.InstitutionDTO;
+import com.chedoparti.institution_service.dto.PromotionDTO;
+import com.chedoparti.institution_service.entity.Address;
+import com.chedoparti.institution_service.entity.Location;
+import com.chedoparti.institution_service.entity.OpeningHour;
+import com.chedoparti.institution_service.repository.InstitutionRepository;
+import com.chedoparti.institution_service.service.cache.InstitutionCatalogCache;
+import com.chedoparti.institution_service.service.geo.InstitutionSpatialIndex;
+import com.chedoparti.institution_service.service.promotion.PromotionEngine;
+import com.chedoparti.institution_service.service.schedule.OpeningHoursEngine;
+import com.chedoparti.institution_service.service.search.InstitutionSearchIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk onboarding of institutions from NDJSON: one {@link InstitutionDTO} per line, with its courts,
+ * opening hours and promotions nested. A line with an {@code id} only appends its child lists to that
+ * existing institution; its own fields are ignored.
+ *
+ * <p>The body is read line by line and only the current batch is kept in memory. Each record is
+ * validated on its own and rejected records are reported with their line number. Valid records are
+ * grouped until the batch reaches {@code batch-size} rows and written in one transaction with JDBC
+ * batch inserts, using ids reserved in blocks from each table's sequence (the entities use identity
+ * columns, which would force one round trip per row). If a batch fails, all its records are
+ * reported and the import goes on with the next one.</p>
+ */
+@Component
+@Slf4j
+public class InstitutionImporter {
+
+    private static final String INSERT_INSTITUTION_SQL = "INSERT INTO institutions (id, name, description, " +
+            "contact_email, contact_phone, website, street, number, city, state, postal_code, country, " +
+            "latitude, longitude, images, social_media_links, rating, facilities) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSTITUTION_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.DOUBLE, Types.VARCHAR,
+            Types.VARCHAR, Types.DOUBLE, Types.VARCHAR};
+    private static final String INSERT_COURT_SQL =
+            "INSERT INTO courts (id, field_type, price_per_hour, availability, institution_id) VALUES (?, ?, ?, ?, ?)";
+    private static final int[] COURT_TYPES = {Types.BIGINT, Types.VARCHAR, Types.DOUBLE, Types.BOOLEAN, Types.BIGINT};
+    private static final String INSERT_OPENING_HOUR_SQL = "INSERT INTO opening_hour " +
+            "(id, day_of_week, open_time, close_time, institution_id) VALUES (?, ?, ?, ?, ?)";
+    private static final int[] OPENING_HOUR_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.BIGINT};
+    private static final String INSERT_PROMOTION_SQL = "INSERT INTO promotions (id, name, description, " +
+            "discount_percentage, start_date, end_date, promotion_type, days_of_week, start_time, end_time, " +
+            "min_duration_minutes, max_uses, institution_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] PROMOTION_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.DOUBLE,
+            Types.DATE, Types.DATE, Types.SMALLINT, Types.VARCHAR, Types.TIME, Types.TIME, Types.INTEGER,
+            Types.INTEGER, Types.BIGINT};
+
+    record PendingRecord(long line, InstitutionDTO record) {
+    }
+
+    private record IdPools(SequenceIdPool institutions, SequenceIdPool courts, SequenceIdPool openingHours,
+                           SequenceIdPool promotions) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader reader;
+    private final InstitutionRepository institutionRepository;
+    private final InstitutionSpatialIndex spatialIndex;
+    private final InstitutionSearchIndex searchIndex;
+    private final OpeningHoursEngine openingHoursEngine;
+    private final PromotionEngine promotionEngine;
+    private final InstitutionCatalogCache catalogCache;
+    private final int batchSize;
+    private final int idBlockSize;
+    private final int maxErrors;
+
+    public InstitutionImporter(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ObjectMapper objectMapper,
+                               InstitutionRepository institutionRepository,
+                               InstitutionSpatialIndex spatialIndex,
+                               InstitutionSearchIndex searchIndex,
+                               OpeningHoursEngine openingHoursEngine,
+                               PromotionEngine promotionEngine,
+                               InstitutionCatalogCache catalogCache,
+                               @Value("${institution.import.batch-size:2000}") int batchSize,
+                               @Value("${institution.import.id-block-size:1000}") int idBlockSize,
+                               @Value("${institution.import.max-errors:1000}") int maxErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reader = objectMapper.readerFor(InstitutionDTO.class);
+        this.institutionRepository = institutionRepository;
+        this.spatialIndex = spatialIndex;
+        this.searchIndex = searchIndex;
+        this.openingHoursEngine = openingHoursEngine;
+        this.promotionEngine = promotionEngine;
+        this.catalogCache = catalogCache;
+        this.batchSize = batchSize;
+        this.idBlockSize = idBlockSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public ImportReportDTO importNdjson(InputStream body) throws IOException {
+        Set<Long> knownInstitutions = new HashSet<>(institutionRepository.findAllIds());
+        IdPools ids = new IdPools(new SequenceIdPool(jdbcTemplate, "institutions", idBlockSize),
+                new SequenceIdPool(jdbcTemplate, "courts", idBlockSize),
+                new SequenceIdPool(jdbcTemplate, "opening_hour", idBlockSize),
+                new SequenceIdPool(jdbcTemplate, "promotions", idBlockSize));
+        ImportReportDTO report = new ImportReportDTO();
+        List<PendingRecord> batch = new ArrayList<>();
+        int batchRows = 0;
+
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.setRecords(report.getRecords() + 1);
+                InstitutionDTO record;
+                try {
+                    record = reader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    reject(report, lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+                    continue;
+                }
+                String problem = validate(record);
+                if (problem == null && record.getId() != null && !knownInstitutions.contains(record.getId())) {
+                    problem = "Institution not found with id " + record.getId();
+                }
+                if (problem != null) {
+                    reject(report, lineNumber, record.getName(), problem);
+                    continue;
+                }
+                batch.add(new PendingRecord(lineNumber, record));
+                batchRows += rows(record);
+                if (batchRows >= batchSize) {
+                    write(batch, ids, report);
+                    batch.clear();
+                    batchRows = 0;
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch, ids, report);
+        }
+        if (report.getRecords() > report.getFailedRecords()) {
+            catalogCache.invalidate();
+        }
+        log.info("Bulk import: {} records, {} institutions, {} courts, {} opening hours, {} promotions, {} rejected",
+                report.getRecords(), report.getInstitutionsCreated(), report.getCourtsCreated(),
+                report.getOpeningHoursCreated(), report.getPromotionsCreated(), report.getFailedRecords());
+        return report;
+    }
+
+    /**
+     * @return why the record cannot be imported, or {@code null} when it is valid.
+     */
+    static String validate(InstitutionDTO record) {
+        if (record == null) {
+            return "Empty record";
+        }
+        if (record.getId() == null && (record.getName() == null || record.getName().isBlank())) {
+            return "name is required";
+        }
+        if (record.getSpecialClosures() != null && !record.getSpecialClosures().isEmpty()) {
+            return "specialClosures are not supported by the import";
+        }
+        Location location = record.getLocation();
+        if (location != null && (Math.abs(location.getLatitude()) > 90 || Math.abs(location.getLongitude()) > 180)) {
+            return "location is out of range";
+        }
+        for (CourtDTO court : nonNull(record.getCourts())) {
+            if (court.getFieldType() == null || court.getFieldType().isBlank()) {
+                return "court fieldType is required";
+            }
+            if (court.getPricePerHour() < 0) {
+                return "court pricePerHour must not be negative";
+            }
+        }
+        for (OpeningHour hour : nonNull(record.getOpeningHours())) {
+            if (OpeningHoursEngine.parseDays(hour.getDayOfWeek()).isEmpty()) {
+                return "Invalid opening hour dayOfWeek: " + hour.getDayOfWeek();
+            }
+            if (OpeningHoursEngine.parseMinute(hour.getOpenTime()) < 0
+                    || OpeningHoursEngine.parseMinute(hour.getCloseTime()) < 0) {
+                return "Invalid opening hour time: " + hour.getOpenTime() + "-" + hour.getCloseTime();
+            }
+        }
+        for (PromotionDTO promotion : nonNull(record.getPromotions())) {
+            String problem = validate(promotion);
+            if (problem != null) {
+                return "Promotion '" + promotion.getName() + "': " + problem;
+            }
+        }
+        return null;
+    }
+
+    // Mismas reglas que PromotionServiceImpl, pero devueltas como mensaje para el reporte
+    private static String validate(PromotionDTO promotion) {
+        if (promotion.getPromotionType() == null) {
+            return "promotionType is required";
+        }
+        Double discount = promotion.getDiscountPercentage();
+        if (discount == null || discount <= 0 || discount > 100) {
+            return "discountPercentage must be greater than 0 and at most 100";
+        }
+        if ((promotion.getStartTime() == null) != (promotion.getEndTime() == null)) {
+            return "startTime and endTime must be set together";
+        }
+        if (promotion.getStartDate() != null && promotion.getEndDate() != null
+                && promotion.getEndDate().isBefore(promotion.getStartDate())) {
+            return "endDate must not be before startDate";
+        }
+        if (PromotionEngine.parseDays(promotion.getDaysOfWeek()).isEmpty()) {
+            return "Invalid daysOfWeek: " + promotion.getDaysOfWeek();
+        }
+        if (promotion.getMinDurationMinutes() != null && promotion.getMinDurationMinutes() < 0) {
+            return "minDurationMinutes must not be negative";
+        }
+        if (promotion.getMaxUses() != null && promotion.getMaxUses() < 0) {
+            return "maxUses must not be negative";
+        }
+        return null;
+    }
+
+    private void write(List<PendingRecord> batch, IdPools ids, ImportReportDTO report) {
+        long[] institutionIds = new long[batch.size()];
+        List<Object[]> institutions = new ArrayList<>();
+        List<Object[]> courts = new ArrayList<>();
+        List<Object[]> openingHours = new ArrayList<>();
+        List<Object[]> promotions = new ArrayList<>();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                InstitutionDTO record = batch.get(i).record();
+                if (record.getId() == null) {
+                    institutionIds[i] = ids.institutions().next();
+                    institutions.add(institutionRow(institutionIds[i], record));
+                } else {
+                    institutionIds[i] = record.getId();
+                }
+                for (CourtDTO court : nonNull(record.getCourts())) {
+                    courts.add(new Object[]{ids.courts().next(), court.getFieldType().trim(),
+                            court.getPricePerHour(), court.isAvailability(), institutionIds[i]});
+                }
+                for (OpeningHour hour : nonNull(record.getOpeningHours())) {
+                    openingHours.add(new Object[]{ids.openingHours().next(), hour.getDayOfWeek().trim(),
+                            hour.getOpenTime().trim(), hour.getCloseTime().trim(), institutionIds[i]});
+                }
+                for (PromotionDTO promotion : nonNull(record.getPromotions())) {
+                    promotions.add(promotionRow(ids.promotions().next(), promotion, institutionIds[i]));
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                // Instituciones primero: los hijos referencian sus ids
+                jdbcTemplate.batchUpdate(INSERT_INSTITUTION_SQL, institutions, INSTITUTION_TYPES);
+                jdbcTemplate.batchUpdate(INSERT_COURT_SQL, courts, COURT_TYPES);
+                jdbcTemplate.batchUpdate(INSERT_OPENING_HOUR_SQL, openingHours, OPENING_HOUR_TYPES);
+                jdbcTemplate.batchUpdate(INSERT_PROMOTION_SQL, promotions, PROMOTION_TYPES);
+            });
+        } catch (DataAccessException | TransactionException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Bulk import batch of {} records failed: {}", batch.size(), cause);
+            for (PendingRecord pending : batch) {
+                reject(report, pending.line(), pending.record().getName(), "Batch failed: " + cause);
+            }
+            return;
+        }
+
+        report.setInstitutionsCreated(report.getInstitutionsCreated() + institutions.size());
+        report.setCourtsCreated(report.getCourtsCreated() + courts.size());
+        report.setOpeningHoursCreated(report.getOpeningHoursCreated() + openingHours.size());
+        report.setPromotionsCreated(report.getPromotionsCreated() + promotions.size());
+        for (int i = 0; i < batch.size(); i++) {
+            refreshIndexes(institutionIds[i], batch.get(i).record());
+        }
+    }
+
+    // Una institución nueva sin horario compilado figuraría cerrada, así que se compila siempre
+    private void refreshIndexes(long institutionId, InstitutionDTO record) {
+        boolean created = record.getId() == null;
+        if (created) {
+            Address address = record.getAddress();
+            searchIndex.put(institutionId, record.getName(), record.getDescription(),
+                    address != null ? address.getCity() : null, address != null ? address.getState() : null,
+                    record.getFacilities());
+            if (record.getLocation() != null) {
+                spatialIndex.put(institutionId, record.getLocation().getLatitude(), record.getLocation().getLongitude());
+            }
+        }
+        if (created || !nonNull(record.getOpeningHours()).isEmpty()) {
+            openingHoursEngine.refresh(institutionId);
+        }
+        if (!nonNull(record.getPromotions()).isEmpty()) {
+            promotionEngine.refresh(institutionId);
+        }
+    }
+
+    private static Object[] institutionRow(long institutionId, InstitutionDTO record) {
+        Address address = record.getAddress() != null ? record.getAddress() : new Address();
+        Location location = record.getLocation();
+        return new Object[]{institutionId, record.getName().trim(), record.getDescription(),
+                record.getContactEmail(), record.getContactPhone(), record.getWebsite(),
+                address.getStreet(), address.getNumber(), address.getCity(), address.getState(),
+                address.getPostalCode(), address.getCountry(),
+                location != null ? location.getLatitude() : null, location != null ? location.getLongitude() : null,
+                record.getImages(), record.getSocialMediaLinks(), record.getRating(), record.getFacilities()};
+    }
+
+    // promotion_type se guarda por ordinal, igual que lo mapea la entidad Promotion
+    private static Object[] promotionRow(long promotionId, PromotionDTO promotion, long institutionId) {
+        return new Object[]{promotionId, promotion.getName(), promotion.getDescription(),
+                promotion.getDiscountPercentage(),
+                promotion.getStartDate() != null ? Date.valueOf(promotion.getStartDate()) : null,
+                promotion.getEndDate() != null ? Date.valueOf(promotion.getEndDate()) : null,
+                promotion.getPromotionType().ordinal(), promotion.getDaysOfWeek(),
+                promotion.getStartTime() != null ? Time.valueOf(promotion.getStartTime()) : null,
+                promotion.getEndTime() != null ? Time.valueOf(promotion.getEndTime()) : null,
+                promotion.getMinDurationMinutes(), promotion.getMaxUses(), institutionId};
+    }
+
+    private static int rows(InstitutionDTO record) {
+        return 1 + nonNull(record.getCourts()).size() + nonNull(record.getOpeningHours()).size()
+                + nonNull(record.getPromotions()).size();
+    }
+
+    private void reject(ImportReportDTO report, long line, String name, String message) {
+        report.setFailedRecords(report.getFailedRecords() + 1);
+        if (report.getErrors().size() < maxErrors) {
+            report.getErrors().add(new ImportErrorDTO(line, name, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    private static <T> List<T> nonNull(List<T> values) {
+        return values != null ? values : List.of();
+    }
+}
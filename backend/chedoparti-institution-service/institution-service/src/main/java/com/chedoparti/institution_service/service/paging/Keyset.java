@@ -0,0 +1,72 @@
+package com.chedoparti.institution_service.service.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination of listings. A page is read as "the next {@code limit} rows after the last one
+ * returned", following an index, so every page costs the same however deep it is; there is no
+ * count query. The position is handed to the client as an opaque cursor in the
+ * {@value #NEXT_CURSOR_HEADER} response header, absent on the last page, so the body stays the
+ * plain list it has always been.
+ */
+public final class Keyset {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * One page and the cursor of the next one (null on the last page).
+     */
+    public record Page<T>(List<T> items, String nextCursor) {
+    }
+
+    private Keyset() {
+    }
+
+    public static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    /**
+     * @param rows up to {@code limit + 1} rows; the extra one only tells that there is a next page.
+     */
+    public static <T> Page<T> page(List<T> rows, int limit, Function<T, Long> id) {
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new Page<>(items, encode(id.apply(items.get(limit - 1))));
+    }
+
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(("id:" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the id of the last row of the previous page, or null for the first page.
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith("id:")) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Long.parseLong(value.substring(3));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
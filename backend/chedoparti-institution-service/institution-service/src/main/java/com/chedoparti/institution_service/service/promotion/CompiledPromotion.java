@@ -0,0 +1,44 @@
+package com.chedoparti.institution_service.service.promotion;
+
+import com.chedoparti.institution_service.enums.EPromotionType;
+import com.chedoparti.institution_service.service.PromotionStrategy;
+
+import java.time.DayOfWeek;
+
+/**
+ * A promotion pre-parsed for evaluation: date range as epoch days and the weekday/time window as a
+ * bitmap with one bit per minute of the week (Monday 00:00 is bit 0). {@code maxUses} is 0 when the
+ * promotion has no usage cap.
+ */
+public record CompiledPromotion(long id, String name, EPromotionType type, double discountPercentage,
+                                long startEpochDay, long endEpochDay, long[] window, int minDurationMinutes,
+                                int maxUses,
+                                PromotionStrategy strategy) {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    public boolean covers(PromotionContext context) {
+        long epochDay = context.date().toEpochDay();
+        if (epochDay < startEpochDay || epochDay > endEpochDay) {
+            return false;
+        }
+        int minute = minuteOfWeek(context.dayOfWeek(), context.startMinute());
+        return (window[minute >>> 6] & (1L << minute)) != 0;
+    }
+
+    /**
+     * Applicability including the type-specific rule of the strategy (e.g. minimum duration).
+     */
+    public boolean appliesTo(PromotionContext context) {
+        return covers(context) && strategy.isApplicable(this, context);
+    }
+
+    public double discountFor(PromotionContext context) {
+        return strategy.applyPromotion(this, context);
+    }
+
+    static int minuteOfWeek(DayOfWeek day, int minuteOfDay) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + minuteOfDay;
+    }
+}
@@ -0,0 +1,107 @@
+package com.chedoparti.institution_service.service.promotion;
+
+import com.chedoparti.institution_service.enums.EPromotionType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Active promotions of one institution, bucketed by type and by 15-minute slot of the week. Each
+ * bucket holds the promotions whose window touches it, best discount first, so the best applicable
+ * promotion for a booking is found by indexing the bucket and taking the first exact match.
+ * Immutable; the engine swaps in a new instance when the institution's promotions change.
+ */
+public final class InstitutionPromotionIndex {
+
+    static final int BUCKET_MINUTES = 15;
+    private static final int BUCKETS = CompiledPromotion.MINUTES_PER_WEEK / BUCKET_MINUTES;
+    private static final CompiledPromotion[] NONE = new CompiledPromotion[0];
+    private static final Comparator<CompiledPromotion> BEST_FIRST =
+            Comparator.comparingDouble(CompiledPromotion::discountPercentage).reversed()
+                    .thenComparingLong(CompiledPromotion::id);
+
+    static final InstitutionPromotionIndex EMPTY = new InstitutionPromotionIndex(List.of());
+
+    private final Map<EPromotionType, CompiledPromotion[][]> buckets = new EnumMap<>(EPromotionType.class);
+    private final Map<Long, CompiledPromotion> byId;
+
+    InstitutionPromotionIndex(List<CompiledPromotion> promotions) {
+        Map<EPromotionType, List<List<CompiledPromotion>>> building = new EnumMap<>(EPromotionType.class);
+        for (CompiledPromotion promotion : promotions) {
+            List<List<CompiledPromotion>> typeBuckets = building.computeIfAbsent(promotion.type(), type -> {
+                List<List<CompiledPromotion>> empty = new ArrayList<>(BUCKETS);
+                for (int i = 0; i < BUCKETS; i++) {
+                    empty.add(null);
+                }
+                return empty;
+            });
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                if (touches(promotion.window(), bucket)) {
+                    if (typeBuckets.get(bucket) == null) {
+                        typeBuckets.set(bucket, new ArrayList<>());
+                    }
+                    typeBuckets.get(bucket).add(promotion);
+                }
+            }
+        }
+        building.forEach((type, typeBuckets) -> {
+            CompiledPromotion[][] compiled = new CompiledPromotion[BUCKETS][];
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                List<CompiledPromotion> candidates = typeBuckets.get(bucket);
+                if (candidates == null) {
+                    compiled[bucket] = NONE;
+                } else {
+                    candidates.sort(BEST_FIRST);
+                    compiled[bucket] = candidates.toArray(NONE);
+                }
+            }
+            buckets.put(type, compiled);
+        });
+        Map<Long, CompiledPromotion> ids = new java.util.HashMap<>();
+        promotions.forEach(promotion -> ids.put(promotion.id(), promotion));
+        this.byId = Map.copyOf(ids);
+    }
+
+    /**
+     * Best applicable promotion of any type for the booking among those accepted by
+     * {@code available} (e.g. with usage left), or null if none applies.
+     */
+    public CompiledPromotion best(PromotionContext context, Predicate<CompiledPromotion> available) {
+        int bucket = CompiledPromotion.minuteOfWeek(context.dayOfWeek(), context.startMinute()) / BUCKET_MINUTES;
+        CompiledPromotion best = null;
+        for (CompiledPromotion[][] typeBuckets : buckets.values()) {
+            for (CompiledPromotion candidate : typeBuckets[bucket]) {
+                if (best != null && candidate.discountPercentage() <= best.discountPercentage()) {
+                    break;
+                }
+                if (candidate.appliesTo(context) && available.test(candidate)) {
+                    best = candidate;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    public CompiledPromotion get(long promotionId) {
+        return byId.get(promotionId);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private static boolean touches(long[] window, int bucket) {
+        int from = bucket * BUCKET_MINUTES;
+        for (int minute = from; minute < from + BUCKET_MINUTES; minute++) {
+            if ((window[minute >>> 6] & (1L << minute)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+package com.chedoparti.institution_service.service.promotion;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * The booking a promotion is evaluated against: when it starts, how long it lasts and its price.
+ */
+public record PromotionContext(LocalDate date, int startMinute, int durationMinutes, double price) {
+
+    public static PromotionContext of(LocalDate date, LocalTime startTime, LocalTime endTime, double price) {
+        int start = startTime.getHour() * 60 + startTime.getMinute();
+        int end = endTime.getHour() * 60 + endTime.getMinute();
+        // Un turno que termina a medianoche (o la cruza) termina al día siguiente
+        int duration = end > start ? end - start : end + 24 * 60 - start;
+        return new PromotionContext(date, start, duration, price);
+    }
+
+    public DayOfWeek dayOfWeek() {
+        return date.getDayOfWeek();
+    }
+}
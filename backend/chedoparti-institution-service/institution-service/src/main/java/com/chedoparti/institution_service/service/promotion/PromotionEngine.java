@@ -0,0 +1,170 @@
+package com.chedoparti.institution_service.service.promotion;
+
+import com.chedoparti.institution_service.repository.PromotionRepository;
+import com.chedoparti.institution_service.repository.PromotionRuleView;
+import com.chedoparti.institution_service.service.factory.PromotionFactory;
+import com.chedoparti.institution_service.service.schedule.OpeningHoursEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Picks the best promotion for a booking from pre-compiled per-institution indexes instead of
+ * loading and evaluating every promotion row per request. Promotions that already ended are left
+ * out; an institution's index is rebuilt whenever one of its promotions is written.
+ */
+@Component
+@Slf4j
+public class PromotionEngine {
+
+    private final PromotionRepository promotionRepository;
+    private final PromotionFactory promotionFactory;
+    private final PromotionUsageCounters usageCounters;
+    private final ZoneId zoneId;
+    private final Map<Long, InstitutionPromotionIndex> indexes = new ConcurrentHashMap<>();
+
+    public PromotionEngine(PromotionRepository promotionRepository,
+                           PromotionFactory promotionFactory,
+                           PromotionUsageCounters usageCounters,
+                           @Value("${institution.schedule.zone-id:America/Argentina/Buenos_Aires}") String zoneId) {
+        this.promotionRepository = promotionRepository;
+        this.promotionFactory = promotionFactory;
+        this.usageCounters = usageCounters;
+        this.zoneId = ZoneId.of(zoneId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        Map<Long, List<PromotionRuleView>> rules = promotionRepository.findRulesEndingFrom(LocalDate.now(zoneId))
+                .stream().collect(Collectors.groupingBy(PromotionRuleView::getInstitutionId));
+        Map<Long, InstitutionPromotionIndex> compiled = new HashMap<>();
+        rules.forEach((institutionId, views) -> compiled.put(institutionId, index(views)));
+        indexes.keySet().retainAll(compiled.keySet());
+        indexes.putAll(compiled);
+        log.info("Compiled {} promotions of {} institutions", rules.values().stream().mapToInt(List::size).sum(),
+                compiled.size());
+    }
+
+    /**
+     * Recompiles the promotions of one institution; call after any promotion write.
+     */
+    public void refresh(Long institutionId) {
+        List<PromotionRuleView> views =
+                promotionRepository.findRulesByInstitutionIdEndingFrom(institutionId, LocalDate.now(zoneId));
+        if (views.isEmpty()) {
+            indexes.remove(institutionId);
+        } else {
+            indexes.put(institutionId, index(views));
+        }
+    }
+
+    public void remove(Long institutionId) {
+        indexes.remove(institutionId);
+    }
+
+    /**
+     * @return the applicable promotion with the highest discount and usage left, or null if none applies.
+     */
+    public CompiledPromotion best(Long institutionId, PromotionContext context) {
+        return indexes.getOrDefault(institutionId, InstitutionPromotionIndex.EMPTY).best(context,
+                promotion -> usageCounters.hasCapacity(promotion.id(), promotion.maxUses()));
+    }
+
+    /**
+     * @return the promotion if it belongs to the institution, is active and applies to the booking.
+     */
+    public CompiledPromotion find(Long institutionId, Long promotionId, PromotionContext context) {
+        CompiledPromotion promotion = indexes.getOrDefault(institutionId, InstitutionPromotionIndex.EMPTY).get(promotionId);
+        return promotion != null && promotion.appliesTo(context) ? promotion : null;
+    }
+
+    private InstitutionPromotionIndex index(List<PromotionRuleView> views) {
+        List<CompiledPromotion> promotions = new ArrayList<>(views.size());
+        for (PromotionRuleView view : views) {
+            CompiledPromotion promotion = compile(view);
+            if (promotion != null) {
+                promotions.add(promotion);
+            }
+        }
+        return new InstitutionPromotionIndex(promotions);
+    }
+
+    private CompiledPromotion compile(PromotionRuleView view) {
+        if (view.getPromotionType() == null || view.getDiscountPercentage() == null) {
+            log.warn("Ignoring promotion {} without type or discount", view.getId());
+            return null;
+        }
+        Set<DayOfWeek> days = parseDays(view.getDaysOfWeek());
+        if (days.isEmpty()) {
+            log.warn("Ignoring promotion {} with unparseable days: {}", view.getId(), view.getDaysOfWeek());
+            return null;
+        }
+        long[] window = window(days, view.getStartTime(), view.getEndTime());
+        long start = view.getStartDate() != null ? view.getStartDate().toEpochDay() : Long.MIN_VALUE;
+        long end = view.getEndDate() != null ? view.getEndDate().toEpochDay() : Long.MAX_VALUE;
+        int minDuration = view.getMinDurationMinutes() != null ? view.getMinDurationMinutes() : 0;
+        int maxUses = view.getMaxUses() != null ? view.getMaxUses() : 0;
+        return new CompiledPromotion(view.getId(), view.getName(), view.getPromotionType(),
+                view.getDiscountPercentage(), start, end, window, minDuration, maxUses,
+                promotionFactory.getPromotionStrategy(view.getPromotionType().name()));
+    }
+
+    /**
+     * Null or blank means every day; otherwise a comma separated list of days or ranges, e.g.
+     * {@code "MONDAY-FRIDAY"} or {@code "sábado,domingo"}. Returns an empty set if any part is invalid.
+     */
+    public static Set<DayOfWeek> parseDays(String value) {
+        if (value == null || value.isBlank()) {
+            return EnumSet.allOf(DayOfWeek.class);
+        }
+        EnumSet<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String part : value.split(",")) {
+            Set<DayOfWeek> parsed = OpeningHoursEngine.parseDays(part);
+            if (parsed.isEmpty()) {
+                return Set.of();
+            }
+            days.addAll(parsed);
+        }
+        return days;
+    }
+
+    /**
+     * Bitmap of the minutes of the week in which a booking may start to get the promotion. Without
+     * a time window the whole day counts; a window ending at or before its start crosses midnight.
+     */
+    static long[] window(Set<DayOfWeek> days, LocalTime startTime, LocalTime endTime) {
+        long[] bits = new long[(CompiledPromotion.MINUTES_PER_WEEK + 63) / 64];
+        int from = 0;
+        int to = CompiledPromotion.MINUTES_PER_DAY;
+        if (startTime != null && endTime != null) {
+            from = startTime.getHour() * 60 + startTime.getMinute();
+            to = endTime.getHour() * 60 + endTime.getMinute();
+            if (to <= from) {
+                to += CompiledPromotion.MINUTES_PER_DAY;
+            }
+        }
+        for (DayOfWeek day : days) {
+            int base = CompiledPromotion.minuteOfWeek(day, 0);
+            for (int minute = from; minute < to; minute++) {
+                int bit = (base + minute) % CompiledPromotion.MINUTES_PER_WEEK;
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return bits;
+    }
+}
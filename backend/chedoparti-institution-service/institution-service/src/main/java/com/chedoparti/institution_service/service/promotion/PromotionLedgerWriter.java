@@ -0,0 +1,214 @@
+package com.chedoparti.institution_service.service.promotion;
+
+import com.chedoparti.institution_service.exception.IngestionOverloadedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for the promotion application ledger. Applications are queued by request
+ * threads and inserted by a single flusher thread in JDBC batches, instead of one transaction and
+ * one INSERT per booking. The queue is bounded: a caller waits at most {@code enqueue-timeout-ms}
+ * for room and is then rejected with {@link IngestionOverloadedException}, so a database outage
+ * turns into 503s instead of request threads piling up behind the flusher.
+ * <p>
+ * Each batch is written in one transaction. A batch that fails because the database cannot be
+ * reached (or any other error that is not about the rows) is kept and retried on every tick, for as
+ * long as it takes; nothing new is written meanwhile. A batch that fails on a data integrity
+ * violation is written again row by row, and only the rows that are themselves rejected are
+ * dropped, giving their use back to {@link PromotionUsageCounters} so the counters never run ahead
+ * of the ledger. Whatever is queued on shutdown is flushed before the data source closes.
+ * <p>
+ * Applications are tracked by (promotion, reservation) from {@link #claim} until their row is
+ * written or dropped, so a retried apply call sees the application still in the buffer.
+ */
+@Component
+@Slf4j
+public class PromotionLedgerWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO promotion_applications " +
+            "(promotion_id, reservation_id, discount_applied, applied_at) VALUES (?, ?, ?, ?)";
+
+    public record PendingApplication(long promotionId, UUID reservationId, double discount, LocalDateTime appliedAt) {
+
+        private Key key() {
+            return new Key(promotionId, reservationId);
+        }
+    }
+
+    private record Key(long promotionId, UUID reservationId) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PromotionUsageCounters usageCounters;
+    private final Map<Key, PendingApplication> inFlight = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingApplication> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long enqueueTimeoutMs;
+    private final List<PendingApplication> failed = new ArrayList<>();
+    private ScheduledExecutorService flusher;
+
+    public PromotionLedgerWriter(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 PromotionUsageCounters usageCounters,
+                                 @Value("${institution.promotions.ledger.capacity:10000}") int capacity,
+                                 @Value("${institution.promotions.ledger.batch-size:500}") int batchSize,
+                                 @Value("${institution.promotions.ledger.flush-interval-ms:200}") long flushIntervalMs,
+                                 @Value("${institution.promotions.ledger.enqueue-timeout-ms:500}") long enqueueTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.usageCounters = usageCounters;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "promotion-ledger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+        int lost = failed.size() + queue.size();
+        if (lost > 0) {
+            log.error("Shutting down with {} promotion applications not written to the ledger", lost);
+        }
+    }
+
+    /**
+     * Starts tracking an application before its use is taken.
+     *
+     * @return the application already in flight for the same promotion and reservation, or
+     * {@code null} if this one is now tracked and must be {@link #enqueue enqueued} or {@link #abandon abandoned}.
+     */
+    public PendingApplication claim(PendingApplication application) {
+        return inFlight.putIfAbsent(application.key(), application);
+    }
+
+    public void abandon(PendingApplication application) {
+        inFlight.remove(application.key(), application);
+    }
+
+    /**
+     * Queues a claimed application for the flusher.
+     *
+     * @throws IngestionOverloadedException if the buffer stays full for {@code enqueue-timeout-ms}.
+     */
+    public void enqueue(PendingApplication application) {
+        try {
+            if (!queue.offer(application, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IngestionOverloadedException("Promotion applications are backing up, retry in a moment");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while recording promotion application", e);
+        }
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Writes everything queued so far. Only called from the flusher thread (or after it stopped).
+     */
+    synchronized void flush() {
+        if (!failed.isEmpty()) {
+            List<PendingApplication> retry = new ArrayList<>(failed);
+            failed.clear();
+            if (!write(retry)) {
+                return;
+            }
+        }
+        List<PendingApplication> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            if (!write(batch)) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes a batch, dropping only the rows the database rejects as invalid.
+     *
+     * @return {@code false} if the batch, or part of it, was kept in {@code failed} to retry.
+     */
+    private boolean write(List<PendingApplication> batch) {
+        try {
+            insert(batch);
+        } catch (DataIntegrityViolationException e) {
+            // Una fila inválida no arrastra al resto del lote
+            return writeOneByOne(batch);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Could not write {} promotion applications, retrying on next flush: {}", batch.size(), e.getMessage());
+            failed.addAll(batch);
+            return false;
+        }
+        batch.forEach(application -> inFlight.remove(application.key()));
+        return true;
+    }
+
+    private boolean writeOneByOne(List<PendingApplication> applications) {
+        for (int i = 0; i < applications.size(); i++) {
+            PendingApplication application = applications.get(i);
+            try {
+                insert(List.of(application));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropping invalid promotion application {}: {}", application, e.getMessage());
+                usageCounters.release(application.promotionId(), application.discount());
+            } catch (DataAccessException | TransactionException e) {
+                // La base dejó de responder a mitad del lote: lo que falta se reintenta entero
+                log.warn("Could not write {} promotion applications, retrying on next flush: {}",
+                        applications.size() - i, e.getMessage());
+                failed.addAll(applications.subList(i, applications.size()));
+                return false;
+            }
+            inFlight.remove(application.key());
+        }
+        return true;
+    }
+
+    private void insert(List<PendingApplication> batch) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batchSize, (statement, application) -> {
+                    statement.setLong(1, application.promotionId());
+                    statement.setObject(2, application.reservationId());
+                    statement.setDouble(3, application.discount());
+                    statement.setTimestamp(4, Timestamp.valueOf(application.appliedAt()));
+                }));
+    }
+}
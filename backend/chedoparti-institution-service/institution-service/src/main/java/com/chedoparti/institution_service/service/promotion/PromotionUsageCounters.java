@@ -0,0 +1,107 @@
+package com.chedoparti.institution_service.service.promotion;
+
+import com.chedoparti.institution_service.repository.PromotionApplicationRepository;
+import com.chedoparti.institution_service.repository.PromotionUsageView;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Exact per-promotion usage counts kept in memory, so capped promotions ("first 100 bookings")
+ * are enforced with a compare-and-set instead of a locked count of the ledger on every booking.
+ * Counters are seeded from the ledger before the application starts serving requests; from then
+ * on this is the source of truth and the ledger is written behind it.
+ */
+@Component
+@Slf4j
+public class PromotionUsageCounters {
+
+    private final PromotionApplicationRepository applicationRepository;
+    private final Map<Long, Usage> usages = new ConcurrentHashMap<>();
+
+    public PromotionUsageCounters(PromotionApplicationRepository applicationRepository) {
+        this.applicationRepository = applicationRepository;
+    }
+
+    @PostConstruct
+    void reconcile() {
+        usages.clear();
+        for (PromotionUsageView view : applicationRepository.findUsageTotals()) {
+            Usage usage = usage(view.getPromotionId());
+            usage.uses.set(view.getUses());
+            usage.discount.add(view.getTotalDiscount() != null ? view.getTotalDiscount() : 0);
+        }
+        log.info("Reconciled usage counters of {} promotions from the ledger", usages.size());
+    }
+
+    /**
+     * Takes one use of the promotion if it still has capacity; {@code maxUses <= 0} means unlimited.
+     *
+     * @return whether the use was granted.
+     */
+    public boolean tryAcquire(long promotionId, int maxUses) {
+        AtomicLong uses = usage(promotionId).uses;
+        if (maxUses <= 0) {
+            uses.incrementAndGet();
+            return true;
+        }
+        long current;
+        do {
+            current = uses.get();
+            if (current >= maxUses) {
+                return false;
+            }
+        } while (!uses.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Gives back a use taken with {@link #tryAcquire}, and its recorded discount, when the
+     * application could not be queued or was dropped by the ledger.
+     */
+    public void release(long promotionId, double discount) {
+        Usage usage = usage(promotionId);
+        usage.uses.decrementAndGet();
+        usage.discount.add(-discount);
+    }
+
+    public void recordDiscount(long promotionId, double discount) {
+        usage(promotionId).discount.add(discount);
+    }
+
+    public boolean hasCapacity(long promotionId, int maxUses) {
+        if (maxUses <= 0) {
+            return true;
+        }
+        Usage usage = usages.get(promotionId);
+        return usage == null || usage.uses.get() < maxUses;
+    }
+
+    public long uses(long promotionId) {
+        Usage usage = usages.get(promotionId);
+        return usage != null ? usage.uses.get() : 0;
+    }
+
+    public double totalDiscount(long promotionId) {
+        Usage usage = usages.get(promotionId);
+        return usage != null ? usage.discount.sum() : 0;
+    }
+
+    public void remove(long promotionId) {
+        usages.remove(promotionId);
+    }
+
+    private Usage usage(long promotionId) {
+        return usages.computeIfAbsent(promotionId, id -> new Usage());
+    }
+
+    private static final class Usage {
+        private final AtomicLong uses = new AtomicLong();
+        private final DoubleAdder discount = new DoubleAdder();
+    }
+}
@@ -0,0 +1,207 @@
+package com.chedoparti.institution_service.service.schedule;
+
+import com.chedoparti.institution_service.repository.ClosureDateView;
+import com.chedoparti.institution_service.repository.InstitutionRepository;
+import com.chedoparti.institution_service.repository.OpeningHourRepository;
+import com.chedoparti.institution_service.repository.OpeningHourView;
+import com.chedoparti.institution_service.repository.SpecialClosureRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "is this institution open at T" from compiled {@link WeeklySchedule}s instead of loading
+ * and parsing the string-based opening hours on every check. Schedules are compiled for every
+ * institution on startup and recompiled whenever an institution is written.
+ *
+ * <p>An institution without opening hours has no restriction other than its special closures.</p>
+ */
+@Component
+@Slf4j
+public class OpeningHoursEngine {
+
+    private static final Map<String, DayOfWeek> DAY_NAMES = dayNames();
+
+    private final InstitutionRepository institutionRepository;
+    private final OpeningHourRepository openingHourRepository;
+    private final SpecialClosureRepository specialClosureRepository;
+    private final ZoneId zoneId;
+    private final Map<Long, WeeklySchedule> schedules = new ConcurrentHashMap<>();
+
+    public OpeningHoursEngine(InstitutionRepository institutionRepository,
+                              OpeningHourRepository openingHourRepository,
+                              SpecialClosureRepository specialClosureRepository,
+                              @Value("${institution.schedule.zone-id:America/Argentina/Buenos_Aires}") String zoneId) {
+        this.institutionRepository = institutionRepository;
+        this.openingHourRepository = openingHourRepository;
+        this.specialClosureRepository = specialClosureRepository;
+        this.zoneId = ZoneId.of(zoneId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        LocalDate fromDate = LocalDate.now(zoneId).minusDays(1);
+        Map<Long, List<OpeningHourView>> hours = openingHourRepository.findAllViews().stream()
+                .collect(Collectors.groupingBy(OpeningHourView::getInstitutionId));
+        Map<Long, List<LocalDate>> closures = specialClosureRepository.findAllViewsFrom(fromDate).stream()
+                .collect(Collectors.groupingBy(ClosureDateView::getInstitutionId,
+                        Collectors.mapping(ClosureDateView::getDate, Collectors.toList())));
+
+        Map<Long, WeeklySchedule> compiled = new HashMap<>();
+        for (Long institutionId : institutionRepository.findAllIds()) {
+            compiled.put(institutionId, compile(institutionId,
+                    hours.getOrDefault(institutionId, List.of()), closures.getOrDefault(institutionId, List.of())));
+        }
+        schedules.keySet().retainAll(compiled.keySet());
+        schedules.putAll(compiled);
+        log.info("Compiled opening schedules for {} institutions", compiled.size());
+    }
+
+    /**
+     * Recompiles one institution from the database; call after any write to it or its hours/closures.
+     */
+    public void refresh(Long institutionId) {
+        LocalDate fromDate = LocalDate.now(zoneId).minusDays(1);
+        List<LocalDate> closures = specialClosureRepository.findViewsByInstitutionIdFrom(institutionId, fromDate)
+                .stream().map(ClosureDateView::getDate).toList();
+        schedules.put(institutionId,
+                compile(institutionId, openingHourRepository.findViewsByInstitutionId(institutionId), closures));
+    }
+
+    public void remove(Long institutionId) {
+        schedules.remove(institutionId);
+    }
+
+    /**
+     * @return whether the institution is open at the given instant; unknown institutions are closed.
+     */
+    public boolean isOpen(Long institutionId, Instant instant) {
+        WeeklySchedule schedule = schedules.get(institutionId);
+        return schedule != null && schedule.isOpen(LocalDateTime.ofInstant(instant, zoneId));
+    }
+
+    /**
+     * Same as {@link #isOpen(Long, Instant)} for a wall-clock time in the engine's zone.
+     */
+    public boolean isOpen(Long institutionId, LocalDateTime localTime) {
+        WeeklySchedule schedule = schedules.get(institutionId);
+        return schedule != null && schedule.isOpen(localTime);
+    }
+
+    public List<Long> openInstitutionsAt(Instant instant) {
+        LocalDateTime localTime = LocalDateTime.ofInstant(instant, zoneId);
+        List<Long> open = new ArrayList<>();
+        schedules.forEach((institutionId, schedule) -> {
+            if (schedule.isOpen(localTime)) {
+                open.add(institutionId);
+            }
+        });
+        return open;
+    }
+
+    static WeeklySchedule compile(Long institutionId, List<OpeningHourView> hours, List<LocalDate> closures) {
+        WeeklySchedule.Builder builder = WeeklySchedule.builder().closures(closures);
+        for (OpeningHourView hour : hours) {
+            Set<DayOfWeek> days = parseDays(hour.getDayOfWeek());
+            int open = parseMinute(hour.getOpenTime());
+            int close = parseMinute(hour.getCloseTime());
+            if (days.isEmpty() || open < 0 || close < 0) {
+                log.warn("Ignoring unparseable opening hour of institution {}: {} {}-{}",
+                        institutionId, hour.getDayOfWeek(), hour.getOpenTime(), hour.getCloseTime());
+                continue;
+            }
+            // Cierre igual o anterior a la apertura: horario nocturno que termina al día siguiente
+            if (close <= open) {
+                close += WeeklySchedule.MINUTES_PER_DAY;
+            }
+            for (DayOfWeek day : days) {
+                builder.open(day, open, close);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Accepts English or Spanish day names (full or abbreviated, any case/accents), ISO numbers
+     * (1 = Monday) and ranges such as {@code MONDAY-FRIDAY}.
+     */
+    public static Set<DayOfWeek> parseDays(String value) {
+        if (value == null || value.isBlank()) {
+            return Set.of();
+        }
+        String[] range = value.split("-");
+        DayOfWeek first = parseDay(range[0]);
+        DayOfWeek last = range.length == 2 ? parseDay(range[1]) : first;
+        if (first == null || last == null || range.length > 2) {
+            return Set.of();
+        }
+        EnumSet<DayOfWeek> days = EnumSet.of(first);
+        for (DayOfWeek day = first; day != last; day = day.plus(1)) {
+            days.add(day.plus(1));
+        }
+        return days;
+    }
+
+    private static DayOfWeek parseDay(String value) {
+        String normalized = Normalizer.normalize(value.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toUpperCase(Locale.ROOT);
+        return DAY_NAMES.get(normalized);
+    }
+
+    /**
+     * Parses {@code H:mm}, {@code HH:mm} or {@code HH:mm:ss} into minutes since midnight
+     * ({@code 24:00} is 1440); returns -1 when the value is not a valid time.
+     */
+    public static int parseMinute(String value) {
+        if (value == null) {
+            return -1;
+        }
+        String[] parts = value.trim().split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            return -1;
+        }
+        try {
+            int hours = Integer.parseInt(parts[0]);
+            int minutes = Integer.parseInt(parts[1]);
+            if (hours < 0 || hours > 24 || minutes < 0 || minutes > 59 || (hours == 24 && minutes != 0)) {
+                return -1;
+            }
+            return hours * 60 + minutes;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Map<String, DayOfWeek> dayNames() {
+        String[][] spanish = {{"LUNES", "LUN"}, {"MARTES", "MAR"}, {"MIERCOLES", "MIE"}, {"JUEVES", "JUE"},
+                {"VIERNES", "VIE"}, {"SABADO", "SAB"}, {"DOMINGO", "DOM"}};
+        Map<String, DayOfWeek> names = new HashMap<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            names.put(day.name(), day);
+            names.put(day.name().substring(0, 3), day);
+            names.put(String.valueOf(day.getValue()), day);
+            names.put(spanish[day.getValue() - 1][0], day);
+            names.put(spanish[day.getValue() - 1][1], day);
+        }
+        return Map.copyOf(names);
+    }
+}
@@ -0,0 +1,86 @@
+package com.chedoparti.institution_service.service.schedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Compiled opening schedule of one institution: one bit per minute of the week (Monday 00:00 is
+ * bit 0) plus the sorted epoch days of its special closures. Immutable, so it can be shared by
+ * any number of readers; a change in the institution compiles a new instance.
+ */
+public final class WeeklySchedule {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    /** Institution without configured opening hours: no restriction besides closures. */
+    static final WeeklySchedule ALWAYS_OPEN = new WeeklySchedule(allMinutes(), new long[0]);
+
+    private final long[] minutes;
+    private final long[] closedEpochDays;
+
+    private WeeklySchedule(long[] minutes, long[] closedEpochDays) {
+        this.minutes = minutes;
+        this.closedEpochDays = closedEpochDays;
+    }
+
+    public boolean isOpen(LocalDateTime localTime) {
+        if (closedEpochDays.length > 0
+                && Arrays.binarySearch(closedEpochDays, localTime.toLocalDate().toEpochDay()) >= 0) {
+            return false;
+        }
+        int minute = minuteOfWeek(localTime.getDayOfWeek(), localTime.getHour() * 60 + localTime.getMinute());
+        return (minutes[minute >>> 6] & (1L << minute)) != 0;
+    }
+
+    public boolean isClosedOn(LocalDate date) {
+        return Arrays.binarySearch(closedEpochDays, date.toEpochDay()) >= 0;
+    }
+
+    static int minuteOfWeek(DayOfWeek day, int minuteOfDay) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    private static long[] allMinutes() {
+        long[] all = new long[MINUTES_PER_WEEK / 64 + 1];
+        Arrays.fill(all, -1L);
+        return all;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    static final class Builder {
+
+        private final long[] minutes = new long[MINUTES_PER_WEEK / 64 + 1];
+        private boolean hasHours;
+        private long[] closedEpochDays = new long[0];
+
+        /**
+         * Marks {@code [fromMinute, toMinute)} of the given day as open. A range that ends past
+         * midnight spills into the next day (Sunday wraps to Monday).
+         */
+        Builder open(DayOfWeek day, int fromMinute, int toMinute) {
+            hasHours = true;
+            int start = minuteOfWeek(day, fromMinute);
+            for (int i = 0; i < toMinute - fromMinute; i++) {
+                int minute = (start + i) % MINUTES_PER_WEEK;
+                minutes[minute >>> 6] |= 1L << minute;
+            }
+            return this;
+        }
+
+        Builder closures(Collection<LocalDate> dates) {
+            closedEpochDays = dates.stream().mapToLong(LocalDate::toEpochDay).sorted().distinct().toArray();
+            return this;
+        }
+
+        WeeklySchedule build() {
+            return new WeeklySchedule(hasHours ? minutes : ALWAYS_OPEN.minutes, closedEpochDays);
+        }
+    }
+}
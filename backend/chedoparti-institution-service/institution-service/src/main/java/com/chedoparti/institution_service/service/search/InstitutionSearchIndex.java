@@ -0,0 +1,287 @@
+package com.chedoparti.institution_service.service.search;
+
+import com.chedoparti.institution_service.repository.InstitutionRepository;
+import com.chedoparti.institution_service.repository.InstitutionSearchView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the name, city, facilities and description of every institution,
+ * with a {@link PrefixTrie} over its terms for search-as-you-type. A query matches the institutions
+ * that contain every query token, each token as a whole term or as the prefix of one (so "club
+ * fut" finds "Club de Fútbol"); whole-term matches and matches in the name rank higher.
+ * Scores are accumulated in flat arrays indexed by a dense slot per institution, so a keystroke
+ * costs one pass over the postings of the matching terms.
+ *
+ * <p>Built on startup and updated by the institution write paths. Reads share a read lock and
+ * never touch the database; writes are rare and take the write lock.</p>
+ */
+@Component
+@Slf4j
+public class InstitutionSearchIndex {
+
+    public record Hit(long institutionId, String name, String city, double score) {
+    }
+
+    // Peso de un término según el campo en que aparece; vale el campo de mayor peso
+    static final int NAME_WEIGHT = 8;
+    static final int CITY_WEIGHT = 4;
+    static final int FACILITIES_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private record Document(long id, String name, int nameLength, String city, Map<String, Integer> terms) {
+    }
+
+    /**
+     * Institutions containing a term, as slots of {@link #documents} with the term's weight; kept
+     * unsorted, a removal swaps the last entry into the hole.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private byte[] weights = new byte[4];
+        private int size;
+
+        void add(int slot, int weight) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            slots[size] = slot;
+            weights[size] = (byte) weight;
+            size++;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    weights[i] = weights[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final InstitutionRepository institutionRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PrefixTrie trie = new PrefixTrie();
+    private final Map<String, Postings> postings = new HashMap<>();
+    // Cada institución ocupa un casillero denso; las búsquedas acumulan puntajes en arreglos por casillero
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    public InstitutionSearchIndex(InstitutionRepository institutionRepository) {
+        this.institutionRepository = institutionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        List<InstitutionSearchView> views = institutionRepository.findAllSearchViews();
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            documents.clear();
+            freeSlots.clear();
+            postings.clear();
+            trie.clear();
+            for (InstitutionSearchView view : views) {
+                index(view.getId(), view.getName(), view.getDescription(), view.getCity(), view.getState(),
+                        view.getFacilities());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index built with {} institutions and {} terms", views.size(), trie.size());
+    }
+
+    public void put(long institutionId, String name, String description, String city, String state,
+                    String facilities) {
+        lock.writeLock().lock();
+        try {
+            unindex(institutionId);
+            index(institutionId, name, description, city, state, facilities);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long institutionId) {
+        lock.writeLock().lock();
+        try {
+            unindex(institutionId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the best {@code limit} institutions matching every token of the query, best first.
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> tokens = SearchText.tokens(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int capacity = documents.size();
+            float[] scores = new float[capacity];
+            float[] tokenScores = new float[capacity];
+            int[] matched = new int[capacity]; // Tokens que ya encontraron la institución
+            int[] touched = new int[capacity];
+            for (int token = 0; token < tokens.size(); token++) {
+                int touchedCount = collect(tokens.get(token), token, matched, tokenScores, touched);
+                if (touchedCount == 0) {
+                    return List.of();
+                }
+                for (int i = 0; i < touchedCount; i++) {
+                    int slot = touched[i];
+                    scores[slot] += tokenScores[slot];
+                    tokenScores[slot] = 0;
+                    matched[slot] = token + 1;
+                }
+            }
+            return best(scores, matched, tokens.size(), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best score for one query token of each institution that matched all previous tokens: the
+     * term's weight for a whole-term match, half of it when the token is only a prefix of the term.
+     *
+     * @return how many institutions were written to {@code touched}.
+     */
+    private int collect(String token, int tokenIndex, int[] matched, float[] tokenScores, int[] touched) {
+        int touchedCount = 0;
+        for (String term : trie.withPrefix(token)) {
+            float factor = term.length() == token.length() ? 1f : 0.5f;
+            Postings termPostings = postings.get(term);
+            for (int i = 0; i < termPostings.size; i++) {
+                int slot = termPostings.slots[i];
+                if (matched[slot] != tokenIndex) {
+                    continue;
+                }
+                float score = termPostings.weights[i] * factor;
+                if (tokenScores[slot] == 0) {
+                    touched[touchedCount++] = slot;
+                    tokenScores[slot] = score;
+                } else if (score > tokenScores[slot]) {
+                    tokenScores[slot] = score;
+                }
+            }
+        }
+        return touchedCount;
+    }
+
+    /**
+     * The {@code limit} best institutions that matched every token, kept in a small sorted array
+     * (insertion sort) so that ranking thousands of matches allocates nothing per candidate.
+     */
+    private List<Hit> best(float[] scores, int[] matched, int tokens, int limit) {
+        int[] top = new int[Math.min(limit, matched.length)];
+        int count = 0;
+        for (int slot = 0; slot < matched.length; slot++) {
+            if (matched[slot] != tokens || (count == top.length && !ranksBefore(slot, top[count - 1], scores))) {
+                continue;
+            }
+            int i = count < top.length ? count++ : count - 1;
+            while (i > 0 && ranksBefore(slot, top[i - 1], scores)) {
+                top[i] = top[i - 1];
+                i--;
+            }
+            top[i] = slot;
+        }
+        List<Hit> hits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Document document = documents.get(top[i]);
+            hits.add(new Hit(document.id(), document.name(), document.city(), scores[top[i]]));
+        }
+        return hits;
+    }
+
+    /**
+     * Higher score first; on a tie the shorter name (the query is more of it), then the lower id.
+     */
+    private boolean ranksBefore(int slot, int other, float[] scores) {
+        if (scores[slot] != scores[other]) {
+            return scores[slot] > scores[other];
+        }
+        Document document = documents.get(slot);
+        Document otherDocument = documents.get(other);
+        if (document.nameLength() != otherDocument.nameLength()) {
+            return document.nameLength() < otherDocument.nameLength();
+        }
+        return document.id() < otherDocument.id();
+    }
+
+    private void index(long id, String name, String description, String city, String state, String facilities) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, name, NAME_WEIGHT);
+        addTerms(terms, city, CITY_WEIGHT);
+        addTerms(terms, state, CITY_WEIGHT);
+        addTerms(terms, facilities, FACILITIES_WEIGHT);
+        addTerms(terms, description, DESCRIPTION_WEIGHT);
+        Document document = new Document(id, name, name != null ? name.length() : Integer.MAX_VALUE, city, terms);
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = documents.size();
+            documents.add(document);
+        } else {
+            slot = freeSlots.pop();
+            documents.set(slot, document);
+        }
+        slots.put(id, slot);
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, key -> {
+            trie.add(key);
+            return new Postings();
+        }).add(slot, weight));
+    }
+
+    private void unindex(long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        for (String term : documents.get(slot).terms().keySet()) {
+            Postings termPostings = postings.get(term);
+            termPostings.remove(slot);
+            if (termPostings.size == 0) {
+                postings.remove(term);
+                trie.remove(term);
+            }
+        }
+        documents.set(slot, null);
+        freeSlots.push(slot);
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String token : SearchText.tokens(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+}
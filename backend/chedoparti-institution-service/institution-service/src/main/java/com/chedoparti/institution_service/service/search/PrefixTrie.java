@@ -0,0 +1,92 @@
+package com.chedoparti.institution_service.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Character trie over the distinct terms of the index, answering "every term starting with this
+ * prefix" by walking down the prefix and collecting the subtree. Removing the last use of a term
+ * prunes its now empty branch. Not thread-safe: {@link InstitutionSearchIndex} guards it.
+ */
+final class PrefixTrie {
+
+    private static final class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private boolean terminal;
+    }
+
+    private final Node root = new Node();
+    private int size;
+
+    void add(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.computeIfAbsent(term.charAt(i), c -> new Node());
+        }
+        if (!node.terminal) {
+            node.terminal = true;
+            size++;
+        }
+    }
+
+    void remove(String term) {
+        if (remove(root, term, 0)) {
+            size--;
+        }
+    }
+
+    void clear() {
+        root.children.clear();
+        root.terminal = false;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Terms starting with {@code prefix} (including {@code prefix} itself), in alphabetical order.
+     */
+    List<String> withPrefix(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        List<String> terms = new ArrayList<>();
+        if (node != null) {
+            collect(node, new StringBuilder(prefix), terms);
+        }
+        return terms;
+    }
+
+    private static void collect(Node node, StringBuilder term, List<String> terms) {
+        if (node.terminal) {
+            terms.add(term.toString());
+        }
+        for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+            term.append(child.getKey());
+            collect(child.getValue(), term, terms);
+            term.setLength(term.length() - 1);
+        }
+    }
+
+    private static boolean remove(Node node, String term, int depth) {
+        if (depth == term.length()) {
+            boolean removed = node.terminal;
+            node.terminal = false;
+            return removed;
+        }
+        Node child = node.children.get(term.charAt(depth));
+        if (child == null) {
+            return false;
+        }
+        boolean removed = remove(child, term, depth + 1);
+        if (!child.terminal && child.children.isEmpty()) {
+            node.children.remove(term.charAt(depth));
+        }
+        return removed;
+    }
+}
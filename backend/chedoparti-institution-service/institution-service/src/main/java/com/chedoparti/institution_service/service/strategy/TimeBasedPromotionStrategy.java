@@ -1,16 +1,26 @@
 package com.chedoparti.institution_service.service.strategy;
 
+import com.chedoparti.institution_service.enums.EPromotionType;
 import com.chedoparti.institution_service.service.PromotionStrategy;
+import com.chedoparti.institution_service.service.promotion.CompiledPromotion;
+import com.chedoparti.institution_service.service.promotion.PromotionContext;
 import org.springframework.stereotype.Service;
 
 @Service
 public class TimeBasedPromotionStrategy implements PromotionStrategy {
     @Override
     public String getType() {
-        return "TIME_BASED";
+        return EPromotionType.TIME_BASED.name();
     }
+
+    @Override
+    public boolean isApplicable(CompiledPromotion promotion, PromotionContext context) {
+        // Solo depende de la franja horaria, que ya está en el bitmap de la promoción
+        return true;
+    }
+
     @Override
-    public double applyPromotion(Long reservationId) {
-        return 0;
+    public double applyPromotion(CompiledPromotion promotion, PromotionContext context) {
+        return Math.round(context.price() * promotion.discountPercentage()) / 100.0;
     }
 }
@@ -0,0 +1,25 @@
+package com.chedoparti.institution_service.service.strategy;
+
+import com.chedoparti.institution_service.enums.EPromotionType;
+import com.chedoparti.institution_service.service.PromotionStrategy;
+import com.chedoparti.institution_service.service.promotion.CompiledPromotion;
+import com.chedoparti.institution_service.service.promotion.PromotionContext;
+import org.springframework.stereotype.Service;
+
+@Service
+public class VolumeBasedPromotionStrategy implements PromotionStrategy {
+    @Override
+    public String getType() {
+        return EPromotionType.VOLUME_BASED.name();
+    }
+
+    @Override
+    public boolean isApplicable(CompiledPromotion promotion, PromotionContext context) {
+        return context.durationMinutes() >= promotion.minDurationMinutes();
+    }
+
+    @Override
+    public double applyPromotion(CompiledPromotion promotion, PromotionContext context) {
+        return isApplicable(promotion, context) ? Math.round(context.price() * promotion.discountPercentage()) / 100.0 : 0;
+    }
+}
@@ -0,0 +1,327 @@
+package com.chedoparti.institution_service.service.tournament;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Assigns tournament matches to (court, slot) pairs on a discrete grid where each slot fits one
+ * match. Constraints: a court holds one match per slot and none on blocked slots (closures, hours
+ * the club is closed); a player gets at least {@code restSlots} free slots between matches; a
+ * bracket match starts after both feeder matches plus rest.
+ *
+ * <p>The initial plan is a greedy list schedule: matches in round order, each at the earliest
+ * feasible slot on the first free court. Later changes (late results, court closures) are repaired
+ * incrementally: only the matches that became infeasible are moved, never earlier than where they
+ * were, and only their dependents are re-checked.</p>
+ *
+ * <p>Rest is counted in slots, also across days, which is conservative overnight. Not thread-safe;
+ * build one per operation.</p>
+ */
+public class CourtScheduler {
+
+    private final int totalSlots;
+    private final int restSlots;
+    private final BitSet[] blocked;
+    private final BitSet[] taken; // Bloqueado u ocupado por un partido
+    private final Map<Integer, PlannedMatch> matches = new HashMap<>();
+    private final Map<Long, TreeMap<Integer, PlannedMatch>> playerSlots = new HashMap<>();
+    private final List<PlannedMatch> orphans = new ArrayList<>(); // Con horario pero sin cancha válida
+
+    public CourtScheduler(int totalSlots, int courts, int restSlots) {
+        if (courts < 1) {
+            throw new IllegalArgumentException("No courts available to schedule the tournament");
+        }
+        this.totalSlots = totalSlots;
+        this.restSlots = restSlots;
+        this.blocked = new BitSet[courts];
+        this.taken = new BitSet[courts];
+        for (int c = 0; c < courts; c++) {
+            blocked[c] = new BitSet(totalSlots);
+            taken[c] = new BitSet(totalSlots);
+        }
+    }
+
+    /**
+     * Marks slots {@code [fromSlot, toSlot)} of a court as unusable. Matches already loaded there
+     * stay until {@link #repairBlocked} or {@link #closeCourt} moves them.
+     */
+    public void block(int court, int fromSlot, int toSlot) {
+        if (fromSlot < toSlot) {
+            blocked[court].set(fromSlot, toSlot);
+            taken[court].set(fromSlot, toSlot);
+        }
+    }
+
+    /**
+     * Registers the matches of the tournament, keeping the placement of those already placed.
+     * Placed matches with court -1 (their court no longer exists) are moved by {@link #repairBlocked}.
+     */
+    public void load(Collection<PlannedMatch> draw) {
+        for (PlannedMatch match : draw) {
+            matches.put(match.getNumber(), match);
+        }
+        for (PlannedMatch match : draw) {
+            if (match.isPlaced() && match.getCourt() < 0) {
+                orphans.add(match);
+            } else if (match.isPlaced()) {
+                occupy(match);
+            }
+        }
+    }
+
+    /**
+     * Places every unplaced match that has to be played.
+     */
+    public void scheduleAll() {
+        List<PlannedMatch> pending = new ArrayList<>();
+        for (PlannedMatch match : matches.values()) {
+            if (!match.isPlaced() && !match.isCompleted()) {
+                pending.add(match);
+            }
+        }
+        pending.sort(Comparator.comparingInt(PlannedMatch::getRound).thenComparingInt(PlannedMatch::getNumber));
+        for (PlannedMatch match : pending) {
+            placeAtOrAfter(match, earliest(match));
+        }
+    }
+
+    /**
+     * Closes a court for slots {@code [fromSlot, toSlot)} and moves the matches it held.
+     *
+     * @return the matches whose slot or court changed.
+     */
+    public Set<PlannedMatch> closeCourt(int court, int fromSlot, int toSlot) {
+        block(court, fromSlot, toSlot);
+        return repairBlocked();
+    }
+
+    /**
+     * Moves every pending match that sits on a blocked slot, e.g. after blocks were added to a
+     * loaded plan (new closures, a court marked unavailable, changed opening hours).
+     *
+     * @return the matches whose slot or court changed.
+     */
+    public Set<PlannedMatch> repairBlocked() {
+        List<PlannedMatch> displaced = new ArrayList<>();
+        for (PlannedMatch match : matches.values()) {
+            if (match.isPlaced() && !match.isCompleted() && match.getCourt() >= 0
+                    && blocked[match.getCourt()].get(match.getSlot())) {
+                displaced.add(match);
+            }
+        }
+        displaced.forEach(this::release);
+        for (PlannedMatch orphan : orphans) {
+            if (!orphan.isCompleted()) {
+                displaced.add(orphan);
+            }
+        }
+        orphans.clear();
+        return repair(displaced);
+    }
+
+    /**
+     * Records a result. The winner moves to the next bracket match; if the match ran past its slot
+     * the court stays taken until {@code lastSlot} and the players' next matches are pushed back.
+     *
+     * @return the matches whose players, slot or court changed (including this one).
+     */
+    public Set<PlannedMatch> recordResult(int number, Long winner, int lastSlot) {
+        PlannedMatch match = matches.get(number);
+        if (match == null || !match.isPlaced() || match.isCompleted()) {
+            throw new IllegalArgumentException("Match " + number + " is not scheduled to be played");
+        }
+        if (!winner.equals(match.getPlayerA()) && !winner.equals(match.getPlayerB())) {
+            throw new IllegalArgumentException("Player " + winner + " does not play match " + number);
+        }
+        int end = Math.min(Math.max(lastSlot, match.getSlot()), totalSlots - 1);
+
+        // Lo que quedó dentro del descanso o de la cancha extendida se vuelve a ubicar
+        List<PlannedMatch> displaced = new ArrayList<>();
+        if (end > match.getSlot()) {
+            for (PlannedMatch other : matches.values()) {
+                if (other != match && other.getCourt() == match.getCourt() && !other.isCompleted()
+                        && other.getSlot() > match.getSlot() && other.getSlot() <= end) {
+                    displaced.add(other);
+                }
+            }
+        }
+        for (Long player : players(match)) {
+            TreeMap<Integer, PlannedMatch> slots = playerSlots.get(player);
+            for (PlannedMatch other : slots.subMap(match.getSlot() + 1, end + restSlots + 1).values()) {
+                if (!other.isCompleted() && !displaced.contains(other)) {
+                    displaced.add(other);
+                }
+            }
+        }
+        displaced.forEach(this::release);
+
+        taken[match.getCourt()].set(match.getSlot(), end + 1);
+        match.setLastSlot(end);
+        match.setCompleted(true);
+        match.setWinner(winner);
+
+        Set<PlannedMatch> changed = new LinkedHashSet<>();
+        changed.add(match);
+        if (match.getNextMatch() != 0) {
+            PlannedMatch next = matches.get(match.getNextMatch());
+            if (next.isPlaced() && !displaced.contains(next)) {
+                // El ganador se suma al partido siguiente; si no llega a descansar, se mueve
+                release(next);
+                next.setPlayer(match.getNextSide(), winner);
+                if (feasible(next, next.getSlot())) {
+                    occupy(next);
+                } else {
+                    displaced.add(next);
+                }
+            } else {
+                next.setPlayer(match.getNextSide(), winner);
+            }
+            changed.add(next);
+        }
+        changed.addAll(repair(displaced));
+        return changed;
+    }
+
+    public int totalSlots() {
+        return totalSlots;
+    }
+
+    private Set<PlannedMatch> repair(List<PlannedMatch> displaced) {
+        Set<PlannedMatch> changed = new LinkedHashSet<>(displaced);
+        Set<PlannedMatch> released = new HashSet<>(displaced);
+        PriorityQueue<PlannedMatch> queue = new PriorityQueue<>(
+                Comparator.comparingInt(PlannedMatch::getSlot).thenComparingInt(PlannedMatch::getNumber));
+        queue.addAll(displaced);
+        while (!queue.isEmpty()) {
+            PlannedMatch match = queue.poll();
+            if (!released.remove(match)) {
+                // Partido siguiente de uno que se movió: solo se toca si dejó de ser válido
+                release(match);
+                if (feasible(match, match.getSlot())) {
+                    occupy(match);
+                    continue;
+                }
+                changed.add(match);
+            }
+            placeAtOrAfter(match, Math.max(earliest(match), match.getSlot()));
+            if (match.getNextMatch() != 0) {
+                PlannedMatch next = matches.get(match.getNextMatch());
+                if (next.isPlaced() && !next.isCompleted() && next.getSlot() <= match.getLastSlot() + restSlots) {
+                    queue.add(next);
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Earliest slot allowed by the feeder matches (bracket dependencies).
+     */
+    private int earliest(PlannedMatch match) {
+        int earliest = 0;
+        for (int feeder : new int[]{match.getFeederA(), match.getFeederB()}) {
+            PlannedMatch source = feeder != 0 ? matches.get(feeder) : null;
+            if (source != null && !source.isBye()) {
+                if (!source.isPlaced()) {
+                    throw new IllegalStateException("Match " + feeder + " must be scheduled before match " + match.getNumber());
+                }
+                earliest = Math.max(earliest, source.getLastSlot() + restSlots + 1);
+            }
+        }
+        return earliest;
+    }
+
+    private void placeAtOrAfter(PlannedMatch match, int from) {
+        int slot = from;
+        while (true) {
+            if (slot >= totalSlots) {
+                throw new IllegalStateException("Not enough court time to schedule match " + match.getNumber()
+                        + "; add courts, days or shorten the rest time");
+            }
+            int next = nextWithoutPlayerConflict(match, slot);
+            if (next != slot) {
+                slot = next;
+                continue;
+            }
+            int earliestFree = Integer.MAX_VALUE;
+            for (int court = 0; court < taken.length; court++) {
+                int free = taken[court].nextClearBit(slot);
+                if (free == slot) {
+                    match.setSlot(slot);
+                    match.setCourt(court);
+                    match.setLastSlot(slot);
+                    occupy(match);
+                    return;
+                }
+                earliestFree = Math.min(earliestFree, free);
+            }
+            slot = earliestFree;
+        }
+    }
+
+    private boolean feasible(PlannedMatch match, int slot) {
+        return slot >= earliest(match) && nextWithoutPlayerConflict(match, slot) == slot
+                && !taken[match.getCourt()].get(slot);
+    }
+
+    /**
+     * @return {@code slot} if no player of the match is busy or resting then, otherwise the first
+     * slot after the conflicting match plus rest.
+     */
+    private int nextWithoutPlayerConflict(PlannedMatch match, int slot) {
+        int next = slot;
+        for (Long player : players(match)) {
+            TreeMap<Integer, PlannedMatch> slots = playerSlots.get(player);
+            if (slots == null) {
+                continue;
+            }
+            Map.Entry<Integer, PlannedMatch> before = slots.floorEntry(slot + restSlots);
+            if (before != null && before.getValue() != match && before.getValue().getLastSlot() + restSlots >= slot) {
+                next = Math.max(next, before.getValue().getLastSlot() + restSlots + 1);
+            }
+        }
+        return next;
+    }
+
+    private void occupy(PlannedMatch match) {
+        taken[match.getCourt()].set(match.getSlot(), match.getLastSlot() + 1);
+        for (Long player : players(match)) {
+            playerSlots.computeIfAbsent(player, p -> new TreeMap<>()).put(match.getSlot(), match);
+        }
+    }
+
+    private void release(PlannedMatch match) {
+        for (int slot = match.getSlot(); slot <= match.getLastSlot(); slot++) {
+            if (!blocked[match.getCourt()].get(slot)) {
+                taken[match.getCourt()].clear(slot);
+            }
+        }
+        for (Long player : players(match)) {
+            TreeMap<Integer, PlannedMatch> slots = playerSlots.get(player);
+            if (slots != null) {
+                slots.remove(match.getSlot(), match);
+            }
+        }
+    }
+
+    private static List<Long> players(PlannedMatch match) {
+        List<Long> players = new ArrayList<>(2);
+        if (match.getPlayerA() != null) {
+            players.add(match.getPlayerA());
+        }
+        if (match.getPlayerB() != null) {
+            players.add(match.getPlayerB());
+        }
+        return players;
+    }
+}
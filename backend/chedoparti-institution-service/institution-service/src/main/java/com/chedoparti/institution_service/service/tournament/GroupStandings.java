@@ -0,0 +1,130 @@
+package com.chedoparti.institution_service.service.tournament;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The table of one round-robin group, updated one result at a time. Ranking orders by points and
+ * breaks ties, inside each block of players level on points, by wins among the tied players
+ * (head-to-head), then set difference, game difference, games won and finally player id.
+ */
+public class GroupStandings {
+
+    private static final Comparator<Row> BY_POINTS = Comparator.comparingInt(Row::getPoints).reversed();
+
+    private final int pointsPerWin;
+    private final int pointsPerLoss;
+    private final Map<Long, Row> rows = new HashMap<>();
+    private final Map<Long, Set<Long>> beaten = new HashMap<>(); // Jugador -> rivales a los que les ganó
+
+    public GroupStandings(int pointsPerWin, int pointsPerLoss) {
+        this.pointsPerWin = pointsPerWin;
+        this.pointsPerLoss = pointsPerLoss;
+    }
+
+    /**
+     * Adds the match's players and, if it was played, its result. Callers apply each match once.
+     */
+    public void apply(MatchOutcome outcome) {
+        Row a = rows.computeIfAbsent(outcome.playerA(), Row::new);
+        Row b = rows.computeIfAbsent(outcome.playerB(), Row::new);
+        if (!outcome.played()) {
+            return;
+        }
+        boolean aWon = outcome.winner() == outcome.playerA();
+        a.add(aWon, aWon ? pointsPerWin : pointsPerLoss, outcome.setsA(), outcome.setsB(), outcome.gamesA(), outcome.gamesB());
+        b.add(!aWon, aWon ? pointsPerLoss : pointsPerWin, outcome.setsB(), outcome.setsA(), outcome.gamesB(), outcome.gamesA());
+        Row winner = aWon ? a : b;
+        Row loser = aWon ? b : a;
+        beaten.computeIfAbsent(winner.playerId, id -> new HashSet<>()).add(loser.playerId);
+    }
+
+    public List<Row> ranking() {
+        List<Row> ranked = new ArrayList<>(rows.values());
+        ranked.sort(BY_POINTS);
+        int from = 0;
+        while (from < ranked.size()) {
+            int to = from + 1;
+            while (to < ranked.size() && ranked.get(to).points == ranked.get(from).points) {
+                to++;
+            }
+            if (to - from > 1) {
+                breakTie(ranked.subList(from, to));
+            }
+            from = to;
+        }
+        return ranked;
+    }
+
+    // El head-to-head se cuenta dentro del bloque empatado, así un triple empate también es un orden total
+    private void breakTie(List<Row> tied) {
+        Set<Long> ids = new HashSet<>();
+        tied.forEach(row -> ids.add(row.playerId));
+        Map<Long, Integer> wins = new HashMap<>();
+        for (Row row : tied) {
+            wins.put(row.playerId, countIn(beaten.getOrDefault(row.playerId, Set.of()), ids));
+        }
+        tied.sort(Comparator.<Row>comparingInt(row -> wins.get(row.playerId)).reversed()
+                .thenComparing(Comparator.comparingInt(Row::setDifference).reversed())
+                .thenComparing(Comparator.comparingInt(Row::gameDifference).reversed())
+                .thenComparing(Comparator.comparingInt(Row::getGamesWon).reversed())
+                .thenComparingLong(Row::getPlayerId));
+    }
+
+    private static int countIn(Collection<Long> players, Set<Long> ids) {
+        int count = 0;
+        for (Long player : players) {
+            if (ids.contains(player)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Getter
+    public static final class Row {
+        private final long playerId;
+        private int played;
+        private int won;
+        private int lost;
+        private int points;
+        private int setsWon;
+        private int setsLost;
+        private int gamesWon;
+        private int gamesLost;
+
+        Row(long playerId) {
+            this.playerId = playerId;
+        }
+
+        void add(boolean win, int points, int setsWon, int setsLost, int gamesWon, int gamesLost) {
+            played++;
+            if (win) {
+                won++;
+            } else {
+                lost++;
+            }
+            this.points += points;
+            this.setsWon += setsWon;
+            this.setsLost += setsLost;
+            this.gamesWon += gamesWon;
+            this.gamesLost += gamesLost;
+        }
+
+        public int setDifference() {
+            return setsWon - setsLost;
+        }
+
+        public int gameDifference() {
+            return gamesWon - gamesLost;
+        }
+    }
+}
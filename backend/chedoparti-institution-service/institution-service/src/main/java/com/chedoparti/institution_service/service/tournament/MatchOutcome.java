@@ -0,0 +1,14 @@
+package com.chedoparti.institution_service.service.tournament;
+
+/**
+ * A round-robin match as seen by the standings, with sets and games from player A's side.
+ * {@code winner} is null while the match has not been played; it still places both players in
+ * the group's table.
+ */
+public record MatchOutcome(int matchNumber, int group, long playerA, long playerB, Long winner,
+                           int setsA, int setsB, int gamesA, int gamesB) {
+
+    public boolean played() {
+        return winner != null;
+    }
+}
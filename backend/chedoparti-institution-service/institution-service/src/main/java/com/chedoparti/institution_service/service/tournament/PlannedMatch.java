@@ -0,0 +1,47 @@
+package com.chedoparti.institution_service.service.tournament;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A match as seen by the {@link CourtScheduler}. Slots and courts are indexes into the scheduler's
+ * grid; -1 means not placed. Players are null while they depend on an unplayed feeder match.
+ */
+@Getter
+@Setter
+public class PlannedMatch {
+
+    private final int number;
+    private final int round;
+    private final Integer group; // Zona del round robin (null en llaves)
+    private Long playerA;
+    private Long playerB;
+    private int feederA; // Partido cuyo ganador ocupa el lugar A (0 = ninguno)
+    private int feederB;
+    private int nextMatch; // Partido al que pasa el ganador (0 = final o round robin)
+    private int nextSide; // 0 = lugar A, 1 = lugar B
+    private int slot = -1;
+    private int court = -1;
+    private int lastSlot = -1; // Último slot ocupado; mayor que slot si el partido se extendió
+    private boolean bye;
+    private boolean completed;
+    private Long winner;
+
+    public PlannedMatch(int number, int round, Integer group) {
+        this.number = number;
+        this.round = round;
+        this.group = group;
+    }
+
+    public boolean isPlaced() {
+        return slot >= 0;
+    }
+
+    void setPlayer(int side, Long player) {
+        if (side == 0) {
+            playerA = player;
+        } else {
+            playerB = player;
+        }
+    }
+}
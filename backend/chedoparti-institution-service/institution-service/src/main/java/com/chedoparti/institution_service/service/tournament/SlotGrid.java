@@ -0,0 +1,71 @@
+package com.chedoparti.institution_service.service.tournament;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Maps the scheduler's slot indexes to wall-clock times: {@code days} consecutive days from
+ * {@code firstDay}, each split into match-long slots between {@code dayStart} and {@code dayEnd}.
+ */
+public record SlotGrid(LocalDate firstDay, int days, LocalTime dayStart, int slotsPerDay, int slotMinutes) {
+
+    public static SlotGrid of(LocalDate firstDay, int days, LocalTime dayStart, LocalTime dayEnd, int slotMinutes) {
+        long window = Duration.between(dayStart, dayEnd).toMinutes();
+        if (dayEnd.equals(LocalTime.MIDNIGHT)) {
+            window = Duration.between(dayStart, LocalTime.MAX).toMinutes() + 1;
+        }
+        if (slotMinutes <= 0 || window < slotMinutes || days <= 0) {
+            throw new IllegalArgumentException("The daily window must fit at least one match");
+        }
+        return new SlotGrid(firstDay, days, dayStart, (int) (window / slotMinutes), slotMinutes);
+    }
+
+    public int totalSlots() {
+        return days * slotsPerDay;
+    }
+
+    public LocalDateTime startOf(int slot) {
+        return firstDay.plusDays(slot / slotsPerDay).atTime(dayStart).plusMinutes((long) (slot % slotsPerDay) * slotMinutes);
+    }
+
+    public LocalDateTime endOf(int slot) {
+        return startOf(slot).plusMinutes(slotMinutes);
+    }
+
+    public int slotOf(LocalDateTime start) {
+        return firstStartingAtOrAfter(start);
+    }
+
+    /**
+     * @return the first slot starting at or after {@code time} (may be {@link #totalSlots()}).
+     */
+    public int firstStartingAtOrAfter(LocalDateTime time) {
+        long day = ChronoUnit.DAYS.between(firstDay, time.toLocalDate());
+        if (day < 0) {
+            return 0;
+        }
+        long minute = ChronoUnit.MINUTES.between(dayStart, time.toLocalTime());
+        long index = minute <= 0 ? 0 : (minute + slotMinutes - 1) / slotMinutes;
+        return clamp(index >= slotsPerDay ? (day + 1) * slotsPerDay : day * slotsPerDay + index);
+    }
+
+    /**
+     * @return the first slot that ends after {@code time}, i.e. the slot containing it or the next one.
+     */
+    public int firstEndingAfter(LocalDateTime time) {
+        long day = ChronoUnit.DAYS.between(firstDay, time.toLocalDate());
+        if (day < 0) {
+            return 0;
+        }
+        long minute = ChronoUnit.MINUTES.between(dayStart, time.toLocalTime());
+        long index = minute < 0 ? 0 : minute / slotMinutes;
+        return clamp(index >= slotsPerDay ? (day + 1) * slotsPerDay : day * slotsPerDay + index);
+    }
+
+    private int clamp(long slot) {
+        return (int) Math.min(slot, totalSlots());
+    }
+}
@@ -0,0 +1,134 @@
+package com.chedoparti.institution_service.service.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the matches of a tournament. Players are given in seed order.
+ */
+public final class TournamentDraw {
+
+    private TournamentDraw() {
+    }
+
+    /**
+     * Seeded knockout bracket. When the player count is not a power of two the top seeds get a
+     * bye in the first round and are already placed in their second-round match.
+     */
+    public static List<PlannedMatch> singleElimination(List<Long> players) {
+        if (players.size() < 2) {
+            throw new IllegalArgumentException("A bracket needs at least 2 players");
+        }
+        int size = Integer.highestOneBit(players.size() - 1) << 1;
+        int[] seeds = bracketOrder(size);
+        List<PlannedMatch> matches = new ArrayList<>(size - 1);
+        int roundStart = 1;
+        int round = 1;
+        for (int roundSize = size / 2; roundSize >= 1; roundSize /= 2, round++) {
+            int nextRoundStart = roundStart + roundSize;
+            for (int i = 0; i < roundSize; i++) {
+                PlannedMatch match = new PlannedMatch(roundStart + i, round, null);
+                if (round == 1) {
+                    match.setPlayerA(seed(players, seeds[2 * i]));
+                    match.setPlayerB(seed(players, seeds[2 * i + 1]));
+                } else {
+                    int previousRoundStart = roundStart - roundSize * 2;
+                    match.setFeederA(previousRoundStart + 2 * i);
+                    match.setFeederB(previousRoundStart + 2 * i + 1);
+                }
+                if (roundSize > 1) {
+                    match.setNextMatch(nextRoundStart + i / 2);
+                    match.setNextSide(i % 2);
+                }
+                matches.add(match);
+            }
+            roundStart = nextRoundStart;
+        }
+        // Pases libres: el mejor sembrado avanza sin jugar
+        for (PlannedMatch match : matches) {
+            if (match.getRound() == 1 && match.getPlayerB() == null) {
+                match.setBye(true);
+                match.setCompleted(true);
+                match.setWinner(match.getPlayerA());
+                matches.get(match.getNextMatch() - 1).setPlayer(match.getNextSide(), match.getPlayerA());
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Round robin in groups of at most {@code groupSize} players (snake-distributed by seed), using
+     * the circle method so every player plays at most once per round. Rounds of all groups are
+     * interleaved so the scheduler fills courts with every group at once.
+     */
+    public static List<PlannedMatch> roundRobin(List<Long> players, int groupSize) {
+        if (players.size() < 2 || groupSize < 2) {
+            throw new IllegalArgumentException("A round robin needs groups of at least 2 players");
+        }
+        int groupCount = (players.size() + groupSize - 1) / groupSize;
+        List<List<Long>> groups = new ArrayList<>(groupCount);
+        for (int g = 0; g < groupCount; g++) {
+            groups.add(new ArrayList<>());
+        }
+        for (int i = 0; i < players.size(); i++) {
+            int lap = i / groupCount;
+            int position = i % groupCount;
+            groups.get(lap % 2 == 0 ? position : groupCount - 1 - position).add(players.get(i));
+        }
+        for (List<Long> group : groups) {
+            if (group.size() % 2 == 1) {
+                group.add(null);
+            }
+        }
+
+        List<PlannedMatch> matches = new ArrayList<>();
+        int rounds = groups.stream().mapToInt(List::size).max().orElse(0) - 1;
+        for (int round = 0; round < rounds; round++) {
+            for (int g = 0; g < groupCount; g++) {
+                List<Long> group = groups.get(g);
+                int n = group.size();
+                if (round >= n - 1) {
+                    continue;
+                }
+                for (int i = 0; i < n / 2; i++) {
+                    Long a = circle(group, round, i);
+                    Long b = circle(group, round, n - 1 - i);
+                    if (a != null && b != null) {
+                        PlannedMatch match = new PlannedMatch(matches.size() + 1, round + 1, g + 1);
+                        match.setPlayerA(a);
+                        match.setPlayerB(b);
+                        matches.add(match);
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+
+    // Posición fija la 0; el resto rota una posición por ronda
+    private static Long circle(List<Long> group, int round, int position) {
+        if (position == 0) {
+            return group.get(0);
+        }
+        int n = group.size() - 1;
+        return group.get(1 + (position - 1 + round) % n);
+    }
+
+    private static Long seed(List<Long> players, int seed) {
+        return seed <= players.size() ? players.get(seed - 1) : null;
+    }
+
+    // Orden clásico de siembra: 1 vs N, 2 vs N-1, y los mejores se cruzan recién en la final
+    static int[] bracketOrder(int size) {
+        int[] order = {1};
+        while (order.length < size) {
+            int[] next = new int[order.length * 2];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = order.length * 2 + 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+}
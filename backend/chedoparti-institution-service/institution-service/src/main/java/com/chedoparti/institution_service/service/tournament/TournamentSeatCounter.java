@@ -0,0 +1,127 @@
+package com.chedoparti.institution_service.service.tournament;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntSupplier;
+
+/**
+ * Free seats per tournament, kept in memory so that once a tournament is full registrations go to
+ * the waitlist without touching the tournament row. Free seats are split across stripes (picked by
+ * user) so thousands of concurrent registrations do not all CAS the same word; a caller whose
+ * stripe is empty steals from the others, so the total is exact.
+ *
+ * <p>This is a filter in front of the conditional UPDATE on {@code tournaments.participants},
+ * which stays authoritative (e.g. with several instances). A tournament that looks full is
+ * reloaded from the database at most once per {@code resyncMillis}, so seats freed elsewhere
+ * become visible.</p>
+ */
+@Component
+public class TournamentSeatCounter {
+
+    // Cada franja en su propia línea de caché (16 ints = 64 bytes)
+    private static final int PADDING = 16;
+
+    private final int stripes;
+    private final long resyncMillis;
+    private final Map<Long, Seats> seats = new ConcurrentHashMap<>();
+
+    public TournamentSeatCounter(@Value("${institution.tournaments.registration.stripes:16}") int stripes,
+                                 @Value("${institution.tournaments.registration.resync-ms:1000}") long resyncMillis) {
+        this.stripes = stripes;
+        this.resyncMillis = resyncMillis;
+    }
+
+    /**
+     * Takes a free seat for the user.
+     *
+     * @param freeSeats loads the free seats from the database the first time (or on resync)
+     * @return whether a seat was taken; the caller must {@link #release} it if the registration fails
+     */
+    public boolean tryAcquire(long tournamentId, long userId, IntSupplier freeSeats) {
+        Seats current = seats.computeIfAbsent(tournamentId, id -> new Seats(freeSeats.getAsInt(), stripes));
+        if (current.tryAcquire(stripe(userId))) {
+            return true;
+        }
+        if (System.currentTimeMillis() - current.loadedAt < resyncMillis) {
+            return false;
+        }
+        // Lleno según la memoria: se vuelve a leer la base por si se liberó un lugar en otra instancia
+        Seats reloaded = new Seats(freeSeats.getAsInt(), stripes);
+        seats.put(tournamentId, reloaded);
+        return reloaded.tryAcquire(stripe(userId));
+    }
+
+    public void release(long tournamentId, long userId) {
+        Seats current = seats.get(tournamentId);
+        if (current != null) {
+            current.release(stripe(userId));
+        }
+    }
+
+    /**
+     * The database reported the tournament full although seats were left in memory.
+     */
+    public void markFull(long tournamentId) {
+        seats.put(tournamentId, new Seats(0, stripes));
+    }
+
+    /**
+     * Forgets the tournament; the next registration reloads it (capacity changed, tournament deleted).
+     */
+    public void reset(long tournamentId) {
+        seats.remove(tournamentId);
+    }
+
+    public int freeSeats(long tournamentId) {
+        Seats current = seats.get(tournamentId);
+        return current != null ? current.free() : -1;
+    }
+
+    private int stripe(long userId) {
+        return (int) Math.floorMod(userId * 0x9E3779B97F4A7C15L >>> 32, (long) stripes);
+    }
+
+    private static final class Seats {
+        private final AtomicIntegerArray free;
+        private final int stripes;
+        private final long loadedAt = System.currentTimeMillis();
+
+        Seats(int freeSeats, int stripes) {
+            this.stripes = stripes;
+            this.free = new AtomicIntegerArray(stripes * PADDING);
+            int seats = Math.max(freeSeats, 0);
+            for (int i = 0; i < stripes; i++) {
+                free.set(i * PADDING, seats / stripes + (i < seats % stripes ? 1 : 0));
+            }
+        }
+
+        boolean tryAcquire(int home) {
+            for (int i = 0; i < stripes; i++) {
+                int index = ((home + i) % stripes) * PADDING;
+                int left;
+                while ((left = free.get(index)) > 0) {
+                    if (free.compareAndSet(index, left, left - 1)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        void release(int home) {
+            free.incrementAndGet(home * PADDING);
+        }
+
+        int free() {
+            int total = 0;
+            for (int i = 0; i < stripes; i++) {
+                total += free.get(i * PADDING);
+            }
+            return total;
+        }
+    }
+}
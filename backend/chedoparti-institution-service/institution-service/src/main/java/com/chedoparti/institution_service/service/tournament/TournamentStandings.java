@@ -0,0 +1,129 @@
+package com.chedoparti.institution_service.service.tournament;
+
+import com.chedoparti.institution_service.dto.GroupStandingsDTO;
+import com.chedoparti.institution_service.dto.StandingDTO;
+import com.chedoparti.institution_service.dto.TournamentStandingsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Live round-robin standings per tournament. Each recorded result updates only its group's table
+ * and republishes that group, so reads return a prebuilt snapshot instead of recomputing from
+ * every match. Tournaments are independent, so results of many live tournaments update in
+ * parallel.
+ *
+ * <p>A tournament is loaded from its matches on first read; results recorded before that are kept
+ * and de-duplicated by match number, so a load racing a result never counts it twice. The state is
+ * per instance: it is reloaded after {@code refreshMillis} to pick up results recorded elsewhere.</p>
+ */
+@Component
+public class TournamentStandings {
+
+    private final int pointsPerWin;
+    private final int pointsPerLoss;
+    private final long refreshMillis;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public TournamentStandings(@Value("${institution.tournaments.standings.points-per-win:2}") int pointsPerWin,
+                               @Value("${institution.tournaments.standings.points-per-loss:1}") int pointsPerLoss,
+                               @Value("${institution.tournaments.standings.refresh-ms:60000}") long refreshMillis) {
+        this.pointsPerWin = pointsPerWin;
+        this.pointsPerLoss = pointsPerLoss;
+        this.refreshMillis = refreshMillis;
+    }
+
+    /**
+     * @param loader every round-robin match of the tournament, played or not (used on first read or refresh)
+     */
+    public TournamentStandingsDTO get(long tournamentId, Supplier<List<MatchOutcome>> loader) {
+        Entry entry = entries.computeIfAbsent(tournamentId, id -> new Entry());
+        TournamentStandingsDTO snapshot = entry.snapshot;
+        if (snapshot != null && System.currentTimeMillis() - entry.loadedAt < refreshMillis) {
+            return snapshot;
+        }
+        if (snapshot != null) {
+            // Entrada nueva: lo que se registre desde ahora va a ella y lo anterior ya está en la base
+            Entry fresh = new Entry();
+            entries.put(tournamentId, fresh);
+            entry = fresh;
+        }
+        synchronized (entry) {
+            if (entry.snapshot == null) {
+                try {
+                    loader.get().forEach(entry::apply);
+                } catch (RuntimeException e) {
+                    entries.remove(tournamentId, entry);
+                    throw e;
+                }
+                entry.loadedAt = System.currentTimeMillis();
+                entry.publishAll(tournamentId);
+            }
+            return entry.snapshot;
+        }
+    }
+
+    /**
+     * Applies a committed result; a match already counted is ignored.
+     */
+    public void record(long tournamentId, MatchOutcome outcome) {
+        Entry entry = entries.computeIfAbsent(tournamentId, id -> new Entry());
+        synchronized (entry) {
+            if (entry.apply(outcome) && entry.snapshot != null) {
+                entry.publish(tournamentId, outcome.group());
+            }
+        }
+    }
+
+    /**
+     * Forgets the tournament (rescheduled or deleted); the next read reloads it.
+     */
+    public void invalidate(long tournamentId) {
+        entries.remove(tournamentId);
+    }
+
+    private final class Entry {
+        private final Map<Integer, GroupStandings> groups = new TreeMap<>();
+        private final Map<Integer, GroupStandingsDTO> published = new TreeMap<>();
+        private final Set<Integer> applied = new HashSet<>();
+        private volatile TournamentStandingsDTO snapshot;
+        private volatile long loadedAt;
+
+        boolean apply(MatchOutcome outcome) {
+            if (outcome.played() && !applied.add(outcome.matchNumber())) {
+                return false;
+            }
+            groups.computeIfAbsent(outcome.group(), group -> new GroupStandings(pointsPerWin, pointsPerLoss))
+                    .apply(outcome);
+            return true;
+        }
+
+        void publishAll(long tournamentId) {
+            groups.forEach((group, standings) -> published.put(group, toDTO(group, standings)));
+            snapshot = new TournamentStandingsDTO(tournamentId, List.copyOf(published.values()));
+        }
+
+        void publish(long tournamentId, int group) {
+            published.put(group, toDTO(group, groups.get(group)));
+            snapshot = new TournamentStandingsDTO(tournamentId, List.copyOf(published.values()));
+        }
+    }
+
+    private static GroupStandingsDTO toDTO(int group, GroupStandings standings) {
+        List<GroupStandings.Row> ranking = standings.ranking();
+        List<StandingDTO> rows = new ArrayList<>(ranking.size());
+        for (GroupStandings.Row row : ranking) {
+            rows.add(new StandingDTO(rows.size() + 1, row.getPlayerId(), row.getPlayed(), row.getWon(), row.getLost(),
+                    row.getPoints(), row.getSetsWon(), row.getSetsLost(), row.getGamesWon(), row.getGamesLost()));
+        }
+        return new GroupStandingsDTO(group, List.copyOf(rows));
+    }
+}
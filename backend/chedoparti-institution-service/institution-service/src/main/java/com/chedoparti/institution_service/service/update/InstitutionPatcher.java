@@ -0,0 +1,182 @@
+package com.chedoparti.institution_service.service.update;
+
+import com.chedoparti.institution_service.dto.CourtPatchDTO;
+import com.chedoparti.institution_service.dto.InstitutionPatchDTO;
+import com.chedoparti.institution_service.entity.Court;
+import com.chedoparti.institution_service.entity.Institution;
+import com.chedoparti.institution_service.entity.OpeningHour;
+import com.chedoparti.institution_service.entity.SpecialClosure;
+import com.chedoparti.institution_service.repository.CourtRepository;
+import com.chedoparti.institution_service.repository.OpeningHourRepository;
+import com.chedoparti.institution_service.repository.SpecialClosureRepository;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Applies an {@link InstitutionPatchDTO} to a managed institution touching only what changed.
+ * Scalar fields are only set when they differ, and child collections are diffed by id, so Hibernate
+ * (with {@code @DynamicUpdate}) emits one narrow UPDATE per modified row, one INSERT per new child
+ * and one DELETE per removed child instead of rewriting the whole aggregate.
+ */
+@Component
+public class InstitutionPatcher {
+
+    /**
+     * What the patch touched, so callers only refresh the derived indexes that depend on it.
+     */
+    public record Changes(boolean location, boolean schedule, boolean any) {
+    }
+
+    @FunctionalInterface
+    private interface Copier<D, E> {
+        boolean copy(D source, E target);
+    }
+
+    private final OpeningHourRepository openingHourRepository;
+    private final SpecialClosureRepository specialClosureRepository;
+    private final CourtRepository courtRepository;
+
+    public InstitutionPatcher(OpeningHourRepository openingHourRepository,
+                              SpecialClosureRepository specialClosureRepository,
+                              CourtRepository courtRepository) {
+        this.openingHourRepository = openingHourRepository;
+        this.specialClosureRepository = specialClosureRepository;
+        this.courtRepository = courtRepository;
+    }
+
+    public Changes apply(InstitutionPatchDTO patch, Institution institution) {
+        boolean changed = set(patch.getName(), institution.getName(), institution::setName);
+        changed |= set(patch.getDescription(), institution.getDescription(), institution::setDescription);
+        changed |= set(patch.getContactEmail(), institution.getContactEmail(), institution::setContactEmail);
+        changed |= set(patch.getContactPhone(), institution.getContactPhone(), institution::setContactPhone);
+        changed |= set(patch.getWebsite(), institution.getWebsite(), institution::setWebsite);
+        changed |= set(patch.getAddress(), institution.getAddress(), institution::setAddress);
+        changed |= set(patch.getImages(), institution.getImages(), institution::setImages);
+        changed |= set(patch.getSocialMediaLinks(), institution.getSocialMediaLinks(), institution::setSocialMediaLinks);
+        changed |= set(patch.getRating(), institution.getRating(), institution::setRating);
+        changed |= set(patch.getFacilities(), institution.getFacilities(), institution::setFacilities);
+        boolean location = set(patch.getLocation(), institution.getLocation(), institution::setLocation);
+
+        boolean schedule = false;
+        if (patch.getOpeningHours() != null) {
+            schedule = sync(institution, institution.getOpeningHours(), institution::setOpeningHours,
+                    patch.getOpeningHours(), OpeningHour::getId, OpeningHour::getId,
+                    InstitutionPatcher::copyOpeningHour, desired -> {
+                        OpeningHour hour = new OpeningHour();
+                        copyOpeningHour(desired, hour);
+                        hour.setInstitution(institution);
+                        return hour;
+                    }, openingHourRepository, "Opening hour");
+        }
+        if (patch.getSpecialClosures() != null) {
+            schedule |= sync(institution, institution.getSpecialClosures(), institution::setSpecialClosures,
+                    patch.getSpecialClosures(), SpecialClosure::getId, SpecialClosure::getId,
+                    InstitutionPatcher::copyClosure, desired -> {
+                        SpecialClosure closure = new SpecialClosure();
+                        copyClosure(desired, closure);
+                        closure.setInstitution(institution);
+                        return closure;
+                    }, specialClosureRepository, "Special closure");
+        }
+        boolean courts = false;
+        if (patch.getCourts() != null) {
+            courts = sync(institution, institution.getCourts(), institution::setCourts,
+                    patch.getCourts(), Court::getId, CourtPatchDTO::getId,
+                    InstitutionPatcher::copyCourt, desired -> {
+                        Court court = new Court();
+                        copyCourt(desired, court);
+                        court.setInstitution(institution);
+                        return court;
+                    }, courtRepository, "Court");
+        }
+        return new Changes(location, schedule, changed || location || schedule || courts);
+    }
+
+    /**
+     * Diffs {@code current} against {@code desired} by id. Returns whether any row was added,
+     * modified or removed.
+     */
+    private static <E, D> boolean sync(Institution institution, List<E> current, Consumer<List<E>> setCurrent,
+                                       List<D> desired, Function<E, Long> entityId, Function<D, Long> desiredId,
+                                       Copier<D, E> copier, Function<D, E> create,
+                                       JpaRepository<E, Long> repository, String label) {
+        if (current == null) {
+            current = new ArrayList<>();
+            setCurrent.accept(current);
+        }
+        Map<Long, D> desiredById = new HashMap<>();
+        for (D item : desired) {
+            if (desiredId.apply(item) != null) {
+                desiredById.put(desiredId.apply(item), item);
+            }
+        }
+
+        boolean changed = false;
+        Map<Long, E> currentById = new HashMap<>();
+        for (Iterator<E> it = current.iterator(); it.hasNext(); ) {
+            E child = it.next();
+            D target = desiredById.get(entityId.apply(child));
+            if (target == null) {
+                it.remove();
+                repository.delete(child);
+                changed = true;
+            } else {
+                currentById.put(entityId.apply(child), child);
+            }
+        }
+        for (Long id : desiredById.keySet()) {
+            if (!currentById.containsKey(id)) {
+                throw new IllegalArgumentException(
+                        label + " " + id + " does not belong to institution " + institution.getId());
+            }
+        }
+
+        for (D item : desired) {
+            Long id = desiredId.apply(item);
+            if (id == null) {
+                current.add(create.apply(item));
+                changed = true;
+            } else {
+                changed |= copier.copy(item, currentById.get(id));
+            }
+        }
+        return changed;
+    }
+
+    private static boolean copyOpeningHour(OpeningHour source, OpeningHour target) {
+        boolean changed = set(source.getDayOfWeek(), target.getDayOfWeek(), target::setDayOfWeek);
+        changed |= set(source.getOpenTime(), target.getOpenTime(), target::setOpenTime);
+        changed |= set(source.getCloseTime(), target.getCloseTime(), target::setCloseTime);
+        return changed;
+    }
+
+    private static boolean copyClosure(SpecialClosure source, SpecialClosure target) {
+        boolean changed = set(source.getDate(), target.getDate(), target::setDate);
+        changed |= set(source.getReason(), target.getReason(), target::setReason);
+        return changed;
+    }
+
+    private static boolean copyCourt(CourtPatchDTO source, Court target) {
+        boolean changed = set(source.getFieldType(), target.getFieldType(), target::setFieldType);
+        changed |= set(source.getPricePerHour(), target.getPricePerHour(), target::setPricePerHour);
+        changed |= set(source.getAvailability(), target.isAvailability(), target::setAvailability);
+        return changed;
+    }
+
+    private static <T> boolean set(T value, T current, Consumer<T> setter) {
+        if (value == null || Objects.equals(value, current)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+}
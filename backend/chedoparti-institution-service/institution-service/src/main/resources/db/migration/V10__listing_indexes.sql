@@ -0,0 +1,18 @@
+-- Keyset listings: every filter combination of the group and tournament listings walks an index
+-- in id order and stops after one page. Groups and tournaments are still created outside Flyway.
+DO $$
+BEGIN
+    IF to_regclass('groups') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_groups_coach_id ON groups (coach_id, id);
+        CREATE INDEX IF NOT EXISTS idx_groups_coach_sport_id ON groups (coach_id, sport, id);
+        -- Grupos activos de un profesor: el filtro más usado
+        CREATE INDEX IF NOT EXISTS idx_groups_coach_active_id ON groups (coach_id, id) WHERE is_archived = FALSE;
+    END IF;
+    IF to_regclass('tournaments') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_tournaments_institution_id ON tournaments (institution_id, id DESC);
+        CREATE INDEX IF NOT EXISTS idx_tournaments_institution_status_id ON tournaments (institution_id, status, id DESC);
+        CREATE INDEX IF NOT EXISTS idx_tournaments_sport_id ON tournaments (sport, id DESC);
+        CREATE INDEX IF NOT EXISTS idx_tournaments_status_id ON tournaments (status, id DESC);
+        CREATE INDEX IF NOT EXISTS idx_tournaments_date ON tournaments (date);
+    END IF;
+END $$;
@@ -0,0 +1,144 @@
+-- Core schema under Flyway. With ddl-auto=none nothing in the service created these tables: existing
+-- databases got them outside Flyway, and every migration tolerated their absence. On a fresh database
+-- they are created here, on an existing one every statement is a no-op. Columns match the entity
+-- mappings, including those added by V2-V4.
+CREATE TABLE IF NOT EXISTS institutions (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    contact_email VARCHAR(255),
+    contact_phone VARCHAR(255),
+    website VARCHAR(255),
+    street VARCHAR(255),
+    number VARCHAR(255),
+    city VARCHAR(255),
+    state VARCHAR(255),
+    postal_code VARCHAR(255),
+    country VARCHAR(255),
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    images VARCHAR(255),
+    social_media_links VARCHAR(255),
+    rating DOUBLE PRECISION,
+    facilities VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS opening_hour (
+    id BIGSERIAL PRIMARY KEY,
+    day_of_week VARCHAR(255),
+    open_time VARCHAR(255),
+    close_time VARCHAR(255),
+    institution_id BIGINT REFERENCES institutions (id)
+);
+
+CREATE TABLE IF NOT EXISTS special_closure (
+    id BIGSERIAL PRIMARY KEY,
+    date DATE,
+    reason VARCHAR(255),
+    institution_id BIGINT REFERENCES institutions (id)
+);
+
+CREATE TABLE IF NOT EXISTS courts (
+    id BIGSERIAL PRIMARY KEY,
+    field_type VARCHAR(255),
+    price_per_hour DOUBLE PRECISION NOT NULL,
+    availability BOOLEAN NOT NULL,
+    institution_id BIGINT REFERENCES institutions (id)
+);
+
+-- promotion_type se guarda por ordinal (EPromotionType)
+CREATE TABLE IF NOT EXISTS promotions (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    discount_percentage DOUBLE PRECISION,
+    start_date DATE,
+    end_date DATE,
+    promotion_type SMALLINT,
+    days_of_week VARCHAR(255),
+    start_time TIME,
+    end_time TIME,
+    min_duration_minutes INTEGER,
+    max_uses INTEGER,
+    institution_id BIGINT REFERENCES institutions (id)
+);
+
+CREATE TABLE IF NOT EXISTS promotion_applications (
+    id BIGSERIAL PRIMARY KEY,
+    promotion_id BIGINT REFERENCES promotions (id),
+    reservation_id UUID,
+    discount_applied DOUBLE PRECISION,
+    applied_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS groups (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255),
+    sport VARCHAR(255),
+    coach_id BIGINT,
+    is_archived BOOLEAN NOT NULL DEFAULT FALSE,
+    institution_id BIGINT REFERENCES institutions (id)
+);
+
+CREATE TABLE IF NOT EXISTS tournaments (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255),
+    sport VARCHAR(255),
+    category VARCHAR(255),
+    gender VARCHAR(255),
+    age_range VARCHAR(255),
+    date DATE,
+    inscription VARCHAR(255),
+    status VARCHAR(255),
+    participants INTEGER,
+    max_participants INTEGER,
+    format VARCHAR(32),
+    match_duration_minutes INTEGER,
+    rest_minutes INTEGER,
+    daily_start_time TIME,
+    daily_end_time TIME,
+    schedule_days INTEGER,
+    institution_id BIGINT REFERENCES institutions (id)
+);
+
+-- Claves foráneas que V3, V4 y V6 no pudieron crear si las tablas todavía no existían
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_tournament_matches_tournament') THEN
+        ALTER TABLE tournament_matches ADD CONSTRAINT fk_tournament_matches_tournament
+            FOREIGN KEY (tournament_id) REFERENCES tournaments (id) ON DELETE CASCADE;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_tournament_registrations_tournament') THEN
+        ALTER TABLE tournament_registrations ADD CONSTRAINT fk_tournament_registrations_tournament
+            FOREIGN KEY (tournament_id) REFERENCES tournaments (id) ON DELETE CASCADE;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_court_blocks_court') THEN
+        ALTER TABLE court_blocks ADD CONSTRAINT fk_court_blocks_court
+            FOREIGN KEY (court_id) REFERENCES courts (id) ON DELETE CASCADE;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_coach_schedules_court') THEN
+        ALTER TABLE coach_schedules ADD CONSTRAINT fk_coach_schedules_court
+            FOREIGN KEY (court_id) REFERENCES courts (id) ON DELETE SET NULL;
+    END IF;
+END $$;
+
+-- Hot queries: one index per repository finder, plus the referencing side of every foreign key so
+-- that deleting an institution does not scan its children. group_students is indexed by V9.
+CREATE INDEX IF NOT EXISTS idx_courts_institution ON courts (institution_id);
+CREATE INDEX IF NOT EXISTS idx_opening_hour_institution ON opening_hour (institution_id);
+CREATE INDEX IF NOT EXISTS idx_special_closure_institution_date ON special_closure (institution_id, date);
+CREATE INDEX IF NOT EXISTS idx_promotions_institution ON promotions (institution_id);
+CREATE INDEX IF NOT EXISTS idx_promotion_applications_promotion ON promotion_applications (promotion_id);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_promotion_applications_promotion_reservation
+    ON promotion_applications (promotion_id, reservation_id);
+
+-- V10 los omitía si groups/tournaments no existían
+CREATE INDEX IF NOT EXISTS idx_groups_coach_id ON groups (coach_id, id);
+CREATE INDEX IF NOT EXISTS idx_groups_coach_sport_id ON groups (coach_id, sport, id);
+CREATE INDEX IF NOT EXISTS idx_groups_coach_active_id ON groups (coach_id, id) WHERE is_archived = FALSE;
+CREATE INDEX IF NOT EXISTS idx_groups_institution ON groups (institution_id);
+CREATE INDEX IF NOT EXISTS idx_tournaments_institution_id ON tournaments (institution_id, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tournaments_institution_status_id ON tournaments (institution_id, status, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tournaments_sport_id ON tournaments (sport, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tournaments_status_id ON tournaments (status, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tournaments_date ON tournaments (date);
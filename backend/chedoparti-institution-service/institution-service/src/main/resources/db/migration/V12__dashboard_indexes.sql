@@ -0,0 +1,4 @@
+-- Institution dashboard counts: upcoming tournaments and active groups of one institution.
+-- Courts and promotions are already counted through idx_courts_institution / idx_promotions_institution.
+CREATE INDEX IF NOT EXISTS idx_tournaments_institution_date ON tournaments (institution_id, date);
+CREATE INDEX IF NOT EXISTS idx_groups_institution_active ON groups (institution_id) WHERE is_archived = FALSE;
@@ -0,0 +1,21 @@
+-- Promotion rules (days, time window, minimum duration, usage cap) and the application ledger.
+-- The core tables are still created outside Flyway, so every statement tolerates their absence.
+ALTER TABLE IF EXISTS promotions ADD COLUMN IF NOT EXISTS days_of_week VARCHAR(255);
+ALTER TABLE IF EXISTS promotions ADD COLUMN IF NOT EXISTS start_time TIME;
+ALTER TABLE IF EXISTS promotions ADD COLUMN IF NOT EXISTS end_time TIME;
+ALTER TABLE IF EXISTS promotions ADD COLUMN IF NOT EXISTS min_duration_minutes INTEGER;
+ALTER TABLE IF EXISTS promotions ADD COLUMN IF NOT EXISTS max_uses INTEGER;
+
+-- Reservation ids are UUIDs in reservation-service; the ledger was never written, so nothing to convert
+ALTER TABLE IF EXISTS promotion_applications ALTER COLUMN reservation_id TYPE UUID USING NULL;
+
+-- Usage counters are reconciled on startup with one aggregate per promotion
+DO $$
+BEGIN
+    IF to_regclass('promotion_applications') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_promotion_applications_promotion ON promotion_applications (promotion_id);
+        -- Una promoción se aplica una sola vez por reserva: los reintentos no consumen otro cupo
+        CREATE UNIQUE INDEX IF NOT EXISTS uq_promotion_applications_promotion_reservation
+            ON promotion_applications (promotion_id, reservation_id);
+    END IF;
+END $$;
@@ -0,0 +1,53 @@
+-- Tournament scheduling: fixture configuration, scheduled matches and per-court blocks.
+-- The core tables are still created outside Flyway, so foreign keys are added only if they exist.
+ALTER TABLE IF EXISTS tournaments ADD COLUMN IF NOT EXISTS format VARCHAR(32);
+ALTER TABLE IF EXISTS tournaments ADD COLUMN IF NOT EXISTS match_duration_minutes INTEGER;
+ALTER TABLE IF EXISTS tournaments ADD COLUMN IF NOT EXISTS rest_minutes INTEGER;
+ALTER TABLE IF EXISTS tournaments ADD COLUMN IF NOT EXISTS daily_start_time TIME;
+ALTER TABLE IF EXISTS tournaments ADD COLUMN IF NOT EXISTS daily_end_time TIME;
+ALTER TABLE IF EXISTS tournaments ADD COLUMN IF NOT EXISTS schedule_days INTEGER;
+
+CREATE TABLE IF NOT EXISTS tournament_matches (
+    id BIGSERIAL PRIMARY KEY,
+    tournament_id BIGINT NOT NULL,
+    match_number INTEGER NOT NULL,
+    round INTEGER NOT NULL,
+    group_number INTEGER,
+    player_a_id BIGINT,
+    player_b_id BIGINT,
+    feeder_a INTEGER,
+    feeder_b INTEGER,
+    next_match INTEGER,
+    next_side INTEGER,
+    court_id BIGINT,
+    starts_at TIMESTAMP,
+    ends_at TIMESTAMP,
+    winner_id BIGINT,
+    status VARCHAR(32),
+    CONSTRAINT uk_tournament_matches_number UNIQUE (tournament_id, match_number)
+);
+
+CREATE TABLE IF NOT EXISTS court_blocks (
+    id BIGSERIAL PRIMARY KEY,
+    court_id BIGINT NOT NULL,
+    starts_at TIMESTAMP NOT NULL,
+    ends_at TIMESTAMP NOT NULL,
+    reason VARCHAR(255)
+);
+
+-- Bloqueos que se solapan con la grilla del torneo
+CREATE INDEX IF NOT EXISTS idx_court_blocks_court_period ON court_blocks (court_id, starts_at, ends_at);
+
+DO $$
+BEGIN
+    IF to_regclass('tournaments') IS NOT NULL AND NOT EXISTS (
+            SELECT 1 FROM pg_constraint WHERE conname = 'fk_tournament_matches_tournament') THEN
+        ALTER TABLE tournament_matches ADD CONSTRAINT fk_tournament_matches_tournament
+            FOREIGN KEY (tournament_id) REFERENCES tournaments (id) ON DELETE CASCADE;
+    END IF;
+    IF to_regclass('courts') IS NOT NULL AND NOT EXISTS (
+            SELECT 1 FROM pg_constraint WHERE conname = 'fk_court_blocks_court') THEN
+        ALTER TABLE court_blocks ADD CONSTRAINT fk_court_blocks_court
+            FOREIGN KEY (court_id) REFERENCES courts (id) ON DELETE CASCADE;
+    END IF;
+END $$;
@@ -0,0 +1,25 @@
+-- Tournament registration: capacity on the tournament and one registration per user.
+-- The core tables are still created outside Flyway, so foreign keys are added only if they exist.
+ALTER TABLE IF EXISTS tournaments ADD COLUMN IF NOT EXISTS max_participants INTEGER;
+
+CREATE TABLE IF NOT EXISTS tournament_registrations (
+    id BIGSERIAL PRIMARY KEY,
+    tournament_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    registered_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_tournament_registrations_user UNIQUE (tournament_id, user_id)
+);
+
+-- Inscriptos y lista de espera en orden de llegada
+CREATE INDEX IF NOT EXISTS idx_tournament_registrations_status
+    ON tournament_registrations (tournament_id, status, registered_at, id);
+
+DO $$
+BEGIN
+    IF to_regclass('tournaments') IS NOT NULL AND NOT EXISTS (
+            SELECT 1 FROM pg_constraint WHERE conname = 'fk_tournament_registrations_tournament') THEN
+        ALTER TABLE tournament_registrations ADD CONSTRAINT fk_tournament_registrations_tournament
+            FOREIGN KEY (tournament_id) REFERENCES tournaments (id) ON DELETE CASCADE;
+    END IF;
+END $$;
@@ -0,0 +1,6 @@
+-- Match scores for the tournament standings, stored from player A's side.
+ALTER TABLE IF EXISTS tournament_matches ADD COLUMN IF NOT EXISTS sets_a INTEGER;
+ALTER TABLE IF EXISTS tournament_matches ADD COLUMN IF NOT EXISTS sets_b INTEGER;
+ALTER TABLE IF EXISTS tournament_matches ADD COLUMN IF NOT EXISTS games_a INTEGER;
+ALTER TABLE IF EXISTS tournament_matches ADD COLUMN IF NOT EXISTS games_b INTEGER;
+ALTER TABLE IF EXISTS tournament_matches ADD COLUMN IF NOT EXISTS score VARCHAR(64);
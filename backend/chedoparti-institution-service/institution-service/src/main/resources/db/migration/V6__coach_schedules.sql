@@ -0,0 +1,46 @@
+-- Coach classes. The application checks overlaps in memory; the exclusion constraints keep two
+-- instances from booking the same coach or court at once (they need btree_gist).
+CREATE TABLE IF NOT EXISTS coach_schedules (
+    id BIGSERIAL PRIMARY KEY,
+    coach_id BIGINT NOT NULL,
+    group_id BIGINT,
+    court_id BIGINT,
+    sport VARCHAR(255),
+    title VARCHAR(255),
+    starts_at TIMESTAMP NOT NULL,
+    ends_at TIMESTAMP NOT NULL,
+    notes TEXT,
+    CONSTRAINT ck_coach_schedules_period CHECK (ends_at > starts_at)
+);
+
+-- Semana de un profesor, clases de un grupo y carga del índice en memoria
+CREATE INDEX IF NOT EXISTS idx_coach_schedules_coach_starts ON coach_schedules (coach_id, starts_at);
+CREATE INDEX IF NOT EXISTS idx_coach_schedules_group ON coach_schedules (group_id);
+CREATE INDEX IF NOT EXISTS idx_coach_schedules_ends ON coach_schedules (ends_at);
+
+DO $$
+BEGIN
+    IF to_regclass('courts') IS NOT NULL AND NOT EXISTS (
+            SELECT 1 FROM pg_constraint WHERE conname = 'fk_coach_schedules_court') THEN
+        ALTER TABLE coach_schedules ADD CONSTRAINT fk_coach_schedules_court
+            FOREIGN KEY (court_id) REFERENCES courts (id) ON DELETE SET NULL;
+    END IF;
+END $$;
+
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS btree_gist;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_coach_schedules_coach') THEN
+        ALTER TABLE coach_schedules ADD CONSTRAINT ex_coach_schedules_coach
+            EXCLUDE USING gist (coach_id WITH =, tsrange(starts_at, ends_at) WITH &&);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_coach_schedules_court') THEN
+        ALTER TABLE coach_schedules ADD CONSTRAINT ex_coach_schedules_court
+            EXCLUDE USING gist (court_id WITH =, tsrange(starts_at, ends_at) WITH &&);
+    END IF;
+EXCEPTION WHEN insufficient_privilege OR undefined_file THEN
+    RAISE NOTICE 'btree_gist is not available: coach schedule overlaps are only checked by the application';
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_court_blocks_ends ON court_blocks (ends_at);
+CREATE INDEX IF NOT EXISTS idx_tournament_matches_ends ON tournament_matches (ends_at);
@@ -0,0 +1,4 @@
+-- Weekly class series: classes created together share a series id.
+ALTER TABLE IF EXISTS coach_schedules ADD COLUMN IF NOT EXISTS series_id UUID;
+
+CREATE INDEX IF NOT EXISTS idx_coach_schedules_series ON coach_schedules (series_id);
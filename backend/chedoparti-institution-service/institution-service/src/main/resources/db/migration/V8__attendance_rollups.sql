@@ -0,0 +1,43 @@
+-- Attendance marks: one row per (class, student); coach, group and date are copied from the class.
+-- No foreign key to the class: marks are history and stay consistent with the rollups when a class is deleted.
+CREATE TABLE IF NOT EXISTS attendance (
+    id BIGSERIAL PRIMARY KEY,
+    schedule_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    coach_id BIGINT NOT NULL,
+    group_id BIGINT,
+    class_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    marked_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_attendance_schedule_student UNIQUE (schedule_id, student_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_attendance_group_date ON attendance (group_id, class_date);
+
+ALTER TABLE IF EXISTS coach_schedules ADD COLUMN IF NOT EXISTS attendance_taken BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Rollups semanales: las estadísticas suman estas filas en lugar de recorrer las marcas.
+-- group_id = 0 agrupa las clases sin grupo.
+CREATE TABLE IF NOT EXISTS attendance_weekly_rollups (
+    coach_id BIGINT NOT NULL,
+    group_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    week_start DATE NOT NULL,
+    present INTEGER NOT NULL DEFAULT 0,
+    late INTEGER NOT NULL DEFAULT 0,
+    absent INTEGER NOT NULL DEFAULT 0,
+    excused INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (coach_id, group_id, student_id, week_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_attendance_rollups_coach_week ON attendance_weekly_rollups (coach_id, week_start);
+
+CREATE TABLE IF NOT EXISTS attendance_weekly_classes (
+    coach_id BIGINT NOT NULL,
+    group_id BIGINT NOT NULL,
+    week_start DATE NOT NULL,
+    classes INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (coach_id, group_id, week_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_attendance_classes_coach_week ON attendance_weekly_classes (coach_id, week_start);
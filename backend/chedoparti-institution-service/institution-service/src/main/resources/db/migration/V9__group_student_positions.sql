@@ -0,0 +1,20 @@
+-- Group students in an explicit order. Positions are spaced 1024 apart so that moving a student
+-- only rewrites its own row; existing memberships are numbered by student id.
+CREATE TABLE IF NOT EXISTS group_students (
+    group_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL
+);
+
+ALTER TABLE group_students ADD COLUMN IF NOT EXISTS position BIGINT;
+
+UPDATE group_students gs
+SET position = numbered.rn * 1024
+FROM (SELECT group_id, student_id, ROW_NUMBER() OVER (PARTITION BY group_id ORDER BY student_id) AS rn
+      FROM group_students) numbered
+WHERE gs.group_id = numbered.group_id AND gs.student_id = numbered.student_id AND gs.position IS NULL;
+
+ALTER TABLE group_students ALTER COLUMN position SET NOT NULL;
+
+-- Alta idempotente (ON CONFLICT) y lectura ordenada de un grupo
+CREATE UNIQUE INDEX IF NOT EXISTS uk_group_students_group_student ON group_students (group_id, student_id);
+CREATE INDEX IF NOT EXISTS idx_group_students_group_position ON group_students (group_id, position);
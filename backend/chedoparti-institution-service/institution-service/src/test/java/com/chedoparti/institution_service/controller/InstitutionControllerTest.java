@@ -0,0 +1,72 @@
+package com.chedoparti.institution_service.controller;
+
+import com.chedoparti.institution_service.service.InstitutionService;
+import com.chedoparti.institution_service.service.cache.InstitutionCatalogCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class InstitutionControllerTest {
+
+    private final InstitutionCatalogCache cache = new InstitutionCatalogCache(new ObjectMapper());
+    private final List<String> catalog = new ArrayList<>(List.of("Club Centro"));
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        InstitutionService institutionService = mock(InstitutionService.class);
+        when(institutionService.getInstitutionCatalog()).thenAnswer(invocation -> cache.get(() -> List.copyOf(catalog)));
+        mockMvc = MockMvcBuilders.standaloneSetup(new InstitutionController(institutionService, null, null)).build();
+    }
+
+    @Test
+    void catalogIsServedWithItsEtag() throws Exception {
+        String etag = cache.get(() -> List.copyOf(catalog)).etag();
+
+        mockMvc.perform(get("/api/institutions"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().json("[\"Club Centro\"]"));
+    }
+
+    @Test
+    void matchingIfNoneMatchGets304WithoutBody() throws Exception {
+        String etag = cache.get(() -> List.copyOf(catalog)).etag();
+
+        mockMvc.perform(get("/api/institutions").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+        // Comparación débil, como la envían algunos proxies
+        mockMvc.perform(get("/api/institutions").header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void invalidationServesTheNewCatalogToOldEtags() throws Exception {
+        String etag = cache.get(() -> List.copyOf(catalog)).etag();
+
+        catalog.add("Padel Norte");
+        cache.invalidate();
+
+        mockMvc.perform(get("/api/institutions").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(content().json("[\"Club Centro\",\"Padel Norte\"]"));
+    }
+}
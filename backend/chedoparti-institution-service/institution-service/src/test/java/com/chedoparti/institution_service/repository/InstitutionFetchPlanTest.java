@@ -0,0 +1,142 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.dto.InstitutionDTO;
+import com.chedoparti.institution_service.entity.Court;
+import com.chedoparti.institution_service.entity.Institution;
+import com.chedoparti.institution_service.entity.OpeningHour;
+import com.chedoparti.institution_service.entity.Promotion;
+import com.chedoparti.institution_service.entity.SpecialClosure;
+import com.chedoparti.institution_service.mapper.InstitutionMapper;
+import com.chedoparti.institution_service.mapper.InstitutionMapperImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the fetch plan behind GET /api/institutions: loading and mapping the whole catalog must
+ * run the same, constant number of statements however many institutions exist.
+ */
+@DataJpaTest
+@Import(InstitutionMapperImpl.class)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class InstitutionFetchPlanTest {
+
+    @Autowired
+    private InstitutionRepository institutionRepository;
+
+    @Autowired
+    private InstitutionMapper institutionMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void catalogRunsConstantNumberOfStatements() {
+        createInstitutions(3);
+        long smallCatalog = countCatalogStatements(3);
+
+        createInstitutions(30);
+        long largeCatalog = countCatalogStatements(33);
+
+        // 1 consulta de instituciones + 1 subselect por cada colección
+        assertThat(smallCatalog).isEqualTo(5);
+        assertThat(largeCatalog).isEqualTo(smallCatalog);
+    }
+
+    @Test
+    void summariesRunSingleStatement() {
+        createInstitutions(10);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        assertThat(institutionRepository.findAllSummaries()).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private long countCatalogStatements(int expectedInstitutions) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<InstitutionDTO> catalog = institutionMapper.institutionsToInstitutionDTOs(institutionRepository.findAll());
+
+        assertThat(catalog).hasSize(expectedInstitutions)
+                .allSatisfy(institution -> {
+                    assertThat(institution.getOpeningHours()).hasSize(2);
+                    assertThat(institution.getSpecialClosures()).hasSize(1);
+                    assertThat(institution.getCourts()).hasSize(2);
+                    assertThat(institution.getPromotions()).hasSize(1);
+                });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createInstitutions(int count) {
+        for (int i = 0; i < count; i++) {
+            Institution institution = new Institution();
+            institution.setName("Club " + i);
+            institution.setOpeningHours(List.of(openingHour(institution, "MONDAY"), openingHour(institution, "TUESDAY")));
+            institution.setSpecialClosures(List.of(closure(institution)));
+            institution.setCourts(List.of(court(institution, "PADEL"), court(institution, "TENNIS")));
+            institution.setPromotions(List.of(promotion(institution)));
+            institutionRepository.save(institution);
+        }
+    }
+
+    private static OpeningHour openingHour(Institution institution, String day) {
+        OpeningHour hour = new OpeningHour();
+        hour.setDayOfWeek(day);
+        hour.setOpenTime("08:00");
+        hour.setCloseTime("23:00");
+        hour.setInstitution(institution);
+        return hour;
+    }
+
+    private static SpecialClosure closure(Institution institution) {
+        SpecialClosure closure = new SpecialClosure();
+        closure.setDate(LocalDate.of(2025, 12, 25));
+        closure.setReason("Navidad");
+        closure.setInstitution(institution);
+        return closure;
+    }
+
+    private static Court court(Institution institution, String fieldType) {
+        Court court = new Court();
+        court.setFieldType(fieldType);
+        court.setPricePerHour(100);
+        court.setAvailability(true);
+        court.setInstitution(institution);
+        return court;
+    }
+
+    private static Promotion promotion(Institution institution) {
+        Promotion promotion = new Promotion();
+        promotion.setName("Happy hour");
+        promotion.setDiscountPercentage(10.0);
+        promotion.setInstitution(institution);
+        return promotion;
+    }
+}
@@ -0,0 +1,195 @@
+package com.chedoparti.institution_service.repository;
+
+import com.chedoparti.institution_service.entity.Group;
+import com.chedoparti.institution_service.entity.Tournament;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every Court, Group and Tournament finder must be answered from the index meant for it: each finder
+ * is run once to capture the SQL Hibernate generates, and the plan EXPLAIN gives for that SQL must
+ * use only the expected indexes. A listing served by the primary key plus a filter fails, even
+ * though it is an index scan. The schema is the one the Flyway migrations build, on the same
+ * PostgreSQL the service runs against, with enough analyzed rows for the planner to tell the
+ * indexes apart. Needs Docker: without it the test fails rather than being skipped.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        // Con tablas de pocas páginas recorrerlas sale barato: así solo lo hace si no hay índice
+        "spring.datasource.hikari.connection-init-sql=SET enable_seqscan = off",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.chedoparti.institution_service.repository.RepositoryIndexPlanTest$CapturedStatements"
+})
+class RepositoryIndexPlanTest {
+
+    // GENERIC_PLAN (EXPLAIN sin valores para los parámetros) existe desde PostgreSQL 16
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Pattern INDEX_SCAN = Pattern.compile("Index (?:Only )?Scan(?: Backward)? (?:using|on) (\\w+)");
+
+    public static class CapturedStatements implements StatementInspector {
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private CourtRepository courtRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        // 50 clubes; por club 100 canchas, 40 grupos (50 profesores, 5 deportes, 1 de cada 4 archivado)
+        // y 100 torneos repartidos en 4 estados, 5 deportes y un año
+        jdbcTemplate.update("INSERT INTO institutions (name) SELECT 'Club ' || i FROM generate_series(1, 50) i");
+        jdbcTemplate.update("INSERT INTO courts (field_type, price_per_hour, availability, institution_id) "
+                + "SELECT 'PADEL', 100, TRUE, i.id FROM institutions i, generate_series(1, 100)");
+        jdbcTemplate.update("INSERT INTO groups (name, sport, coach_id, is_archived, institution_id) "
+                + "SELECT 'Grupo', (ARRAY['PADEL', 'TENNIS', 'FUTBOL', 'HOCKEY', 'SQUASH'])[1 + g % 5], "
+                + "(i.id * 40 + g) % 50, g % 4 = 0, i.id FROM institutions i, generate_series(1, 40) g");
+        jdbcTemplate.update("INSERT INTO tournaments (name, sport, status, date, participants, institution_id) "
+                + "SELECT 'Torneo', (ARRAY['PADEL', 'TENNIS', 'FUTBOL', 'HOCKEY', 'SQUASH'])[1 + t % 5], "
+                + "(ARRAY['OPEN', 'CLOSED', 'FINISHED', 'CANCELLED'])[1 + t % 4], DATE '2024-01-01' + (t * 7) % 365, "
+                + "0, i.id FROM institutions i, generate_series(1, 100) t");
+        jdbcTemplate.execute("ANALYZE institutions, courts, groups, tournaments");
+    }
+
+    @Test
+    void courtFindersUseIndexes() {
+        assertIndexBacked("findByInstitutionId", () -> courtRepository.findByInstitutionId(1L),
+                "idx_courts_institution");
+        assertIndexBacked("findByIdAndInstitutionId", () -> courtRepository.findByIdAndInstitutionId(1L, 1L),
+                "courts_pkey");
+        assertIndexBacked("countByInstitutionId", () -> courtRepository.countByInstitutionId(1L),
+                "idx_courts_institution");
+    }
+
+    @Test
+    void groupFindersUseIndexes() {
+        assertIndexBacked("lockById", () -> groupRepository.lockById(1L), "groups_pkey");
+        assertIndexBacked("countByInstitutionIdAndIsArchivedFalse",
+                () -> groupRepository.countByInstitutionIdAndIsArchivedFalse(1L), "idx_groups_institution_active");
+        assertIndexBacked("coach", () -> listGroups(GroupSpecifications.coach(1L)), "idx_groups_coach_id");
+        assertIndexBacked("coach + after", () -> listGroups(Specification.where(GroupSpecifications.coach(1L))
+                .and(GroupSpecifications.after(10L))), "idx_groups_coach_id");
+        assertIndexBacked("coach + sport", () -> listGroups(Specification.where(GroupSpecifications.coach(1L))
+                .and(GroupSpecifications.sport("PADEL"))), "idx_groups_coach_sport_id");
+        assertIndexBacked("coach + active", () -> listGroups(Specification.where(GroupSpecifications.coach(1L))
+                .and(GroupSpecifications.archived(false))), "idx_groups_coach_active_id");
+        // Cualquiera de los dos índices (o ambos combinados) restringe por columna
+        assertIndexBacked("coach + institution", () -> listGroups(Specification.where(GroupSpecifications.coach(1L))
+                .and(GroupSpecifications.institution(1L))), "idx_groups_coach_id", "idx_groups_institution");
+    }
+
+    @Test
+    void tournamentFindersUseIndexes() {
+        assertIndexBacked("findSeatsById", () -> tournamentRepository.findSeatsById(1L), "tournaments_pkey");
+        assertIndexBacked("incrementParticipants", () -> tournamentRepository.incrementParticipants(1L),
+                "tournaments_pkey");
+        assertIndexBacked("decrementParticipants", () -> tournamentRepository.decrementParticipants(1L),
+                "tournaments_pkey");
+        assertIndexBacked("countByInstitutionIdAndDateGreaterThanEqual", () -> tournamentRepository
+                .countByInstitutionIdAndDateGreaterThanEqual(1L, LocalDate.of(2024, 1, 1)),
+                "idx_tournaments_institution_date");
+        assertIndexBacked("institution", () -> listTournaments(TournamentSpecifications.institution(1L)),
+                "idx_tournaments_institution_id");
+        assertIndexBacked("institution + status + before", () -> listTournaments(
+                Specification.where(TournamentSpecifications.institution(1L))
+                        .and(TournamentSpecifications.status("OPEN"))
+                        .and(TournamentSpecifications.before(100L))), "idx_tournaments_institution_status_id");
+        assertIndexBacked("sport", () -> listTournaments(TournamentSpecifications.sport("PADEL")),
+                "idx_tournaments_sport_id");
+        assertIndexBacked("status", () -> listTournaments(TournamentSpecifications.status("OPEN")),
+                "idx_tournaments_status_id");
+        assertIndexBacked("date range", () -> listTournaments(
+                Specification.where(TournamentSpecifications.dateFrom(LocalDate.of(2024, 1, 1)))
+                        .and(TournamentSpecifications.dateTo(LocalDate.of(2024, 1, 7)))), "idx_tournaments_date");
+    }
+
+    private void listGroups(Specification<Group> filter) {
+        groupRepository.findBy(filter, query -> query.sortBy(Sort.by("id")).limit(51).all());
+    }
+
+    private void listTournaments(Specification<Tournament> filter) {
+        tournamentRepository.findBy(filter,
+                query -> query.sortBy(Sort.by(Sort.Direction.DESC, "id")).limit(51).all());
+    }
+
+    private void assertIndexBacked(String finder, Runnable call, String... expectedIndexes) {
+        CapturedStatements.SQL.clear();
+        call.run();
+        List<String> statements = List.copyOf(CapturedStatements.SQL);
+
+        assertThat(statements).as(finder).isNotEmpty();
+        for (String sql : statements) {
+            String plan = String.join("\n",
+                    jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql), String.class));
+            assertThat(plan).as(finder + "\n" + plan).doesNotContain("Seq Scan");
+            assertThat(usedIndexes(plan)).as(finder + "\n" + plan).isNotEmpty().isSubsetOf(expectedIndexes);
+        }
+    }
+
+    // Cubre Index Scan, Index Only Scan, Backward y Bitmap Index Scan
+    private static Set<String> usedIndexes(String plan) {
+        Set<String> indexes = new HashSet<>();
+        Matcher matcher = INDEX_SCAN.matcher(plan);
+        while (matcher.find()) {
+            indexes.add(matcher.group(1));
+        }
+        return indexes;
+    }
+
+    // Los ? de JDBC pasan a $1..$n, que es lo que EXPLAIN acepta sin valores
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+}
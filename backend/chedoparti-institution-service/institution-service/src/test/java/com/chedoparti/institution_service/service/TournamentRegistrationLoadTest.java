@@ -0,0 +1,233 @@
+package com.chedoparti.institution_service.service;
+
+import com.chedoparti.institution_service.dto.TournamentDTO;
+import com.chedoparti.institution_service.dto.TournamentRegistrationDTO;
+import com.chedoparti.institution_service.entity.Tournament;
+import com.chedoparti.institution_service.enums.ERegistrationStatus;
+import com.chedoparti.institution_service.repository.TournamentRegistrationRepository;
+import com.chedoparti.institution_service.repository.TournamentRepository;
+import com.chedoparti.institution_service.service.tournament.TournamentSeatCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Thousands of concurrent registrations (with retries of the same user) against a small capacity
+ * must confirm exactly the capacity, waitlist everyone else and register each user once. Capacity
+ * changes hand new seats to the waitlist in order, and neither edits nor cancellations racing with
+ * registrations lose a seat.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TournamentRegistrationService.class, TournamentSeatCounter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        // Base embebida con pool (la de @DataJpaTest abre una conexión por transacción)
+        "spring.datasource.url=jdbc:h2:mem:registrations;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+class TournamentRegistrationLoadTest {
+
+    private static final int CAPACITY = 200;
+    private static final int USERS = 3_000;
+    private static final int RETRIES_PER_USER = 2;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private TournamentRegistrationService registrationService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private TournamentRegistrationRepository registrationRepository;
+
+    @AfterEach
+    void cleanUp() {
+        registrationRepository.deleteAll();
+        tournamentRepository.deleteAll();
+    }
+
+    @Test
+    void neverOversubscribes() throws Exception {
+        Tournament tournament = new Tournament();
+        tournament.setName("Open de verano");
+        tournament.setParticipants(0);
+        tournament.setMaxParticipants(CAPACITY);
+        Long tournamentId = tournamentRepository.save(tournament).getId();
+
+        List<Long> requests = new ArrayList<>();
+        for (long user = 1; user <= USERS; user++) {
+            for (int retry = 0; retry < RETRIES_PER_USER; retry++) {
+                requests.add(user);
+            }
+        }
+        Collections.shuffle(requests, new java.util.Random(7));
+
+        Map<Long, ERegistrationStatus> firstAnswer = new ConcurrentHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long user : requests) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                TournamentRegistrationDTO registration = registrationService.register(tournamentId, user);
+                firstAnswer.putIfAbsent(user, registration.getStatus());
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertThat(tournamentRepository.findById(tournamentId).orElseThrow().getParticipants()).isEqualTo(CAPACITY);
+        assertThat(registrationService.list(tournamentId, ERegistrationStatus.REGISTERED)).hasSize(CAPACITY);
+        assertThat(registrationService.list(tournamentId, ERegistrationStatus.WAITLISTED)).hasSize(USERS - CAPACITY);
+        assertThat(registrationRepository.count()).isEqualTo(USERS);
+        assertThat(firstAnswer.values().stream().filter(ERegistrationStatus.REGISTERED::equals)).hasSize(CAPACITY);
+
+        // Una baja libera el lugar para el primero en espera; el cupo sigue completo
+        Long leaving = registrationService.list(tournamentId, ERegistrationStatus.REGISTERED).get(0).getUserId();
+        Long firstWaiting = registrationService.list(tournamentId, ERegistrationStatus.WAITLISTED).get(0).getUserId();
+        registrationService.cancel(tournamentId, leaving);
+
+        assertThat(tournamentRepository.findById(tournamentId).orElseThrow().getParticipants()).isEqualTo(CAPACITY);
+        assertThat(registrationService.register(tournamentId, firstWaiting).getStatus())
+                .isEqualTo(ERegistrationStatus.REGISTERED);
+        assertThat(registrationService.list(tournamentId, ERegistrationStatus.REGISTERED)).hasSize(CAPACITY);
+    }
+
+    @Test
+    void capacityChangesMoveTheWaitlist() {
+        Tournament tournament = new Tournament();
+        tournament.setName("Torneo de invierno");
+        tournament.setParticipants(0);
+        tournament.setMaxParticipants(3);
+        Long tournamentId = tournamentRepository.save(tournament).getId();
+        for (long user = 1; user <= 6; user++) {
+            registrationService.register(tournamentId, user);
+        }
+
+        // Los lugares nuevos van a la lista de espera en orden de inscripción
+        assertThat(registrationService.changeCapacity(tournamentId, 5).getParticipants()).isEqualTo(5);
+        assertThat(userIds(tournamentId, ERegistrationStatus.REGISTERED)).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(userIds(tournamentId, ERegistrationStatus.WAITLISTED)).containsExactly(6L);
+        assertThat(registrationService.register(tournamentId, 7L).getStatus()).isEqualTo(ERegistrationStatus.WAITLISTED);
+
+        assertThatThrownBy(() -> registrationService.changeCapacity(tournamentId, 4))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(tournamentRepository.findById(tournamentId).orElseThrow().getMaxParticipants()).isEqualTo(5);
+
+        // Sin límite: entra toda la lista de espera
+        Tournament unlimited = registrationService.changeCapacity(tournamentId, null);
+        assertThat(unlimited.getParticipants()).isEqualTo(7);
+        assertThat(userIds(tournamentId, ERegistrationStatus.WAITLISTED)).isEmpty();
+        assertThat(registrationService.register(tournamentId, 8L).getStatus()).isEqualTo(ERegistrationStatus.REGISTERED);
+        assertThat(tournamentRepository.findById(tournamentId).orElseThrow().getParticipants()).isEqualTo(8);
+    }
+
+    @Test
+    void editsRacingWithRegistrationsKeepTheSeatCount() throws Exception {
+        Long tournamentId = tournament("Copa primavera", 50);
+
+        List<Callable<Object>> calls = new ArrayList<>();
+        for (long user = 1; user <= 300; user++) {
+            long registering = user;
+            calls.add(() -> registrationService.register(tournamentId, registering));
+            if (user % 5 == 0) {
+                TournamentDTO edit = new TournamentDTO();
+                edit.setName("Copa primavera " + user);
+                // Algunas ediciones reenvían el cupo; participants del pedido se ignora siempre
+                edit.setMaxParticipants(user % 10 == 0 ? 50 : null);
+                edit.setParticipants(0);
+                calls.add(() -> registrationService.update(tournamentId, edit));
+            }
+        }
+        runConcurrently(calls);
+
+        assertThat(tournamentRepository.findById(tournamentId).orElseThrow().getParticipants()).isEqualTo(50);
+        assertThat(userIds(tournamentId, ERegistrationStatus.REGISTERED)).hasSize(50);
+        assertThat(userIds(tournamentId, ERegistrationStatus.WAITLISTED)).hasSize(250);
+    }
+
+    @Test
+    void cancellationsRacingWithRegistrationsLeaveNoSeatEmpty() throws Exception {
+        Long tournamentId = tournament("Copa otoño", 20);
+        for (long user = 1; user <= 20; user++) {
+            registrationService.register(tournamentId, user);
+        }
+
+        List<Callable<Object>> calls = new ArrayList<>();
+        for (long user = 1; user <= 20; user++) {
+            long leaving = user;
+            long arriving = 100 + user;
+            calls.add(() -> registrationService.cancel(tournamentId, leaving));
+            calls.add(() -> registrationService.register(tournamentId, arriving));
+            calls.add(() -> registrationService.register(tournamentId, arriving + 100));
+        }
+        runConcurrently(calls);
+
+        // Los 40 nuevos ocupan los 20 lugares liberados y el resto espera: ninguno queda vacío
+        assertThat(tournamentRepository.findById(tournamentId).orElseThrow().getParticipants()).isEqualTo(20);
+        assertThat(userIds(tournamentId, ERegistrationStatus.REGISTERED)).hasSize(20).allMatch(user -> user > 100);
+        assertThat(userIds(tournamentId, ERegistrationStatus.WAITLISTED)).hasSize(20);
+    }
+
+    private Long tournament(String name, int capacity) {
+        Tournament tournament = new Tournament();
+        tournament.setName(name);
+        tournament.setParticipants(0);
+        tournament.setMaxParticipants(capacity);
+        return tournamentRepository.save(tournament).getId();
+    }
+
+    private static void runConcurrently(List<Callable<Object>> calls) throws Exception {
+        Collections.shuffle(calls, new java.util.Random(11));
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (Callable<Object> call : calls) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+        start.countDown();
+        for (Future<Object> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+    }
+
+    private List<Long> userIds(Long tournamentId, ERegistrationStatus status) {
+        return registrationService.list(tournamentId, status).stream().map(TournamentRegistrationDTO::getUserId).toList();
+    }
+}
@@ -0,0 +1,61 @@
+package com.chedoparti.institution_service.service.attendance;
+
+import com.chedoparti.institution_service.enums.EAttendanceStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttendanceDeltasTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+
+    @Test
+    void weeksStartOnMonday() {
+        assertThat(AttendanceDeltas.weekOf(MONDAY)).isEqualTo(MONDAY);
+        assertThat(AttendanceDeltas.weekOf(MONDAY.plusDays(6))).isEqualTo(MONDAY);
+        assertThat(AttendanceDeltas.weekOf(MONDAY.plusDays(7))).isEqualTo(MONDAY.plusDays(7));
+    }
+
+    @Test
+    void changingAMarkMovesOneUnitBetweenStatuses() {
+        AttendanceDeltas deltas = new AttendanceDeltas();
+        deltas.change(1, 5L, 100, MONDAY.plusDays(2), EAttendanceStatus.ABSENT, EAttendanceStatus.LATE);
+
+        List<Map.Entry<AttendanceDeltas.StudentWeek, int[]>> students = deltas.students();
+        assertThat(students).hasSize(1);
+        assertThat(students.get(0).getKey()).isEqualTo(new AttendanceDeltas.StudentWeek(1, 5, 100, MONDAY));
+        assertThat(students.get(0).getValue()).containsExactly(0, 1, -1, 0);
+    }
+
+    @Test
+    void changesThatCancelOutAreNotWritten() {
+        AttendanceDeltas deltas = new AttendanceDeltas();
+        deltas.change(1, null, 100, MONDAY, EAttendanceStatus.PRESENT, EAttendanceStatus.ABSENT);
+        // Otra clase de la misma semana vuelve a dejar al alumno como estaba
+        deltas.change(1, null, 100, MONDAY.plusDays(1), EAttendanceStatus.ABSENT, EAttendanceStatus.PRESENT);
+        deltas.change(1, null, 100, MONDAY, EAttendanceStatus.PRESENT, EAttendanceStatus.PRESENT);
+
+        assertThat(deltas.students()).isEmpty();
+        assertThat(deltas.isEmpty()).isTrue();
+    }
+
+    @Test
+    void classesAreCountedPerWeekAndKeysAreSorted() {
+        AttendanceDeltas deltas = new AttendanceDeltas();
+        deltas.classTaken(2, 7L, MONDAY.plusDays(8));
+        deltas.classTaken(1, null, MONDAY.plusDays(3));
+        deltas.classTaken(1, null, MONDAY);
+        deltas.change(2, 7L, 300, MONDAY, null, EAttendanceStatus.PRESENT);
+        deltas.change(1, 7L, 200, MONDAY, null, EAttendanceStatus.EXCUSED);
+
+        assertThat(deltas.classes()).extracting(Map.Entry::getKey).containsExactly(
+                new AttendanceDeltas.ClassWeek(1, AttendanceDeltas.NO_GROUP, MONDAY),
+                new AttendanceDeltas.ClassWeek(2, 7, MONDAY.plusDays(7)));
+        assertThat(deltas.classes()).extracting(Map.Entry::getValue).containsExactly(2, 1);
+        assertThat(deltas.students()).extracting(entry -> entry.getKey().studentId()).containsExactly(200L, 300L);
+    }
+}
@@ -0,0 +1,155 @@
+package com.chedoparti.institution_service.service.attendance;
+
+import com.chedoparti.institution_service.dto.AttendanceDTO;
+import com.chedoparti.institution_service.enums.EAttendanceStatus;
+import com.chedoparti.institution_service.exception.IngestionOverloadedException;
+import com.chedoparti.institution_service.service.AttendanceService;
+import com.chedoparti.institution_service.service.coach.CoachScheduleIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AttendanceIngestorTest {
+
+    private static final long CLASS_ID = 1;
+    private static final LocalDateTime STARTS_AT = LocalDate.now().plusDays(1).atTime(18, 0);
+
+    /**
+     * Guarda lo que se escribiría en la base; puede fallar a pedido.
+     */
+    private static class RecordingService extends AttendanceService {
+        final List<List<AttendanceMark>> batches = new ArrayList<>();
+        int failures;
+
+        @Override
+        public int apply(List<AttendanceMark> marks) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("database down");
+            }
+            batches.add(List.copyOf(marks));
+            return marks.size();
+        }
+    }
+
+    @TempDir
+    Path journalDir;
+
+    private final CoachScheduleIndex index = new CoachScheduleIndex(null, null, null, "UTC");
+    private final List<AttendanceIngestor> started = new ArrayList<>();
+
+    @AfterEach
+    void stopAll() throws Exception {
+        for (AttendanceIngestor ingestor : started) {
+            ingestor.stop();
+        }
+    }
+
+    @Test
+    void repeatCheckInsAreWrittenOnceWithTheLatestStatus() throws Exception {
+        RecordingService service = new RecordingService();
+        AttendanceIngestor ingestor = start(service, 100);
+
+        ingestor.checkIn(CLASS_ID, List.of(item(10, EAttendanceStatus.LATE)));
+        ingestor.checkIn(CLASS_ID, List.of(item(11, null), item(10, EAttendanceStatus.PRESENT)));
+        assertThat(ingestor.backlog()).isEqualTo(2);
+
+        ingestor.flush();
+
+        assertThat(service.batches).hasSize(1);
+        assertThat(service.batches.get(0)).extracting(AttendanceMark::studentId, AttendanceMark::status)
+                .containsExactly(
+                        tuple(10L, EAttendanceStatus.PRESENT),
+                        tuple(11L, EAttendanceStatus.PRESENT));
+        assertThat(ingestor.backlog()).isZero();
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    void acknowledgedCheckInsSurviveACrash() throws Exception {
+        AttendanceIngestor crashed = new AttendanceIngestor(new RecordingService(), index, null,
+                journalDir.toString(), true, 100, 500, 3_600_000);
+        placeClass();
+        crashed.start();
+        crashed.checkIn(CLASS_ID, List.of(item(10, EAttendanceStatus.ABSENT), item(11, EAttendanceStatus.LATE)));
+        // Sin stop(): el proceso murió con las marcas solo en el diario
+
+        RecordingService service = new RecordingService();
+        AttendanceIngestor restarted = start(service, 100);
+        assertThat(restarted.backlog()).isEqualTo(2);
+        restarted.flush();
+
+        assertThat(service.batches).singleElement().satisfies(batch ->
+                assertThat(batch).extracting(AttendanceMark::studentId).containsExactly(10L, 11L));
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    void failedBatchesKeepTheirJournalUntilWritten() throws Exception {
+        RecordingService service = new RecordingService();
+        service.failures = 1;
+        AttendanceIngestor ingestor = start(service, 100);
+
+        ingestor.checkIn(CLASS_ID, List.of(item(10, EAttendanceStatus.PRESENT)));
+        ingestor.flush();
+        assertThat(service.batches).isEmpty();
+        assertThat(ingestor.backlog()).isEqualTo(1);
+        assertThat(segments()).hasSize(1);
+
+        ingestor.checkIn(CLASS_ID, List.of(item(10, EAttendanceStatus.EXCUSED)));
+        ingestor.flush();
+        assertThat(service.batches).singleElement().satisfies(batch ->
+                assertThat(batch).extracting(AttendanceMark::status).containsExactly(EAttendanceStatus.EXCUSED));
+        assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    void fullBufferRejectsNewStudentsButNotRepeats() throws Exception {
+        AttendanceIngestor ingestor = start(new RecordingService(), 1);
+
+        ingestor.checkIn(CLASS_ID, List.of(item(10, EAttendanceStatus.PRESENT)));
+        ingestor.checkIn(CLASS_ID, List.of(item(10, EAttendanceStatus.LATE)));
+        assertThatThrownBy(() -> ingestor.checkIn(CLASS_ID, List.of(item(11, EAttendanceStatus.PRESENT))))
+                .isInstanceOf(IngestionOverloadedException.class);
+        assertThat(ingestor.backlog()).isEqualTo(1);
+    }
+
+    private AttendanceIngestor start(AttendanceService service, int capacity) throws Exception {
+        AttendanceIngestor ingestor = new AttendanceIngestor(service, index, null, journalDir.toString(), true,
+                capacity, 500, 3_600_000);
+        placeClass();
+        ingestor.start();
+        started.add(ingestor);
+        return ingestor;
+    }
+
+    private void placeClass() {
+        if (index.classPlacement(CLASS_ID) == null) {
+            index.tryPlaceClass(CLASS_ID, 7L, null, STARTS_AT, STARTS_AT.plusHours(1));
+        }
+    }
+
+    private List<Path> segments() throws Exception {
+        try (var files = Files.list(journalDir)) {
+            return files.toList();
+        }
+    }
+
+    private static AttendanceDTO item(long studentId, EAttendanceStatus status) {
+        AttendanceDTO dto = new AttendanceDTO();
+        dto.setStudentId(studentId);
+        dto.setStatus(status);
+        return dto;
+    }
+}
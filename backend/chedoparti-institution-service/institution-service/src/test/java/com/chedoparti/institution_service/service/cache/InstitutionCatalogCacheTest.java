@@ -0,0 +1,87 @@
+package com.chedoparti.institution_service.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstitutionCatalogCacheTest {
+
+    private final InstitutionCatalogCache cache = new InstitutionCatalogCache(new ObjectMapper());
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<String> catalog = new ArrayList<>(List.of("Club Centro"));
+
+    @Test
+    void hitsReuseTheSnapshotUntilInvalidated() {
+        InstitutionCatalogCache.Snapshot first = cache.get(loader());
+
+        assertThat(new String(first.body(), StandardCharsets.UTF_8)).isEqualTo("[\"Club Centro\"]");
+        assertThat(first.etag()).matches("\"[0-9a-f]{32}\"");
+        assertThat(cache.get(loader())).isSameAs(first);
+        assertThat(loads).hasValue(1);
+
+        catalog.add("Pádel Norte");
+        // Sin invalidar se sigue sirviendo la versión anterior
+        assertThat(cache.get(loader())).isSameAs(first);
+
+        cache.invalidate();
+        InstitutionCatalogCache.Snapshot second = cache.get(loader());
+        assertThat(loads).hasValue(2);
+        assertThat(second.version()).isGreaterThan(first.version());
+        assertThat(second.etag()).isNotEqualTo(first.etag());
+        assertThat(new String(second.body(), StandardCharsets.UTF_8)).contains("Pádel Norte");
+    }
+
+    @Test
+    void etagDependsOnlyOnTheBody() {
+        InstitutionCatalogCache.Snapshot first = cache.get(loader());
+
+        cache.invalidate();
+        InstitutionCatalogCache.Snapshot reloaded = cache.get(loader());
+
+        // Misma respuesta tras la recarga (o en otra réplica): el cliente sigue recibiendo 304
+        assertThat(loads).hasValue(2);
+        assertThat(reloaded.etag()).isEqualTo(first.etag());
+        InstitutionCatalogCache replica = new InstitutionCatalogCache(new ObjectMapper());
+        assertThat(replica.get(loader()).etag()).isEqualTo(first.etag());
+    }
+
+    @Test
+    void writeDuringLoadForcesAnotherReload() {
+        InstitutionCatalogCache.Snapshot stale = cache.get(() -> {
+            loads.incrementAndGet();
+            List<String> read = List.copyOf(catalog);
+            // Una escritura confirmada mientras se arma el catálogo
+            catalog.add("Pádel Norte");
+            cache.invalidate();
+            return read;
+        });
+
+        InstitutionCatalogCache.Snapshot fresh = cache.get(loader());
+        assertThat(loads).hasValue(2);
+        assertThat(fresh.etag()).isNotEqualTo(stale.etag());
+        assertThat(cache.get(loader())).isSameAs(fresh);
+    }
+
+    @Test
+    void serializationFailureIsNotCached() {
+        assertThatThrownBy(() -> cache.get(Object::new)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get(loader()).body()).isNotEmpty();
+        assertThat(loads).hasValue(1);
+    }
+
+    private Supplier<List<String>> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return List.copyOf(catalog);
+        };
+    }
+}
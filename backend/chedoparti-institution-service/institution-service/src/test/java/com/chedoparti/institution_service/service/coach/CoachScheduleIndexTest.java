@@ -0,0 +1,134 @@
+package com.chedoparti.institution_service.service.coach;
+
+import com.chedoparti.institution_service.entity.CoachSchedule;
+import com.chedoparti.institution_service.entity.Court;
+import com.chedoparti.institution_service.entity.CourtBlock;
+import com.chedoparti.institution_service.enums.EOccupancyKind;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoachScheduleIndexTest {
+
+    private static final LocalDateTime MONDAY = LocalDate.now().plusDays(7).atTime(9, 0);
+
+    private final CoachScheduleIndex index = new CoachScheduleIndex(null, null, null, "UTC");
+
+    @Test
+    void detectsCoachAndCourtOverlapsButNotTouchingClasses() {
+        assertThat(index.tryPlaceClass(1, 10L, 100L, MONDAY, MONDAY.plusHours(1))).isEmpty();
+
+        // Mismo profesor en otra cancha
+        assertThat(index.conflicts(10L, 200L, MONDAY.plusMinutes(30), MONDAY.plusMinutes(90), null))
+                .extracting(Occupancy::id).containsExactly(1L);
+        // Otro profesor en la misma cancha
+        assertThat(index.conflicts(20L, 100L, MONDAY.minusMinutes(30), MONDAY.plusMinutes(1), null))
+                .extracting(Occupancy::id).containsExactly(1L);
+        // Pegada a la anterior: no se pisa
+        assertThat(index.conflicts(10L, 100L, MONDAY.plusHours(1), MONDAY.plusHours(2), null)).isEmpty();
+        assertThat(index.tryPlaceClass(2, 20L, 100L, MONDAY.plusMinutes(59), MONDAY.plusHours(2)))
+                .extracting(Occupancy::id).containsExactly(1L);
+        assertThat(index.classPlacement(2)).isNull();
+    }
+
+    @Test
+    void movingAClassIgnoresItselfAndFreesItsOldSlot() {
+        index.tryPlaceClass(1, 10L, 100L, MONDAY, MONDAY.plusHours(1));
+
+        assertThat(index.tryPlaceClass(1, 10L, 100L, MONDAY.plusMinutes(30), MONDAY.plusMinutes(90))).isEmpty();
+        assertThat(index.conflicts(20L, 100L, MONDAY, MONDAY.plusMinutes(30), null)).isEmpty();
+
+        Occupancy moved = index.classPlacement(1);
+        index.tryPlaceClass(1, 10L, 100L, MONDAY.plusHours(5), MONDAY.plusHours(6));
+        index.restoreClass(1, moved);
+        assertThat(index.conflicts(20L, 100L, MONDAY.plusMinutes(40), MONDAY.plusMinutes(50), null))
+                .extracting(Occupancy::id).containsExactly(1L);
+        assertThat(index.conflicts(20L, 100L, MONDAY.plusHours(5), MONDAY.plusHours(6), null)).isEmpty();
+    }
+
+    @Test
+    void courtBlocksAndMatchesSpanningDaysBlockTheCourt() {
+        CourtBlock block = new CourtBlock();
+        block.setId(7L);
+        Court court = new Court();
+        court.setId(100L);
+        block.setCourt(court);
+        block.setStartsAt(MONDAY.minusDays(2));
+        block.setEndsAt(MONDAY.plusDays(1));
+        index.putCourtBlock(block);
+        index.putTournamentMatch(3L, 50L, 200L, MONDAY.plusHours(23), MONDAY.plusHours(25));
+
+        List<Occupancy> onBlockedCourt = index.conflicts(10L, 100L, MONDAY, MONDAY.plusHours(1), null);
+        assertThat(onBlockedCourt).extracting(Occupancy::kind).containsExactly(EOccupancyKind.COURT_BLOCK);
+        // El partido cruza la medianoche: choca desde los dos días
+        assertThat(index.conflicts(null, 200L, MONDAY.plusHours(24), MONDAY.plusHours(26), null))
+                .extracting(Occupancy::id).containsExactly(50L);
+
+        index.removeTournament(3L);
+        assertThat(index.conflicts(null, 200L, MONDAY.plusHours(24), MONDAY.plusHours(26), null)).isEmpty();
+    }
+
+    @Test
+    void aSeriesIsPlacedWholeOrNotAtAll() {
+        LocalDate from = MONDAY.toLocalDate();
+        List<ClassSeries.Occurrence> occurrences = ClassSeries.occurrences(from, from.plusMonths(9).minusDays(1),
+                Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY), LocalTime.of(18, 0), LocalTime.of(19, 30));
+        assertThat(occurrences).hasSizeBetween(115, 119);
+        assertThat(occurrences).allMatch(occurrence -> occurrence.endsAt().minusMinutes(90).equals(occurrence.startsAt()));
+
+        index.tryPlaceClass(1, 99L, 100L, occurrences.get(50).startsAt(), occurrences.get(50).endsAt());
+        List<CoachSchedule> series = new ArrayList<>();
+        for (ClassSeries.Occurrence occurrence : occurrences) {
+            CoachSchedule schedule = new CoachSchedule();
+            schedule.setId(1_000L + series.size());
+            schedule.setCoachId(10L);
+            schedule.setCourtId(100L);
+            schedule.setStartsAt(occurrence.startsAt());
+            schedule.setEndsAt(occurrence.endsAt());
+            series.add(schedule);
+        }
+
+        assertThat(index.tryPlaceClasses(series)).extracting(Occupancy::id).containsExactly(1L);
+        assertThat(index.classPlacement(1_000L)).isNull();
+
+        index.removeClass(1);
+        assertThat(index.tryPlaceClasses(series)).isEmpty();
+        assertThat(index.conflicts(20L, 100L, occurrences.get(0).startsAt(), occurrences.get(0).endsAt(), null))
+                .extracting(Occupancy::id).containsExactly(1_000L);
+    }
+
+    @Test
+    void checksStayFastWithAFullSeason() {
+        // 40 profesores, 3 clases por día durante 9 meses en 20 canchas
+        long id = 0;
+        for (int day = 0; day < 270; day++) {
+            for (long coach = 0; coach < 40; coach++) {
+                for (int slot = 0; slot < 3; slot++) {
+                    LocalDateTime start = MONDAY.plusDays(day).plusHours(slot * 2L + (coach % 2));
+                    index.tryPlaceClass(++id, coach, 1_000 + (coach + slot) % 20, start, start.plusHours(1));
+                }
+            }
+        }
+
+        long begin = System.nanoTime();
+        int busy = 0;
+        for (int i = 0; i < 100_000; i++) {
+            LocalDateTime start = MONDAY.plusDays(i % 270).plusMinutes(i % 600);
+            if (!index.conflicts((long) (i % 40), 1_000L + i % 20, start, start.plusHours(1), null).isEmpty()) {
+                busy++;
+            }
+        }
+        long millis = (System.nanoTime() - begin) / 1_000_000;
+
+        assertThat(busy).isPositive();
+        assertThat(millis).isLessThan(2_000);
+    }
+}
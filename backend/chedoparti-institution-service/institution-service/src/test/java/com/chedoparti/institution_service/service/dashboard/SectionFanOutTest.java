@@ -0,0 +1,73 @@
+package com.chedoparti.institution_service.service.dashboard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SectionFanOutTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sectionsRunConcurrently() {
+        Map<String, Supplier<?>> sections = new LinkedHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            long value = i;
+            sections.put("section" + i, () -> {
+                sleep(200);
+                return value;
+            });
+        }
+
+        long started = System.nanoTime();
+        SectionFanOut.Result result = new SectionFanOut(executor, 2000).run(sections);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        // Cuatro secciones de 200 ms: el total se acerca al máximo, no a la suma
+        assertThat(elapsedMs).isLessThan(600);
+        assertThat(result.unavailable()).isEmpty();
+        assertThat(result.get("section3", Long.class)).isEqualTo(3L);
+    }
+
+    @Test
+    void failedAndSlowSectionsAreReportedWithoutLosingTheRest() {
+        Map<String, Supplier<?>> sections = new LinkedHashMap<>();
+        sections.put("courts", () -> 12L);
+        sections.put("occupancy", () -> {
+            throw new IllegalStateException("reservation-service is down");
+        });
+        sections.put("tournaments", () -> {
+            sleep(1000);
+            return 3L;
+        });
+
+        long started = System.nanoTime();
+        SectionFanOut.Result result = new SectionFanOut(executor, 100).run(sections);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(elapsedMs).isLessThan(800);
+        assertThat(result.get("courts", Long.class)).isEqualTo(12L);
+        assertThat(result.get("tournaments", Long.class)).isNull();
+        assertThat(result.unavailable()).containsExactly("occupancy", "tournaments");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
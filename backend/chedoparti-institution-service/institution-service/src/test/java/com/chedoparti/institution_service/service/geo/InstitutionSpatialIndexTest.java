@@ -0,0 +1,154 @@
+package com.chedoparti.institution_service.service.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstitutionSpatialIndexTest {
+
+    private final InstitutionSpatialIndex index = new InstitutionSpatialIndex(0.05);
+
+    @Test
+    void findsPointsAcrossCellBoundaries() {
+        fillFarAway(200);
+        // -34.60 / -58.40 caen justo sobre bordes de celda de 0.05°
+        index.put(1, -34.60, -58.40);
+        index.put(2, -34.60, -58.4001);
+        index.put(3, -34.5999, -58.40);
+        index.put(4, -34.6001, -58.3999);
+        index.put(5, -34.65, -58.45);
+
+        assertThat(ids(index.nearest(-34.60, -58.40, 1, 10))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(ids(index.nearest(-34.60, -58.40, 10, 10))).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void radiusSpanningSeveralCellsReturnsOnlyPointsInsideItNearestFirst() {
+        fillFarAway(500);
+        Map<Long, double[]> points = new HashMap<>();
+        Random random = new Random(31);
+        for (long id = 1; id <= 300; id++) {
+            double latitude = -31.42 + (random.nextDouble() - 0.5) * 0.6;
+            double longitude = -64.18 + (random.nextDouble() - 0.5) * 0.6;
+            index.put(id, latitude, longitude);
+            points.put(id, new double[]{latitude, longitude});
+        }
+
+        List<InstitutionSpatialIndex.Hit> hits = index.nearest(-31.42, -64.18, 12, 1_000);
+
+        List<Long> expected = points.entrySet().stream()
+                .filter(e -> distance(-31.42, -64.18, e.getValue()) <= 12)
+                .sorted(Comparator.comparingDouble(e -> distance(-31.42, -64.18, e.getValue())))
+                .map(Map.Entry::getKey)
+                .toList();
+        assertThat(expected).isNotEmpty().hasSizeLessThan(300);
+        assertThat(ids(hits)).containsExactlyElementsOf(expected);
+        assertThat(hits).extracting(InstitutionSpatialIndex.Hit::distanceKm).isSorted();
+    }
+
+    @Test
+    void limitKeepsTheClosestPoints() {
+        fillFarAway(200);
+        for (long id = 1; id <= 10; id++) {
+            index.put(id, -34.60 + id * 0.001, -58.40);
+        }
+
+        assertThat(ids(index.nearest(-34.60, -58.40, 50, 3))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void wrapsAroundTheAntimeridian() {
+        fillFarAway(200);
+        index.put(1, -17.70, -179.95);
+        index.put(2, -17.70, 179.99);
+        index.put(3, -17.70, 179.50);
+
+        List<InstitutionSpatialIndex.Hit> fromEast = index.nearest(-17.70, 179.98, 20, 10);
+        List<InstitutionSpatialIndex.Hit> fromWest = index.nearest(-17.70, -179.99, 20, 10);
+
+        assertThat(ids(fromEast)).containsExactly(2L, 1L);
+        assertThat(ids(fromWest)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(fromEast.get(1).distanceKm()).isLessThan(10);
+    }
+
+    @Test
+    void clampsTheSearchBoxAtThePoles() {
+        fillFarAway(200);
+        index.put(1, 90, 0);
+        index.put(2, 89.8, 120);
+        index.put(3, 89.8, -60);
+        index.put(4, 89.0, 0);
+
+        // Cerca del polo la caja cubre todas las longitudes
+        assertThat(ids(index.nearest(89.99, 0, 30, 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.nearest(-89.99, 45, 30, 10))).isEmpty();
+    }
+
+    @Test
+    void followsMovesAndRemovals() {
+        fillFarAway(200);
+        index.put(1, -34.60, -58.40);
+        index.put(2, -34.61, -58.41);
+        int size = index.size();
+
+        // Mudanza a otra celda: ya no aparece en la ubicación anterior
+        index.put(1, -32.95, -60.65);
+        assertThat(index.size()).isEqualTo(size);
+        assertThat(ids(index.nearest(-34.60, -58.40, 5, 10))).containsExactly(2L);
+        assertThat(ids(index.nearest(-32.95, -60.65, 5, 10))).containsExactly(1L);
+
+        index.remove(2);
+        index.remove(99);
+        assertThat(index.size()).isEqualTo(size - 1);
+        assertThat(index.nearest(-34.60, -58.40, 5, 10)).isEmpty();
+
+        index.clear();
+        assertThat(index.size()).isZero();
+        assertThat(index.nearest(-32.95, -60.65, 5, 10)).isEmpty();
+    }
+
+    @Test
+    void cellWalkAndFullScanAgree() {
+        Random random = new Random(7);
+        InstitutionSpatialIndex sparse = new InstitutionSpatialIndex(0.05);
+        for (long id = 1; id <= 2_000; id++) {
+            double latitude = -40 + random.nextDouble() * 20;
+            double longitude = -70 + random.nextDouble() * 20;
+            index.put(id, latitude, longitude);
+            if (id <= 100) {
+                sparse.put(id, latitude, longitude);
+            }
+        }
+
+        // Con 2.000 puntos se recorren celdas; con 100 conviene recorrer los puntos
+        for (int query = 0; query < 50; query++) {
+            double latitude = -40 + random.nextDouble() * 20;
+            double longitude = -70 + random.nextDouble() * 20;
+            List<Long> walked = ids(index.nearest(latitude, longitude, 100, 2_000));
+            List<Long> scanned = ids(sparse.nearest(latitude, longitude, 100, 2_000));
+            assertThat(walked).containsAll(scanned);
+            assertThat(walked.stream().filter(id -> id <= 100).toList()).containsExactlyElementsOf(scanned);
+        }
+    }
+
+    // Puntos lejos de cualquier consulta: fuerzan el recorrido por celdas en lugar del barrido completo
+    private void fillFarAway(int count) {
+        for (int i = 0; i < count; i++) {
+            index.put(100_000 + i, 40 + (i % 20) * 0.5, 10 + (i / 20) * 0.5);
+        }
+    }
+
+    private static double distance(double latitude, double longitude, double[] point) {
+        return InstitutionSpatialIndex.distanceKm(latitude, longitude, point[0], point[1]);
+    }
+
+    private static List<Long> ids(List<InstitutionSpatialIndex.Hit> hits) {
+        return hits.stream().map(InstitutionSpatialIndex.Hit::institutionId).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.chedoparti.institution_service.service.group;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class GroupRosterTest {
+
+    @Test
+    void appendsAfterTheLastPosition() {
+        assertThat(GroupRoster.append(null, List.of(7L, 3L)))
+                .containsExactly(entry(7L, GroupRoster.STEP), entry(3L, 2 * GroupRoster.STEP));
+        assertThat(GroupRoster.append(5000L, List.of(9L))).containsExactly(entry(9L, 5000 + GroupRoster.STEP));
+    }
+
+    @Test
+    void movingOneStudentRewritesOnlyThatRow() {
+        Map<Long, Long> current = GroupRoster.append(null, List.of(1L, 2L, 3L, 4L, 5L));
+
+        // El último pasa a estar entre el 1 y el 2
+        Map<Long, Long> changes = GroupRoster.reorder(current, List.of(1L, 5L, 2L, 3L, 4L));
+        assertThat(changes).containsOnlyKeys(5L);
+        assertThat(changes.get(5L)).isBetween(current.get(1L) + 1, current.get(2L) - 1);
+
+        // Al principio y al final
+        assertThat(GroupRoster.reorder(current, List.of(3L, 1L, 2L, 4L, 5L))).containsOnlyKeys(3L);
+        assertThat(GroupRoster.reorder(current, List.of(2L, 3L, 4L, 5L, 1L))).containsOnlyKeys(1L);
+        assertThat(GroupRoster.reorder(current, List.of(1L, 2L, 3L, 4L, 5L))).isEmpty();
+    }
+
+    @Test
+    void renumbersWhenAGapRunsOutOfRoom() {
+        Map<Long, Long> current = new HashMap<>(Map.of(1L, 10L, 2L, 11L, 3L, 20L));
+
+        Map<Long, Long> changes = GroupRoster.reorder(current, List.of(1L, 3L, 2L));
+
+        current.putAll(changes);
+        assertThat(current).containsEntry(1L, GroupRoster.STEP).containsEntry(3L, 2 * GroupRoster.STEP)
+                .containsEntry(2L, 3 * GroupRoster.STEP);
+    }
+
+    @Test
+    void anyPermutationEndsInTheRequestedOrder() {
+        Random random = new Random(42);
+        Map<Long, Long> current = new HashMap<>(GroupRoster.append(null, List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L)));
+        for (int round = 0; round < 200; round++) {
+            List<Long> order = new ArrayList<>(current.keySet());
+            Collections.shuffle(order, random);
+
+            current.putAll(GroupRoster.reorder(current, order));
+
+            List<Long> sorted = new ArrayList<>(current.keySet());
+            sorted.sort((a, b) -> Long.compare(current.get(a), current.get(b)));
+            assertThat(sorted).isEqualTo(order);
+        }
+    }
+
+    @Test
+    void rejectsOrdersThatAreNotAPermutationOfTheGroup() {
+        Map<Long, Long> current = GroupRoster.append(null, List.of(1L, 2L, 3L));
+
+        assertThatThrownBy(() -> GroupRoster.reorder(current, List.of(1L, 2L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GroupRoster.reorder(current, List.of(1L, 2L, 2L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GroupRoster.reorder(current, List.of(1L, 2L, 9L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
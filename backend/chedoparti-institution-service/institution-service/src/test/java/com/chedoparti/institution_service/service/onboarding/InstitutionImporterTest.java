@@ -0,0 +1,83 @@
+package com.chedoparti.institution_service.service.onboarding;
+
+import com.chedoparti.institution_service.dto.CourtDTO;
+import com.chedoparti.institution_service.dto.InstitutionDTO;
+import com.chedoparti.institution_service.dto.PromotionDTO;
+import com.chedoparti.institution_service.entity.Location;
+import com.chedoparti.institution_service.entity.OpeningHour;
+import com.chedoparti.institution_service.entity.SpecialClosure;
+import com.chedoparti.institution_service.enums.EPromotionType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstitutionImporterTest {
+
+    @Test
+    void acceptsANewInstitutionWithItsChildren() {
+        assertThat(InstitutionImporter.validate(institution())).isNull();
+    }
+
+    @Test
+    void newInstitutionsNeedANameButAdditionsToExistingOnesDoNot() {
+        InstitutionDTO record = institution();
+        record.setName(" ");
+        assertThat(InstitutionImporter.validate(record)).isEqualTo("name is required");
+
+        record.setId(7L);
+        assertThat(InstitutionImporter.validate(record)).isNull();
+    }
+
+    @Test
+    void rejectsInvalidChildren() {
+        InstitutionDTO court = institution();
+        court.getCourts().get(0).setFieldType(null);
+        assertThat(InstitutionImporter.validate(court)).isEqualTo("court fieldType is required");
+
+        InstitutionDTO hours = institution();
+        hours.getOpeningHours().get(0).setCloseTime("25:00");
+        assertThat(InstitutionImporter.validate(hours)).startsWith("Invalid opening hour time");
+
+        InstitutionDTO promotion = institution();
+        promotion.getPromotions().get(0).setDiscountPercentage(120.0);
+        assertThat(InstitutionImporter.validate(promotion))
+                .isEqualTo("Promotion 'Happy hour': discountPercentage must be greater than 0 and at most 100");
+
+        InstitutionDTO location = institution();
+        location.setLocation(new Location(-95, 10));
+        assertThat(InstitutionImporter.validate(location)).isEqualTo("location is out of range");
+
+        InstitutionDTO closures = institution();
+        closures.setSpecialClosures(List.of(new SpecialClosure()));
+        assertThat(InstitutionImporter.validate(closures)).isEqualTo("specialClosures are not supported by the import");
+    }
+
+    private static InstitutionDTO institution() {
+        InstitutionDTO record = new InstitutionDTO();
+        record.setName("Club Atlético Norte");
+        record.setLocation(new Location(-31.4, -64.2));
+
+        CourtDTO court = new CourtDTO();
+        court.setFieldType("PADEL");
+        court.setPricePerHour(12000);
+        court.setAvailability(true);
+        record.setCourts(List.of(court));
+
+        OpeningHour hour = new OpeningHour();
+        hour.setDayOfWeek("LUNES-VIERNES");
+        hour.setOpenTime("08:00");
+        hour.setCloseTime("23:00");
+        record.setOpeningHours(List.of(hour));
+
+        PromotionDTO promotion = new PromotionDTO();
+        promotion.setName("Happy hour");
+        promotion.setPromotionType(EPromotionType.TIME_BASED);
+        promotion.setDiscountPercentage(20.0);
+        promotion.setStartDate(LocalDate.of(2024, 3, 1));
+        record.setPromotions(List.of(promotion));
+        return record;
+    }
+}
@@ -0,0 +1,39 @@
+package com.chedoparti.institution_service.service.paging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetTest {
+
+    @Test
+    void extraRowMeansThereIsANextPage() {
+        Keyset.Page<Long> page = Keyset.page(List.of(10L, 11L, 12L), 2, Function.identity());
+
+        assertThat(page.items()).containsExactly(10L, 11L);
+        assertThat(Keyset.decode(page.nextCursor())).isEqualTo(11L);
+
+        Keyset.Page<Long> last = Keyset.page(List.of(13L, 14L), 2, Function.identity());
+        assertThat(last.items()).containsExactly(13L, 14L);
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void limitsAreDefaultedAndCapped() {
+        assertThat(Keyset.limit(null)).isEqualTo(Keyset.DEFAULT_LIMIT);
+        assertThat(Keyset.limit(10_000)).isEqualTo(Keyset.MAX_LIMIT);
+        assertThatThrownBy(() -> Keyset.limit(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsForeignCursors() {
+        assertThat(Keyset.decode(null)).isNull();
+        assertThat(Keyset.decode(Keyset.encode(42))).isEqualTo(42L);
+        assertThatThrownBy(() -> Keyset.decode("not a cursor!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Keyset.decode("aWQ6eA")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
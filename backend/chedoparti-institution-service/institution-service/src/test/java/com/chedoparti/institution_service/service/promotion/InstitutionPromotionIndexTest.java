@@ -0,0 +1,73 @@
+package com.chedoparti.institution_service.service.promotion;
+
+import com.chedoparti.institution_service.enums.EPromotionType;
+import com.chedoparti.institution_service.service.strategy.TimeBasedPromotionStrategy;
+import com.chedoparti.institution_service.service.strategy.VolumeBasedPromotionStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstitutionPromotionIndexTest {
+
+    // 2026-10-19 es lunes
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 19);
+
+    private final InstitutionPromotionIndex index = new InstitutionPromotionIndex(List.of(
+            timeBased(1, 20, "MONDAY-FRIDAY", LocalTime.of(8, 0), LocalTime.of(12, 0)),
+            timeBased(2, 30, "lunes", LocalTime.of(22, 0), LocalTime.of(1, 0)),
+            volumeBased(3, 25, 120)
+    ));
+
+    @Test
+    void picksTheBestPromotionWhoseWindowCoversTheStart() {
+        assertThat(best(MONDAY, "09:00", "10:00").id()).isEqualTo(1);
+        assertThat(best(MONDAY.plusDays(5), "09:00", "10:00")).isNull();
+        assertThat(best(MONDAY, "12:00", "13:00")).isNull();
+    }
+
+    @Test
+    void nightWindowsContinueIntoTheNextDay() {
+        assertThat(best(MONDAY, "23:00", "00:00").id()).isEqualTo(2);
+        assertThat(best(MONDAY.plusDays(1), "00:30", "01:30").id()).isEqualTo(2);
+        assertThat(best(MONDAY.plusDays(1), "01:00", "02:00")).isNull();
+    }
+
+    @Test
+    void volumePromotionsRequireTheMinimumDuration() {
+        assertThat(best(MONDAY, "09:00", "11:00").id()).isEqualTo(3);
+        assertThat(best(MONDAY, "15:00", "16:30")).isNull();
+        assertThat(best(MONDAY, "15:00", "17:00").discountFor(context(MONDAY, "15:00", "17:00")))
+                .isEqualTo(25.0);
+    }
+
+    @Test
+    void exhaustedPromotionsFallBackToTheNextBest() {
+        PromotionContext context = context(MONDAY, "09:00", "11:00");
+        assertThat(index.best(context, promotion -> promotion.id() != 3).id()).isEqualTo(1);
+        assertThat(index.best(context, promotion -> false)).isNull();
+    }
+
+    private CompiledPromotion best(LocalDate date, String start, String end) {
+        return index.best(context(date, start, end), promotion -> true);
+    }
+
+    private static PromotionContext context(LocalDate date, String start, String end) {
+        return PromotionContext.of(date, LocalTime.parse(start), LocalTime.parse(end), 100);
+    }
+
+    private static CompiledPromotion timeBased(long id, double discount, String days, LocalTime from, LocalTime to) {
+        return new CompiledPromotion(id, "promo " + id, EPromotionType.TIME_BASED, discount, Long.MIN_VALUE,
+                Long.MAX_VALUE, PromotionEngine.window(PromotionEngine.parseDays(days), from, to), 0, 0,
+                new TimeBasedPromotionStrategy());
+    }
+
+    private static CompiledPromotion volumeBased(long id, double discount, int minDuration) {
+        return new CompiledPromotion(id, "promo " + id, EPromotionType.VOLUME_BASED, discount, Long.MIN_VALUE,
+                Long.MAX_VALUE, PromotionEngine.window(PromotionEngine.parseDays(null), null, null), minDuration, 0,
+                new VolumeBasedPromotionStrategy());
+    }
+}
@@ -0,0 +1,161 @@
+package com.chedoparti.institution_service.service.promotion;
+
+import com.chedoparti.institution_service.entity.Promotion;
+import com.chedoparti.institution_service.enums.EPromotionType;
+import com.chedoparti.institution_service.exception.IngestionOverloadedException;
+import com.chedoparti.institution_service.repository.PromotionApplicationRepository;
+import com.chedoparti.institution_service.repository.PromotionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Applications stay tracked until their ledger row is written, rows are kept for as long as the
+ * database cannot take them, and only a row the database rejects is dropped, giving its use back,
+ * so the counters always match what reconciling from the ledger would yield.
+ */
+@DataJpaTest
+@Import({PromotionLedgerWriter.class, PromotionUsageCounters.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        // El test decide cuándo se vacía el buffer
+        "institution.promotions.ledger.flush-interval-ms=3600000",
+        "institution.promotions.ledger.batch-size=16",
+        "institution.promotions.ledger.capacity=4",
+        "institution.promotions.ledger.enqueue-timeout-ms=50"
+})
+class PromotionLedgerRetryTest {
+
+    @Autowired
+    private PromotionLedgerWriter ledgerWriter;
+
+    @Autowired
+    private PromotionUsageCounters usageCounters;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private PromotionApplicationRepository applicationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void retriedApplicationIsTrackedUntilItsRowIsWritten() {
+        long promotionId = createPromotion();
+        UUID reservationId = UUID.randomUUID();
+        PromotionLedgerWriter.PendingApplication first = application(promotionId, reservationId, 2.0);
+
+        assertThat(ledgerWriter.claim(first)).isNull();
+        ledgerWriter.enqueue(first);
+        // El reintento ve la aplicación todavía en el buffer
+        assertThat(ledgerWriter.claim(application(promotionId, reservationId, 3.0))).isEqualTo(first);
+
+        ledgerWriter.flush();
+        assertThat(applicationRepository.findDiscountApplied(promotionId, reservationId)).contains(2.0);
+        // Ya escrita: a partir de ahora el ledger es quien responde
+        PromotionLedgerWriter.PendingApplication retry = application(promotionId, reservationId, 3.0);
+        assertThat(ledgerWriter.claim(retry)).isNull();
+        ledgerWriter.abandon(retry);
+        assertThat(ledgerWriter.claim(application(promotionId, reservationId, 4.0))).isNull();
+    }
+
+    @Test
+    void droppedRowsGiveTheirUseBack() {
+        long promotionId = createPromotion();
+        long missingPromotionId = promotionId + 1_000;
+        PromotionLedgerWriter.PendingApplication valid = application(promotionId, UUID.randomUUID(), 1.5);
+        // Viola la clave foránea: el lote entero falla en cada intento
+        PromotionLedgerWriter.PendingApplication invalid = application(missingPromotionId, UUID.randomUUID(), 2.5);
+        for (PromotionLedgerWriter.PendingApplication application : List.of(valid, invalid)) {
+            assertThat(ledgerWriter.claim(application)).isNull();
+            assertThat(usageCounters.tryAcquire(application.promotionId(), 10)).isTrue();
+            usageCounters.recordDiscount(application.promotionId(), application.discount());
+            ledgerWriter.enqueue(application);
+        }
+
+        // El lote se reescribe fila por fila: sólo se descarta la inválida
+        ledgerWriter.flush();
+        assertThat(applicationRepository.findDiscountApplied(promotionId, valid.reservationId())).contains(1.5);
+        assertThat(usageCounters.uses(promotionId)).isEqualTo(1);
+        assertThat(usageCounters.uses(missingPromotionId)).isZero();
+        assertThat(usageCounters.totalDiscount(missingPromotionId)).isZero();
+        assertThat(ledgerWriter.claim(invalid)).isNull();
+
+        usageCounters.reconcile();
+        assertThat(usageCounters.uses(promotionId)).isEqualTo(1);
+        assertThat(usageCounters.uses(missingPromotionId)).isZero();
+    }
+
+    @Test
+    void rowsAreKeptWhileTheDatabaseCannotTakeThem() {
+        long promotionId = createPromotion();
+        PromotionLedgerWriter.PendingApplication application = application(promotionId, UUID.randomUUID(), 1.5);
+        assertThat(ledgerWriter.claim(application)).isNull();
+        assertThat(usageCounters.tryAcquire(promotionId, 10)).isTrue();
+        usageCounters.recordDiscount(promotionId, 1.5);
+        ledgerWriter.enqueue(application);
+
+        // Sin la tabla falla todo el lote, como con la base caída: la fila no es inválida
+        jdbcTemplate.execute("ALTER TABLE promotion_applications RENAME TO promotion_applications_offline");
+        try {
+            for (int attempt = 0; attempt < 10; attempt++) {
+                ledgerWriter.flush();
+            }
+            assertThat(usageCounters.uses(promotionId)).isEqualTo(1);
+            assertThat(ledgerWriter.claim(application(promotionId, application.reservationId(), 3.0)))
+                    .isEqualTo(application);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE promotion_applications_offline RENAME TO promotion_applications");
+        }
+
+        ledgerWriter.flush();
+        assertThat(applicationRepository.findDiscountApplied(promotionId, application.reservationId())).contains(1.5);
+        assertThat(usageCounters.uses(promotionId)).isEqualTo(1);
+    }
+
+    @Test
+    void fullBufferRejectsInsteadOfBlocking() {
+        long promotionId = createPromotion();
+        for (int i = 0; i < 4; i++) {
+            ledgerWriter.enqueue(application(promotionId, UUID.randomUUID(), 1.0));
+        }
+
+        assertThatThrownBy(() -> ledgerWriter.enqueue(application(promotionId, UUID.randomUUID(), 1.0)))
+                .isInstanceOf(IngestionOverloadedException.class);
+
+        ledgerWriter.flush();
+        assertThat(ledgerWriter.pending()).isZero();
+        ledgerWriter.enqueue(application(promotionId, UUID.randomUUID(), 1.0));
+        ledgerWriter.flush();
+    }
+
+    private long createPromotion() {
+        Promotion promotion = new Promotion();
+        promotion.setName("Happy hour");
+        promotion.setPromotionType(EPromotionType.TIME_BASED);
+        promotion.setDiscountPercentage(10.0);
+        return promotionRepository.save(promotion).getId();
+    }
+
+    private static PromotionLedgerWriter.PendingApplication application(long promotionId, UUID reservationId,
+                                                                       double discount) {
+        return new PromotionLedgerWriter.PendingApplication(promotionId, reservationId, discount, LocalDateTime.now());
+    }
+}
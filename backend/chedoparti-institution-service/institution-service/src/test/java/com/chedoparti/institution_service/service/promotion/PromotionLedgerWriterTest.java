@@ -0,0 +1,90 @@
+package com.chedoparti.institution_service.service.promotion;
+
+import com.chedoparti.institution_service.entity.Promotion;
+import com.chedoparti.institution_service.enums.EPromotionType;
+import com.chedoparti.institution_service.repository.PromotionApplicationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A capped promotion hit concurrently must be granted exactly its cap, and the ledger written
+ * behind the counters must reconcile back to the same numbers.
+ */
+@DataJpaTest
+@Import({PromotionLedgerWriter.class, PromotionUsageCounters.class})
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        // El test decide cuándo se vacía el buffer
+        "institution.promotions.ledger.flush-interval-ms=3600000",
+        "institution.promotions.ledger.batch-size=64"
+})
+class PromotionLedgerWriterTest {
+
+    private static final int MAX_USES = 100;
+
+    @Autowired
+    private PromotionLedgerWriter ledgerWriter;
+
+    @Autowired
+    private PromotionUsageCounters usageCounters;
+
+    @Autowired
+    private PromotionApplicationRepository applicationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void concurrentApplicationsNeverExceedTheCap() throws InterruptedException {
+        Promotion promotion = new Promotion();
+        promotion.setName("Primeras 100 reservas");
+        promotion.setPromotionType(EPromotionType.TIME_BASED);
+        promotion.setDiscountPercentage(10.0);
+        promotion.setMaxUses(MAX_USES);
+        entityManager.persist(promotion);
+        entityManager.flush();
+        long promotionId = promotion.getId();
+
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1_000; i++) {
+            pool.execute(() -> {
+                if (usageCounters.tryAcquire(promotionId, MAX_USES)) {
+                    granted.incrementAndGet();
+                    usageCounters.recordDiscount(promotionId, 1.5);
+                    ledgerWriter.enqueue(new PromotionLedgerWriter.PendingApplication(
+                            promotionId, UUID.randomUUID(), 1.5, LocalDateTime.now()));
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(granted).hasValue(MAX_USES);
+        assertThat(usageCounters.hasCapacity(promotionId, MAX_USES)).isFalse();
+        assertThat(ledgerWriter.pending()).isEqualTo(MAX_USES);
+
+        ledgerWriter.flush();
+        assertThat(ledgerWriter.pending()).isZero();
+        assertThat(applicationRepository.count()).isEqualTo(MAX_USES);
+
+        usageCounters.reconcile();
+        assertThat(usageCounters.uses(promotionId)).isEqualTo(MAX_USES);
+        assertThat(usageCounters.totalDiscount(promotionId)).isEqualTo(150.0);
+    }
+}
@@ -0,0 +1,143 @@
+package com.chedoparti.institution_service.service.schedule;
+
+import com.chedoparti.institution_service.repository.OpeningHourView;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static java.time.DayOfWeek.THURSDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static java.time.DayOfWeek.WEDNESDAY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpeningHoursEngineTest {
+
+    // Viernes 14 de junio de 2024
+    private static final LocalDate FRIDAY_DATE = LocalDate.of(2024, 6, 14);
+
+    private record Row(String day, String open, String close) implements OpeningHourView {
+        @Override
+        public Long getInstitutionId() {
+            return 1L;
+        }
+
+        @Override
+        public String getDayOfWeek() {
+            return day;
+        }
+
+        @Override
+        public String getOpenTime() {
+            return open;
+        }
+
+        @Override
+        public String getCloseTime() {
+            return close;
+        }
+    }
+
+    @Test
+    void parsesTimes() {
+        assertThat(OpeningHoursEngine.parseMinute("9:00")).isEqualTo(540);
+        assertThat(OpeningHoursEngine.parseMinute(" 09:30 ")).isEqualTo(570);
+        assertThat(OpeningHoursEngine.parseMinute("23:59:59")).isEqualTo(1439);
+        assertThat(OpeningHoursEngine.parseMinute("00:00")).isZero();
+        assertThat(OpeningHoursEngine.parseMinute("24:00")).isEqualTo(WeeklySchedule.MINUTES_PER_DAY);
+    }
+
+    @Test
+    void rejectsInvalidTimes() {
+        assertThat(OpeningHoursEngine.parseMinute(null)).isEqualTo(-1);
+        assertThat(OpeningHoursEngine.parseMinute("")).isEqualTo(-1);
+        assertThat(OpeningHoursEngine.parseMinute("12")).isEqualTo(-1);
+        assertThat(OpeningHoursEngine.parseMinute("24:01")).isEqualTo(-1);
+        assertThat(OpeningHoursEngine.parseMinute("25:00")).isEqualTo(-1);
+        assertThat(OpeningHoursEngine.parseMinute("12:60")).isEqualTo(-1);
+        assertThat(OpeningHoursEngine.parseMinute("-1:00")).isEqualTo(-1);
+        assertThat(OpeningHoursEngine.parseMinute("nueve:00")).isEqualTo(-1);
+        assertThat(OpeningHoursEngine.parseMinute("1:2:3:4")).isEqualTo(-1);
+    }
+
+    @Test
+    void parsesDayNamesInEnglishSpanishAndIsoNumbers() {
+        assertThat(OpeningHoursEngine.parseDays("MONDAY")).containsExactly(MONDAY);
+        assertThat(OpeningHoursEngine.parseDays("tue")).containsExactly(TUESDAY);
+        assertThat(OpeningHoursEngine.parseDays("Miércoles")).containsExactly(WEDNESDAY);
+        assertThat(OpeningHoursEngine.parseDays("miercoles")).containsExactly(WEDNESDAY);
+        assertThat(OpeningHoursEngine.parseDays("SÁB")).containsExactly(SATURDAY);
+        assertThat(OpeningHoursEngine.parseDays(" 4 ")).containsExactly(THURSDAY);
+    }
+
+    @Test
+    void parsesDayRangesIncludingWeekWrap() {
+        assertThat(OpeningHoursEngine.parseDays("LUNES-VIERNES"))
+                .containsExactlyInAnyOrder(MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY);
+        assertThat(OpeningHoursEngine.parseDays("friday - monday"))
+                .containsExactlyInAnyOrder(FRIDAY, SATURDAY, SUNDAY, MONDAY);
+        assertThat(OpeningHoursEngine.parseDays("DOM-DOM")).containsExactly(SUNDAY);
+    }
+
+    @Test
+    void rejectsUnknownDays() {
+        assertThat(OpeningHoursEngine.parseDays(null)).isEmpty();
+        assertThat(OpeningHoursEngine.parseDays(" ")).isEmpty();
+        assertThat(OpeningHoursEngine.parseDays("FUNDAY")).isEmpty();
+        assertThat(OpeningHoursEngine.parseDays("MONDAY-FUNDAY")).isEmpty();
+        assertThat(OpeningHoursEngine.parseDays("MONDAY-TUESDAY-WEDNESDAY")).isEmpty();
+        assertThat(OpeningHoursEngine.parseDays("8")).isEmpty();
+    }
+
+    @Test
+    void compilesOvernightHoursAndClosures() {
+        WeeklySchedule schedule = OpeningHoursEngine.compile(1L, List.of(
+                new Row("VIERNES", "20:00", "02:00"),
+                new Row("SUNDAY", "00:00", "00:00"),
+                new Row("LUNES-JUEVES", "08:00", "24:00")
+        ), List.of(FRIDAY_DATE.plusDays(7)));
+
+        assertThat(schedule.isOpen(FRIDAY_DATE.atTime(19, 59))).isFalse();
+        assertThat(schedule.isOpen(FRIDAY_DATE.atTime(23, 0))).isTrue();
+        assertThat(schedule.isOpen(FRIDAY_DATE.plusDays(1).atTime(1, 59))).isTrue();
+        assertThat(schedule.isOpen(FRIDAY_DATE.plusDays(1).atTime(2, 0))).isFalse();
+        // Cierre igual a la apertura: abierto las 24 horas
+        assertThat(schedule.isOpen(FRIDAY_DATE.plusDays(2).atTime(0, 0))).isTrue();
+        assertThat(schedule.isOpen(FRIDAY_DATE.plusDays(2).atTime(23, 59))).isTrue();
+        assertThat(schedule.isOpen(FRIDAY_DATE.plusDays(3).atTime(7, 59))).isFalse();
+        assertThat(schedule.isOpen(FRIDAY_DATE.plusDays(6).atTime(23, 59))).isTrue();
+        // Cierre especial del viernes siguiente
+        assertThat(schedule.isOpen(FRIDAY_DATE.plusDays(7).atTime(23, 0))).isFalse();
+        // La madrugada del sábado sigue abierta: el cierre afecta sólo al día del viernes
+        assertThat(schedule.isOpen(FRIDAY_DATE.plusDays(8).atTime(1, 0))).isTrue();
+    }
+
+    @Test
+    void skipsUnparseableRows() {
+        WeeklySchedule schedule = OpeningHoursEngine.compile(1L, List.of(
+                new Row("LUNES", "08:00", "12:00"),
+                new Row("FUNDAY", "08:00", "12:00"),
+                new Row("MARTES", "8h", "12:00")
+        ), List.of());
+
+        assertThat(schedule.isOpen(FRIDAY_DATE.plusDays(3).atTime(9, 0))).isTrue();
+        assertThat(schedule.isOpen(FRIDAY_DATE.plusDays(4).atTime(9, 0))).isFalse();
+    }
+
+    @Test
+    void institutionWithoutHoursIsAlwaysOpenExceptOnClosures() {
+        WeeklySchedule schedule = OpeningHoursEngine.compile(1L, List.of(), List.of(FRIDAY_DATE));
+
+        assertThat(schedule.isOpen(FRIDAY_DATE.atTime(12, 0))).isFalse();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            LocalDate date = FRIDAY_DATE.plusWeeks(1).with(TemporalAdjusters.nextOrSame(day));
+            assertThat(schedule.isOpen(date.atTime(3, 0))).as(day.name()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.chedoparti.institution_service.service.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeeklyScheduleTest {
+
+    // Lunes 10 de junio de 2024
+    private static final LocalDate MONDAY = LocalDate.of(2024, 6, 10);
+
+    @Test
+    void openRangeIsHalfOpen() {
+        WeeklySchedule schedule = WeeklySchedule.builder().open(DayOfWeek.MONDAY, 9 * 60, 18 * 60).build();
+
+        assertThat(schedule.isOpen(at(MONDAY, 8, 59))).isFalse();
+        assertThat(schedule.isOpen(at(MONDAY, 9, 0))).isTrue();
+        assertThat(schedule.isOpen(at(MONDAY, 17, 59))).isTrue();
+        assertThat(schedule.isOpen(at(MONDAY, 18, 0))).isFalse();
+        assertThat(schedule.isOpen(at(MONDAY.plusDays(1), 10, 0))).isFalse();
+        // La misma hora una semana después
+        assertThat(schedule.isOpen(at(MONDAY.plusWeeks(1), 12, 0))).isTrue();
+    }
+
+    @Test
+    void rangesCrossingBitmapWordsKeepEveryMinute() {
+        // Minutos 63 y 64 de la semana quedan en palabras distintas del bitmap
+        WeeklySchedule schedule = WeeklySchedule.builder().open(DayOfWeek.MONDAY, 63, 65).build();
+
+        assertThat(schedule.isOpen(at(MONDAY, 1, 2))).isFalse();
+        assertThat(schedule.isOpen(at(MONDAY, 1, 3))).isTrue();
+        assertThat(schedule.isOpen(at(MONDAY, 1, 4))).isTrue();
+        assertThat(schedule.isOpen(at(MONDAY, 1, 5))).isFalse();
+    }
+
+    @Test
+    void overnightRangeSpillsIntoTheNextDayAndSundayWrapsToMonday() {
+        WeeklySchedule schedule = WeeklySchedule.builder()
+                .open(DayOfWeek.FRIDAY, 20 * 60, 26 * 60)
+                .open(DayOfWeek.SUNDAY, 22 * 60, 27 * 60)
+                .build();
+
+        assertThat(schedule.isOpen(at(MONDAY.plusDays(4), 23, 30))).isTrue();
+        assertThat(schedule.isOpen(at(MONDAY.plusDays(5), 1, 59))).isTrue();
+        assertThat(schedule.isOpen(at(MONDAY.plusDays(5), 2, 0))).isFalse();
+        assertThat(schedule.isOpen(at(MONDAY.plusDays(6), 23, 0))).isTrue();
+        assertThat(schedule.isOpen(at(MONDAY.plusDays(7), 2, 59))).isTrue();
+        assertThat(schedule.isOpen(at(MONDAY.plusDays(7), 3, 0))).isFalse();
+    }
+
+    @Test
+    void closuresCloseTheWholeDay() {
+        WeeklySchedule schedule = WeeklySchedule.builder()
+                .open(DayOfWeek.MONDAY, 0, WeeklySchedule.MINUTES_PER_DAY)
+                .closures(List.of(MONDAY.plusWeeks(2), MONDAY, MONDAY))
+                .build();
+
+        assertThat(schedule.isClosedOn(MONDAY)).isTrue();
+        assertThat(schedule.isOpen(at(MONDAY, 0, 0))).isFalse();
+        assertThat(schedule.isOpen(at(MONDAY, 23, 59))).isFalse();
+        assertThat(schedule.isOpen(at(MONDAY.plusWeeks(1), 12, 0))).isTrue();
+        assertThat(schedule.isClosedOn(MONDAY.plusWeeks(2))).isTrue();
+    }
+
+    @Test
+    void withoutHoursOnlyClosuresRestrict() {
+        WeeklySchedule schedule = WeeklySchedule.builder().closures(List.of(MONDAY)).build();
+
+        assertThat(schedule.isOpen(at(MONDAY, 12, 0))).isFalse();
+        assertThat(schedule.isOpen(at(MONDAY.plusDays(1), 3, 0))).isTrue();
+        assertThat(schedule.isOpen(at(MONDAY.plusDays(6), 23, 59))).isTrue();
+        assertThat(WeeklySchedule.ALWAYS_OPEN.isOpen(at(MONDAY, 12, 0))).isTrue();
+    }
+
+    private static LocalDateTime at(LocalDate date, int hour, int minute) {
+        return date.atTime(hour, minute);
+    }
+}
@@ -0,0 +1,69 @@
+package com.chedoparti.institution_service.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstitutionSearchIndexTest {
+
+    private final InstitutionSearchIndex index = new InstitutionSearchIndex(null);
+
+    @BeforeEach
+    void setUp() {
+        index.put(1, "Club de Fútbol Los Andes", "Canchas de fútbol 5 y 7", "Córdoba", "Córdoba", "Vestuarios, buffet");
+        index.put(2, "Pádel Norte", "Cuatro canchas de pádel techadas", "Rosario", "Santa Fe", "Estacionamiento");
+        index.put(3, "Futbolito", null, "Rosario", "Santa Fe", null);
+        index.put(4, "Centro Deportivo Sur", "Fútbol, tenis y natación", "Córdoba", "Córdoba", "Pileta climatizada");
+    }
+
+    @Test
+    void ignoresAccentsAndCase() {
+        assertThat(ids(index.search("FUTBOL", 10))).containsExactly(1L, 3L, 4L);
+        assertThat(ids(index.search("padel", 10))).containsExactly(2L);
+        // Empate: primero el nombre más corto
+        assertThat(ids(index.search("cordoba", 10))).containsExactly(4L, 1L);
+    }
+
+    @Test
+    void completesTheLastWordAndRequiresEveryWord() {
+        assertThat(ids(index.search("club fút", 10))).containsExactly(1L);
+        assertThat(ids(index.search("rosario fut", 10))).containsExactly(3L);
+        assertThat(ids(index.search("rosario tenis", 10))).isEmpty();
+    }
+
+    @Test
+    void nameMatchesRankAboveDescriptionMatches() {
+        List<InstitutionSearchIndex.Hit> hits = index.search("futbol", 10);
+
+        // Nombre con el término entero, luego nombre por prefijo, luego descripción
+        assertThat(hits).extracting(InstitutionSearchIndex.Hit::score).containsExactly(
+                (double) InstitutionSearchIndex.NAME_WEIGHT,
+                InstitutionSearchIndex.NAME_WEIGHT * 0.5,
+                (double) InstitutionSearchIndex.DESCRIPTION_WEIGHT);
+    }
+
+    @Test
+    void followsUpdatesAndRemovals() {
+        index.put(3, "Tenis Rosario", null, "Rosario", "Santa Fe", null);
+        assertThat(ids(index.search("futbolito", 10))).isEmpty();
+        assertThat(ids(index.search("tenis", 10))).containsExactly(3L, 4L);
+
+        index.remove(1);
+        assertThat(ids(index.search("vestuarios", 10))).isEmpty();
+        assertThat(ids(index.search("and", 10))).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void limitKeepsTheBestHits() {
+        assertThat(ids(index.search("f", 1))).containsExactly(3L);
+        assertThat(index.search("de la", 10)).isEmpty();
+    }
+
+    private static List<Long> ids(List<InstitutionSearchIndex.Hit> hits) {
+        return hits.stream().map(InstitutionSearchIndex.Hit::institutionId).toList();
+    }
+}
@@ -0,0 +1,138 @@
+package com.chedoparti.institution_service.service.tournament;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourtSchedulerTest {
+
+    private static final int REST_SLOTS = 1;
+
+    @Test
+    void schedulesA256PlayerBracket() {
+        List<PlannedMatch> draw = TournamentDraw.singleElimination(players(256));
+        CourtScheduler scheduler = new CourtScheduler(2_000, 8, REST_SLOTS);
+        scheduler.load(draw);
+
+        // El tiempo se mide en benchmarks/CourtSchedulerBenchmark.java
+        scheduler.scheduleAll();
+
+        assertThat(draw).hasSize(255).allMatch(PlannedMatch::isPlaced);
+        assertValid(draw, new HashSet<>());
+    }
+
+    @Test
+    void schedulesA256PlayerRoundRobin() {
+        List<PlannedMatch> draw = TournamentDraw.roundRobin(players(256), 256);
+        CourtScheduler scheduler = new CourtScheduler(20_000, 16, REST_SLOTS);
+        scheduler.load(draw);
+
+        // El tiempo se mide en benchmarks/CourtSchedulerBenchmark.java
+        scheduler.scheduleAll();
+
+        assertThat(draw).hasSize(256 * 255 / 2).allMatch(PlannedMatch::isPlaced);
+        assertValid(draw, new HashSet<>());
+    }
+
+    @Test
+    void byesAdvanceTopSeeds() {
+        List<PlannedMatch> draw = TournamentDraw.singleElimination(players(6));
+        List<PlannedMatch> byes = draw.stream().filter(PlannedMatch::isBye).toList();
+        assertThat(byes).extracting(PlannedMatch::getWinner).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(draw.get(4).getPlayerA()).isEqualTo(1L);
+    }
+
+    @Test
+    void closingACourtMovesOnlyItsMatches() {
+        List<PlannedMatch> draw = TournamentDraw.roundRobin(players(16), 4);
+        CourtScheduler scheduler = new CourtScheduler(500, 4, REST_SLOTS);
+        scheduler.load(draw);
+        scheduler.scheduleAll();
+        Map<Integer, Integer> before = slots(draw);
+
+        Set<PlannedMatch> changed = scheduler.closeCourt(0, 0, 10);
+
+        assertThat(changed).isNotEmpty().allMatch(match -> match.getCourt() != 0 || match.getSlot() >= 10);
+        for (PlannedMatch match : draw) {
+            if (!changed.contains(match)) {
+                assertThat(match.getSlot()).isEqualTo(before.get(match.getNumber()));
+            }
+        }
+        Set<String> closed = new HashSet<>();
+        for (int slot = 0; slot < 10; slot++) {
+            closed.add(0 + ":" + slot);
+        }
+        assertValid(draw, closed);
+    }
+
+    @Test
+    void aLateResultPushesTheWinnersNextMatch() {
+        List<PlannedMatch> draw = TournamentDraw.singleElimination(players(8));
+        CourtScheduler scheduler = new CourtScheduler(100, 4, REST_SLOTS);
+        scheduler.load(draw);
+        scheduler.scheduleAll();
+        PlannedMatch first = draw.get(0);
+        PlannedMatch next = draw.get(first.getNextMatch() - 1);
+        int nextSlot = next.getSlot();
+
+        Set<PlannedMatch> changed = scheduler.recordResult(first.getNumber(), first.getPlayerA(), nextSlot);
+
+        assertThat(first.isCompleted()).isTrue();
+        assertThat(next.getPlayerA()).isEqualTo(first.getPlayerA());
+        assertThat(next.getSlot()).isGreaterThan(nextSlot + REST_SLOTS);
+        assertThat(changed).contains(first, next);
+        assertValid(draw, new HashSet<>());
+    }
+
+    private static void assertValid(List<PlannedMatch> draw, Set<String> blocked) {
+        Map<Integer, PlannedMatch> byNumber = new HashMap<>();
+        draw.forEach(match -> byNumber.put(match.getNumber(), match));
+        Set<String> courtSlots = new HashSet<>();
+        Map<Long, List<PlannedMatch>> byPlayer = new HashMap<>();
+        for (PlannedMatch match : draw) {
+            if (match.isBye()) {
+                continue;
+            }
+            for (int slot = match.getSlot(); slot <= match.getLastSlot(); slot++) {
+                String key = match.getCourt() + ":" + slot;
+                assertThat(courtSlots.add(key)).as("court slot %s used twice", key).isTrue();
+                assertThat(blocked).doesNotContain(key);
+            }
+            for (Long player : new Long[]{match.getPlayerA(), match.getPlayerB()}) {
+                if (player != null) {
+                    byPlayer.computeIfAbsent(player, p -> new ArrayList<>()).add(match);
+                }
+            }
+            for (int feeder : new int[]{match.getFeederA(), match.getFeederB()}) {
+                PlannedMatch source = byNumber.get(feeder);
+                if (source != null && !source.isBye()) {
+                    assertThat(match.getSlot()).isGreaterThan(source.getLastSlot() + REST_SLOTS);
+                }
+            }
+        }
+        byPlayer.values().forEach(matches -> {
+            matches.sort((a, b) -> Integer.compare(a.getSlot(), b.getSlot()));
+            for (int i = 1; i < matches.size(); i++) {
+                assertThat(matches.get(i).getSlot()).isGreaterThan(matches.get(i - 1).getLastSlot() + REST_SLOTS);
+            }
+        });
+    }
+
+    private static Map<Integer, Integer> slots(List<PlannedMatch> draw) {
+        Map<Integer, Integer> slots = new HashMap<>();
+        draw.forEach(match -> slots.put(match.getNumber(), match.getSlot()));
+        return slots;
+    }
+
+    private static List<Long> players(int count) {
+        return LongStream.rangeClosed(1, count).boxed().toList();
+    }
+}
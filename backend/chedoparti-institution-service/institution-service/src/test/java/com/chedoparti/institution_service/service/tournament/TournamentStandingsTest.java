@@ -0,0 +1,153 @@
+package com.chedoparti.institution_service.service.tournament;
+
+import com.chedoparti.institution_service.dto.GroupStandingsDTO;
+import com.chedoparti.institution_service.dto.StandingDTO;
+import com.chedoparti.institution_service.dto.TournamentStandingsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TournamentStandingsTest {
+
+    private static final long TOURNAMENT = 1L;
+
+    @Test
+    void ranksByPointsThenHeadToHeadThenDifferentials() {
+        TournamentStandings standings = new TournamentStandings(2, 1, 60_000);
+        List<MatchOutcome> matches = List.of(
+                played(1, 1, 10, 11, 10, 2, 0, 12, 4),
+                played(2, 1, 12, 13, 12, 2, 1, 16, 13),
+                played(3, 1, 10, 12, 12, 1, 2, 14, 15),
+                played(4, 1, 11, 13, 11, 2, 0, 12, 3),
+                played(5, 1, 10, 13, 10, 2, 0, 12, 2),
+                played(6, 1, 11, 12, 11, 2, 1, 14, 15));
+
+        List<StandingDTO> table = standings.get(TOURNAMENT, () -> matches).getGroups().get(0).getStandings();
+
+        // 10, 11 y 12 empatan en 5 puntos con una victoria cada uno entre ellos: decide la diferencia
+        // de sets (10) y, entre 11 y 12, la de games
+        assertThat(table).extracting(StandingDTO::getPlayerId).containsExactly(10L, 12L, 11L, 13L);
+        assertThat(table.get(0).getPoints()).isEqualTo(5);
+        assertThat(table.get(3).getPoints()).isEqualTo(3);
+        assertThat(table.get(0).getSetsWon()).isEqualTo(5);
+        assertThat(table.get(0).getGamesLost()).isEqualTo(21);
+    }
+
+    @Test
+    void headToHeadBreaksATwoWayTie() {
+        TournamentStandings standings = new TournamentStandings(2, 1, 60_000);
+        List<MatchOutcome> matches = List.of(
+                played(1, 1, 20, 21, 21, 1, 2, 10, 12),
+                played(2, 1, 20, 22, 20, 2, 0, 12, 0),
+                played(3, 1, 20, 23, 20, 2, 0, 12, 0),
+                played(4, 1, 21, 22, 22, 0, 2, 0, 12),
+                played(5, 1, 21, 23, 21, 2, 1, 13, 12),
+                played(6, 1, 22, 23, 23, 0, 2, 5, 12));
+
+        List<StandingDTO> table = standings.get(TOURNAMENT, () -> matches).getGroups().get(0).getStandings();
+
+        // 20 tiene mejor diferencia, pero 21 le ganó el partido entre ellos; lo mismo 23 a 22
+        assertThat(table).extracting(StandingDTO::getPlayerId).containsExactly(21L, 20L, 23L, 22L);
+        assertThat(table).extracting(StandingDTO::getPosition).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    void resultsUpdateOnlyTheirGroupAndAreCountedOnce() {
+        TournamentStandings standings = new TournamentStandings(2, 1, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+        List<MatchOutcome> schedule = List.of(pending(1, 1, 1, 2), pending(2, 2, 3, 4));
+
+        TournamentStandingsDTO before = standings.get(TOURNAMENT, () -> {
+            loads.incrementAndGet();
+            return schedule;
+        });
+        assertThat(before.getGroups()).hasSize(2);
+        assertThat(before.getGroups().get(0).getStandings()).allMatch(row -> row.getPlayed() == 0);
+
+        MatchOutcome result = played(1, 1, 1, 2, 2, 0, 2, 3, 12);
+        standings.record(TOURNAMENT, result);
+        standings.record(TOURNAMENT, result);
+        TournamentStandingsDTO after = standings.get(TOURNAMENT, () -> {
+            loads.incrementAndGet();
+            return schedule;
+        });
+
+        assertThat(loads).hasValue(1);
+        GroupStandingsDTO group = after.getGroups().get(0);
+        assertThat(group.getStandings().get(0).getPlayerId()).isEqualTo(2L);
+        assertThat(group.getStandings().get(0).getPlayed()).isEqualTo(1);
+        assertThat(after.getGroups().get(1)).isSameAs(before.getGroups().get(1));
+    }
+
+    @Test
+    void aResultRecordedBeforeTheFirstReadIsNotCountedTwice() {
+        TournamentStandings standings = new TournamentStandings(2, 1, 60_000);
+        MatchOutcome result = played(1, 1, 1, 2, 1, 2, 0, 12, 5);
+        standings.record(TOURNAMENT, result);
+
+        // La carga desde la base ya incluye el resultado confirmado
+        StandingDTO leader = standings.get(TOURNAMENT, () -> List.of(result)).getGroups().get(0).getStandings().get(0);
+
+        assertThat(leader.getPlayerId()).isEqualTo(1L);
+        assertThat(leader.getPlayed()).isEqualTo(1);
+        assertThat(leader.getPoints()).isEqualTo(2);
+    }
+
+    @Test
+    void manyLiveTournamentsUpdateConcurrently() throws Exception {
+        TournamentStandings standings = new TournamentStandings(2, 1, 60_000);
+        int tournaments = 50;
+        int players = 16;
+        List<List<MatchOutcome>> results = new ArrayList<>();
+        for (int t = 0; t < tournaments; t++) {
+            List<MatchOutcome> matches = new ArrayList<>();
+            for (long a = 1; a <= players; a++) {
+                for (long b = a + 1; b <= players; b++) {
+                    matches.add(played(matches.size() + 1, 1, a, b, a, 2, 0, 12, 6));
+                }
+            }
+            results.add(matches);
+            standings.get(t, List::of);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < tournaments; t++) {
+            long tournamentId = t;
+            for (MatchOutcome outcome : results.get(t)) {
+                futures.add(pool.submit(() -> {
+                    standings.record(tournamentId, outcome);
+                    standings.get(tournamentId, List::of);
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+
+        for (int t = 0; t < tournaments; t++) {
+            List<StandingDTO> table = standings.get(t, List::of).getGroups().get(0).getStandings();
+            // El jugador 1 le gana a todos, el 2 a todos menos al 1, etc.
+            assertThat(table).extracting(StandingDTO::getPlayerId)
+                    .containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L, 14L, 15L, 16L);
+            assertThat(table).allMatch(row -> row.getPlayed() == players - 1);
+        }
+    }
+
+    private static MatchOutcome played(int number, int group, long a, long b, long winner,
+                                       int setsA, int setsB, int gamesA, int gamesB) {
+        return new MatchOutcome(number, group, a, b, winner, setsA, setsB, gamesA, gamesB);
+    }
+
+    private static MatchOutcome pending(int number, int group, long a, long b) {
+        return new MatchOutcome(number, group, a, b, null, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,171 @@
+package com.chedoparti.institution_service.service.update;
+
+import com.chedoparti.institution_service.dto.CourtPatchDTO;
+import com.chedoparti.institution_service.dto.InstitutionPatchDTO;
+import com.chedoparti.institution_service.entity.Court;
+import com.chedoparti.institution_service.entity.Institution;
+import com.chedoparti.institution_service.entity.OpeningHour;
+import com.chedoparti.institution_service.repository.InstitutionRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A patch on a large club must only write the rows it actually changes.
+ */
+@DataJpaTest
+@Import(InstitutionPatcher.class)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class InstitutionPatcherTest {
+
+    @Autowired
+    private InstitutionPatcher institutionPatcher;
+
+    @Autowired
+    private InstitutionRepository institutionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void writesOnlyChangedRows() {
+        Long institutionId = createInstitution();
+        Institution institution = institutionRepository.findById(institutionId).orElseThrow();
+        OpeningHour monday = institution.getOpeningHours().get(0);
+        Court kept = institution.getCourts().get(0);
+
+        InstitutionPatchDTO patch = new InstitutionPatchDTO();
+        patch.setName("Club renamed");
+        List<OpeningHour> hours = new ArrayList<>();
+        for (OpeningHour hour : institution.getOpeningHours()) {
+            hours.add(openingHour(hour.getId(), hour.getDayOfWeek(), hour.getOpenTime(),
+                    hour == monday ? "22:00" : hour.getCloseTime()));
+        }
+        patch.setOpeningHours(hours);
+        // Se conserva una cancha, se elimina el resto y se agrega una nueva
+        patch.setCourts(List.of(
+                new CourtPatchDTO(kept.getId(), kept.getFieldType(), kept.getPricePerHour(), kept.isAvailability()),
+                new CourtPatchDTO(null, "PADEL", 120.0, true)));
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        InstitutionPatcher.Changes changes = institutionPatcher.apply(patch, institution);
+        entityManager.flush();
+
+        assertThat(changes.any()).isTrue();
+        assertThat(changes.schedule()).isTrue();
+        assertThat(changes.location()).isFalse();
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(9);
+    }
+
+    @Test
+    void unchangedPatchWritesNothing() {
+        Long institutionId = createInstitution();
+        Institution institution = institutionRepository.findById(institutionId).orElseThrow();
+
+        InstitutionPatchDTO patch = new InstitutionPatchDTO();
+        patch.setName(institution.getName());
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        InstitutionPatcher.Changes changes = institutionPatcher.apply(patch, institution);
+        entityManager.flush();
+
+        assertThat(changes.any()).isFalse();
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+    }
+
+    @Test
+    void omittedCourtFieldsAreLeftUnchanged() {
+        Long institutionId = createInstitution();
+        Institution institution = institutionRepository.findById(institutionId).orElseThrow();
+        List<CourtPatchDTO> courts = new ArrayList<>();
+        for (Court court : institution.getCourts()) {
+            courts.add(new CourtPatchDTO(court.getId(), null, null, null));
+        }
+        // Sólo cambia el tipo de la primera: precio y disponibilidad no vienen en el pedido
+        Court clay = institution.getCourts().get(0);
+        courts.set(0, new CourtPatchDTO(clay.getId(), "CLAY", null, null));
+        InstitutionPatchDTO patch = new InstitutionPatchDTO();
+        patch.setCourts(courts);
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        institutionPatcher.apply(patch, institution);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(clay.getFieldType()).isEqualTo("CLAY");
+        assertThat(clay.getPricePerHour()).isEqualTo(100);
+        assertThat(clay.isAvailability()).isTrue();
+    }
+
+    @Test
+    void rejectsChildrenOfAnotherInstitution() {
+        Long institutionId = createInstitution();
+        Institution institution = institutionRepository.findById(institutionId).orElseThrow();
+
+        InstitutionPatchDTO patch = new InstitutionPatchDTO();
+        patch.setOpeningHours(List.of(openingHour(-1L, "MONDAY", "08:00", "20:00")));
+
+        assertThatThrownBy(() -> institutionPatcher.apply(patch, institution))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Long createInstitution() {
+        Institution institution = new Institution();
+        institution.setName("Club");
+        List<OpeningHour> hours = new ArrayList<>();
+        for (String day : List.of("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY")) {
+            OpeningHour hour = openingHour(null, day, "08:00", "23:00");
+            hour.setInstitution(institution);
+            hours.add(hour);
+        }
+        institution.setOpeningHours(hours);
+        List<Court> courts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Court court = new Court();
+            court.setFieldType("TENNIS");
+            court.setPricePerHour(100);
+            court.setAvailability(true);
+            court.setInstitution(institution);
+            courts.add(court);
+        }
+        institution.setCourts(courts);
+        Long id = institutionRepository.save(institution).getId();
+        entityManager.flush();
+        entityManager.clear();
+        return id;
+    }
+
+    private static OpeningHour openingHour(Long id, String day, String open, String close) {
+        OpeningHour hour = new OpeningHour();
+        hour.setId(id);
+        hour.setDayOfWeek(day);
+        hour.setOpenTime(open);
+        hour.setCloseTime(close);
+        return hour;
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
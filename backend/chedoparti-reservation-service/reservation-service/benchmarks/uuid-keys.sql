@@ -0,0 +1,58 @@
+-- Insert throughput and primary-key index size: random UUIDv4 text keys vs time-ordered UUIDv7 uuid keys.
+-- Run against an empty scratch database (PostgreSQL 13+):
+--   psql -d bench -v rows=10000000 -f benchmarks/uuid-keys.sql
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+    \set rows 10000000
+\endif
+\timing on
+
+-- SQL equivalent of UuidV7: 48-bit unix epoch millis followed by version 7, variant and random bits
+CREATE OR REPLACE FUNCTION bench_uuid_v7() RETURNS uuid AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                    PLACING substring(int8send(floor(extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                    FROM 1 FOR 6),
+            52, 1), 53, 1), 'hex')::uuid;
+$$ LANGUAGE sql VOLATILE;
+
+DROP TABLE IF EXISTS bench_v4_text;
+DROP TABLE IF EXISTS bench_v7_uuid;
+
+CREATE UNLOGGED TABLE bench_v4_text (
+    id VARCHAR(255) PRIMARY KEY,
+    court_id VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE UNLOGGED TABLE bench_v7_uuid (
+    id UUID PRIMARY KEY,
+    court_id UUID NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+\echo 'Inserting' :rows 'rows with random v4 keys stored as text'
+INSERT INTO bench_v4_text (id, court_id, created_at)
+SELECT gen_random_uuid()::text, gen_random_uuid()::text, clock_timestamp()
+FROM generate_series(1, :rows);
+
+\echo 'Inserting' :rows 'rows with time-ordered v7 keys stored as uuid'
+INSERT INTO bench_v7_uuid (id, court_id, created_at)
+SELECT bench_uuid_v7(), gen_random_uuid(), clock_timestamp()
+FROM generate_series(1, :rows);
+
+\timing off
+
+SELECT 'v4 text' AS keys,
+       pg_size_pretty(pg_relation_size('bench_v4_text')) AS heap,
+       pg_size_pretty(pg_relation_size('bench_v4_text_pkey')) AS pk_index
+UNION ALL
+SELECT 'v7 uuid',
+       pg_size_pretty(pg_relation_size('bench_v7_uuid')),
+       pg_size_pretty(pg_relation_size('bench_v7_uuid_pkey'));
+
+DROP TABLE bench_v4_text;
+DROP TABLE bench_v7_uuid;
+DROP FUNCTION bench_uuid_v7();
@@ -0,0 +1,57 @@
+package com.chedoparti.reservation_service.client;
+
+import com.chedoparti.reservation_service.dto.PaymentRefundRequest;
+import com.chedoparti.reservation_service.entity.RefundRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.UUID;
+
+@Component
+public class PaymentServiceClient {
+
+    private final RestClient restClient;
+
+    public PaymentServiceClient(RestClient.Builder restClientBuilder,
+                                @Value("${payment-service.url:http://payment-service:8080}") String baseUrl,
+                                @Value("${payment-service.timeout-ms:3000}") int timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restClient = restClientBuilder
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    /**
+     * Requests the refund of the payment the row references, which must be a payment-service payment
+     * id (see {@link #isPaymentId}). payment-service does not deduplicate refund calls.
+     */
+    public void requestRefund(RefundRequest refund) {
+        restClient.post()
+                .uri("/api/institutions/{institutionId}/reservations/{reservationId}/payments/{paymentId}/refund",
+                        refund.getInstitutionId(), refund.getReservationId(),
+                        UUID.fromString(refund.getPaymentReference()))
+                .body(new PaymentRefundRequest(null, refund.getAmount(), refund.getCurrency(), null))
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    /**
+     * payment-service identifies payments by UUID; any other reference cannot be refunded through it.
+     */
+    public static boolean isPaymentId(String paymentReference) {
+        if (paymentReference == null) {
+            return false;
+        }
+        try {
+            UUID.fromString(paymentReference);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
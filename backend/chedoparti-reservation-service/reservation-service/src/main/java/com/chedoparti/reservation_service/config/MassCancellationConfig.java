@@ -0,0 +1,26 @@
+package com.chedoparti.reservation_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class MassCancellationConfig {
+
+    /**
+     * Small dedicated pool so a big closure never competes with request threads.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor massCancellationExecutor(
+            @Value("${reservation.mass-cancellation.workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("mass-cancel-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,43 @@
+package com.chedoparti.reservation_service.controller;
+
+import com.chedoparti.reservation_service.dto.MassCancellationJobResponse;
+import com.chedoparti.reservation_service.dto.MassCancellationRequest;
+import com.chedoparti.reservation_service.service.MassCancellationService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/reservations/mass-cancellations")
+@Slf4j
+public class MassCancellationController {
+
+    private final MassCancellationService massCancellationService;
+
+    public MassCancellationController(MassCancellationService massCancellationService) {
+        this.massCancellationService = massCancellationService;
+    }
+
+    @PostMapping
+    public ResponseEntity<MassCancellationJobResponse> startJob(@Valid @RequestBody MassCancellationRequest request) {
+        log.info("Request received: Mass cancellation - Institution: {}, From: {}, To: {}, Reason: {}",
+                request.getInstitutionId(), request.getStartDate(), request.getEndDate(),
+                request.getCancellationReason());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(massCancellationService.startJob(request));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<MassCancellationJobResponse> getJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(massCancellationService.getJob(jobId));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<MassCancellationJobResponse> resumeJob(@PathVariable UUID jobId) {
+        log.info("Request received: Resume mass cancellation - ID: {}", jobId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(massCancellationService.resumeJob(jobId));
+    }
+}
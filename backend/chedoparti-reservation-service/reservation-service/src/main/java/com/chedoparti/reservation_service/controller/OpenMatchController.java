@@ -0,0 +1,62 @@
+package com.chedoparti.reservation_service.controller;
+
+import com.chedoparti.reservation_service.dto.OpenMatchRequest;
+import com.chedoparti.reservation_service.dto.OpenMatchResponse;
+import com.chedoparti.reservation_service.enums.SkillLevel;
+import com.chedoparti.reservation_service.service.OpenMatchService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/open-matches")
+@Slf4j
+public class OpenMatchController {
+
+    private final OpenMatchService openMatchService;
+
+    public OpenMatchController(OpenMatchService openMatchService) {
+        this.openMatchService = openMatchService;
+    }
+
+    @PostMapping
+    public ResponseEntity<OpenMatchResponse> openMatch(@Valid @RequestBody OpenMatchRequest request) {
+        log.info("Request received: Open match - Reservation: {}, Missing players: {}",
+                request.getReservationId(), request.getMissingPlayers());
+        return ResponseEntity.status(HttpStatus.CREATED).body(openMatchService.openMatch(request));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<OpenMatchResponse>> searchOpenMatches(
+            @RequestParam String sport,
+            @RequestParam(required = false) SkillLevel level,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Request received: Search open matches - Sport: {}, Level: {}, From: {}, To: {}",
+                sport, level, from, to);
+        return ResponseEntity.ok(openMatchService.searchOpenMatches(sport, level, from, to, lat, lng, radiusKm, limit));
+    }
+
+    @PostMapping("/{matchId}/players")
+    public ResponseEntity<OpenMatchResponse> joinMatch(@PathVariable UUID matchId, @RequestParam UUID userId) {
+        log.info("Request received: Join open match - ID: {}, User: {}", matchId, userId);
+        return ResponseEntity.ok(openMatchService.joinMatch(matchId, userId));
+    }
+
+    @DeleteMapping("/{matchId}/players/{userId}")
+    public ResponseEntity<OpenMatchResponse> leaveMatch(@PathVariable UUID matchId, @PathVariable UUID userId) {
+        log.info("Request received: Leave open match - ID: {}, User: {}", matchId, userId);
+        return ResponseEntity.ok(openMatchService.leaveMatch(matchId, userId));
+    }
+}
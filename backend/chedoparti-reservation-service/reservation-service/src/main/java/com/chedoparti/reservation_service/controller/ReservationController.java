@@ -3,6 +3,7 @@ package com.chedoparti.reservation_service.controller;
 import com.chedoparti.reservation_service.dto.ReservationDTO;
 import com.chedoparti.reservation_service.dto.ReservationRequest;
 import com.chedoparti.reservation_service.dto.ReservationResponse;
+import com.chedoparti.reservation_service.dto.ReservationSummary;
 import com.chedoparti.reservation_service.enums.ReservationStatus;
 import com.chedoparti.reservation_service.entity.Reservation;
 import com.chedoparti.reservation_service.service.ReservationService;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/reservations")
@@ -40,7 +42,7 @@ public class ReservationController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Reservation>> getReservationsByUser(@PathVariable String userId) {
+    public ResponseEntity<List<Reservation>> getReservationsByUser(@PathVariable UUID userId) {
         log.info("Request received: Get reservations for user ID: {}", userId);
         try {
             List<Reservation> userReservations = reservationService.getReservationsByUser(userId);
@@ -52,6 +54,19 @@ public class ReservationController {
         }
     }
 
+    @GetMapping("/user/{userId}/upcoming")
+    public ResponseEntity<List<ReservationSummary>> getUpcomingReservationsByUser(@PathVariable UUID userId) {
+        log.info("Request received: Get upcoming reservations for user ID: {}", userId);
+        try {
+            List<ReservationSummary> upcoming = reservationService.getUpcomingReservationsByUser(userId);
+            log.debug("Found {} upcoming reservations for user ID: {}", upcoming.size(), userId);
+            return ResponseEntity.ok().body(upcoming);
+        } catch (Exception e) {
+            log.error("Error retrieving upcoming reservations for user ID {}: {}", userId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @PostMapping("/")
     public ResponseEntity<Reservation> createReservation(@RequestBody ReservationRequest request) {
         log.info("Request received: Create reservation - User: {}, Court: {}, Date: {}", 
@@ -59,8 +74,8 @@ public class ReservationController {
         
         try {
             // Convert ReservationRequest to the parameters needed by the service
-            String userId = request.getUserId();
-            String courtId = request.getCourtId();
+            UUID userId = request.getUserId();
+            UUID courtId = request.getCourtId();
             LocalDateTime startTime = LocalDateTime.of(request.getDate(), request.getStartTime());
             LocalDateTime endTime = LocalDateTime.of(request.getDate(), request.getEndTime());
             
@@ -79,7 +94,7 @@ public class ReservationController {
 
     @PutMapping("/{reservationId}")
     public ResponseEntity<Void> updateReservationStatus(
-            @PathVariable String reservationId,
+            @PathVariable UUID reservationId,
             @RequestParam ReservationStatus status)
     {
         log.info("Request received: Update reservation status - ID: {}, New Status: {}", reservationId, status);
@@ -94,7 +109,7 @@ public class ReservationController {
     }
 
     @DeleteMapping("/{reservationId}")
-    public ResponseEntity<String> cancelReservation(@PathVariable String reservationId)
+    public ResponseEntity<String> cancelReservation(@PathVariable UUID reservationId)
     {
         log.info("Request received: Cancel reservation - ID: {}", reservationId);
         try {
@@ -0,0 +1,25 @@
+package com.chedoparti.reservation_service.dto;
+
+import com.chedoparti.reservation_service.enums.AlternativeSlotType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlternativeSlot {
+    private AlternativeSlotType type;
+    private UUID courtId;
+    private String courtName;
+    private UUID institutionId;
+    private String institutionName;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private int score; // Menor es mejor: minutos de corrimiento más penalidad por cambiar de cancha/institución
+}
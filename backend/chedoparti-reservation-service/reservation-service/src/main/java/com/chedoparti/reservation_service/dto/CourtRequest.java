@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.UUID;
 
 @Data
 @NoArgsConstructor
@@ -19,8 +20,8 @@ public class CourtRequest {
     @NotBlank(message = "Sport type is required")
     private String sportType;
     
-    @NotBlank(message = "Institution ID is required")
-    private String institutionId;
+    @NotNull(message = "Institution ID is required")
+    private UUID institutionId;
     
     @NotNull(message = "Price per hour is required")
     @Positive(message = "Price per hour must be positive")
@@ -6,15 +6,16 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class CourtResponse {
-    private String id;
+    private UUID id;
     private String name;
     private String sportType;
-    private String institutionId;
+    private UUID institutionId;
     private String institutionName;
     private boolean indoor;
     private String surfaceType;
@@ -0,0 +1,28 @@
+package com.chedoparti.reservation_service.dto;
+
+import com.chedoparti.reservation_service.enums.MassCancellationStatus;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class MassCancellationJobResponse {
+    private UUID id;
+    private UUID institutionId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String cancellationReason;
+    private String cancelledBy;
+    private MassCancellationStatus status;
+    private int batchSize;
+    private long totalReservations;
+    private long processedReservations;
+    private long refundRequests;
+    private double progressPercent;
+    private double reservationsPerSecond;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,32 @@
+package com.chedoparti.reservation_service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+public class MassCancellationRequest {
+    @NotNull(message = "Institution ID is required")
+    private UUID institutionId;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @NotBlank(message = "Cancellation reason is required")
+    private String cancellationReason;
+
+    @NotBlank(message = "Cancelled by is required")
+    private String cancelledBy;
+
+    @Positive(message = "Batch size must be positive")
+    @Max(value = 5000, message = "Batch size must be at most 5000")
+    private Integer batchSize;
+}
@@ -0,0 +1,25 @@
+package com.chedoparti.reservation_service.dto;
+
+import com.chedoparti.reservation_service.enums.SkillLevel;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class OpenMatchRequest {
+    @NotNull(message = "Reservation ID is required")
+    private UUID reservationId;
+
+    @NotNull(message = "Skill level is required")
+    private SkillLevel skillLevel;
+
+    @NotNull(message = "Missing players is required")
+    @Positive(message = "Missing players must be positive")
+    private Integer missingPlayers;
+
+    private Double latitude;
+
+    private Double longitude;
+}
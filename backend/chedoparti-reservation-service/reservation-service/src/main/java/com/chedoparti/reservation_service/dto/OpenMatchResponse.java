@@ -0,0 +1,28 @@
+package com.chedoparti.reservation_service.dto;
+
+import com.chedoparti.reservation_service.enums.OpenMatchStatus;
+import com.chedoparti.reservation_service.enums.SkillLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpenMatchResponse {
+    private UUID id;
+    private UUID reservationId;
+    private String sport;
+    private SkillLevel skillLevel;
+    private LocalDateTime startsAt;
+    private Double latitude;
+    private Double longitude;
+    private int maxPlayers;
+    private int joinedPlayers;
+    private int missingPlayers;
+    private OpenMatchStatus status;
+    private Double distanceKm; // Sólo se informa cuando la búsqueda incluye coordenadas
+}
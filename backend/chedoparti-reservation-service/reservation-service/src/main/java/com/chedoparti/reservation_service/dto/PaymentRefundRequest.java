@@ -0,0 +1,21 @@
+package com.chedoparti.reservation_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Body of payment-service's {@code POST .../payments/{paymentId}/refund} (its {@code RefundRequest}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentRefundRequest {
+    private UUID transactionId; // payment-service lo toma del pago; no se conoce acá
+    private BigDecimal amount;
+    private String currency;
+    private String status;
+}
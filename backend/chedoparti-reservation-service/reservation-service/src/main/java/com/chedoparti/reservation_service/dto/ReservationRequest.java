@@ -11,14 +11,15 @@ import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.UUID;
 
 @Data
 public class ReservationRequest {
     @NotNull(message = "User ID is required")
-    private String userId;
+    private UUID userId;
     
     @NotNull(message = "Court ID is required")
-    private String courtId;
+    private UUID courtId;
     
     @FutureOrPresent(message = "Reservation date must be in the present or future")
     @NotNull(message = "Date is required")
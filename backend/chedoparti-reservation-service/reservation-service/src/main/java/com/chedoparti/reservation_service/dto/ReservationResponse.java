@@ -10,15 +10,16 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.UUID;
 
 @Data
 public class ReservationResponse {
-    private String id;
-    private String userId;
+    private UUID id;
+    private UUID userId;
     private String userName; // Nombre del usuario que hizo la reserva
-    private String courtId;
+    private UUID courtId;
     private String courtName; // Nombre de la cancha
-    private String institutionId;
+    private UUID institutionId;
     private String institutionName; // Nombre de la institución
     private LocalDate date;
     private LocalTime startTime;
@@ -0,0 +1,41 @@
+package com.chedoparti.reservation_service.dto;
+
+import com.chedoparti.reservation_service.enums.ReservationStatus;
+import com.chedoparti.reservation_service.enums.ReservationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Lightweight view of a reservation for the user's home screen. Instances are shared by the
+ * upcoming reservations cache, so they are never modified after being built.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSummary {
+    private UUID id;
+    private UUID courtId;
+    private String courtName;
+    private UUID institutionId;
+    private String institutionName;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private ReservationStatus status;
+    private ReservationType reservationType;
+    private BigDecimal totalAmount;
+    private String currency;
+
+    public LocalDateTime endsAt() {
+        // Un turno que termina a medianoche (o la cruza) termina al día siguiente
+        LocalDate endDate = endTime.isAfter(startTime) ? date : date.plusDays(1);
+        return LocalDateTime.of(endDate, endTime);
+    }
+}
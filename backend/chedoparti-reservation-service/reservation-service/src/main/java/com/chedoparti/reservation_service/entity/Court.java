@@ -1,5 +1,6 @@
 package com.chedoparti.reservation_service.entity;
 
+import com.chedoparti.reservation_service.util.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Set;
+import java.util.UUID;
 
 @Data
 @NoArgsConstructor
@@ -16,8 +18,8 @@ import java.util.Set;
 @Table(name = "courts")
 public class Court {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @GeneratedUuidV7
+    private UUID id;
     
     @Column(nullable = false)
     private String name;
@@ -1,5 +1,6 @@
 package com.chedoparti.reservation_service.entity;
 
+import com.chedoparti.reservation_service.util.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.Set;
+import java.util.UUID;
 
 @Data
 @NoArgsConstructor
@@ -15,8 +17,8 @@ import java.util.Set;
 @Table(name = "institutions")
 public class Institution {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @GeneratedUuidV7
+    private UUID id;
     
     @Column(nullable = false)
     private String name;
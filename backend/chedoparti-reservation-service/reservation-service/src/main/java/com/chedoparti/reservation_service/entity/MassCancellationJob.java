@@ -0,0 +1,85 @@
+package com.chedoparti.reservation_service.entity;
+
+import com.chedoparti.reservation_service.enums.MassCancellationStatus;
+import com.chedoparti.reservation_service.util.GeneratedUuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "mass_cancellation_jobs")
+public class MassCancellationJob {
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @Column(name = "institution_id", nullable = false)
+    private UUID institutionId;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "cancellation_reason", nullable = false)
+    private String cancellationReason;
+
+    @Column(name = "cancelled_by", nullable = false)
+    private String cancelledBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MassCancellationStatus status = MassCancellationStatus.PENDING;
+
+    @Column(name = "batch_size", nullable = false)
+    private Integer batchSize;
+
+    @Column(name = "total_reservations")
+    private Long totalReservations = 0L;
+
+    @Column(name = "processed_reservations")
+    private Long processedReservations = 0L;
+
+    @Column(name = "refund_requests")
+    private Long refundRequests = 0L;
+
+    // Último id procesado: permite retomar el job donde quedó
+    @Column(name = "last_reservation_id")
+    private UUID lastReservationId = new UUID(0L, 0L);
+
+    // Worker que tiene tomado el job y su último latido; ver MassCancellationJobRepository.claim
+    @Column(name = "claimed_by")
+    private UUID claimedBy;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
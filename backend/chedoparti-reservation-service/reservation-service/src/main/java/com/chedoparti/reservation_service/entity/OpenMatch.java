@@ -0,0 +1,62 @@
+package com.chedoparti.reservation_service.entity;
+
+import com.chedoparti.reservation_service.enums.OpenMatchStatus;
+import com.chedoparti.reservation_service.enums.SkillLevel;
+import com.chedoparti.reservation_service.util.GeneratedUuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "open_matches")
+public class OpenMatch {
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reservation_id", nullable = false, unique = true)
+    private Reservation reservation;
+
+    @Column(nullable = false)
+    private String sport;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "skill_level", nullable = false)
+    private SkillLevel skillLevel;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    // Coordenadas del club, informadas por el cliente al publicar el partido
+    private Double latitude;
+    private Double longitude;
+
+    @Column(name = "max_players", nullable = false)
+    private Integer maxPlayers;
+
+    @Column(name = "joined_players", nullable = false)
+    private Integer joinedPlayers;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OpenMatchStatus status = OpenMatchStatus.OPEN;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
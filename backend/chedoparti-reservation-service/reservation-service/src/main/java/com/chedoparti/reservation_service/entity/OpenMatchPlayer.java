@@ -0,0 +1,32 @@
+package com.chedoparti.reservation_service.entity;
+
+import com.chedoparti.reservation_service.util.GeneratedUuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "open_match_players",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"open_match_id", "user_id"}))
+public class OpenMatchPlayer {
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "open_match_id", nullable = false)
+    private OpenMatch openMatch;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "joined_at", nullable = false)
+    private LocalDateTime joinedAt = LocalDateTime.now();
+}
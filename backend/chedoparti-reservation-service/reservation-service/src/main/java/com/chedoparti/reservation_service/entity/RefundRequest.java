@@ -0,0 +1,67 @@
+package com.chedoparti.reservation_service.entity;
+
+import com.chedoparti.reservation_service.enums.RefundRequestStatus;
+import com.chedoparti.reservation_service.util.GeneratedUuidV7;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox row for a refund that must be requested from payment-service. It is written in the
+ * same transaction as the cancellation, so a refund is never lost if the dispatch fails.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "refund_requests")
+public class RefundRequest {
+    @Id
+    @GeneratedUuidV7
+    private UUID id;
+
+    @Column(name = "mass_cancellation_job_id")
+    private UUID massCancellationJobId;
+
+    @Column(name = "reservation_id", nullable = false)
+    private UUID reservationId;
+
+    @Column(name = "institution_id", nullable = false)
+    private UUID institutionId;
+
+    @Column(name = "payment_reference")
+    private String paymentReference;
+
+    @Column(precision = 10, scale = 2, nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RefundRequestStatus status = RefundRequestStatus.PENDING;
+
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
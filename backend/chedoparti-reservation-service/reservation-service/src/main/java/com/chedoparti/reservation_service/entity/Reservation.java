@@ -4,6 +4,7 @@ import com.chedoparti.reservation_service.enums.PaymentMethod;
 import com.chedoparti.reservation_service.enums.RecurrenceFrequency;
 import com.chedoparti.reservation_service.enums.ReservationStatus;
 import com.chedoparti.reservation_service.enums.ReservationType;
+import com.chedoparti.reservation_service.util.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,6 +14,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.UUID;
 
 @Data
 @NoArgsConstructor
@@ -21,8 +23,8 @@ import java.time.LocalTime;
 @Table(name = "reservations")
 public class Reservation {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @GeneratedUuidV7
+    private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -1,12 +1,14 @@
 package com.chedoparti.reservation_service.entity;
 
 import com.chedoparti.reservation_service.enums.UserRole;
+import com.chedoparti.reservation_service.util.GeneratedUuidV7;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Data
 @NoArgsConstructor
@@ -15,8 +17,8 @@ import java.time.LocalDateTime;
 @Table(name = "users")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @GeneratedUuidV7
+    private UUID id;
     
     @Column(nullable = false)
     private String firstName;
@@ -0,0 +1,5 @@
+package com.chedoparti.reservation_service.enums;
+
+public enum AlternativeSlotType {
+    SAME_COURT, SIBLING_COURT, OTHER_INSTITUTION
+}
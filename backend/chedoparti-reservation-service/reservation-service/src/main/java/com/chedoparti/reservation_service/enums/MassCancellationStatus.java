@@ -0,0 +1,5 @@
+package com.chedoparti.reservation_service.enums;
+
+public enum MassCancellationStatus {
+    PENDING, RUNNING, COMPLETED, FAILED
+}
@@ -1,5 +1,6 @@
 package com.chedoparti.reservation_service.exception;
 
+import com.chedoparti.reservation_service.dto.AlternativeSlot;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -12,6 +13,7 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -28,6 +30,17 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponse, ex.getStatus());
     }
 
+    @ExceptionHandler(SlotUnavailableException.class)
+    public ResponseEntity<SlotConflictResponse> handleSlotUnavailable(SlotUnavailableException ex) {
+        SlotConflictResponse response = new SlotConflictResponse(
+            ex.getStatus().value(),
+            ex.getErrorCode(),
+            ex.getMessage(),
+            ex.getAlternatives()
+        );
+        return new ResponseEntity<>(response, ex.getStatus());
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException ex) {
         String message = ex.getConstraintViolations().stream()
@@ -92,4 +105,13 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             this.message = message;
         }
     }
+
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    public static class SlotConflictResponse {
+        private int status;
+        private String error;
+        private String message;
+        private List<AlternativeSlot> alternatives;
+    }
 }
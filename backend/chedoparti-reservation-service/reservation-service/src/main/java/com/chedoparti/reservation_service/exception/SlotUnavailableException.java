@@ -0,0 +1,19 @@
+package com.chedoparti.reservation_service.exception;
+
+import com.chedoparti.reservation_service.dto.AlternativeSlot;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+public class SlotUnavailableException extends BaseException {
+    private final List<AlternativeSlot> alternatives;
+
+    public SlotUnavailableException(String message, List<AlternativeSlot> alternatives) {
+        super(message, HttpStatus.CONFLICT, "SLOT_UNAVAILABLE");
+        this.alternatives = alternatives;
+    }
+
+    public List<AlternativeSlot> getAlternatives() {
+        return alternatives;
+    }
+}
@@ -0,0 +1,20 @@
+package com.chedoparti.reservation_service.repository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Columns a mass cancellation needs per reservation: the id to cancel, whose cache to evict and
+ * what to refund.
+ */
+public interface CancellableReservationView {
+    UUID getId();
+
+    UUID getUserId();
+
+    BigDecimal getAmountPaid();
+
+    String getCurrency();
+
+    String getPaymentReference();
+}
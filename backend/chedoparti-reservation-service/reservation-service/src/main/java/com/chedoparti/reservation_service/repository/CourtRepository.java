@@ -1,9 +1,27 @@
 package com.chedoparti.reservation_service.repository;
 
 import com.chedoparti.reservation_service.entity.Court;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
 @Repository
-public interface CourtRepository extends JpaRepository<Court, String> {
+public interface CourtRepository extends JpaRepository<Court, UUID> {
+    List<Court> findByInstitutionIdAndSportTypeAndActiveTrue(UUID institutionId, String sportType);
+
+    @EntityGraph(attributePaths = "institution")
+    List<Court> findBySportTypeAndActiveTrueAndInstitutionIdNot(String sportType, UUID institutionId, Pageable pageable);
+
+    // SELECT ... FOR UPDATE sobre la cancha: serializa las reservas concurrentes de una misma cancha
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Court c WHERE c.id = :id")
+    Optional<Court> lockById(UUID id);
 }
@@ -0,0 +1,35 @@
+package com.chedoparti.reservation_service.repository;
+
+import com.chedoparti.reservation_service.entity.MassCancellationJob;
+import com.chedoparti.reservation_service.enums.MassCancellationStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface MassCancellationJobRepository extends JpaRepository<MassCancellationJob, UUID> {
+    List<MassCancellationJob> findByStatusIn(List<MassCancellationStatus> statuses);
+
+    // Toma el job sólo si está libre o si el worker que lo tenía dejó de latir: gana una sola instancia
+    @Modifying
+    @Query("UPDATE MassCancellationJob j SET j.status = :running, j.claimedBy = :owner, j.heartbeatAt = :now, " +
+            "j.errorMessage = NULL, j.startedAt = COALESCE(j.startedAt, :now), j.updatedAt = :now " +
+            "WHERE j.id = :jobId AND (j.status IN :claimable " +
+            "OR (j.status = :running AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)))")
+    int claim(UUID jobId, UUID owner, LocalDateTime now, LocalDateTime staleBefore,
+              MassCancellationStatus running, Collection<MassCancellationStatus> claimable);
+
+    // Cada chunk bloquea la fila del job: dos workers nunca avanzan el mismo cursor a la vez
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM MassCancellationJob j WHERE j.id = :id")
+    Optional<MassCancellationJob> lockById(UUID id);
+}
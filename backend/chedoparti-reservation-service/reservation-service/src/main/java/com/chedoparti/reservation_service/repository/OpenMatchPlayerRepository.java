@@ -0,0 +1,21 @@
+package com.chedoparti.reservation_service.repository;
+
+import com.chedoparti.reservation_service.entity.OpenMatchPlayer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OpenMatchPlayerRepository extends JpaRepository<OpenMatchPlayer, UUID> {
+    boolean existsByOpenMatchIdAndUserId(UUID openMatchId, UUID userId);
+
+    List<OpenMatchPlayer> findByOpenMatchId(UUID openMatchId);
+
+    @Modifying
+    @Query("DELETE FROM OpenMatchPlayer p WHERE p.openMatch.id = :openMatchId AND p.userId = :userId")
+    int deleteByOpenMatchIdAndUserId(UUID openMatchId, UUID userId);
+}
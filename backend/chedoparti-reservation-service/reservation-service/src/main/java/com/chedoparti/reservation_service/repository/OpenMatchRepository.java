@@ -0,0 +1,41 @@
+package com.chedoparti.reservation_service.repository;
+
+import com.chedoparti.reservation_service.entity.OpenMatch;
+import com.chedoparti.reservation_service.enums.OpenMatchStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface OpenMatchRepository extends JpaRepository<OpenMatch, UUID> {
+    Optional<OpenMatch> findByReservationId(UUID reservationId);
+
+    boolean existsByReservationId(UUID reservationId);
+
+    List<OpenMatch> findByStatusAndStartsAtAfter(OpenMatchStatus status, LocalDateTime startsAt);
+
+    // Sólo suma un jugador si quedan lugares: la base es el árbitro final ante uniones concurrentes
+    @Modifying
+    @Query("UPDATE OpenMatch m SET m.joinedPlayers = m.joinedPlayers + 1, m.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE m.id = :matchId AND m.status = :status AND m.joinedPlayers < m.maxPlayers")
+    int incrementJoinedPlayers(UUID matchId, OpenMatchStatus status);
+
+    @Modifying
+    @Query("UPDATE OpenMatch m SET m.joinedPlayers = m.joinedPlayers - 1, m.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE m.id = :matchId AND m.joinedPlayers > 0")
+    int decrementJoinedPlayers(UUID matchId);
+
+    @Query("SELECT m.id FROM OpenMatch m WHERE m.reservation.id IN :reservationIds AND m.status = :status")
+    List<UUID> findIdsByReservationIdsAndStatus(Collection<UUID> reservationIds, OpenMatchStatus status);
+
+    @Modifying
+    @Query("UPDATE OpenMatch m SET m.status = :status, m.updatedAt = CURRENT_TIMESTAMP WHERE m.id IN :ids")
+    int updateStatus(Collection<UUID> ids, OpenMatchStatus status);
+}
@@ -0,0 +1,32 @@
+package com.chedoparti.reservation_service.repository;
+
+import com.chedoparti.reservation_service.entity.RefundRequest;
+import com.chedoparti.reservation_service.enums.RefundRequestStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RefundRequestRepository extends JpaRepository<RefundRequest, UUID> {
+    List<RefundRequest> findByMassCancellationJobIdAndStatus(UUID massCancellationJobId, RefundRequestStatus status);
+
+    List<RefundRequest> findByStatusAndUpdatedAtBeforeOrderByUpdatedAtAsc(RefundRequestStatus status,
+                                                                          LocalDateTime before, Pageable pageable);
+
+    // Cuenta el intento antes de enviarlo: gana un solo emisor aunque el job, el barrido y otras
+    // instancias despachen la misma fila; un reintento espera a que el intento anterior venza
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefundRequest r SET r.attempts = r.attempts + 1, r.updatedAt = :now " +
+            "WHERE r.id = :id AND r.status = :pending AND r.attempts = :attempts " +
+            "AND (r.attempts = 0 OR r.updatedAt < :retryBefore)")
+    int claimAttempt(UUID id, int attempts, LocalDateTime now, LocalDateTime retryBefore,
+                     RefundRequestStatus pending);
+}
@@ -1,17 +1,65 @@
 package com.chedoparti.reservation_service.repository;
 
+import com.chedoparti.reservation_service.dto.ReservationSummary;
 import com.chedoparti.reservation_service.entity.Reservation;
 import com.chedoparti.reservation_service.entity.User;
 import com.chedoparti.reservation_service.enums.ReservationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, String> {
-    List<Reservation> findByUserId(String userId);
-    List<Reservation> findByCourtId(String courtId);
-    List<Reservation> findByCourtInstitutionId(String institutionId);
+public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
+    List<Reservation> findByUserId(UUID userId);
+    List<Reservation> findByCourtId(UUID courtId);
+    List<Reservation> findByCourtInstitutionId(UUID institutionId);
     List<Reservation> findByStatus(ReservationStatus status);
+
+    // Próximas reservas de un usuario, ya proyectadas al resumen que cachea UpcomingReservationCache
+    @Query("SELECT new com.chedoparti.reservation_service.dto.ReservationSummary(r.id, c.id, c.name, i.id, i.name, " +
+            "r.date, r.startTime, r.endTime, r.status, r.reservationType, r.totalAmount, r.currency) " +
+            "FROM Reservation r JOIN r.court c JOIN c.institution i " +
+            "WHERE r.user.id = :userId AND r.date >= :fromDate AND r.status <> :excludedStatus " +
+            "ORDER BY r.date, r.startTime")
+    List<ReservationSummary> findUpcomingSummaries(UUID userId, LocalDate fromDate, ReservationStatus excludedStatus);
+
+    // Franjas ocupadas de todas las canchas de una institución en un día (para armar la agenda en memoria)
+    @Query("SELECT r.court.id AS courtId, r.startTime AS startTime, r.endTime AS endTime FROM Reservation r " +
+            "WHERE r.court.institution.id = :institutionId AND r.date = :date AND r.status <> :excludedStatus")
+    List<ReservationSlotView> findSlotsByInstitutionAndDate(UUID institutionId, LocalDate date,
+                                                            ReservationStatus excludedStatus);
+
+    @Query("SELECT r.court.id AS courtId, r.startTime AS startTime, r.endTime AS endTime FROM Reservation r " +
+            "WHERE r.court.id IN :courtIds AND r.date = :date AND r.status <> :excludedStatus")
+    List<ReservationSlotView> findSlotsByCourtsAndDate(Collection<UUID> courtIds, LocalDate date,
+                                                       ReservationStatus excludedStatus);
+
+    // Cancelación masiva: recorrido por keyset (id > afterId) para poder retomar sin OFFSET
+    @Query("SELECT r.id AS id, r.user.id AS userId, r.amountPaid AS amountPaid, r.currency AS currency, " +
+            "r.paymentReference AS paymentReference FROM Reservation r " +
+            "WHERE r.court.institution.id = :institutionId AND r.date BETWEEN :startDate AND :endDate " +
+            "AND r.status <> :excludedStatus AND r.id > :afterId ORDER BY r.id")
+    List<CancellableReservationView> findCancellableChunk(UUID institutionId, LocalDate startDate, LocalDate endDate,
+                                                          ReservationStatus excludedStatus, UUID afterId,
+                                                          Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM Reservation r WHERE r.court.institution.id = :institutionId " +
+            "AND r.date BETWEEN :startDate AND :endDate AND r.status <> :excludedStatus")
+    long countCancellable(UUID institutionId, LocalDate startDate, LocalDate endDate,
+                          ReservationStatus excludedStatus);
+
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = :status, r.cancellationReason = :reason, " +
+            "r.cancelledBy = :cancelledBy, r.cancellationDate = :cancelledAt, r.updatedAt = :cancelledAt " +
+            "WHERE r.id IN :ids AND r.status <> :status")
+    int bulkCancel(Collection<UUID> ids, ReservationStatus status, String reason, String cancelledBy,
+                   LocalDateTime cancelledAt);
 }
@@ -0,0 +1,16 @@
+package com.chedoparti.reservation_service.repository;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Lightweight projection of a reservation's occupied time range, used to build
+ * day schedules without loading full {@code Reservation} entities.
+ */
+public interface ReservationSlotView {
+    UUID getCourtId();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+}
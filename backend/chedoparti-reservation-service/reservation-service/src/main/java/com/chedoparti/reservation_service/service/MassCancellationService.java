@@ -0,0 +1,12 @@
+package com.chedoparti.reservation_service.service;
+
+import com.chedoparti.reservation_service.dto.MassCancellationJobResponse;
+import com.chedoparti.reservation_service.dto.MassCancellationRequest;
+
+import java.util.UUID;
+
+public interface MassCancellationService {
+    MassCancellationJobResponse startJob(MassCancellationRequest request);
+    MassCancellationJobResponse getJob(UUID jobId);
+    MassCancellationJobResponse resumeJob(UUID jobId);
+}
@@ -0,0 +1,192 @@
+package com.chedoparti.reservation_service.service;
+
+import com.chedoparti.reservation_service.dto.MassCancellationJobResponse;
+import com.chedoparti.reservation_service.dto.MassCancellationRequest;
+import com.chedoparti.reservation_service.entity.MassCancellationJob;
+import com.chedoparti.reservation_service.entity.RefundRequest;
+import com.chedoparti.reservation_service.enums.MassCancellationStatus;
+import com.chedoparti.reservation_service.enums.RefundRequestStatus;
+import com.chedoparti.reservation_service.enums.ReservationStatus;
+import com.chedoparti.reservation_service.exception.BadRequestException;
+import com.chedoparti.reservation_service.exception.ConflictException;
+import com.chedoparti.reservation_service.exception.ResourceNotFoundException;
+import com.chedoparti.reservation_service.exception.ServiceUnavailableException;
+import com.chedoparti.reservation_service.repository.MassCancellationJobRepository;
+import com.chedoparti.reservation_service.repository.RefundRequestRepository;
+import com.chedoparti.reservation_service.repository.ReservationRepository;
+import com.chedoparti.reservation_service.service.cancellation.MassCancellationChunkProcessor;
+import com.chedoparti.reservation_service.service.cancellation.MassCancellationChunkProcessor.ChunkResult;
+import com.chedoparti.reservation_service.service.cancellation.RefundDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class MassCancellationServiceImpl implements MassCancellationService {
+
+    private final MassCancellationJobRepository jobRepository;
+    private final ReservationRepository reservationRepository;
+    private final RefundRequestRepository refundRequestRepository;
+    private final MassCancellationChunkProcessor chunkProcessor;
+    private final RefundDispatcher refundDispatcher;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final int defaultBatchSize;
+
+    public MassCancellationServiceImpl(MassCancellationJobRepository jobRepository,
+                                       ReservationRepository reservationRepository,
+                                       RefundRequestRepository refundRequestRepository,
+                                       MassCancellationChunkProcessor chunkProcessor,
+                                       RefundDispatcher refundDispatcher,
+                                       @Qualifier("massCancellationExecutor") ThreadPoolTaskExecutor executor,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${reservation.mass-cancellation.batch-size:500}") int defaultBatchSize) {
+        this.jobRepository = jobRepository;
+        this.reservationRepository = reservationRepository;
+        this.refundRequestRepository = refundRequestRepository;
+        this.chunkProcessor = chunkProcessor;
+        this.refundDispatcher = refundDispatcher;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.defaultBatchSize = defaultBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        List<MassCancellationJob> interrupted = jobRepository.findByStatusIn(
+                List.of(MassCancellationStatus.PENDING, MassCancellationStatus.RUNNING));
+        // Los que siguen tomados por otra instancia viva no se pueden reclamar y se saltean
+        long resumed = interrupted.stream().filter(job -> submit(job.getId())).count();
+        if (resumed > 0) {
+            log.info("Resuming {} of {} interrupted mass cancellation jobs", resumed, interrupted.size());
+        }
+    }
+
+    @Override
+    public MassCancellationJobResponse startJob(MassCancellationRequest request) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new BadRequestException("End date must not be before start date");
+        }
+
+        MassCancellationJob job = new MassCancellationJob();
+        job.setInstitutionId(request.getInstitutionId());
+        job.setStartDate(request.getStartDate());
+        job.setEndDate(request.getEndDate());
+        job.setCancellationReason(request.getCancellationReason());
+        job.setCancelledBy(request.getCancelledBy());
+        job.setBatchSize(request.getBatchSize() != null ? request.getBatchSize() : defaultBatchSize);
+        job.setTotalReservations(reservationRepository.countCancellable(request.getInstitutionId(),
+                request.getStartDate(), request.getEndDate(), ReservationStatus.CANCELLED));
+        MassCancellationJob saved = jobRepository.save(job);
+
+        log.info("Created mass cancellation job {} for institution {} from {} to {} ({} reservations)",
+                saved.getId(), saved.getInstitutionId(), saved.getStartDate(), saved.getEndDate(),
+                saved.getTotalReservations());
+        submit(saved.getId());
+        return toResponse(requireJob(saved.getId()));
+    }
+
+    @Override
+    public MassCancellationJobResponse getJob(UUID jobId) {
+        return toResponse(requireJob(jobId));
+    }
+
+    @Override
+    public MassCancellationJobResponse resumeJob(UUID jobId) {
+        MassCancellationJob job = requireJob(jobId);
+        if (job.getStatus() == MassCancellationStatus.COMPLETED) {
+            throw new ConflictException("Mass cancellation job " + jobId + " is already completed");
+        }
+        if (!submit(jobId)) {
+            throw new ConflictException("Mass cancellation job " + jobId + " is already running");
+        }
+        return toResponse(requireJob(jobId));
+    }
+
+    /**
+     * Claims the job row for a fresh worker token and hands it to the executor. Returns false when
+     * another worker, possibly on another instance, still holds the job.
+     */
+    private boolean submit(UUID jobId) {
+        UUID owner = UUID.randomUUID();
+        if (!chunkProcessor.claim(jobId, owner)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> run(jobId, owner));
+        } catch (TaskRejectedException e) {
+            chunkProcessor.markFailed(jobId, owner, "No mass cancellation worker available");
+            throw new ServiceUnavailableException("No mass cancellation worker available, retry later", e);
+        }
+        return true;
+    }
+
+    private void run(UUID jobId, UUID owner) {
+        Timer chunkTimer = meterRegistry.timer("reservations.mass_cancellation.chunk");
+        try {
+            // Reintenta reembolsos que quedaron pendientes de una ejecución anterior
+            refundDispatcher.dispatch(refundRequestRepository
+                    .findByMassCancellationJobIdAndStatus(jobId, RefundRequestStatus.PENDING)
+                    .stream().map(RefundRequest::getId).toList());
+
+            ChunkResult result;
+            do {
+                result = chunkTimer.record(() -> chunkProcessor.processChunk(jobId, owner));
+                meterRegistry.counter("reservations.mass_cancellation.cancelled").increment(result.cancelled());
+                refundDispatcher.dispatch(result.refundIds());
+            } while (!result.finished());
+
+            log.info("Mass cancellation job {} completed", jobId);
+        } catch (ConflictException e) {
+            log.warn("Mass cancellation job {} stopped: {}", jobId, e.getMessage());
+        } catch (Exception e) {
+            log.error("Mass cancellation job {} failed: {}", jobId, e.getMessage(), e);
+            chunkProcessor.markFailed(jobId, owner, e.getMessage());
+        }
+    }
+
+    private MassCancellationJob requireJob(UUID jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mass cancellation job", "id", jobId));
+    }
+
+    private MassCancellationJobResponse toResponse(MassCancellationJob job) {
+        MassCancellationJobResponse response = new MassCancellationJobResponse();
+        response.setId(job.getId());
+        response.setInstitutionId(job.getInstitutionId());
+        response.setStartDate(job.getStartDate());
+        response.setEndDate(job.getEndDate());
+        response.setCancellationReason(job.getCancellationReason());
+        response.setCancelledBy(job.getCancelledBy());
+        response.setStatus(job.getStatus());
+        response.setBatchSize(job.getBatchSize());
+        response.setTotalReservations(job.getTotalReservations());
+        response.setProcessedReservations(job.getProcessedReservations());
+        response.setRefundRequests(job.getRefundRequests());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setStartedAt(job.getStartedAt());
+        response.setFinishedAt(job.getFinishedAt());
+
+        long total = job.getTotalReservations();
+        response.setProgressPercent(total == 0 ? 100.0 : Math.min(100.0, job.getProcessedReservations() * 100.0 / total));
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long millis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+            response.setReservationsPerSecond(job.getProcessedReservations() * 1000.0 / millis);
+        }
+        return response;
+    }
+}
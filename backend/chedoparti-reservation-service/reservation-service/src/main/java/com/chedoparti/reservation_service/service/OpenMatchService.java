@@ -0,0 +1,20 @@
+package com.chedoparti.reservation_service.service;
+
+import com.chedoparti.reservation_service.dto.OpenMatchRequest;
+import com.chedoparti.reservation_service.dto.OpenMatchResponse;
+import com.chedoparti.reservation_service.enums.SkillLevel;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OpenMatchService {
+    OpenMatchResponse openMatch(OpenMatchRequest request);
+    List<OpenMatchResponse> searchOpenMatches(String sport, SkillLevel level, LocalDateTime from, LocalDateTime to,
+                                              Double lat, Double lng, Double radiusKm, int limit);
+    OpenMatchResponse joinMatch(UUID matchId, UUID userId);
+    OpenMatchResponse leaveMatch(UUID matchId, UUID userId);
+    void closeForReservation(UUID reservationId);
+    void closeForReservations(Collection<UUID> reservationIds);
+}
@@ -0,0 +1,226 @@
+package com.chedoparti.reservation_service.service;
+
+import com.chedoparti.reservation_service.dto.OpenMatchRequest;
+import com.chedoparti.reservation_service.dto.OpenMatchResponse;
+import com.chedoparti.reservation_service.entity.OpenMatch;
+import com.chedoparti.reservation_service.entity.OpenMatchPlayer;
+import com.chedoparti.reservation_service.entity.Reservation;
+import com.chedoparti.reservation_service.enums.OpenMatchStatus;
+import com.chedoparti.reservation_service.enums.ReservationStatus;
+import com.chedoparti.reservation_service.enums.ReservationType;
+import com.chedoparti.reservation_service.enums.SkillLevel;
+import com.chedoparti.reservation_service.exception.BadRequestException;
+import com.chedoparti.reservation_service.exception.ConflictException;
+import com.chedoparti.reservation_service.exception.ResourceNotFoundException;
+import com.chedoparti.reservation_service.repository.OpenMatchPlayerRepository;
+import com.chedoparti.reservation_service.repository.OpenMatchRepository;
+import com.chedoparti.reservation_service.repository.ReservationRepository;
+import com.chedoparti.reservation_service.service.matching.OpenMatchEntry;
+import com.chedoparti.reservation_service.service.matching.OpenMatchIndex;
+import com.chedoparti.reservation_service.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Slf4j
+@Transactional
+public class OpenMatchServiceImpl implements OpenMatchService {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final int MAX_RESULTS = 100;
+
+    private final OpenMatchRepository openMatchRepository;
+    private final OpenMatchPlayerRepository openMatchPlayerRepository;
+    private final ReservationRepository reservationRepository;
+    private final OpenMatchIndex openMatchIndex;
+
+    public OpenMatchServiceImpl(OpenMatchRepository openMatchRepository,
+                                OpenMatchPlayerRepository openMatchPlayerRepository,
+                                ReservationRepository reservationRepository,
+                                OpenMatchIndex openMatchIndex) {
+        this.openMatchRepository = openMatchRepository;
+        this.openMatchPlayerRepository = openMatchPlayerRepository;
+        this.reservationRepository = reservationRepository;
+        this.openMatchIndex = openMatchIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        openMatchIndex.clear();
+        List<OpenMatch> matches = openMatchRepository.findByStatusAndStartsAtAfter(OpenMatchStatus.OPEN, LocalDateTime.now());
+        matches.forEach(match -> openMatchIndex.add(toEntry(match)));
+        log.info("Loaded {} open matches into the matching index", matches.size());
+    }
+
+    @Override
+    public OpenMatchResponse openMatch(OpenMatchRequest request) {
+        Reservation reservation = reservationRepository.findById(request.getReservationId())
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation", "id", request.getReservationId()));
+
+        if (reservation.getReservationType() != ReservationType.GROUP) {
+            throw new BadRequestException("Only GROUP reservations can look for players");
+        }
+        if (reservation.getStatus() == ReservationStatus.CANCELLED) {
+            throw new BadRequestException("Cannot open a match for a cancelled reservation");
+        }
+        if (openMatchRepository.existsByReservationId(reservation.getId())) {
+            throw new ConflictException("Open match", "reservationId", reservation.getId());
+        }
+
+        int players = reservation.getNumberOfPlayers() != null ? reservation.getNumberOfPlayers() : 1;
+        OpenMatch match = new OpenMatch();
+        match.setReservation(reservation);
+        match.setSport(reservation.getCourt().getSportType());
+        match.setSkillLevel(request.getSkillLevel());
+        match.setStartsAt(LocalDateTime.of(reservation.getDate(), reservation.getStartTime()));
+        match.setLatitude(request.getLatitude());
+        match.setLongitude(request.getLongitude());
+        match.setJoinedPlayers(players);
+        match.setMaxPlayers(players + request.getMissingPlayers());
+        OpenMatch saved = openMatchRepository.save(match);
+
+        OpenMatchEntry entry = toEntry(saved);
+        TransactionHooks.afterCommit(() -> openMatchIndex.add(entry));
+        log.info("Opened match {} for reservation {} looking for {} players",
+                saved.getId(), reservation.getId(), request.getMissingPlayers());
+        return toResponse(entry, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OpenMatchResponse> searchOpenMatches(String sport, SkillLevel level, LocalDateTime from,
+                                                     LocalDateTime to, Double lat, Double lng, Double radiusKm,
+                                                     int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        openMatchIndex.evictBefore(now);
+        LocalDateTime windowStart = from == null || from.isBefore(now) ? now : from;
+        LocalDateTime windowEnd = to != null ? to : windowStart.plusDays(7);
+        boolean byDistance = lat != null && lng != null;
+
+        List<OpenMatchResponse> results = new ArrayList<>();
+        for (OpenMatchEntry entry : openMatchIndex.search(sport, level, windowStart, windowEnd)) {
+            Double distance = null;
+            if (byDistance) {
+                if (!entry.hasLocation()) {
+                    continue;
+                }
+                distance = distanceKm(lat, lng, entry.getLatitude(), entry.getLongitude());
+                if (radiusKm != null && distance > radiusKm) {
+                    continue;
+                }
+            }
+            results.add(toResponse(entry, distance));
+        }
+
+        Comparator<OpenMatchResponse> order = Comparator.comparing(OpenMatchResponse::getStartsAt);
+        if (byDistance) {
+            order = order.thenComparing(OpenMatchResponse::getDistanceKm);
+        }
+        results.sort(order);
+        int size = Math.min(Math.max(limit, 1), MAX_RESULTS);
+        return results.size() > size ? new ArrayList<>(results.subList(0, size)) : results;
+    }
+
+    @Override
+    public OpenMatchResponse joinMatch(UUID matchId, UUID userId) {
+        OpenMatchEntry entry = requireEntry(matchId);
+        if (openMatchPlayerRepository.existsByOpenMatchIdAndUserId(matchId, userId)) {
+            return toResponse(entry, null);
+        }
+
+        // Reserva optimista en memoria; se devuelve el lugar si la transacción no confirma
+        if (!entry.tryReserveSeat()) {
+            throw new ConflictException("Open match " + matchId + " is already full");
+        }
+        TransactionHooks.afterRollback(entry::releaseSeat);
+
+        if (openMatchRepository.incrementJoinedPlayers(matchId, OpenMatchStatus.OPEN) == 0) {
+            throw new ConflictException("Open match " + matchId + " is already full");
+        }
+        try {
+            openMatchPlayerRepository.saveAndFlush(
+                    new OpenMatchPlayer(null, openMatchRepository.getReferenceById(matchId), userId, LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("User " + userId + " already joined open match " + matchId);
+        }
+        log.info("User {} joined open match {} ({}/{})", userId, matchId,
+                entry.getJoinedPlayers().get(), entry.getMaxPlayers());
+        return toResponse(entry, null);
+    }
+
+    @Override
+    public OpenMatchResponse leaveMatch(UUID matchId, UUID userId) {
+        OpenMatchEntry entry = requireEntry(matchId);
+        if (openMatchPlayerRepository.deleteByOpenMatchIdAndUserId(matchId, userId) == 0) {
+            return toResponse(entry, null);
+        }
+        openMatchRepository.decrementJoinedPlayers(matchId);
+        TransactionHooks.afterCommit(entry::releaseSeat);
+        log.info("User {} left open match {}", userId, matchId);
+        return toResponse(entry, null);
+    }
+
+    @Override
+    public void closeForReservation(UUID reservationId) {
+        openMatchRepository.findByReservationId(reservationId).ifPresent(match -> {
+            match.setStatus(OpenMatchStatus.CLOSED);
+            openMatchRepository.save(match);
+            TransactionHooks.afterCommit(() -> openMatchIndex.remove(match.getId()));
+            log.info("Closed open match {} of reservation {}", match.getId(), reservationId);
+        });
+    }
+
+    @Override
+    public void closeForReservations(Collection<UUID> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        List<UUID> matchIds = openMatchRepository.findIdsByReservationIdsAndStatus(reservationIds, OpenMatchStatus.OPEN);
+        if (matchIds.isEmpty()) {
+            return;
+        }
+        openMatchRepository.updateStatus(matchIds, OpenMatchStatus.CLOSED);
+        TransactionHooks.afterCommit(() -> matchIds.forEach(openMatchIndex::remove));
+        log.info("Closed {} open matches of cancelled reservations", matchIds.size());
+    }
+
+    private OpenMatchEntry requireEntry(UUID matchId) {
+        OpenMatchEntry entry = openMatchIndex.get(matchId);
+        if (entry == null || !entry.getStartsAt().isAfter(LocalDateTime.now())) {
+            throw new ResourceNotFoundException("Open match", "id", matchId);
+        }
+        return entry;
+    }
+
+    private static OpenMatchEntry toEntry(OpenMatch match) {
+        return new OpenMatchEntry(match.getId(), match.getReservation().getId(), match.getSport(),
+                match.getSkillLevel(), match.getStartsAt(), match.getLatitude(), match.getLongitude(),
+                match.getMaxPlayers(), match.getJoinedPlayers());
+    }
+
+    private static OpenMatchResponse toResponse(OpenMatchEntry entry, Double distanceKm) {
+        return new OpenMatchResponse(entry.getId(), entry.getReservationId(), entry.getSport(), entry.getSkillLevel(),
+                entry.getStartsAt(), entry.getLatitude(), entry.getLongitude(), entry.getMaxPlayers(),
+                entry.getJoinedPlayers().get(), entry.getMissingPlayers(), OpenMatchStatus.OPEN, distanceKm);
+    }
+
+    static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -1,21 +1,30 @@
 package com.chedoparti.reservation_service.service;
 
+import com.chedoparti.reservation_service.dto.AlternativeSlot;
 import com.chedoparti.reservation_service.dto.ReservationDTO;
+import com.chedoparti.reservation_service.dto.ReservationSummary;
 import com.chedoparti.reservation_service.entity.Court;
 import com.chedoparti.reservation_service.entity.Reservation;
 import com.chedoparti.reservation_service.entity.User;
 import com.chedoparti.reservation_service.enums.ReservationStatus;
+import com.chedoparti.reservation_service.exception.SlotUnavailableException;
 import com.chedoparti.reservation_service.mapper.ReservationMapper;
 import com.chedoparti.reservation_service.repository.CourtRepository;
 import com.chedoparti.reservation_service.repository.ReservationRepository;
 import com.chedoparti.reservation_service.repository.UserRepository;
+import com.chedoparti.reservation_service.service.availability.AlternativeSlotFinder;
+import com.chedoparti.reservation_service.service.availability.DaySchedule;
+import com.chedoparti.reservation_service.service.cache.UpcomingReservationCache;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @Slf4j
@@ -26,26 +35,49 @@ public class ReservationServiceImpl implements ReservationService {
     private final CourtRepository courtRepository;
     private final UserRepository userRepository;
     private final ReservationMapper reservationMapper;
+    private final AlternativeSlotFinder alternativeSlotFinder;
+    private final OpenMatchService openMatchService;
+    private final UpcomingReservationCache upcomingReservationCache;
 
     public ReservationServiceImpl(ReservationRepository reservationRepository, 
                                  CourtRepository courtRepository,
                                  UserRepository userRepository,
-                                 ReservationMapper reservationMapper) {
+                                 ReservationMapper reservationMapper,
+                                 AlternativeSlotFinder alternativeSlotFinder,
+                                 OpenMatchService openMatchService,
+                                 UpcomingReservationCache upcomingReservationCache) {
         this.reservationRepository = reservationRepository;
         this.courtRepository = courtRepository;
         this.userRepository = userRepository;
         this.reservationMapper = reservationMapper;
+        this.alternativeSlotFinder = alternativeSlotFinder;
+        this.openMatchService = openMatchService;
+        this.upcomingReservationCache = upcomingReservationCache;
     }
 
     @Override
-    public Reservation createReservation(String userId, String courtId, LocalDateTime startTime, LocalDateTime endTime) {
+    public Reservation createReservation(UUID userId, UUID courtId, LocalDateTime startTime, LocalDateTime endTime) {
         // Fetch user and court entities
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
         
-        Court court = courtRepository.findById(courtId)
+        // Lock the court row so that two bookings of the same court cannot both pass the free check
+        Court court = courtRepository.lockById(courtId)
                 .orElseThrow(() -> new EntityNotFoundException("Court not found with id: " + courtId));
 
+        // Check the slot against the institution's day schedule and offer alternatives on conflict
+        LocalDate date = startTime.toLocalDate();
+        DaySchedule schedule = alternativeSlotFinder.loadInstitutionSchedule(court.getInstitution().getId(), date);
+        if (!schedule.isFree(courtId, DaySchedule.toMinute(startTime.toLocalTime()),
+                DaySchedule.toEndMinute(startTime.toLocalTime(), endTime.toLocalTime()))) {
+            List<AlternativeSlot> alternatives = alternativeSlotFinder.findAlternatives(
+                    court, date, startTime.toLocalTime(), endTime.toLocalTime(), schedule);
+            log.info("Court {} is taken on {} from {} to {}, offering {} alternatives",
+                    courtId, date, startTime.toLocalTime(), endTime.toLocalTime(), alternatives.size());
+            throw new SlotUnavailableException("Court " + courtId + " is already booked for the requested time",
+                    alternatives);
+        }
+
         // Create and save reservation
         Reservation reservation = new Reservation();
         reservation.setUser(user);
@@ -55,21 +87,31 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setEndTime(endTime.toLocalTime());
         reservation.setStatus(ReservationStatus.PENDING);
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        upcomingReservationCache.reservationChanged(userId, toSummary(saved));
+        return saved;
     }
 
     @Override
-    public List<Reservation> getReservationsByUser(String userId) {
+    public List<Reservation> getReservationsByUser(UUID userId) {
         return reservationRepository.findByUserId(userId);
     }
 
     @Override
-    public List<Reservation> getReservationsByInstitution(String institutionId) {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ReservationSummary> getUpcomingReservationsByUser(UUID userId) {
+        // Sin transacción propia: un acierto de caché no debe pedir conexión al pool
+        return upcomingReservationCache.get(userId, () -> reservationRepository.findUpcomingSummaries(
+                userId, LocalDate.now().minusDays(1), ReservationStatus.CANCELLED));
+    }
+
+    @Override
+    public List<Reservation> getReservationsByInstitution(UUID institutionId) {
         return reservationRepository.findByCourtInstitutionId(institutionId);
     }
 
     @Override
-    public void cancelReservation(String reservationId) {
+    public void cancelReservation(UUID reservationId) {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new EntityNotFoundException("Reservation not found with id: " + reservationId));
         
@@ -80,16 +122,22 @@ public class ReservationServiceImpl implements ReservationService {
         
         reservation.setStatus(ReservationStatus.CANCELLED);
         reservationRepository.save(reservation);
+        upcomingReservationCache.reservationChanged(reservation.getUser().getId(), toSummary(reservation));
+        openMatchService.closeForReservation(reservationId);
         log.info("Cancelled reservation with id: {}", reservationId);
     }
 
     @Override
-    public void updateReservationStatus(String reservationId, ReservationStatus status) {
+    public void updateReservationStatus(UUID reservationId, ReservationStatus status) {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new EntityNotFoundException("Reservation not found with id: " + reservationId));
         
         reservation.setStatus(status);
         reservationRepository.save(reservation);
+        upcomingReservationCache.reservationChanged(reservation.getUser().getId(), toSummary(reservation));
+        if (status == ReservationStatus.CANCELLED) {
+            openMatchService.closeForReservation(reservationId);
+        }
         log.info("Updated status of reservation {} to {}", reservationId, status);
     }
 
@@ -98,4 +146,12 @@ public class ReservationServiceImpl implements ReservationService {
         List<Reservation> reservations = reservationRepository.findAll();
         return reservationMapper.toDtos(reservations);
     }
+
+    private static ReservationSummary toSummary(Reservation reservation) {
+        Court court = reservation.getCourt();
+        return new ReservationSummary(reservation.getId(), court.getId(), court.getName(),
+                court.getInstitution().getId(), court.getInstitution().getName(), reservation.getDate(),
+                reservation.getStartTime(), reservation.getEndTime(), reservation.getStatus(),
+                reservation.getReservationType(), reservation.getTotalAmount(), reservation.getCurrency());
+    }
 }
@@ -0,0 +1,179 @@
+package com.chedoparti.reservation_service.service.availability;
+
+import com.chedoparti.reservation_service.dto.AlternativeSlot;
+import com.chedoparti.reservation_service.entity.Court;
+import com.chedoparti.reservation_service.entity.Institution;
+import com.chedoparti.reservation_service.enums.AlternativeSlotType;
+import com.chedoparti.reservation_service.enums.ReservationStatus;
+import com.chedoparti.reservation_service.repository.CourtRepository;
+import com.chedoparti.reservation_service.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds ranked alternatives for a reservation request whose slot is already taken.
+ * <p>
+ * Candidates come from three tiers, cheapest first: the same court at the nearest free
+ * times, the same time on sibling courts of the same sport, and the same time at other
+ * institutions. Every tier works on an in-memory {@link DaySchedule} and stops as soon
+ * as it has enough results, so the whole search costs at most two extra queries.
+ */
+@Component
+@Slf4j
+public class AlternativeSlotFinder {
+
+    // Cambiar de cancha equivale a correr el horario media hora; cambiar de club, hora y media
+    static final int SIBLING_COURT_PENALTY = 30;
+    static final int OTHER_INSTITUTION_PENALTY = 90;
+
+    private final ReservationRepository reservationRepository;
+    private final CourtRepository courtRepository;
+    private final int maxAlternatives;
+    private final int stepMinutes;
+    private final int searchWindowMinutes;
+    private final int otherInstitutionCourts;
+
+    public AlternativeSlotFinder(ReservationRepository reservationRepository,
+                                 CourtRepository courtRepository,
+                                 @Value("${reservation.alternatives.max:5}") int maxAlternatives,
+                                 @Value("${reservation.alternatives.step-minutes:30}") int stepMinutes,
+                                 @Value("${reservation.alternatives.search-window-minutes:180}") int searchWindowMinutes,
+                                 @Value("${reservation.alternatives.other-institution-courts:10}") int otherInstitutionCourts) {
+        this.reservationRepository = reservationRepository;
+        this.courtRepository = courtRepository;
+        this.maxAlternatives = maxAlternatives;
+        this.stepMinutes = stepMinutes;
+        this.searchWindowMinutes = searchWindowMinutes;
+        this.otherInstitutionCourts = otherInstitutionCourts;
+    }
+
+    public DaySchedule loadInstitutionSchedule(UUID institutionId, LocalDate date) {
+        return DaySchedule.of(reservationRepository.findSlotsByInstitutionAndDate(
+                institutionId, date, ReservationStatus.CANCELLED));
+    }
+
+    public List<AlternativeSlot> findAlternatives(Court court, LocalDate date, LocalTime startTime,
+                                                  LocalTime endTime, DaySchedule schedule) {
+        int start = DaySchedule.toMinute(startTime);
+        int end = DaySchedule.toEndMinute(startTime, endTime);
+        Institution institution = court.getInstitution();
+
+        List<AlternativeSlot> candidates = new ArrayList<>();
+        addSameCourtSlots(candidates, court, date, start, end, schedule);
+        addSiblingCourtSlots(candidates, court, date, start, end, schedule);
+
+        // Las otras instituciones siempre puntúan peor: sólo se consultan si faltan candidatos
+        if (candidates.size() < maxAlternatives) {
+            addOtherInstitutionSlots(candidates, court, institution, date, start, end);
+        }
+
+        candidates.sort(Comparator.comparingInt(AlternativeSlot::getScore)
+                .thenComparing(AlternativeSlot::getType)
+                .thenComparing(AlternativeSlot::getStartTime));
+        List<AlternativeSlot> ranked = candidates.size() > maxAlternatives
+                ? new ArrayList<>(candidates.subList(0, maxAlternatives))
+                : candidates;
+        log.debug("Found {} alternatives for court {} on {} at {}", ranked.size(), court.getId(), date, startTime);
+        return ranked;
+    }
+
+    private void addSameCourtSlots(List<AlternativeSlot> candidates, Court court, LocalDate date,
+                                   int start, int end, DaySchedule schedule) {
+        Institution institution = court.getInstitution();
+        int duration = end - start;
+        int open = parseMinute(institution.getOpeningTime(), 0);
+        int close = parseMinute(institution.getClosingTime(), DaySchedule.MINUTES_PER_DAY);
+        if (close <= open) {
+            close = DaySchedule.MINUTES_PER_DAY;
+        }
+
+        int found = 0;
+        for (int shift = stepMinutes; shift <= searchWindowMinutes && found < maxAlternatives; shift += stepMinutes) {
+            for (int candidateStart : new int[]{start + shift, start - shift}) {
+                int candidateEnd = candidateStart + duration;
+                if (candidateStart < open || candidateEnd > close || found >= maxAlternatives) {
+                    continue;
+                }
+                if (schedule.isFree(court.getId(), candidateStart, candidateEnd)) {
+                    candidates.add(slot(AlternativeSlotType.SAME_COURT, court, institution, date,
+                            candidateStart, candidateEnd, shift));
+                    found++;
+                }
+            }
+        }
+    }
+
+    private void addSiblingCourtSlots(List<AlternativeSlot> candidates, Court court, LocalDate date,
+                                      int start, int end, DaySchedule schedule) {
+        Institution institution = court.getInstitution();
+        List<Court> siblings = courtRepository.findByInstitutionIdAndSportTypeAndActiveTrue(
+                institution.getId(), court.getSportType());
+
+        int found = 0;
+        for (Court sibling : siblings) {
+            if (found >= maxAlternatives) {
+                break;
+            }
+            if (!sibling.getId().equals(court.getId()) && schedule.isFree(sibling.getId(), start, end)) {
+                candidates.add(slot(AlternativeSlotType.SIBLING_COURT, sibling, institution, date,
+                        start, end, SIBLING_COURT_PENALTY));
+                found++;
+            }
+        }
+    }
+
+    private void addOtherInstitutionSlots(List<AlternativeSlot> candidates, Court court, Institution institution,
+                                          LocalDate date, int start, int end) {
+        List<Court> others = courtRepository.findBySportTypeAndActiveTrueAndInstitutionIdNot(
+                court.getSportType(), institution.getId(), PageRequest.of(0, otherInstitutionCourts));
+        if (others.isEmpty()) {
+            return;
+        }
+
+        DaySchedule otherSchedule = DaySchedule.of(reservationRepository.findSlotsByCourtsAndDate(
+                others.stream().map(Court::getId).toList(), date, ReservationStatus.CANCELLED));
+        int missing = maxAlternatives - candidates.size();
+        for (Court other : others) {
+            if (missing == 0) {
+                break;
+            }
+            if (otherSchedule.isFree(other.getId(), start, end)) {
+                candidates.add(slot(AlternativeSlotType.OTHER_INSTITUTION, other, other.getInstitution(), date,
+                        start, end, OTHER_INSTITUTION_PENALTY));
+                missing--;
+            }
+        }
+    }
+
+    private static AlternativeSlot slot(AlternativeSlotType type, Court court, Institution institution, LocalDate date,
+                                        int startMinute, int endMinute, int score) {
+        return new AlternativeSlot(type, court.getId(), court.getName(), institution.getId(), institution.getName(),
+                date, toTime(startMinute), toTime(endMinute), score);
+    }
+
+    private static LocalTime toTime(int minute) {
+        return minute >= DaySchedule.MINUTES_PER_DAY ? LocalTime.MIDNIGHT : LocalTime.of(minute / 60, minute % 60);
+    }
+
+    private static int parseMinute(String time, int fallback) {
+        if (time == null || time.isBlank()) {
+            return fallback;
+        }
+        try {
+            return DaySchedule.toMinute(LocalTime.parse(time.trim()));
+        } catch (DateTimeParseException e) {
+            log.warn("Ignoring unparseable institution time '{}'", time);
+            return fallback;
+        }
+    }
+}
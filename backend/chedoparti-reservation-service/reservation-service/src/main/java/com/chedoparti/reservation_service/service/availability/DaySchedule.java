@@ -0,0 +1,90 @@
+package com.chedoparti.reservation_service.service.availability;
+
+import com.chedoparti.reservation_service.repository.ReservationSlotView;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the occupied time ranges of a set of courts for a single day.
+ * <p>
+ * Ranges are kept per court as merged, sorted minute-of-day intervals, so a free/busy
+ * check is a binary search instead of a database round-trip.
+ */
+public final class DaySchedule {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final int[] EMPTY = new int[0];
+
+    // courtId -> [start0, end0, start1, end1, ...] ordenado y sin solapamientos
+    private final Map<UUID, int[]> busyByCourt;
+
+    private DaySchedule(Map<UUID, int[]> busyByCourt) {
+        this.busyByCourt = busyByCourt;
+    }
+
+    public static DaySchedule of(Collection<? extends ReservationSlotView> slots) {
+        Map<UUID, List<int[]>> grouped = new HashMap<>();
+        for (ReservationSlotView slot : slots) {
+            int start = toMinute(slot.getStartTime());
+            int end = toEndMinute(slot.getStartTime(), slot.getEndTime());
+            grouped.computeIfAbsent(slot.getCourtId(), k -> new ArrayList<>()).add(new int[]{start, end});
+        }
+
+        Map<UUID, int[]> busy = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((courtId, ranges) -> busy.put(courtId, merge(ranges)));
+        return new DaySchedule(busy);
+    }
+
+    public boolean isFree(UUID courtId, int startMinute, int endMinute) {
+        int[] ranges = busyByCourt.getOrDefault(courtId, EMPTY);
+        // Último intervalo cuyo inicio es anterior al fin pedido
+        int lo = 0;
+        int hi = ranges.length / 2 - 1;
+        int candidate = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ranges[mid * 2] < endMinute) {
+                candidate = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return candidate < 0 || ranges[candidate * 2 + 1] <= startMinute;
+    }
+
+    public static int toMinute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * An end time at or before the start time (e.g. 00:00) is treated as midnight of the same day.
+     */
+    public static int toEndMinute(LocalTime start, LocalTime end) {
+        int endMinute = toMinute(end);
+        return endMinute <= toMinute(start) ? MINUTES_PER_DAY : endMinute;
+    }
+
+    private static int[] merge(List<int[]> ranges) {
+        ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int[] merged = new int[ranges.size() * 2];
+        int size = 0;
+        for (int[] range : ranges) {
+            if (size > 0 && range[0] <= merged[size - 1]) {
+                merged[size - 1] = Math.max(merged[size - 1], range[1]);
+            } else {
+                merged[size++] = range[0];
+                merged[size++] = range[1];
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+}
@@ -0,0 +1,158 @@
+package com.chedoparti.reservation_service.service.cache;
+
+import com.chedoparti.reservation_service.dto.ReservationSummary;
+import com.chedoparti.reservation_service.enums.ReservationStatus;
+import com.chedoparti.reservation_service.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of each user's upcoming reservations, kept current write-through by the reservation
+ * writes. Past reservations are filtered out on read, so an entry only has to change when a
+ * reservation is created, cancelled or changes status.
+ *
+ * <p>A miss loads from the database outside the lock; the result is only stored if no write touched
+ * that user's stripe in the meantime, so a slow load can never overwrite a newer write-through.</p>
+ */
+@Component
+@Slf4j
+public class UpcomingReservationCache {
+
+    private static final int STRIPES = 64;
+    private static final Comparator<ReservationSummary> CHRONOLOGICAL =
+            Comparator.comparing(ReservationSummary::getDate).thenComparing(ReservationSummary::getStartTime);
+
+    private final Map<UUID, List<ReservationSummary>> entries;
+    private final AtomicLongArray writeStamps = new AtomicLongArray(STRIPES);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public UpcomingReservationCache(MeterRegistry meterRegistry,
+                                    @Value("${reservation.upcoming-cache.max-users:100000}") int maxUsers) {
+        this.hits = meterRegistry.counter("reservations.upcoming_cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("reservations.upcoming_cache.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("reservations.upcoming_cache.evictions");
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, List<ReservationSummary>> eldest) {
+                if (size() > maxUsers) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("reservations.upcoming_cache.size", this, UpcomingReservationCache::size)
+                .register(meterRegistry);
+        Gauge.builder("reservations.upcoming_cache.hit_ratio", this, UpcomingReservationCache::hitRatio)
+                .register(meterRegistry);
+    }
+
+    public List<ReservationSummary> get(UUID userId, Supplier<List<ReservationSummary>> loader) {
+        List<ReservationSummary> cached;
+        synchronized (entries) {
+            cached = entries.get(userId);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (cached != null) {
+            hits.increment();
+            return upcoming(cached, now);
+        }
+
+        misses.increment();
+        int stripe = stripe(userId);
+        long stamp = writeStamps.get(stripe);
+        List<ReservationSummary> loaded = upcoming(loader.get(), now);
+        synchronized (entries) {
+            if (writeStamps.get(stripe) == stamp) {
+                entries.put(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Applies a created or updated reservation to the user's entry once the surrounding transaction
+     * commits. Users that are not cached are left alone; their next read loads fresh data.
+     */
+    public void reservationChanged(UUID userId, ReservationSummary summary) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (entries) {
+                writeStamps.incrementAndGet(stripe(userId));
+                List<ReservationSummary> current = entries.get(userId);
+                if (current == null) {
+                    return;
+                }
+                List<ReservationSummary> updated = new ArrayList<>(current.size() + 1);
+                for (ReservationSummary existing : current) {
+                    if (!existing.getId().equals(summary.getId())) {
+                        updated.add(existing);
+                    }
+                }
+                if (summary.getStatus() != ReservationStatus.CANCELLED) {
+                    updated.add(summary);
+                    updated.sort(CHRONOLOGICAL);
+                }
+                entries.put(userId, List.copyOf(updated));
+            }
+        });
+    }
+
+    /**
+     * Drops the entries of users affected by a bulk write (e.g. a mass cancellation) after commit.
+     */
+    public void evictAfterCommit(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            synchronized (entries) {
+                for (UUID userId : userIds) {
+                    writeStamps.incrementAndGet(stripe(userId));
+                    entries.remove(userId);
+                }
+            }
+            log.debug("Evicted upcoming reservations of {} users", userIds.size());
+        });
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private static List<ReservationSummary> upcoming(List<ReservationSummary> reservations, LocalDateTime now) {
+        for (ReservationSummary reservation : reservations) {
+            if (!reservation.endsAt().isAfter(now)) {
+                return reservations.stream().filter(r -> r.endsAt().isAfter(now)).toList();
+            }
+        }
+        return List.copyOf(reservations);
+    }
+
+    private static int stripe(UUID userId) {
+        return (userId.hashCode() & 0x7fffffff) % STRIPES;
+    }
+}
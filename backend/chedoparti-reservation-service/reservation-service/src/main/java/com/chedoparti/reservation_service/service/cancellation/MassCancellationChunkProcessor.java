@@ -0,0 +1,152 @@
+package com.chedoparti.reservation_service.service.cancellation;
+
+import com.chedoparti.reservation_service.entity.MassCancellationJob;
+import com.chedoparti.reservation_service.entity.RefundRequest;
+import com.chedoparti.reservation_service.enums.MassCancellationStatus;
+import com.chedoparti.reservation_service.enums.ReservationStatus;
+import com.chedoparti.reservation_service.exception.ConflictException;
+import com.chedoparti.reservation_service.exception.ResourceNotFoundException;
+import com.chedoparti.reservation_service.repository.CancellableReservationView;
+import com.chedoparti.reservation_service.repository.MassCancellationJobRepository;
+import com.chedoparti.reservation_service.repository.RefundRequestRepository;
+import com.chedoparti.reservation_service.repository.ReservationRepository;
+import com.chedoparti.reservation_service.service.OpenMatchService;
+import com.chedoparti.reservation_service.service.cache.UpcomingReservationCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional steps of a mass cancellation job. Each chunk commits the cancellations, the
+ * refund outbox rows and the job cursor together, so a crash between chunks loses nothing and
+ * a resumed job continues right after the last committed reservation id.
+ * <p>
+ * A worker first claims the job row with a conditional UPDATE and then proves it still owns the
+ * claim on every chunk, under a row lock, so two instances never process the same job at once.
+ */
+@Component
+@Slf4j
+public class MassCancellationChunkProcessor {
+
+    public record ChunkResult(int cancelled, List<UUID> refundIds, boolean finished) {
+    }
+
+    private final MassCancellationJobRepository jobRepository;
+    private final ReservationRepository reservationRepository;
+    private final RefundRequestRepository refundRequestRepository;
+    private final OpenMatchService openMatchService;
+    private final UpcomingReservationCache upcomingReservationCache;
+    private final long leaseSeconds;
+
+    public MassCancellationChunkProcessor(MassCancellationJobRepository jobRepository,
+                                          ReservationRepository reservationRepository,
+                                          RefundRequestRepository refundRequestRepository,
+                                          OpenMatchService openMatchService,
+                                          UpcomingReservationCache upcomingReservationCache,
+                                          @Value("${reservation.mass-cancellation.lease-seconds:600}") long leaseSeconds) {
+        this.jobRepository = jobRepository;
+        this.reservationRepository = reservationRepository;
+        this.refundRequestRepository = refundRequestRepository;
+        this.openMatchService = openMatchService;
+        this.upcomingReservationCache = upcomingReservationCache;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    /**
+     * Marks the job RUNNING for {@code owner} unless another worker holds a live claim on it.
+     */
+    @Transactional
+    public boolean claim(UUID jobId, UUID owner) {
+        LocalDateTime now = LocalDateTime.now();
+        return jobRepository.claim(jobId, owner, now, now.minusSeconds(leaseSeconds), MassCancellationStatus.RUNNING,
+                EnumSet.of(MassCancellationStatus.PENDING, MassCancellationStatus.FAILED)) == 1;
+    }
+
+    @Transactional
+    public void markFailed(UUID jobId, UUID owner, String errorMessage) {
+        MassCancellationJob job = requireJob(jobId);
+        // Si otro worker tomó el job, su estado ya no es nuestro
+        if (!owner.equals(job.getClaimedBy()) || job.getStatus() != MassCancellationStatus.RUNNING) {
+            return;
+        }
+        job.setStatus(MassCancellationStatus.FAILED);
+        job.setErrorMessage(errorMessage);
+        job.setClaimedBy(null);
+    }
+
+    @Transactional
+    public ChunkResult processChunk(UUID jobId, UUID owner) {
+        MassCancellationJob job = jobRepository.lockById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mass cancellation job", "id", jobId));
+        if (!owner.equals(job.getClaimedBy()) || job.getStatus() != MassCancellationStatus.RUNNING) {
+            throw new ConflictException("Mass cancellation job " + jobId + " was claimed by another worker");
+        }
+        job.setHeartbeatAt(LocalDateTime.now());
+
+        List<CancellableReservationView> chunk = reservationRepository.findCancellableChunk(
+                job.getInstitutionId(), job.getStartDate(), job.getEndDate(), ReservationStatus.CANCELLED,
+                job.getLastReservationId(), PageRequest.of(0, job.getBatchSize()));
+
+        if (chunk.isEmpty()) {
+            complete(job);
+            return new ChunkResult(0, List.of(), true);
+        }
+
+        List<UUID> reservationIds = chunk.stream().map(CancellableReservationView::getId).toList();
+        int cancelled = reservationRepository.bulkCancel(reservationIds, ReservationStatus.CANCELLED,
+                job.getCancellationReason(), job.getCancelledBy(), LocalDateTime.now());
+        openMatchService.closeForReservations(reservationIds);
+        upcomingReservationCache.evictAfterCommit(
+                chunk.stream().map(CancellableReservationView::getUserId).collect(Collectors.toSet()));
+
+        List<RefundRequest> refunds = new ArrayList<>();
+        for (CancellableReservationView reservation : chunk) {
+            if (reservation.getAmountPaid() != null && reservation.getAmountPaid().compareTo(BigDecimal.ZERO) > 0) {
+                RefundRequest refund = new RefundRequest();
+                refund.setMassCancellationJobId(job.getId());
+                refund.setReservationId(reservation.getId());
+                refund.setInstitutionId(job.getInstitutionId());
+                refund.setPaymentReference(reservation.getPaymentReference());
+                refund.setAmount(reservation.getAmountPaid());
+                refund.setCurrency(reservation.getCurrency());
+                refund.setReason(job.getCancellationReason());
+                refunds.add(refund);
+            }
+        }
+        refundRequestRepository.saveAll(refunds);
+
+        job.setLastReservationId(reservationIds.get(reservationIds.size() - 1));
+        job.setProcessedReservations(job.getProcessedReservations() + cancelled);
+        job.setRefundRequests(job.getRefundRequests() + refunds.size());
+
+        // Un chunk incompleto significa que no quedan reservas: se evita una consulta vacía extra
+        boolean finished = chunk.size() < job.getBatchSize();
+        if (finished) {
+            complete(job);
+        }
+        log.debug("Mass cancellation {} cancelled {} reservations up to id {}",
+                jobId, cancelled, job.getLastReservationId());
+        return new ChunkResult(cancelled, refunds.stream().map(RefundRequest::getId).toList(), finished);
+    }
+
+    private void complete(MassCancellationJob job) {
+        job.setStatus(MassCancellationStatus.COMPLETED);
+        job.setFinishedAt(LocalDateTime.now());
+        job.setClaimedBy(null);
+    }
+
+    private MassCancellationJob requireJob(UUID jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Mass cancellation job", "id", jobId));
+    }
+}
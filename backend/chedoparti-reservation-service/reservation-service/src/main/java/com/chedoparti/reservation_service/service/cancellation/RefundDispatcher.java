@@ -0,0 +1,157 @@
+package com.chedoparti.reservation_service.service.cancellation;
+
+import com.chedoparti.reservation_service.client.PaymentServiceClient;
+import com.chedoparti.reservation_service.entity.RefundRequest;
+import com.chedoparti.reservation_service.enums.RefundRequestStatus;
+import com.chedoparti.reservation_service.repository.RefundRequestRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends pending refund outbox rows to payment-service. Calls that fail on the network or with a
+ * server error stay PENDING until {@code maxAttempts} is reached; rejected calls (4xx) and
+ * references that are not payment-service ids fail at once.
+ * <p>
+ * New rows are sent by the mass cancellation job that wrote them. Whatever is still PENDING once
+ * {@code retry-delay-seconds} have passed since its last attempt is picked up by a periodic sweep,
+ * whatever the state of its job, so a failed call is retried even after the job completed. Each
+ * attempt is claimed on the row before the call, so only one sender (job, sweep or another
+ * instance) makes it.
+ * <p>
+ * Each row is saved right after its own call, so a crash mid-batch does not send again what was
+ * already confirmed. payment-service does not deduplicate refunds, though: a call that timed out
+ * after payment-service processed it is sent again on retry, and {@code attempts} and
+ * {@code lastError} are what reconciliation has to go on.
+ */
+@Component
+@Slf4j
+public class RefundDispatcher {
+
+    private final RefundRequestRepository refundRequestRepository;
+    private final PaymentServiceClient paymentServiceClient;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final long sweepIntervalMs;
+    private final int sweepBatchSize;
+    private ScheduledExecutorService sweeper;
+
+    public RefundDispatcher(RefundRequestRepository refundRequestRepository,
+                            PaymentServiceClient paymentServiceClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${reservation.refunds.max-attempts:3}") int maxAttempts,
+                            @Value("${reservation.refunds.retry-delay-seconds:300}") long retryDelaySeconds,
+                            @Value("${reservation.refunds.sweep-interval-ms:60000}") long sweepIntervalMs,
+                            @Value("${reservation.refunds.sweep-batch-size:100}") int sweepBatchSize) {
+        this.refundRequestRepository = refundRequestRepository;
+        this.paymentServiceClient = paymentServiceClient;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = Duration.ofSeconds(retryDelaySeconds);
+        this.sweepIntervalMs = sweepIntervalMs;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    @PostConstruct
+    void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "refund-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::retryPending, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    public void dispatch(List<UUID> refundIds) {
+        if (refundIds.isEmpty()) {
+            return;
+        }
+        send(refundRequestRepository.findAllById(refundIds));
+    }
+
+    /**
+     * Sends again every PENDING refund whose last attempt is older than the retry delay.
+     */
+    void retryPending() {
+        try {
+            List<RefundRequest> due;
+            do {
+                due = refundRequestRepository.findByStatusAndUpdatedAtBeforeOrderByUpdatedAtAsc(
+                        RefundRequestStatus.PENDING, LocalDateTime.now().minus(retryDelay),
+                        PageRequest.of(0, sweepBatchSize));
+                send(due);
+                // Cada fila enviada sale de la selección (cambia de estado o de updatedAt)
+            } while (due.size() == sweepBatchSize);
+        } catch (RuntimeException e) {
+            log.error("Refund retry sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void send(List<RefundRequest> refunds) {
+        for (RefundRequest refund : refunds) {
+            if (refund.getStatus() != RefundRequestStatus.PENDING) {
+                continue;
+            }
+            if (refund.getPaymentReference() == null) {
+                fail(refund, "Reservation has no payment reference", true);
+                refundRequestRepository.save(refund);
+                continue;
+            }
+            if (!PaymentServiceClient.isPaymentId(refund.getPaymentReference())) {
+                fail(refund, "Payment reference " + refund.getPaymentReference() + " is not a payment-service payment id", true);
+                refundRequestRepository.save(refund);
+                continue;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (refundRequestRepository.claimAttempt(refund.getId(), refund.getAttempts(), now, now.minus(retryDelay),
+                    RefundRequestStatus.PENDING) == 0) {
+                // Otro emisor ya tomó este intento
+                continue;
+            }
+            refund.setAttempts(refund.getAttempts() + 1);
+            try {
+                paymentServiceClient.requestRefund(refund);
+                refund.setStatus(RefundRequestStatus.SENT);
+                refund.setLastError(null);
+                meterRegistry.counter("reservations.refunds.sent").increment();
+            } catch (HttpClientErrorException e) {
+                // payment-service rechazó el pedido: repetirlo no cambia la respuesta
+                log.warn("Refund request for reservation {} rejected: {}", refund.getReservationId(), e.getMessage());
+                fail(refund, e.getMessage(), true);
+            } catch (RestClientException e) {
+                log.warn("Refund request for reservation {} failed: {}", refund.getReservationId(), e.getMessage());
+                fail(refund, e.getMessage(), false);
+            }
+            // Una fila por vez: un corte a mitad del lote no deja como PENDING lo que ya se envió
+            refundRequestRepository.save(refund);
+        }
+    }
+
+    private void fail(RefundRequest refund, String error, boolean permanent) {
+        refund.setLastError(error);
+        if (permanent || refund.getAttempts() >= maxAttempts) {
+            refund.setStatus(RefundRequestStatus.FAILED);
+            meterRegistry.counter("reservations.refunds.failed").increment();
+        }
+    }
+}
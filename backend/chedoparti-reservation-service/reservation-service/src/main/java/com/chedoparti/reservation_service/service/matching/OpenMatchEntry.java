@@ -0,0 +1,62 @@
+package com.chedoparti.reservation_service.service.matching;
+
+import com.chedoparti.reservation_service.enums.SkillLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.UUID;
+
+/**
+ * In-memory view of an open match. Seat counting is lock-free: a seat is claimed with a
+ * compare-and-set loop so concurrent joins can never push the count past {@code maxPlayers}.
+ */
+@Getter
+public final class OpenMatchEntry {
+    private final UUID id;
+    private final UUID reservationId;
+    private final String sport;
+    private final SkillLevel skillLevel;
+    private final LocalDateTime startsAt;
+    private final Double latitude;
+    private final Double longitude;
+    private final int maxPlayers;
+    private final AtomicInteger joinedPlayers;
+
+    public OpenMatchEntry(UUID id, UUID reservationId, String sport, SkillLevel skillLevel,
+                          LocalDateTime startsAt, Double latitude, Double longitude,
+                          int maxPlayers, int joinedPlayers) {
+        this.id = id;
+        this.reservationId = reservationId;
+        this.sport = sport;
+        this.skillLevel = skillLevel;
+        this.startsAt = startsAt;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.maxPlayers = maxPlayers;
+        this.joinedPlayers = new AtomicInteger(joinedPlayers);
+    }
+
+    public boolean tryReserveSeat() {
+        int current;
+        do {
+            current = joinedPlayers.get();
+            if (current >= maxPlayers) {
+                return false;
+            }
+        } while (!joinedPlayers.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void releaseSeat() {
+        joinedPlayers.updateAndGet(current -> current > 0 ? current - 1 : 0);
+    }
+
+    public int getMissingPlayers() {
+        return Math.max(0, maxPlayers - joinedPlayers.get());
+    }
+
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+}
@@ -0,0 +1,135 @@
+package com.chedoparti.reservation_service.service.matching;
+
+import com.chedoparti.reservation_service.enums.SkillLevel;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.UUID;
+
+/**
+ * Multi-level index of open matches: sport -> hourly time bucket -> skill level.
+ * <p>
+ * A search touches only the buckets inside the requested window, and within each bucket
+ * only the requested level, so lookups stay proportional to the matching set rather than
+ * to the total number of open matches.
+ */
+@Component
+public class OpenMatchIndex {
+
+    private static final long BUCKET_SECONDS = 3600;
+
+    private final Map<UUID, OpenMatchEntry> byId = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentSkipListMap<Long, Map<SkillLevel, Set<OpenMatchEntry>>>> bySport =
+            new ConcurrentHashMap<>();
+
+    public void add(OpenMatchEntry entry) {
+        OpenMatchEntry previous = byId.put(entry.getId(), entry);
+        if (previous != null) {
+            unlink(previous);
+        }
+        bySport.computeIfAbsent(entry.getSport(), k -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(bucketOf(entry.getStartsAt()), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(entry.getSkillLevel(), k -> ConcurrentHashMap.newKeySet())
+                .add(entry);
+    }
+
+    public OpenMatchEntry get(UUID id) {
+        return byId.get(id);
+    }
+
+    public void remove(UUID id) {
+        OpenMatchEntry entry = byId.remove(id);
+        if (entry != null) {
+            unlink(entry);
+        }
+    }
+
+    /**
+     * Returns matches of the given sport starting within [from, to] that still have seats.
+     * A null level matches every level.
+     */
+    public List<OpenMatchEntry> search(String sport, SkillLevel level, LocalDateTime from, LocalDateTime to) {
+        ConcurrentSkipListMap<Long, Map<SkillLevel, Set<OpenMatchEntry>>> buckets = bySport.get(sport);
+        List<OpenMatchEntry> result = new ArrayList<>();
+        if (buckets == null || to.isBefore(from)) {
+            return result;
+        }
+
+        NavigableMap<Long, Map<SkillLevel, Set<OpenMatchEntry>>> window =
+                buckets.subMap(bucketOf(from), true, bucketOf(to), true);
+        for (Map<SkillLevel, Set<OpenMatchEntry>> byLevel : window.values()) {
+            if (level != null) {
+                collect(byLevel.get(level), from, to, result);
+            } else {
+                for (Set<OpenMatchEntry> entries : byLevel.values()) {
+                    collect(entries, from, to, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops every bucket that ends before the given instant; matches already started cannot be joined.
+     */
+    public void evictBefore(LocalDateTime instant) {
+        long firstLiveBucket = bucketOf(instant);
+        for (ConcurrentSkipListMap<Long, Map<SkillLevel, Set<OpenMatchEntry>>> buckets : bySport.values()) {
+            NavigableMap<Long, Map<SkillLevel, Set<OpenMatchEntry>>> expired = buckets.headMap(firstLiveBucket, false);
+            for (Map<SkillLevel, Set<OpenMatchEntry>> byLevel : expired.values()) {
+                byLevel.values().forEach(entries -> entries.forEach(entry -> byId.remove(entry.getId())));
+            }
+            expired.clear();
+        }
+    }
+
+    public void clear() {
+        byId.clear();
+        bySport.clear();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private static void collect(Collection<OpenMatchEntry> entries, LocalDateTime from, LocalDateTime to,
+                                List<OpenMatchEntry> result) {
+        if (entries == null) {
+            return;
+        }
+        for (OpenMatchEntry entry : entries) {
+            if (entry.getMissingPlayers() > 0
+                    && !entry.getStartsAt().isBefore(from)
+                    && !entry.getStartsAt().isAfter(to)) {
+                result.add(entry);
+            }
+        }
+    }
+
+    private void unlink(OpenMatchEntry entry) {
+        ConcurrentSkipListMap<Long, Map<SkillLevel, Set<OpenMatchEntry>>> buckets = bySport.get(entry.getSport());
+        if (buckets == null) {
+            return;
+        }
+        Map<SkillLevel, Set<OpenMatchEntry>> byLevel = buckets.get(bucketOf(entry.getStartsAt()));
+        if (byLevel != null) {
+            Set<OpenMatchEntry> entries = byLevel.get(entry.getSkillLevel());
+            if (entries != null) {
+                entries.remove(entry);
+            }
+        }
+    }
+
+    private static long bucketOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), BUCKET_SECONDS);
+    }
+}
@@ -0,0 +1,38 @@
+package com.chedoparti.reservation_service.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp followed by random bits.
+ * <p>
+ * New keys sort after older ones, so B-tree inserts land on the rightmost index page instead
+ * of a random one. Within one millisecond the 12-bit {@code rand_a} field is used as a counter
+ * (RFC 9562 method 1), which keeps ids generated by this process strictly increasing.
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // (unixMillis << 12) | counter del último id emitido
+    private static final AtomicLong LAST_STATE = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long state = LAST_STATE.updateAndGet(last -> Math.max(now, last + 1));
+
+        long msb = ((state >>> 12) << 16)   // unix_ts_ms (48 bits)
+                | 0x7000L                   // version 7
+                | (state & 0x0FFFL);        // rand_a usado como contador
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L; // variant 10
+        return new UUID(msb, lsb);
+    }
+
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,26 @@
+-- Open matches: GROUP reservations advertising missing players
+CREATE TABLE IF NOT EXISTS open_matches (
+    id VARCHAR(255) PRIMARY KEY,
+    reservation_id VARCHAR(255) NOT NULL UNIQUE,
+    sport VARCHAR(255) NOT NULL,
+    skill_level VARCHAR(32) NOT NULL,
+    starts_at TIMESTAMP NOT NULL,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    max_players INTEGER NOT NULL,
+    joined_players INTEGER NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT chk_open_matches_seats CHECK (joined_players >= 0 AND joined_players <= max_players)
+);
+
+CREATE INDEX IF NOT EXISTS idx_open_matches_status_starts_at ON open_matches (status, starts_at);
+
+CREATE TABLE IF NOT EXISTS open_match_players (
+    id VARCHAR(255) PRIMARY KEY,
+    open_match_id VARCHAR(255) NOT NULL REFERENCES open_matches (id) ON DELETE CASCADE,
+    user_id VARCHAR(255) NOT NULL,
+    joined_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_open_match_players_match_user UNIQUE (open_match_id, user_id)
+);
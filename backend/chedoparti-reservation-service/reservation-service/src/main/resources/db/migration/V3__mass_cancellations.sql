@@ -0,0 +1,40 @@
+-- Chunked, resumable mass cancellations and the refund outbox they feed
+CREATE TABLE IF NOT EXISTS mass_cancellation_jobs (
+    id VARCHAR(255) PRIMARY KEY,
+    institution_id VARCHAR(255) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    cancellation_reason VARCHAR(255) NOT NULL,
+    cancelled_by VARCHAR(255) NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    batch_size INTEGER NOT NULL,
+    total_reservations BIGINT,
+    processed_reservations BIGINT,
+    refund_requests BIGINT,
+    last_reservation_id VARCHAR(255),
+    error_message VARCHAR(1000),
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_mass_cancellation_jobs_status ON mass_cancellation_jobs (status);
+
+CREATE TABLE IF NOT EXISTS refund_requests (
+    id VARCHAR(255) PRIMARY KEY,
+    mass_cancellation_job_id VARCHAR(255) REFERENCES mass_cancellation_jobs (id),
+    reservation_id VARCHAR(255) NOT NULL,
+    institution_id VARCHAR(255) NOT NULL,
+    payment_reference VARCHAR(255),
+    amount NUMERIC(10, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    reason VARCHAR(255),
+    status VARCHAR(32) NOT NULL,
+    attempts INTEGER,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_refund_requests_job_status ON refund_requests (mass_cancellation_job_id, status);
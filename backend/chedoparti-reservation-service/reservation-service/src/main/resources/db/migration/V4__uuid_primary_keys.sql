@@ -0,0 +1,79 @@
+-- Store every identifier as native uuid (16 bytes) instead of varchar (37+ bytes).
+-- New rows get time-ordered UUIDv7 keys from the application; existing v4 values are kept as-is.
+-- Core tables may have been created outside Flyway, so every step is guarded by existence checks.
+
+CREATE OR REPLACE FUNCTION pg_temp.convert_to_uuid(tbl text, col text) RETURNS void AS $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = tbl
+                 AND column_name = col AND data_type <> 'uuid') THEN
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN %I TYPE uuid USING NULLIF(%I, '''')::uuid', tbl, col, col);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION pg_temp.add_foreign_key(tbl text, col text, ref text, name text, on_delete text)
+    RETURNS void AS $$
+BEGIN
+    IF to_regclass(tbl) IS NOT NULL AND to_regclass(ref) IS NOT NULL
+       AND EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = tbl AND column_name = col) THEN
+        EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I FOREIGN KEY (%I) REFERENCES %I (id) %s',
+                       tbl, name, col, ref, on_delete);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 1. Foreign keys pin the column types on both sides: drop them, convert, then recreate with stable names
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN
+        SELECT c.conrelid::regclass AS tbl, c.conname
+        FROM pg_constraint c
+        WHERE c.contype = 'f'
+          AND c.conrelid::regclass::text IN ('users', 'institution_sports', 'courts', 'reservations',
+                                             'open_matches', 'open_match_players', 'refund_requests')
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.tbl, fk.conname);
+    END LOOP;
+END;
+$$;
+
+-- 2. Primary keys and references
+SELECT pg_temp.convert_to_uuid('institutions', 'id');
+SELECT pg_temp.convert_to_uuid('institution_sports', 'institution_id');
+SELECT pg_temp.convert_to_uuid('users', 'id');
+SELECT pg_temp.convert_to_uuid('users', 'institution_id');
+SELECT pg_temp.convert_to_uuid('courts', 'id');
+SELECT pg_temp.convert_to_uuid('courts', 'institution_id');
+SELECT pg_temp.convert_to_uuid('reservations', 'id');
+SELECT pg_temp.convert_to_uuid('reservations', 'user_id');
+SELECT pg_temp.convert_to_uuid('reservations', 'court_id');
+SELECT pg_temp.convert_to_uuid('open_matches', 'id');
+SELECT pg_temp.convert_to_uuid('open_matches', 'reservation_id');
+SELECT pg_temp.convert_to_uuid('open_match_players', 'id');
+SELECT pg_temp.convert_to_uuid('open_match_players', 'open_match_id');
+SELECT pg_temp.convert_to_uuid('open_match_players', 'user_id');
+SELECT pg_temp.convert_to_uuid('mass_cancellation_jobs', 'id');
+SELECT pg_temp.convert_to_uuid('mass_cancellation_jobs', 'institution_id');
+SELECT pg_temp.convert_to_uuid('mass_cancellation_jobs', 'last_reservation_id');
+SELECT pg_temp.convert_to_uuid('refund_requests', 'id');
+SELECT pg_temp.convert_to_uuid('refund_requests', 'mass_cancellation_job_id');
+SELECT pg_temp.convert_to_uuid('refund_requests', 'reservation_id');
+SELECT pg_temp.convert_to_uuid('refund_requests', 'institution_id');
+
+-- The keyset cursor of mass cancellations starts at the nil uuid instead of ''
+UPDATE mass_cancellation_jobs SET last_reservation_id = '00000000-0000-0000-0000-000000000000'
+WHERE last_reservation_id IS NULL;
+
+-- 3. Recreate foreign keys
+SELECT pg_temp.add_foreign_key('users', 'institution_id', 'institutions', 'fk_users_institution', '');
+SELECT pg_temp.add_foreign_key('institution_sports', 'institution_id', 'institutions', 'fk_institution_sports_institution', '');
+SELECT pg_temp.add_foreign_key('courts', 'institution_id', 'institutions', 'fk_courts_institution', '');
+SELECT pg_temp.add_foreign_key('reservations', 'user_id', 'users', 'fk_reservations_user', '');
+SELECT pg_temp.add_foreign_key('reservations', 'court_id', 'courts', 'fk_reservations_court', '');
+SELECT pg_temp.add_foreign_key('open_matches', 'reservation_id', 'reservations', 'fk_open_matches_reservation', '');
+SELECT pg_temp.add_foreign_key('open_match_players', 'open_match_id', 'open_matches', 'fk_open_match_players_match', 'ON DELETE CASCADE');
+SELECT pg_temp.add_foreign_key('refund_requests', 'mass_cancellation_job_id', 'mass_cancellation_jobs', 'fk_refund_requests_job', '');
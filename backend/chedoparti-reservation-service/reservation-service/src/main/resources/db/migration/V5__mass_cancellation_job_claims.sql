@@ -0,0 +1,5 @@
+-- A mass cancellation job is claimed with a conditional UPDATE on its row: the winning worker stores
+-- its token in claimed_by and refreshes heartbeat_at on every chunk. Another instance may take the
+-- job over only once the heartbeat is older than the lease.
+ALTER TABLE mass_cancellation_jobs ADD COLUMN IF NOT EXISTS claimed_by UUID;
+ALTER TABLE mass_cancellation_jobs ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP;
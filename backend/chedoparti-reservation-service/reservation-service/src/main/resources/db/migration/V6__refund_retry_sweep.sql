@@ -0,0 +1,4 @@
+-- Refunds left PENDING after a failed call are retried by a periodic sweep, oldest first, once
+-- their last attempt is older than the retry delay.
+CREATE INDEX IF NOT EXISTS idx_refund_requests_pending_updated ON refund_requests (updated_at)
+    WHERE status = 'PENDING';
@@ -0,0 +1,65 @@
+package com.chedoparti.reservation_service;
+
+import com.chedoparti.reservation_service.entity.Court;
+import com.chedoparti.reservation_service.entity.Institution;
+import com.chedoparti.reservation_service.entity.Reservation;
+import com.chedoparti.reservation_service.entity.User;
+import com.chedoparti.reservation_service.enums.ReservationStatus;
+import com.chedoparti.reservation_service.enums.ReservationType;
+import com.chedoparti.reservation_service.enums.UserRole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Unsaved entities with every mandatory column filled, shared by the database-backed tests.
+ */
+public final class ReservationFixtures {
+
+    private ReservationFixtures() {
+    }
+
+    public static Institution institution(String name) {
+        Institution institution = new Institution();
+        institution.setName(name);
+        institution.setAddress("Av. Siempre Viva 742");
+        institution.setOpeningTime("08:00");
+        institution.setClosingTime("23:00");
+        return institution;
+    }
+
+    public static User user(String firstName) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Test");
+        // Único por usuario: la columna tiene restricción unique
+        user.setEmail(firstName.toLowerCase() + "-" + UUID.randomUUID() + "@chedoparti.test");
+        user.setPassword("secret");
+        user.setRole(UserRole.CUSTOMER);
+        return user;
+    }
+
+    public static Court court(String name, Institution institution) {
+        Court court = new Court();
+        court.setName(name);
+        court.setSportType("PADEL");
+        court.setInstitution(institution);
+        court.setBasePricePerHour(new BigDecimal("20.00"));
+        return court;
+    }
+
+    public static Reservation reservation(User user, Court court, LocalDate date, LocalTime start, LocalTime end) {
+        Reservation reservation = new Reservation();
+        reservation.setUser(user);
+        reservation.setCourt(court);
+        reservation.setDate(date);
+        reservation.setStartTime(start);
+        reservation.setEndTime(end);
+        reservation.setStatus(ReservationStatus.PENDING);
+        reservation.setReservationType(ReservationType.INDIVIDUAL);
+        reservation.setTotalAmount(new BigDecimal("30.00"));
+        return reservation;
+    }
+}
@@ -0,0 +1,172 @@
+package com.chedoparti.reservation_service.service;
+
+import com.chedoparti.reservation_service.ReservationFixtures;
+import com.chedoparti.reservation_service.dto.OpenMatchRequest;
+import com.chedoparti.reservation_service.dto.OpenMatchResponse;
+import com.chedoparti.reservation_service.entity.Court;
+import com.chedoparti.reservation_service.entity.Institution;
+import com.chedoparti.reservation_service.entity.Reservation;
+import com.chedoparti.reservation_service.entity.User;
+import com.chedoparti.reservation_service.enums.ReservationType;
+import com.chedoparti.reservation_service.enums.SkillLevel;
+import com.chedoparti.reservation_service.exception.ConflictException;
+import com.chedoparti.reservation_service.repository.OpenMatchPlayerRepository;
+import com.chedoparti.reservation_service.repository.OpenMatchRepository;
+import com.chedoparti.reservation_service.service.matching.OpenMatchEntry;
+import com.chedoparti.reservation_service.service.matching.OpenMatchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many players joining the same open match at once must fill exactly the missing seats: the
+ * in-memory seat counter and the conditional UPDATE on the row agree with the joined players
+ * stored in the database, even when the in-memory view is stale.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OpenMatchServiceImpl.class, OpenMatchIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        // Base embebida con pool; las uniones concurrentes esperan el bloqueo de fila del UPDATE
+        "spring.datasource.url=jdbc:h2:mem:openmatches;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.maximum-pool-size=16"
+})
+class OpenMatchJoinLoadTest {
+
+    private static final int ORGANIZERS = 2;
+    private static final int MISSING = 8;
+    private static final int PLAYERS = 500;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private OpenMatchService openMatchService;
+
+    @Autowired
+    private OpenMatchIndex openMatchIndex;
+
+    @Autowired
+    private OpenMatchRepository openMatchRepository;
+
+    @Autowired
+    private OpenMatchPlayerRepository openMatchPlayerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UUID matchId;
+
+    @BeforeEach
+    void openMatch() {
+        Reservation reservation = new TransactionTemplate(transactionManager).execute(status -> {
+            Institution club = entityManager.persist(ReservationFixtures.institution("Club Centro"));
+            Court court = entityManager.persist(ReservationFixtures.court("Cancha 1", club));
+            User organizer = entityManager.persist(ReservationFixtures.user("Organizer"));
+            Reservation group = ReservationFixtures.reservation(organizer, court,
+                    LocalDate.now().plusDays(2), LocalTime.of(19, 0), LocalTime.of(20, 30));
+            group.setReservationType(ReservationType.GROUP);
+            group.setNumberOfPlayers(ORGANIZERS);
+            return entityManager.persist(group);
+        });
+
+        OpenMatchRequest request = new OpenMatchRequest();
+        request.setReservationId(reservation.getId());
+        request.setSkillLevel(SkillLevel.INTERMEDIATE);
+        request.setMissingPlayers(MISSING);
+        matchId = openMatchService.openMatch(request).getId();
+    }
+
+    @Test
+    void neverOverfills() throws Exception {
+        JoinResults results = joinConcurrently(PLAYERS);
+
+        assertThat(results.joined.get()).isEqualTo(MISSING);
+        assertThat(results.rejected.get()).isEqualTo(PLAYERS - MISSING);
+        assertThat(openMatchRepository.findById(matchId).orElseThrow().getJoinedPlayers())
+                .isEqualTo(ORGANIZERS + MISSING);
+        assertThat(openMatchPlayerRepository.findByOpenMatchId(matchId)).hasSize(MISSING);
+        assertThat(openMatchIndex.get(matchId).getJoinedPlayers().get()).isEqualTo(ORGANIZERS + MISSING);
+    }
+
+    @Test
+    void databaseRejectsJoinsWhenTheIndexIsStale() throws Exception {
+        joinConcurrently(PLAYERS);
+
+        // Otra instancia con la vista en memoria desactualizada: todos pasan el contador local
+        OpenMatchEntry current = openMatchIndex.get(matchId);
+        openMatchIndex.add(new OpenMatchEntry(current.getId(), current.getReservationId(), current.getSport(),
+                current.getSkillLevel(), current.getStartsAt(), null, null, current.getMaxPlayers(), ORGANIZERS));
+
+        JoinResults results = joinConcurrently(PLAYERS);
+
+        assertThat(results.joined.get()).isZero();
+        assertThat(openMatchRepository.findById(matchId).orElseThrow().getJoinedPlayers())
+                .isEqualTo(ORGANIZERS + MISSING);
+        assertThat(openMatchPlayerRepository.findByOpenMatchId(matchId)).hasSize(MISSING);
+        // Cada rechazo devolvió el lugar que había tomado en memoria
+        assertThat(openMatchIndex.get(matchId).getJoinedPlayers().get()).isEqualTo(ORGANIZERS);
+    }
+
+    private JoinResults joinConcurrently(int players) throws Exception {
+        JoinResults results = new JoinResults();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            UUID userId = UUID.randomUUID();
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    OpenMatchResponse response = openMatchService.joinMatch(matchId, userId);
+                    assertThat(response.getJoinedPlayers()).isLessThanOrEqualTo(ORGANIZERS + MISSING);
+                    results.joined.incrementAndGet();
+                } catch (ConflictException e) {
+                    results.rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        return results;
+    }
+
+    private static final class JoinResults {
+        final AtomicInteger joined = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+    }
+}
@@ -0,0 +1,173 @@
+package com.chedoparti.reservation_service.service.availability;
+
+import com.chedoparti.reservation_service.dto.AlternativeSlot;
+import com.chedoparti.reservation_service.entity.Court;
+import com.chedoparti.reservation_service.entity.Institution;
+import com.chedoparti.reservation_service.enums.AlternativeSlotType;
+import com.chedoparti.reservation_service.repository.CourtRepository;
+import com.chedoparti.reservation_service.repository.ReservationRepository;
+import com.chedoparti.reservation_service.repository.ReservationSlotView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AlternativeSlotFinderTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 14);
+
+    private ReservationRepository reservationRepository;
+    private CourtRepository courtRepository;
+    private AlternativeSlotFinder finder;
+
+    private Institution club;
+    private Court requested;
+    private Court sibling;
+    private Court busySibling;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = mock(ReservationRepository.class);
+        courtRepository = mock(CourtRepository.class);
+        finder = new AlternativeSlotFinder(reservationRepository, courtRepository, 3, 30, 180, 10);
+
+        club = institution("Club Centro", "08:00", "23:00");
+        requested = court("Cancha 1", club);
+        sibling = court("Cancha 2", club);
+        busySibling = court("Cancha 3", club);
+    }
+
+    @Test
+    void siblingCourtOutranksShiftedTimesAndOtherInstitutionsAreNotQueried() {
+        when(courtRepository.findByInstitutionIdAndSportTypeAndActiveTrue(club.getId(), "PADEL"))
+                .thenReturn(List.of(requested, sibling, busySibling));
+        DaySchedule schedule = DaySchedule.of(List.of(
+                slot(requested, "18:00", "19:30"),
+                slot(busySibling, "17:00", "20:00")));
+
+        List<AlternativeSlot> ranked = finder.findAlternatives(requested, DATE,
+                LocalTime.of(18, 0), LocalTime.of(19, 30), schedule);
+
+        assertThat(ranked).extracting(AlternativeSlot::getType, AlternativeSlot::getCourtId,
+                        AlternativeSlot::getStartTime, AlternativeSlot::getScore)
+                .containsExactly(
+                        tuple(AlternativeSlotType.SIBLING_COURT, sibling.getId(),
+                                LocalTime.of(18, 0), AlternativeSlotFinder.SIBLING_COURT_PENALTY),
+                        // Empate de puntaje: gana el horario más temprano
+                        tuple(AlternativeSlotType.SAME_COURT, requested.getId(),
+                                LocalTime.of(16, 30), 90),
+                        tuple(AlternativeSlotType.SAME_COURT, requested.getId(),
+                                LocalTime.of(19, 30), 90));
+        verify(courtRepository, never()).findBySportTypeAndActiveTrueAndInstitutionIdNot(anyString(), any(), any());
+    }
+
+    @Test
+    void sameCourtShiftsStayWithinOpeningHours() {
+        Institution shortDay = institution("Club Tarde", "17:00", "20:00");
+        Court court = court("Cancha 1", shortDay);
+        when(courtRepository.findByInstitutionIdAndSportTypeAndActiveTrue(shortDay.getId(), "PADEL"))
+                .thenReturn(List.of(court));
+        DaySchedule schedule = DaySchedule.of(List.of(slot(court, "18:00", "19:00")));
+
+        List<AlternativeSlot> ranked = finder.findAlternatives(court, DATE,
+                LocalTime.of(18, 0), LocalTime.of(19, 0), schedule);
+
+        assertThat(ranked).filteredOn(s -> s.getType() == AlternativeSlotType.SAME_COURT)
+                .extracting(AlternativeSlot::getStartTime)
+                .containsExactly(LocalTime.of(17, 0), LocalTime.of(19, 0));
+    }
+
+    @Test
+    void otherInstitutionsFillTheRemainingPlacesLast() {
+        Institution neighbour = institution("Club Norte", "08:00", "23:00");
+        Court freeElsewhere = court("Norte 1", neighbour);
+        Court busyElsewhere = court("Norte 2", neighbour);
+        Institution closed = institution("Club Chico", "18:00", "19:30");
+        Court only = court("Unica", closed);
+
+        when(courtRepository.findByInstitutionIdAndSportTypeAndActiveTrue(closed.getId(), "PADEL"))
+                .thenReturn(List.of(only));
+        when(courtRepository.findBySportTypeAndActiveTrueAndInstitutionIdNot(anyString(), any(), any()))
+                .thenReturn(List.of(busyElsewhere, freeElsewhere));
+        when(reservationRepository.findSlotsByCourtsAndDate(anyCollection(), any(), any()))
+                .thenReturn(List.of(slot(busyElsewhere, "18:30", "20:00")));
+
+        List<AlternativeSlot> ranked = finder.findAlternatives(only, DATE,
+                LocalTime.of(18, 0), LocalTime.of(19, 30), DaySchedule.of(List.of(slot(only, "18:00", "19:30"))));
+
+        assertThat(ranked).extracting(AlternativeSlot::getType, AlternativeSlot::getCourtId, AlternativeSlot::getScore)
+                .containsExactly(tuple(AlternativeSlotType.OTHER_INSTITUTION,
+                        freeElsewhere.getId(), AlternativeSlotFinder.OTHER_INSTITUTION_PENALTY));
+    }
+
+    @Test
+    void dayScheduleTreatsTouchingRangesAsFreeAndMidnightAsEndOfDay() {
+        DaySchedule schedule = DaySchedule.of(List.of(
+                slot(requested, "18:00", "19:00"),
+                slot(requested, "18:30", "20:00"),
+                slot(requested, "22:30", "00:00")));
+
+        assertThat(schedule.isFree(requested.getId(), minute("17:00"), minute("18:00"))).isTrue();
+        assertThat(schedule.isFree(requested.getId(), minute("19:00"), minute("19:30"))).isFalse();
+        assertThat(schedule.isFree(requested.getId(), minute("20:00"), minute("22:30"))).isTrue();
+        assertThat(schedule.isFree(requested.getId(), minute("23:00"), DaySchedule.MINUTES_PER_DAY)).isFalse();
+        assertThat(schedule.isFree(sibling.getId(), minute("18:00"), minute("20:00"))).isTrue();
+    }
+
+    private static int minute(String time) {
+        return DaySchedule.toMinute(LocalTime.parse(time));
+    }
+
+    private static Institution institution(String name, String opening, String closing) {
+        Institution institution = new Institution();
+        institution.setId(UUID.randomUUID());
+        institution.setName(name);
+        institution.setOpeningTime(opening);
+        institution.setClosingTime(closing);
+        return institution;
+    }
+
+    private static Court court(String name, Institution institution) {
+        Court court = new Court();
+        court.setId(UUID.randomUUID());
+        court.setName(name);
+        court.setSportType("PADEL");
+        court.setInstitution(institution);
+        return court;
+    }
+
+    private static ReservationSlotView slot(Court court, String start, String end) {
+        UUID courtId = court.getId();
+        LocalTime startTime = LocalTime.parse(start);
+        LocalTime endTime = LocalTime.parse(end);
+        return new ReservationSlotView() {
+            @Override
+            public UUID getCourtId() {
+                return courtId;
+            }
+
+            @Override
+            public LocalTime getStartTime() {
+                return startTime;
+            }
+
+            @Override
+            public LocalTime getEndTime() {
+                return endTime;
+            }
+        };
+    }
+}
@@ -0,0 +1,175 @@
+package com.chedoparti.reservation_service.service.cache;
+
+import com.chedoparti.reservation_service.dto.ReservationSummary;
+import com.chedoparti.reservation_service.enums.ReservationStatus;
+import com.chedoparti.reservation_service.enums.ReservationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpcomingReservationCacheTest {
+
+    private static final LocalDate TOMORROW = LocalDate.now().plusDays(1);
+
+    private UpcomingReservationCache cache;
+    private UUID userId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UpcomingReservationCache(new SimpleMeterRegistry(), 2);
+        userId = UUID.randomUUID();
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void hitDoesNotReloadAndPastReservationsAreFiltered() {
+        ReservationSummary past = summary(LocalDate.now().minusDays(1), 18, ReservationStatus.PENDING);
+        ReservationSummary upcoming = summary(TOMORROW, 18, ReservationStatus.PENDING);
+
+        assertThat(cache.get(userId, loader(past, upcoming))).containsExactly(upcoming);
+        assertThat(cache.get(userId, loader())).containsExactly(upcoming);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void writesUpdateCachedEntryInPlace() {
+        ReservationSummary evening = summary(TOMORROW, 20, ReservationStatus.PENDING);
+        cache.get(userId, loader(evening));
+
+        ReservationSummary morning = summary(TOMORROW, 9, ReservationStatus.PENDING);
+        cache.reservationChanged(userId, morning);
+        assertThat(cache.get(userId, loader())).containsExactly(morning, evening);
+
+        ReservationSummary moved = copy(evening, 7, ReservationStatus.PENDING);
+        cache.reservationChanged(userId, moved);
+        assertThat(cache.get(userId, loader())).containsExactly(moved, morning);
+
+        cache.reservationChanged(userId, copy(morning, 9, ReservationStatus.CANCELLED));
+        assertThat(cache.get(userId, loader())).containsExactly(moved);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void uncachedUsersAreNotPopulatedByWrites() {
+        cache.reservationChanged(userId, summary(TOMORROW, 18, ReservationStatus.PENDING));
+
+        assertThat(cache.size()).isZero();
+        cache.get(userId, loader());
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void bulkEvictionForcesReload() {
+        UUID otherUser = UUID.randomUUID();
+        cache.get(userId, loader(summary(TOMORROW, 18, ReservationStatus.PENDING)));
+        cache.get(otherUser, loader());
+
+        cache.evictAfterCommit(Set.of(userId));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get(userId, loader())).isEmpty();
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void writeDuringSlowLoadDiscardsTheLoadedValue() {
+        ReservationSummary stale = summary(TOMORROW, 18, ReservationStatus.PENDING);
+
+        List<ReservationSummary> loaded = cache.get(userId, () -> {
+            loads.incrementAndGet();
+            // Una escritura confirmada mientras la carga está en curso
+            cache.reservationChanged(userId, copy(stale, 18, ReservationStatus.CANCELLED));
+            return List.of(stale);
+        });
+
+        assertThat(loaded).containsExactly(stale);
+        assertThat(cache.size()).isZero();
+        cache.get(userId, loader());
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void leastRecentlyUsedUserIsEvicted() {
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        cache.get(userId, loader());
+        cache.get(second, loader());
+        cache.get(userId, loader());
+        cache.get(third, loader());
+
+        assertThat(cache.size()).isEqualTo(2);
+        cache.get(userId, loader());
+        assertThat(loads).hasValue(3);
+        cache.get(second, loader());
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void writesInsideATransactionApplyOnlyAfterCommit() {
+        ReservationSummary existing = summary(TOMORROW, 18, ReservationStatus.PENDING);
+        cache.get(userId, loader(existing));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.reservationChanged(userId, copy(existing, 18, ReservationStatus.CANCELLED));
+        assertThat(cache.get(userId, loader())).containsExactly(existing);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(cache.get(userId, loader())).containsExactly(existing);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.reservationChanged(userId, copy(existing, 18, ReservationStatus.CANCELLED));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(cache.get(userId, loader())).isEmpty();
+        assertThat(loads).hasValue(1);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+
+    private Supplier<List<ReservationSummary>> loader(ReservationSummary... reservations) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(reservations);
+        };
+    }
+
+    private static ReservationSummary summary(LocalDate date, int hour, ReservationStatus status) {
+        return new ReservationSummary(UUID.randomUUID(), UUID.randomUUID(), "Cancha 1", UUID.randomUUID(),
+                "Club Centro", date, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0), status,
+                ReservationType.INDIVIDUAL, new BigDecimal("30.00"), "USD");
+    }
+
+    private static ReservationSummary copy(ReservationSummary source, int hour, ReservationStatus status) {
+        return new ReservationSummary(source.getId(), source.getCourtId(), source.getCourtName(),
+                source.getInstitutionId(), source.getInstitutionName(), source.getDate(), LocalTime.of(hour, 0),
+                LocalTime.of(hour + 1, 0), status, source.getReservationType(), source.getTotalAmount(),
+                source.getCurrency());
+    }
+}
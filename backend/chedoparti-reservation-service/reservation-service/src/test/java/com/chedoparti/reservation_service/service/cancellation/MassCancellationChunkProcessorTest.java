@@ -0,0 +1,204 @@
+package com.chedoparti.reservation_service.service.cancellation;
+
+import com.chedoparti.reservation_service.ReservationFixtures;
+import com.chedoparti.reservation_service.entity.Court;
+import com.chedoparti.reservation_service.entity.Institution;
+import com.chedoparti.reservation_service.entity.MassCancellationJob;
+import com.chedoparti.reservation_service.entity.RefundRequest;
+import com.chedoparti.reservation_service.entity.Reservation;
+import com.chedoparti.reservation_service.entity.User;
+import com.chedoparti.reservation_service.enums.MassCancellationStatus;
+import com.chedoparti.reservation_service.enums.ReservationStatus;
+import com.chedoparti.reservation_service.exception.ConflictException;
+import com.chedoparti.reservation_service.repository.MassCancellationJobRepository;
+import com.chedoparti.reservation_service.repository.RefundRequestRepository;
+import com.chedoparti.reservation_service.repository.ReservationRepository;
+import com.chedoparti.reservation_service.service.OpenMatchServiceImpl;
+import com.chedoparti.reservation_service.service.cache.UpcomingReservationCache;
+import com.chedoparti.reservation_service.service.cancellation.MassCancellationChunkProcessor.ChunkResult;
+import com.chedoparti.reservation_service.service.matching.OpenMatchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A mass cancellation advances chunk by chunk under a claimed job row: a second worker cannot
+ * claim a live job, a worker whose claim was taken over stops, and the worker that resumes
+ * continues from the committed cursor without cancelling or refunding anything twice.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({MassCancellationChunkProcessor.class, OpenMatchServiceImpl.class, OpenMatchIndex.class,
+        UpcomingReservationCache.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:masscancellations;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+class MassCancellationChunkProcessorTest {
+
+    private static final LocalDate CLOSURE = LocalDate.now().plusDays(10);
+    private static final int IN_RANGE = 7;
+    private static final int BATCH_SIZE = 3;
+
+    @Autowired
+    private MassCancellationChunkProcessor chunkProcessor;
+
+    @Autowired
+    private MassCancellationJobRepository jobRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RefundRequestRepository refundRequestRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UUID institutionId;
+    private List<UUID> inRange;
+    private UUID outOfRange;
+    private int paid;
+
+    @BeforeEach
+    void setUp() {
+        refundRequestRepository.deleteAll();
+        jobRepository.deleteAll();
+        reservationRepository.deleteAll();
+
+        inRange = new ArrayList<>();
+        paid = 0;
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Institution club = entityManager.persist(ReservationFixtures.institution("Club Centro"));
+            Court court = entityManager.persist(ReservationFixtures.court("Cancha 1", club));
+            institutionId = club.getId();
+            for (int i = 0; i < IN_RANGE; i++) {
+                User player = entityManager.persist(ReservationFixtures.user("Player" + i));
+                Reservation reservation = ReservationFixtures.reservation(player, court, CLOSURE.plusDays(i % 2),
+                        LocalTime.of(9 + i, 0), LocalTime.of(10 + i, 0));
+                // Sólo las reservas pagas generan reembolso
+                if (i % 3 != 0) {
+                    reservation.setAmountPaid(new BigDecimal("15.00"));
+                    reservation.setPaymentReference(UUID.randomUUID().toString());
+                    paid++;
+                }
+                inRange.add(entityManager.persist(reservation).getId());
+            }
+            User other = entityManager.persist(ReservationFixtures.user("Other"));
+            outOfRange = entityManager.persist(ReservationFixtures.reservation(other, court, CLOSURE.plusDays(5),
+                    LocalTime.of(9, 0), LocalTime.of(10, 0))).getId();
+        });
+    }
+
+    @Test
+    void resumedJobContinuesFromTheCursorWithoutDuplicates() {
+        UUID jobId = createJob();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        assertThat(chunkProcessor.claim(jobId, first)).isTrue();
+        assertThat(chunkProcessor.claim(jobId, second)).isFalse();
+
+        ChunkResult chunk = chunkProcessor.processChunk(jobId, first);
+        assertThat(chunk.cancelled()).isEqualTo(BATCH_SIZE);
+        assertThat(chunk.finished()).isFalse();
+
+        // El primer worker deja de latir (caída): otra instancia toma el job
+        MassCancellationJob job = jobRepository.findById(jobId).orElseThrow();
+        job.setHeartbeatAt(LocalDateTime.now().minusHours(1));
+        jobRepository.save(job);
+        assertThat(chunkProcessor.claim(jobId, second)).isTrue();
+
+        assertThatThrownBy(() -> chunkProcessor.processChunk(jobId, first)).isInstanceOf(ConflictException.class);
+        chunkProcessor.markFailed(jobId, first, "stale worker");
+        assertThat(jobRepository.findById(jobId).orElseThrow().getStatus()).isEqualTo(MassCancellationStatus.RUNNING);
+
+        int cancelled = chunk.cancelled();
+        do {
+            chunk = chunkProcessor.processChunk(jobId, second);
+            cancelled += chunk.cancelled();
+        } while (!chunk.finished());
+
+        assertThat(cancelled).isEqualTo(IN_RANGE);
+        job = jobRepository.findById(jobId).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(MassCancellationStatus.COMPLETED);
+        assertThat(job.getProcessedReservations()).isEqualTo(IN_RANGE);
+        assertThat(job.getRefundRequests()).isEqualTo(paid);
+        assertThat(job.getClaimedBy()).isNull();
+
+        assertThat(reservationRepository.findAllById(inRange))
+                .allMatch(r -> r.getStatus() == ReservationStatus.CANCELLED);
+        assertThat(reservationRepository.findById(outOfRange).orElseThrow().getStatus())
+                .isEqualTo(ReservationStatus.PENDING);
+        assertThat(refundRequestRepository.findAll()).extracting(RefundRequest::getReservationId)
+                .hasSize(paid)
+                .doesNotHaveDuplicates()
+                .isSubsetOf(inRange);
+
+        // Un job terminado ya no se puede reclamar
+        assertThat(chunkProcessor.claim(jobId, UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void failedJobCanBeClaimedAgain() {
+        UUID jobId = createJob();
+        UUID first = UUID.randomUUID();
+
+        assertThat(chunkProcessor.claim(jobId, first)).isTrue();
+        chunkProcessor.processChunk(jobId, first);
+        chunkProcessor.markFailed(jobId, first, "payment-service down");
+
+        MassCancellationJob failed = jobRepository.findById(jobId).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(MassCancellationStatus.FAILED);
+        assertThat(failed.getLastReservationId()).isEqualTo(inRange.get(BATCH_SIZE - 1));
+
+        UUID retry = UUID.randomUUID();
+        assertThat(chunkProcessor.claim(jobId, retry)).isTrue();
+        MassCancellationJob running = jobRepository.findById(jobId).orElseThrow();
+        assertThat(running.getStatus()).isEqualTo(MassCancellationStatus.RUNNING);
+        assertThat(running.getErrorMessage()).isNull();
+        assertThat(chunkProcessor.processChunk(jobId, retry).cancelled()).isEqualTo(BATCH_SIZE);
+    }
+
+    private UUID createJob() {
+        MassCancellationJob job = new MassCancellationJob();
+        job.setInstitutionId(institutionId);
+        job.setStartDate(CLOSURE);
+        job.setEndDate(CLOSURE.plusDays(1));
+        job.setCancellationReason("Cierre por obra");
+        job.setCancelledBy("admin");
+        job.setBatchSize(BATCH_SIZE);
+        job.setTotalReservations((long) IN_RANGE);
+        return jobRepository.save(job).getId();
+    }
+}
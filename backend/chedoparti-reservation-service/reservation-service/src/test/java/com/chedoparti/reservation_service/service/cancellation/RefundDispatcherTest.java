@@ -0,0 +1,178 @@
+package com.chedoparti.reservation_service.service.cancellation;
+
+import com.chedoparti.reservation_service.client.PaymentServiceClient;
+import com.chedoparti.reservation_service.entity.RefundRequest;
+import com.chedoparti.reservation_service.enums.RefundRequestStatus;
+import com.chedoparti.reservation_service.repository.RefundRequestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefundDispatcherTest {
+
+    private RefundRequestRepository refundRequestRepository;
+    private PaymentServiceClient paymentServiceClient;
+    private RefundDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        refundRequestRepository = mock(RefundRequestRepository.class);
+        paymentServiceClient = mock(PaymentServiceClient.class);
+        dispatcher = new RefundDispatcher(refundRequestRepository, paymentServiceClient, new SimpleMeterRegistry(),
+                3, 300, 60_000, 2);
+        when(refundRequestRepository.claimAttempt(any(), anyInt(), any(), any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void timedOutRefundIsRetriedWithTheSameRow() {
+        RefundRequest timedOut = refund(true);
+        RefundRequest sent = refund(true);
+        RefundRequest unpaid = refund(false);
+        when(refundRequestRepository.findAllById(any())).thenReturn(List.of(timedOut, sent, unpaid));
+        doThrow(new ResourceAccessException("Read timed out")).doNothing()
+                .when(paymentServiceClient).requestRefund(timedOut);
+
+        dispatcher.dispatch(List.of(timedOut.getId(), sent.getId(), unpaid.getId()));
+
+        assertThat(timedOut.getStatus()).isEqualTo(RefundRequestStatus.PENDING);
+        assertThat(timedOut.getAttempts()).isEqualTo(1);
+        assertThat(timedOut.getLastError()).contains("Read timed out");
+        assertThat(sent.getStatus()).isEqualTo(RefundRequestStatus.SENT);
+        assertThat(unpaid.getStatus()).isEqualTo(RefundRequestStatus.FAILED);
+        verify(refundRequestRepository, times(3)).save(any());
+        verify(refundRequestRepository, never()).saveAll(any());
+
+        when(refundRequestRepository.findAllById(any())).thenReturn(List.of(timedOut, sent, unpaid));
+        dispatcher.dispatch(List.of(timedOut.getId(), sent.getId(), unpaid.getId()));
+
+        // El reintento reenvía la misma fila y no toca las ya resueltas
+        ArgumentCaptor<RefundRequest> calls = ArgumentCaptor.forClass(RefundRequest.class);
+        verify(paymentServiceClient, times(3)).requestRefund(calls.capture());
+        assertThat(calls.getAllValues()).extracting(RefundRequest::getId)
+                .containsExactly(timedOut.getId(), sent.getId(), timedOut.getId());
+        assertThat(timedOut.getStatus()).isEqualTo(RefundRequestStatus.SENT);
+        assertThat(timedOut.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void eachSentRefundIsPersistedBeforeTheNextCall() {
+        RefundRequest first = refund(true);
+        RefundRequest second = refund(true);
+        when(refundRequestRepository.findAllById(any())).thenReturn(List.of(first, second));
+        doNothing().when(paymentServiceClient).requestRefund(first);
+        doThrow(new IllegalStateException("worker killed")).when(paymentServiceClient).requestRefund(second);
+
+        assertThatThrownBy(() -> dispatcher.dispatch(List.of(first.getId(), second.getId())))
+                .isInstanceOf(IllegalStateException.class);
+
+        InOrder order = inOrder(paymentServiceClient, refundRequestRepository);
+        order.verify(paymentServiceClient).requestRefund(first);
+        order.verify(refundRequestRepository).save(first);
+        order.verify(paymentServiceClient).requestRefund(second);
+        assertThat(first.getStatus()).isEqualTo(RefundRequestStatus.SENT);
+        verify(refundRequestRepository, never()).save(second);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        RefundRequest refund = refund(true);
+        when(refundRequestRepository.findAllById(any())).thenReturn(List.of(refund));
+        doThrow(new ResourceAccessException("Connection refused")).when(paymentServiceClient).requestRefund(refund);
+
+        for (int attempt = 0; attempt < 4; attempt++) {
+            dispatcher.dispatch(List.of(refund.getId()));
+        }
+
+        assertThat(refund.getStatus()).isEqualTo(RefundRequestStatus.FAILED);
+        assertThat(refund.getAttempts()).isEqualTo(3);
+        verify(paymentServiceClient, times(3)).requestRefund(refund);
+    }
+
+    @Test
+    void rejectedAndUnknownReferencesFailWithoutRetry() {
+        RefundRequest rejected = refund(true);
+        RefundRequest foreign = refund(true);
+        foreign.setPaymentReference("mp-5531");
+        when(refundRequestRepository.findAllById(any())).thenReturn(List.of(rejected, foreign));
+        doThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null))
+                .when(paymentServiceClient).requestRefund(rejected);
+
+        dispatcher.dispatch(List.of(rejected.getId(), foreign.getId()));
+
+        assertThat(rejected.getStatus()).isEqualTo(RefundRequestStatus.FAILED);
+        assertThat(rejected.getAttempts()).isEqualTo(1);
+        // Una referencia que no es un id de payment-service ni se envía
+        assertThat(foreign.getStatus()).isEqualTo(RefundRequestStatus.FAILED);
+        assertThat(foreign.getLastError()).contains("mp-5531");
+        verify(paymentServiceClient, never()).requestRefund(foreign);
+    }
+
+    @Test
+    void attemptClaimedElsewhereIsNotSent() {
+        RefundRequest refund = refund(true);
+        when(refundRequestRepository.findAllById(any())).thenReturn(List.of(refund));
+        when(refundRequestRepository.claimAttempt(eq(refund.getId()), anyInt(), any(), any(), any())).thenReturn(0);
+
+        dispatcher.dispatch(List.of(refund.getId()));
+
+        verify(paymentServiceClient, never()).requestRefund(any());
+        verify(refundRequestRepository, never()).save(any());
+        assertThat(refund.getAttempts()).isZero();
+    }
+
+    @Test
+    void sweepRetriesPendingRefundsWhateverTheirJob() {
+        // Fallaron en un job que ya terminó: sólo el barrido los vuelve a enviar
+        RefundRequest first = refund(true);
+        RefundRequest second = refund(true);
+        RefundRequest third = refund(true);
+        first.setAttempts(1);
+        when(refundRequestRepository.findByStatusAndUpdatedAtBeforeOrderByUpdatedAtAsc(
+                eq(RefundRequestStatus.PENDING), any(), any()))
+                .thenReturn(List.of(first, second), List.of(third));
+        doThrow(new ResourceAccessException("Connection refused")).when(paymentServiceClient).requestRefund(second);
+
+        dispatcher.retryPending();
+
+        verify(refundRequestRepository).claimAttempt(eq(first.getId()), eq(1), any(), any(), eq(RefundRequestStatus.PENDING));
+        verify(paymentServiceClient, times(3)).requestRefund(any());
+        assertThat(first.getStatus()).isEqualTo(RefundRequestStatus.SENT);
+        assertThat(first.getAttempts()).isEqualTo(2);
+        assertThat(second.getStatus()).isEqualTo(RefundRequestStatus.PENDING);
+        assertThat(third.getStatus()).isEqualTo(RefundRequestStatus.SENT);
+    }
+
+    private static RefundRequest refund(boolean paid) {
+        RefundRequest refund = new RefundRequest();
+        refund.setId(UUID.randomUUID());
+        refund.setReservationId(UUID.randomUUID());
+        refund.setInstitutionId(UUID.randomUUID());
+        refund.setPaymentReference(paid ? UUID.randomUUID().toString() : null);
+        refund.setAmount(new BigDecimal("15.00"));
+        refund.setCurrency("USD");
+        return refund;
+    }
+}